@@ -0,0 +1,40 @@
+package io.swagger.api;
+
+import io.swagger.model.DetalleAlbum;
+import io.swagger.model.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.validation.Valid;
+
+@Validated
+public interface AlbumesApi {
+
+    @Operation(summary = "Detalle de un álbum", description = "Devuelve en una sola respuesta el álbum, sus canciones ordenadas, el resumen de valoraciones y los comentarios más recientes.", tags={ "Elementos" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Detalle del álbum.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DetalleAlbum.class))),
+        
+        @ApiResponse(responseCode = "404", description = "No existe un álbum con ese ID."),
+        
+        @ApiResponse(responseCode = "503", description = "Las consultas no terminaron a tiempo."),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/albumes/{id}/detalle",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<DetalleAlbum> albumesIdDetalleGet(@Parameter(in = ParameterIn.PATH, description = "ID del álbum.", required=true, schema=@Schema()) @PathVariable("id") Integer id
+, @Parameter(in = ParameterIn.QUERY, description = "Número de comentarios a incluir." ,schema=@Schema()) @Valid @RequestParam(value = "limiteComentarios", required = false) Integer limiteComentarios
+);
+
+}
@@ -0,0 +1,43 @@
+package io.swagger.api;
+
+import io.swagger.model.Elemento;
+import io.swagger.model.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Validated
+public interface BuscarApi {
+
+    @Operation(summary = "Buscar en el catálogo", description = "Búsqueda de texto libre sobre el nombre y la descripción de canciones y álbumes. No distingue mayúsculas ni tildes y devuelve los resultados ordenados por relevancia.", tags={ "Buscar" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Elementos encontrados, del más al menos relevante.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Elemento.class)))),
+        
+        @ApiResponse(responseCode = "400", description = "Modo de búsqueda no válido."),
+        
+        @ApiResponse(responseCode = "503", description = "El índice de búsqueda se está cargando."),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/buscar",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<List<Elemento>> buscarGet(@NotNull @Parameter(in = ParameterIn.QUERY, description = "Texto a buscar." ,required=true,schema=@Schema()) @Valid @RequestParam(value = "q", required = true) String q
+, @Parameter(in = ParameterIn.QUERY, description = "Número máximo de resultados." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+, @Parameter(in = ParameterIn.QUERY, description = "exacto (por defecto) o difuso, que tolera errores de escritura en las palabras buscadas." ,schema=@Schema(allowableValues = { "exacto", "difuso" })) @Valid @RequestParam(value = "modo", required = false) String modo
+);
+
+}
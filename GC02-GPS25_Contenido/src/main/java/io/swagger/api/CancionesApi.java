@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.v3.generators.java.SpringCodegen", date = "2025-11-10T17:11:09.236506587Z[GMT]")
 @Validated
@@ -44,6 +45,9 @@ public interface CancionesApi {
         produces = { "application/json" }, 
         method = RequestMethod.GET)
     ResponseEntity<List<Cancion>> cancionesAlbumIdAlbumGet(@Parameter(in = ParameterIn.PATH, description = "ID del álbum cuyas canciones se desean consultar", required=true, schema=@Schema()) @PathVariable("idAlbum") Integer idAlbum
+, @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+, @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+, @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id." ,schema=@Schema()) @Valid @RequestParam(value = "expand", required = false) String expand
 );
 
 
@@ -58,6 +62,7 @@ public interface CancionesApi {
         produces = { "application/json" }, 
         method = RequestMethod.GET)
     ResponseEntity<List<Cancion>> cancionesArtistaIdArtistaGet(@Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas canciones se desean consultar", required=true, schema=@Schema()) @PathVariable("idArtista") Integer idArtista
+, @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id." ,schema=@Schema()) @Valid @RequestParam(value = "expand", required = false) String expand
 );
 
 
@@ -72,6 +77,7 @@ public interface CancionesApi {
         produces = { "application/json" }, 
         method = RequestMethod.GET)
     ResponseEntity<List<Cancion>> cancionesGeneroIdGeneroGet(@Parameter(in = ParameterIn.PATH, description = "ID del género cuyas canciones se desean consultar", required=true, schema=@Schema()) @PathVariable("idGenero") Integer idGenero
+, @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id." ,schema=@Schema()) @Valid @RequestParam(value = "expand", required = false) String expand
 );
 
 
@@ -84,7 +90,45 @@ public interface CancionesApi {
         produces = { "application/json" }, 
         method = RequestMethod.GET)
     ResponseEntity<List<Cancion>> cancionesGet(@Parameter(in = ParameterIn.QUERY, description = "ID del álbum al que pertenece la canción" ,schema=@Schema()) @Valid @RequestParam(value = "idAlbum", required = false) Integer idAlbum
-, @Parameter(in = ParameterIn.QUERY, description = "Nombre de la canción" ,schema=@Schema()) @Valid @RequestParam(value = "nombre", required = false) String nombre
+, @Parameter(in = ParameterIn.QUERY, description = "Palabras que debe contener el nombre de la canción, sin distinguir mayúsculas ni tildes." ,schema=@Schema()) @Valid @RequestParam(value = "nombre", required = false) String nombre
+, @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+, @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+, @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id." ,schema=@Schema()) @Valid @RequestParam(value = "expand", required = false) String expand
+);
+
+
+    @Operation(summary = "Obtener canciones con campos seleccionados", description = "Igual que GET /canciones, pero cada canción sólo incluye los campos indicados en fields (separados por comas, p. ej. idElemento,nombre,idAlbum).", tags={ "Canciones" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Lista de canciones con los campos pedidos", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Object.class)))),
+        
+        @ApiResponse(responseCode = "400", description = "Campo desconocido o parámetros de paginación inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/canciones",
+        params = "fields",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<List<Map<String, Object>>> cancionesGetCampos(@Parameter(in = ParameterIn.QUERY, description = "Campos de cada canción: idElemento, nombre, descripcion, fechacrea, precio, esnovedad, numventas, valoracion, genero, subgenero, artista, urlFoto, nombreAudio, numRep, idAlbum." ,required=true ,schema=@Schema()) @Valid @RequestParam(value = "fields", required = true) String fields
+, @Parameter(in = ParameterIn.QUERY, description = "ID del álbum al que pertenece la canción" ,schema=@Schema()) @Valid @RequestParam(value = "idAlbum", required = false) Integer idAlbum
+, @Parameter(in = ParameterIn.QUERY, description = "Palabras que debe contener el nombre de la canción, sin distinguir mayúsculas ni tildes." ,schema=@Schema()) @Valid @RequestParam(value = "nombre", required = false) String nombre
+, @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+, @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+);
+
+
+    @Operation(summary = "Obtener varias canciones por ID", description = "Devuelve en una sola petición las canciones cuyos IDs se envían en el cuerpo como lista JSON, en el mismo orden en que se piden. Los ids que no existen se indican en la cabecera X-Ids-No-Encontrados.", tags={ "Canciones" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Canciones encontradas, en el orden pedido", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Cancion.class)))),
+        
+        @ApiResponse(responseCode = "400", description = "Lista de ids vacía o demasiado larga", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/canciones/batch",
+        produces = { "application/json" }, 
+        consumes = { "application/json" }, 
+        method = RequestMethod.POST)
+    ResponseEntity<List<Cancion>> cancionesBatchPost(@Parameter(in = ParameterIn.DEFAULT, description = "IDs de las canciones", required=true, schema=@Schema()) @RequestBody List<Integer> body
+, @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id." ,schema=@Schema()) @Valid @RequestParam(value = "expand", required = false) String expand
 );
 
 
@@ -20,6 +20,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.validation.Valid;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.v3.generators.java.SpringCodegen", date = "2025-11-10T17:11:09.236506587Z[GMT]")
 @Validated
@@ -51,6 +54,7 @@ public interface CancionesidCancionApi {
         produces = { "application/json" }, 
         method = RequestMethod.GET)
     ResponseEntity<Cancion> cancionesidCancionGet(@Parameter(in = ParameterIn.PATH, description = "ID de la canción a consultar", required=true, schema=@Schema()) @PathVariable("idCancion") Integer idCancion
+, @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id." ,schema=@Schema()) @Valid @RequestParam(value = "expand", required = false) String expand
 );
 
 }
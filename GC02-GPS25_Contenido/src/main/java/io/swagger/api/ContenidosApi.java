@@ -7,6 +7,7 @@ package io.swagger.api;
 
 import io.swagger.model.Contenido;
 import io.swagger.model.ErrorResponse;
+import io.swagger.model.Facetas;
 import org.threeten.bp.LocalDate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -22,15 +23,17 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.v3.generators.java.SpringCodegen", date = "2025-10-27T17:33:52.662194674Z[GMT]")
 @Validated
 public interface ContenidosApi {
 
-    @Operation(summary = "Obtener contenido disponible", description = "Devuelve todo el contenido disponible (álbumes, canciones y artistas) en formato, JSON.   Permite aplicar filtros opcionales por género, subgénero, precio mínimo/máximo y fecha mínima/máxima. ", tags={ "Contenidos" })
+    @Operation(summary = "Obtener contenido disponible", description = "Devuelve todo el contenido disponible (álbumes, canciones y artistas) en formato, JSON.   Permite aplicar filtros opcionales por género, subgénero, precio mínimo/máximo y fecha mínima/máxima, que se aplican también a los artistas. Si los artistas no se obtienen a tiempo la respuesta sólo incluye álbumes y canciones y lleva la cabecera X-Resultado-Parcial: artistas. ", tags={ "Contenidos" })
     @ApiResponses(value = { 
         @ApiResponse(responseCode = "200", description = "Lista de contenidos obtenida correctamente.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Contenido.class)))),
         
@@ -44,7 +47,73 @@ public interface ContenidosApi {
 , @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
 , @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
 , @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+, @Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden
+, @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+, @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
 );
 
-}
 
+    @Operation(summary = "Obtener contenido con campos seleccionados", description = "Igual que GET /contenidos, pero cada contenido sólo incluye los campos indicados en fields (separados por comas, p. ej. id,nombre,tipo). Los campos que no se piden no se leen de la base de datos ni se completan con otros servicios. ", tags={ "Contenidos" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Lista de contenidos con los campos pedidos.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Object.class)))),
+        
+        @ApiResponse(responseCode = "400", description = "Campo desconocido o parámetros de paginación inválidos.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/contenidos",
+        params = "fields",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<List<Map<String, Object>>> contenidosGetCampos(@Parameter(in = ParameterIn.QUERY, description = "Campos de cada contenido: id, nombre, descripcion, fechacrea, precio, tipo, esnovedad, numventas, valoracion, genero, subgenero, fotoamazon." ,required=true ,schema=@Schema()) @Valid @RequestParam(value = "fields", required = true) String fields
+, @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+, @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+, @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+, @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+, @Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden
+, @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+, @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+);
+
+
+    @Operation(summary = "Obtener contenido en streaming", description = "Devuelve el mismo contenido que GET /contenidos en formato NDJSON (un contenido por línea), escribiendo cada elemento según se lee de la base de datos. Se activa con la cabecera Accept: application/x-ndjson o con el parámetro stream=true. ", tags={ "Contenidos" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Contenidos en formato NDJSON.", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Contenido.class))) })
+    @RequestMapping(value = "/contenidos",
+        produces = { "application/x-ndjson" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<StreamingResponseBody> contenidosGetNdjson(@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+, @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+, @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+, @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+);
+
+    @Operation(summary = "Recuentos por faceta del catálogo", description = "Devuelve cuántos álbumes y canciones cumplen los filtros de GET /contenidos, desglosados por género, subgénero, tramo de precio y tipo. Los artistas externos no se incluyen. ", tags={ "Contenidos" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Recuentos obtenidos correctamente.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Facetas.class))),
+        
+        @ApiResponse(responseCode = "503", description = "El índice del catálogo se está cargando.") })
+    @RequestMapping(value = "/contenidos/facetas",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<Facetas> contenidosFacetasGet(@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+, @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+, @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+, @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+);
+
+    @RequestMapping(value = "/contenidos",
+        params = "stream=true",
+        method = RequestMethod.GET)
+    ResponseEntity<StreamingResponseBody> contenidosGetStream(@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+, @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+, @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+, @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+, @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+);
+
+}
@@ -9,6 +9,7 @@ import io.swagger.model.Cancion;
 import io.swagger.model.Elemento;
 import io.swagger.model.ElementoInput;
 import io.swagger.model.ElementoPut;
+import io.swagger.model.ElementoSimilar;
 import io.swagger.model.ErrorResponse;
 import org.threeten.bp.LocalDate;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,8 +28,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.v3.generators.java.SpringCodegen", date = "2025-11-10T17:11:09.236506587Z[GMT]")
 @Validated
@@ -49,7 +52,79 @@ public interface ElementosApi {
             @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
             @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
             @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
-            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax);
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
+
+    @Operation(summary = "Obtener varios elementos por ID", description = "Devuelve en una sola petición los elementos de la lista ids (separados por comas), en el mismo orden en que se piden. Los ids que no existen se indican en la cabecera X-Ids-No-Encontrados. ", tags = {
+            "Elementos" })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Elementos encontrados, en el orden pedido.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Elemento.class)))),
+
+            @ApiResponse(responseCode = "400", description = "Lista de ids vacía, inválida o demasiado larga.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/elementos", params = "ids", produces = { "application/json" }, method = RequestMethod.GET)
+    ResponseEntity<List<Elemento>> elementosGetPorIds(
+            @Parameter(in = ParameterIn.QUERY, description = "IDs de los elementos, separados por comas.", required = true, schema = @Schema()) @Valid @RequestParam(value = "ids", required = true) List<Integer> ids,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
+
+    @Operation(summary = "Obtener contenido con campos seleccionados", description = "Igual que GET /elementos, pero cada elemento sólo incluye los campos indicados en fields (separados por comas, p. ej. id,nombre,precio). Los campos que no se piden no se leen de la base de datos ni se completan con otros servicios. ", tags = {
+            "Elementos" })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de elementos con los campos pedidos.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Object.class)))),
+
+            @ApiResponse(responseCode = "400", description = "Campo desconocido o parámetros de paginación inválidos.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/elementos", params = { "fields", "!ids" }, produces = { "application/json" }, method = RequestMethod.GET)
+    ResponseEntity<List<Map<String, Object>>> elementosGetCampos(
+            @Parameter(in = ParameterIn.QUERY, description = "Campos de cada elemento: id, nombre, descripcion, fechacrea, precio, esalbum, esnovedad, numventas, valoracion, genero, subgenero, artista, urlFoto.", required = true, schema = @Schema()) @Valid @RequestParam(value = "fields", required = true) String fields,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite);
+
+    @Operation(summary = "Obtener contenido en streaming", description = "Devuelve el mismo contenido que GET /elementos en formato NDJSON (un elemento por línea), escribiendo cada elemento según se lee de la base de datos. Se activa con la cabecera Accept: application/x-ndjson o con el parámetro stream=true. ", tags = {
+            "Elementos" })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Elementos en formato NDJSON.", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Elemento.class))),
+
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/elementos", produces = { "application/x-ndjson" }, method = RequestMethod.GET)
+    ResponseEntity<StreamingResponseBody> elementosGetNdjson(
+            @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
+
+    @RequestMapping(value = "/elementos", params = "stream=true", method = RequestMethod.GET)
+    ResponseEntity<StreamingResponseBody> elementosGetStream(
+            @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
 
     @Operation(summary = "Eliminar un contenido por ID", description = "Borra un contenido existente del sistema.", security = {
             @SecurityRequirement(name = "bearerAuth") }, tags = { "Elementos" })
@@ -75,7 +150,21 @@ public interface ElementosApi {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
     @RequestMapping(value = "/elementos/{id}", produces = { "application/json" }, method = RequestMethod.GET)
     ResponseEntity<Elemento> elementosIdGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del contenido a consultar", required = true, schema = @Schema()) @PathVariable("id") Integer id);
+            @Parameter(in = ParameterIn.PATH, description = "ID del contenido a consultar", required = true, schema = @Schema()) @PathVariable("id") Integer id,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
+
+    @Operation(summary = "Elementos similares", description = "Elementos más parecidos al indicado según las valoraciones de los usuarios que han valorado ambos, de mayor a menor similitud. Se sirve desde memoria.", tags = {
+            "Elementos" })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de elementos similares; vacía si el elemento no tiene valoraciones suficientes.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ElementoSimilar.class)))),
+
+            @ApiResponse(responseCode = "503", description = "La matriz de similares se está cargando."),
+
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/elementos/{id}/similares", produces = { "application/json" }, method = RequestMethod.GET)
+    ResponseEntity<List<ElementoSimilar>> elementosIdSimilaresGet(
+            @Parameter(in = ParameterIn.PATH, description = "ID del elemento de referencia", required = true, schema = @Schema()) @PathVariable("id") Integer id,
+            @Parameter(in = ParameterIn.QUERY, description = "Número máximo de elementos a devolver; no puede superar los vecinos guardados por elemento.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite);
 
     @Operation(summary = "Crear un nuevo elemento", description = "Registra un nuevo elemento en la base de datos.", security = {
             @SecurityRequirement(name = "bearerAuth") }, tags = { "Elementos" })
@@ -118,7 +207,8 @@ public interface ElementosApi {
     @RequestMapping(value = "/elementos/artista/{idArtista}", produces = {
             "application/json" }, method = RequestMethod.GET)
     ResponseEntity<List<Elemento>> elementosArtistaIdArtistaGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idArtista") Integer idArtista);
+            @Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idArtista") Integer idArtista,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
 
     @Operation(summary = "Obtener elementos por género", description = "Devuelve todas las elementos que pertenecen al género con el ID proporcionado.", tags = {
             "elementos genero" })
@@ -131,6 +221,7 @@ public interface ElementosApi {
     @RequestMapping(value = "/elementos/genero/{idGenero}", produces = {
             "application/json" }, method = RequestMethod.GET)
     ResponseEntity<List<Elemento>> elementosGeneroIdGeneroGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del género cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idGenero") Integer idGenero);
+            @Parameter(in = ParameterIn.PATH, description = "ID del género cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idGenero") Integer idGenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand);
 
 }
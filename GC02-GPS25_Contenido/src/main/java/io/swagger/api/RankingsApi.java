@@ -0,0 +1,43 @@
+package io.swagger.api;
+
+import io.swagger.model.ErrorResponse;
+import io.swagger.model.PosicionRanking;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@Validated
+public interface RankingsApi {
+
+    @Operation(summary = "Ranking del catálogo", description = "Devuelve los elementos con más ventas, mejor valoración o más reproducciones (sólo canciones), de mayor a menor. Se puede limitar a un género.", tags={ "Elementos" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Ranking solicitado.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = PosicionRanking.class)))),
+        
+        @ApiResponse(responseCode = "400", description = "Criterio de ranking no válido."),
+        
+        @ApiResponse(responseCode = "503", description = "Los rankings se están cargando."),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/rankings/{criterio}",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<List<PosicionRanking>> rankingsGet(@Parameter(in = ParameterIn.PATH, description = "Contador por el que se ordena.", required=true, schema=@Schema(allowableValues = { "ventas", "valoracion", "reproducciones" })) @PathVariable("criterio") String criterio
+, @Parameter(in = ParameterIn.QUERY, description = "ID del género al que se limita el ranking." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+, @Parameter(in = ParameterIn.QUERY, description = "Número de puestos a devolver." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+);
+
+}
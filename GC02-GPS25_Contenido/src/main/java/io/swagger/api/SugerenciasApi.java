@@ -0,0 +1,38 @@
+package io.swagger.api;
+
+import io.swagger.model.ErrorResponse;
+import io.swagger.model.Sugerencia;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Validated
+public interface SugerenciasApi {
+
+    @Operation(summary = "Autocompletar nombres", description = "Devuelve los nombres de canciones, álbumes y géneros que empiezan por el texto indicado (o que tienen una palabra que empieza por él), de más a menos populares. No distingue mayúsculas ni tildes.", tags={ "Buscar" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Sugerencias encontradas.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Sugerencia.class)))),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/sugerencias",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<List<Sugerencia>> sugerenciasGet(@NotNull @Parameter(in = ParameterIn.QUERY, description = "Texto escrito hasta el momento." ,required=true,schema=@Schema()) @Valid @RequestParam(value = "q", required = true) String q
+, @Parameter(in = ParameterIn.QUERY, description = "Número máximo de sugerencias (hasta 20)." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+);
+
+}
@@ -22,6 +22,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -38,7 +39,8 @@ public interface UsuarioValoraElemApi {
     @RequestMapping(value = "/usuarioValoraElem",
         produces = { "application/json" }, 
         method = RequestMethod.GET)
-    ResponseEntity<List<UsuarioValoraElem>> usuarioValoraElemGet();
+    ResponseEntity<List<UsuarioValoraElem>> usuarioValoraElemGet(@Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+, @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite);
 
     @Operation(summary = "Obtener todas las valoraciones de un elemento por usuarios", description = "Devuelve todas las valoraciones realizadas por los usuarios a un elemento.", tags={ "Valoraciones" })
     @ApiResponses(value = { 
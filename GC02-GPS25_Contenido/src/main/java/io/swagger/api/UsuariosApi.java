@@ -0,0 +1,40 @@
+package io.swagger.api;
+
+import io.swagger.model.Elemento;
+import io.swagger.model.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@Validated
+public interface UsuariosApi {
+
+    @Operation(summary = "Recomendaciones para un usuario", description = "Devuelve elementos que el usuario no ha valorado, ordenados por su afinidad con los géneros y subgéneros que mejor ha valorado y por su popularidad (ventas y valoración media). Un usuario sin valoraciones recibe los más populares.", tags={ "Elementos" })
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Elementos recomendados, del más al menos recomendable.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Elemento.class)))),
+        
+        @ApiResponse(responseCode = "503", description = "Los rankings se están cargando."),
+        
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))) })
+    @RequestMapping(value = "/usuarios/{idUser}/recomendados",
+        produces = { "application/json" }, 
+        method = RequestMethod.GET)
+    ResponseEntity<List<Elemento>> usuariosIdUserRecomendadosGet(@Parameter(in = ParameterIn.PATH, description = "ID del usuario.", required=true, schema=@Schema()) @PathVariable("idUser") Integer idUser
+, @Parameter(in = ParameterIn.QUERY, description = "Número de elementos a devolver." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+);
+
+}
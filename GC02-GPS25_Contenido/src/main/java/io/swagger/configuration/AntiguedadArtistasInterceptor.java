@@ -0,0 +1,35 @@
+package io.swagger.configuration;
+
+import io.swagger.services.InstantaneaArtistas;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Marca las respuestas de /contenidos cuyos artistas salen de una instantánea que no se ha
+ * podido refrescar (servicio de usuarios caído): la cabecera {@code X-Artistas-Antiguedad}
+ * lleva los segundos desde que se obtuvo. Mientras no hay ninguna instantánea va con 0 y
+ * la respuesta puede venir sin artistas. Sin la cabecera, los artistas están al día.
+ */
+@Component
+public class AntiguedadArtistasInterceptor implements HandlerInterceptor {
+
+    public static final String CABECERA = "X-Artistas-Antiguedad";
+
+    private final InstantaneaArtistas instantaneaArtistas;
+
+    public AntiguedadArtistasInterceptor(InstantaneaArtistas instantaneaArtistas) {
+        this.instantaneaArtistas = instantaneaArtistas;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (instantaneaArtistas.isDesactualizada()) {
+            response.setHeader(CABECERA, Long.toString(instantaneaArtistas.antiguedadMs() / 1000));
+        }
+        return true;
+    }
+}
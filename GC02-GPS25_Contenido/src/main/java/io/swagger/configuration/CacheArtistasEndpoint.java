@@ -0,0 +1,35 @@
+package io.swagger.configuration;
+
+import io.swagger.services.ArtistaClient;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vaciado a mano de la caché de artistas, para cuando un artista cambia en el servicio de
+ * usuarios y no se quiere esperar a que caduque:
+ * {@code DELETE /actuator/cacheartistas} la vacía entera y
+ * {@code DELETE /actuator/cacheartistas/{id}} descarta sólo ese artista.
+ */
+@Component
+@Endpoint(id = "cacheartistas")
+public class CacheArtistasEndpoint {
+
+    private final ArtistaClient artistaClient;
+
+    public CacheArtistasEndpoint(ArtistaClient artistaClient) {
+        this.artistaClient = artistaClient;
+    }
+
+    @DeleteOperation
+    public void vaciar() {
+        artistaClient.olvidarArtistas();
+    }
+
+    @DeleteOperation
+    public void descartar(@Selector Integer id) {
+        artistaClient.olvidarArtista(id);
+    }
+}
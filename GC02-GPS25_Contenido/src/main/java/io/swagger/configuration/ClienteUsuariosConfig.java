@@ -0,0 +1,64 @@
+package io.swagger.configuration;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente HTTP para el servicio de usuarios: conexiones persistentes reutilizadas desde un
+ * pool y tiempos máximos de conexión, de espera de conexión libre y de lectura, para que un
+ * servicio de usuarios lento no deje bloqueados los hilos de Tomcat.
+ * <p>
+ * Se construye con el {@link RestTemplateBuilder} de Spring Boot, que añade las métricas
+ * {@code http.client.requests} (latencia y estado de cada llamada).
+ */
+@Configuration
+public class ClienteUsuariosConfig {
+
+    @Value("${contenido.usuarios.conexiones.maximo:50}")
+    private int maximoConexiones;
+
+    @Value("${contenido.usuarios.timeout.conexion-ms:1000}")
+    private int timeoutConexionMs;
+
+    @Value("${contenido.usuarios.timeout.pool-ms:500}")
+    private int timeoutPoolMs;
+
+    @Value("${contenido.usuarios.timeout.lectura-ms:3000}")
+    private int timeoutLecturaMs;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient clienteHttpUsuarios() {
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(60, TimeUnit.SECONDS);
+        pool.setMaxTotal(maximoConexiones);
+        // Todas las llamadas van al mismo servicio: una sola ruta puede usar el pool entero
+        pool.setDefaultMaxPerRoute(maximoConexiones);
+        pool.setValidateAfterInactivity(2000);
+        return HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeoutConexionMs)
+                        .setConnectionRequestTimeout(timeoutPoolMs)
+                        .setSocketTimeout(timeoutLecturaMs)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplateUsuarios(RestTemplateBuilder builder, CloseableHttpClient clienteHttpUsuarios) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(clienteHttpUsuarios))
+                .build();
+    }
+}
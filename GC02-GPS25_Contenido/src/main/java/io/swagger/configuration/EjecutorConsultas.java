@@ -0,0 +1,42 @@
+package io.swagger.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool acotado para las subconsultas que una misma petición lanza en paralelo.
+ * Con el pool y la cola llenos la tarea se rechaza con {@link java.util.concurrent.RejectedExecutionException}
+ * en lugar de ejecutarse en el hilo de la petición: así una ráfaga no acaba ocupando también
+ * los hilos de Tomcat, y quien lanza la subconsulta la trata como si no hubiera llegado a tiempo.
+ * <p>
+ * No se publica como bean {@link Executor} para no sustituir al ejecutor que Spring Boot
+ * configura para las respuestas asíncronas (NDJSON).
+ */
+@Component
+public class EjecutorConsultas {
+
+    private final ThreadPoolExecutor pool;
+
+    public EjecutorConsultas(@Value("${contenido.consultas-paralelas.hilos:8}") int hilos,
+            @Value("${contenido.consultas-paralelas.cola:64}") int cola) {
+        this.pool = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(cola),
+                new CustomizableThreadFactory("consultas-"), new ThreadPoolExecutor.AbortPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    public Executor ejecutor() {
+        return pool;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,123 @@
+package io.swagger.configuration;
+
+import io.swagger.services.VersionCatalogo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * GET condicional para las lecturas del catálogo. El ETag se calcula sólo con contadores
+ * en memoria ({@link VersionCatalogo}), así que un {@code If-None-Match} vigente se responde
+ * con 304 aquí mismo, antes de llegar al controlador: sin consultas ni serialización.
+ * <p>
+ * Los listados usan la versión global del catálogo; {@code /elementos/{id}} y
+ * {@code /canciones/{idCancion}} la del propio elemento junto con la de los géneros.
+ * El identificador de arranque evita repetir ETags tras un reinicio, y el tramo de tiempo
+ * hace caducar las respuestas que incluyen datos de artistas del servicio de usuarios, que
+ * no avisa de sus cambios; los géneros no los llevan y no caducan por tiempo.
+ * <p>
+ * Una misma URL puede dar JSON o NDJSON según {@code Accept}: el ETag lleva el tipo de la
+ * respuesta elegida y se añade {@code Vary: Accept}. Las respuestas de error no se quedan
+ * con el ETag ({@link EtagSoloExitoFilter}).
+ */
+@Component
+public class EtagCatalogoInterceptor implements HandlerInterceptor {
+
+    private final VersionCatalogo versionCatalogo;
+    private final String arranque = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+
+    @Value("${contenido.etag.validez-segundos:60}")
+    private long validezSegundos;
+
+    public EtagCatalogoInterceptor(VersionCatalogo versionCatalogo) {
+        this.versionCatalogo = versionCatalogo;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String metodo = request.getMethod();
+        if (!"GET".equals(metodo) && !"HEAD".equals(metodo)) {
+            return true;
+        }
+        // Sin no-store para que el navegador guarde la respuesta y revalide con el ETag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // La versión se lee antes que los datos: si hay una escritura entre medias, el ETag
+        // devuelto ya es antiguo y la siguiente petición recibe la respuesta nueva
+        // checkNotModified pone la cabecera ETag y, si coincide con If-None-Match, el estado 304
+        return !new ServletWebRequest(request, response).checkNotModified(etag(request));
+    }
+
+    /**
+     * Para las respuestas a las que les falta una parte: no deben guardarse ni revalidarse con
+     * el ETag de la respuesta completa, así que se marcan no-store y el ETag puesto en
+     * {@link #preHandle} se sustituye por uno que nunca coincide con el de una completa.
+     */
+    public static void marcarIncompleta(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && etag.endsWith("\"")) {
+            response.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + "-parcial\"");
+        }
+    }
+
+    private String etag(HttpServletRequest request) {
+        StringBuilder etag = new StringBuilder("\"").append(arranque);
+        Integer id = idElemento(request);
+        if (id != null) {
+            etag.append("-e").append(versionCatalogo.deElemento(id)).append("-g").append(versionCatalogo.generos());
+        } else {
+            etag.append("-c").append(versionCatalogo.actual());
+        }
+        if (conArtistas(request)) {
+            etag.append("-t").append(System.currentTimeMillis() / 1000 / Math.max(1, validezSegundos));
+        }
+        return etag.append(tipo(request)).append('"').toString();
+    }
+
+    // Todas las rutas del catálogo salvo las de géneros incluyen artistas
+    private static boolean conArtistas(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return !(patron instanceof String && ((String) patron).startsWith("/generos"));
+    }
+
+    // Tipo de respuesta que declara el método elegido (produces), o nada si no declara ninguno
+    @SuppressWarnings("unchecked")
+    private static String tipo(HttpServletRequest request) {
+        Set<MediaType> tipos = (Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        if (tipos == null || tipos.isEmpty()) {
+            return "";
+        }
+        StringBuilder sufijo = new StringBuilder();
+        for (MediaType tipo : tipos) {
+            sufijo.append('-').append(tipo.getSubtype());
+        }
+        return sufijo.toString();
+    }
+
+    // Variables de la ruta ya resueltas por el HandlerMapping
+    @SuppressWarnings("unchecked")
+    private static Integer idElemento(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return null;
+        }
+        String valor = variables.containsKey("id") ? variables.get("id") : variables.get("idCancion");
+        try {
+            return valor != null ? Integer.valueOf(valor) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.swagger.configuration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * El ETag de {@link EtagCatalogoInterceptor} se pone antes de que el controlador responda,
+ * cuando todavía no se sabe si la respuesta será un 404 o un 503. Este filtro retiene la
+ * cabecera hasta que se escriben las cabeceras de la respuesta y sólo la deja pasar si el
+ * estado es 2xx o 304: un error nunca lleva el ETag del catálogo.
+ */
+@Component
+public class EtagSoloExitoFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        return !"GET".equals(metodo) && !"HEAD".equals(metodo);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EtagRetenido respuesta = new EtagRetenido(response);
+        chain.doFilter(request, respuesta);
+        // Con streaming la respuesta se escribe después, desde otro hilo, y pasa por getOutputStream
+        if (!request.isAsyncStarted()) {
+            respuesta.aplicar();
+        }
+    }
+
+    private static final class EtagRetenido extends HttpServletResponseWrapper {
+
+        private String etag;
+        private boolean aplicado;
+
+        EtagRetenido(HttpServletResponse response) {
+            super(response);
+        }
+
+        // Primer momento en que se escriben las cabeceras: el estado ya es el definitivo
+        synchronized void aplicar() {
+            if (aplicado) {
+                return;
+            }
+            aplicado = true;
+            int estado = getStatus();
+            if (etag != null && (estado / 100 == 2 || estado == HttpServletResponse.SC_NOT_MODIFIED)) {
+                super.setHeader(HttpHeaders.ETAG, etag);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!retener(name, value)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!retener(name, value)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return esEtag(name) && !aplicado ? etag : super.getHeader(name);
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return esEtag(name) && !aplicado ? etag != null : super.containsHeader(name);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            aplicar();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            aplicar();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            aplicar();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            descartar();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            descartar();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            descartar();
+            super.sendRedirect(location);
+        }
+
+        private synchronized boolean retener(String name, String value) {
+            if (!esEtag(name) || aplicado) {
+                return false;
+            }
+            etag = value;
+            return true;
+        }
+
+        private synchronized void descartar() {
+            etag = null;
+            aplicado = true;
+        }
+
+        private static boolean esEtag(String name) {
+            return HttpHeaders.ETAG.equalsIgnoreCase(name);
+        }
+    }
+}
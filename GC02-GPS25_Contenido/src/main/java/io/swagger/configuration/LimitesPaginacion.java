@@ -0,0 +1,28 @@
+package io.swagger.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tamaños de página configurables para los listados paginados.
+ */
+@Component
+public class LimitesPaginacion {
+
+    @Value("${contenido.paginacion.limite-defecto:50}")
+    private int limiteDefecto;
+
+    @Value("${contenido.paginacion.limite-maximo:500}")
+    private int limiteMaximo;
+
+    /**
+     * Devuelve el tamaño de página efectivo: el pedido por el cliente acotado
+     * a [1, limite-maximo], o el de por defecto si no se indicó.
+     */
+    public int normalizar(Integer limite) {
+        if (limite == null) {
+            return limiteDefecto;
+        }
+        return Math.max(1, Math.min(limite, limiteMaximo));
+    }
+}
@@ -0,0 +1,31 @@
+package io.swagger.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class PeticionesCondicionalesConfig implements WebMvcConfigurer {
+
+    private final EtagCatalogoInterceptor etagCatalogoInterceptor;
+    private final AntiguedadArtistasInterceptor antiguedadArtistasInterceptor;
+
+    public PeticionesCondicionalesConfig(EtagCatalogoInterceptor etagCatalogoInterceptor,
+            AntiguedadArtistasInterceptor antiguedadArtistasInterceptor) {
+        this.etagCatalogoInterceptor = etagCatalogoInterceptor;
+        this.antiguedadArtistasInterceptor = antiguedadArtistasInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(etagCatalogoInterceptor)
+                .addPathPatterns("/contenidos", "/contenidos/facetas", "/elementos", "/elementos/**",
+                        "/generos", "/generos/**", "/canciones/*")
+                // Los vecinos cambian con valoraciones de otros elementos, que no mueven la versión de éste
+                .excludePathPatterns("/elementos/*/similares");
+        // Antes del ETag: un 304 también debe avisar de que los artistas están desactualizados
+        registry.addInterceptor(antiguedadArtistasInterceptor)
+                .addPathPatterns("/contenidos")
+                .order(-1);
+    }
+}
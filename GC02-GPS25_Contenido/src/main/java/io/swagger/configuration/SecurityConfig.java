@@ -32,7 +32,9 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("http://localhost:3001"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("*"));
+        // Con credenciales el comodín no expone cabeceras: se listan las propias explícitamente
+        config.setExposedHeaders(List.of("*", "X-Cursor-Siguiente", "X-Total-Elementos", "ETag", "X-Ids-No-Encontrados",
+                "X-Artistas-Antiguedad", "X-Resultado-Parcial"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
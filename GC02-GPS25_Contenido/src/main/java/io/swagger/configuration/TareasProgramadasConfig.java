@@ -0,0 +1,12 @@
+package io.swagger.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activa las tareas {@code @Scheduled} (reconstrucción en segundo plano de los índices en memoria).
+ */
+@Configuration
+@EnableScheduling
+public class TareasProgramadasConfig {
+}
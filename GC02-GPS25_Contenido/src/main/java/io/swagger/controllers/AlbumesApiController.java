@@ -0,0 +1,43 @@
+package io.swagger.controllers;
+
+import io.swagger.api.AlbumesApi;
+import io.swagger.model.DetalleAlbum;
+import io.swagger.services.DetalleAlbumService;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+
+@RestController
+public class AlbumesApiController implements AlbumesApi {
+
+    private static final Logger log = LoggerFactory.getLogger(AlbumesApiController.class);
+
+    private final DetalleAlbumService detalleAlbumService;
+
+    public AlbumesApiController(DetalleAlbumService detalleAlbumService) {
+        this.detalleAlbumService = detalleAlbumService;
+    }
+
+    // localhost:8080/api/albumes/2/detalle?limiteComentarios=5
+    public ResponseEntity<DetalleAlbum> albumesIdDetalleGet(@Parameter(in = ParameterIn.PATH, description = "ID del álbum.", required=true, schema=@Schema()) @PathVariable("id") Integer id
+,@Parameter(in = ParameterIn.QUERY, description = "Número de comentarios a incluir." ,schema=@Schema()) @Valid @RequestParam(value = "limiteComentarios", required = false) Integer limiteComentarios) {
+        try {
+            return detalleAlbumService.obtener(id, limiteComentarios)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException ex) {
+            log.warn(ex.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
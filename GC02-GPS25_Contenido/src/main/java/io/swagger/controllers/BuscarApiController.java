@@ -0,0 +1,58 @@
+package io.swagger.controllers;
+
+import io.swagger.api.BuscarApi;
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.model.Elemento;
+import io.swagger.services.ConsultaElementosService;
+import io.swagger.services.ElementoService;
+import io.swagger.services.IndiceTextual;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@RestController
+public class BuscarApiController implements BuscarApi {
+
+    private static final String MODO_EXACTO = "exacto";
+    private static final String MODO_DIFUSO = "difuso";
+
+    private final IndiceTextual indiceTextual;
+    private final ConsultaElementosService consultaElementosService;
+    private final ElementoService elementoService;
+    private final LimitesPaginacion limitesPaginacion;
+
+    public BuscarApiController(IndiceTextual indiceTextual, ConsultaElementosService consultaElementosService,
+            ElementoService elementoService, LimitesPaginacion limitesPaginacion) {
+        this.indiceTextual = indiceTextual;
+        this.consultaElementosService = consultaElementosService;
+        this.elementoService = elementoService;
+        this.limitesPaginacion = limitesPaginacion;
+    }
+
+    // localhost:8080/api/buscar?q=verano  (o ?q=verabo&modo=difuso)
+    public ResponseEntity<List<Elemento>> buscarGet(@NotNull @Parameter(in = ParameterIn.QUERY, description = "Texto a buscar." ,required=true,schema=@Schema()) @Valid @RequestParam(value = "q", required = true) String q
+,@Parameter(in = ParameterIn.QUERY, description = "Número máximo de resultados." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite
+,@Parameter(in = ParameterIn.QUERY, description = "exacto (por defecto) o difuso, que tolera errores de escritura en las palabras buscadas." ,schema=@Schema(allowableValues = { "exacto", "difuso" })) @Valid @RequestParam(value = "modo", required = false) String modo) {
+        boolean difuso = MODO_DIFUSO.equals(modo);
+        if (modo != null && !difuso && !MODO_EXACTO.equals(modo)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!indiceTextual.isListo()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        int k = limitesPaginacion.normalizar(limite);
+        int[] ids = difuso ? indiceTextual.buscarDifuso(q, k) : indiceTextual.buscar(q, k);
+        List<Elemento> resultados = elementoService.convertirLote(consultaElementosService.cargarPorIds(ids));
+        return ResponseEntity.ok(resultados);
+    }
+}
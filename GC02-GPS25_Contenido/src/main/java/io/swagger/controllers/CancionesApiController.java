@@ -5,7 +5,10 @@ import io.swagger.entity.CancionEntity;
 import io.swagger.entity.ElementoEntity;
 import io.swagger.model.Cancion;
 import io.swagger.services.CancionService;
+import io.swagger.services.ConsultaPorIdsService;
 import io.swagger.services.ElementoService;
+import io.swagger.services.Expansion;
+import io.swagger.services.ProyeccionService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +30,7 @@ import io.swagger.model.CancionPut;
 import javax.validation.Valid;
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -39,23 +43,33 @@ public class CancionesApiController implements CancionesApi {
     private final HttpServletRequest request;
     private final CancionService cancionService;
     private final ElementoService elementoService;
+    private final ProyeccionService proyeccionService;
+    private final ConsultaPorIdsService consultaPorIdsService;
 
     @org.springframework.beans.factory.annotation.Autowired
     public CancionesApiController(ObjectMapper objectMapper, HttpServletRequest request, CancionService cancionService,
-            ElementoService elementoService) {
+            ElementoService elementoService, ProyeccionService proyeccionService,
+            ConsultaPorIdsService consultaPorIdsService) {
         this.objectMapper = objectMapper;
         this.request = request;
         this.cancionService = cancionService;
         this.elementoService = elementoService;
+        this.proyeccionService = proyeccionService;
+        this.consultaPorIdsService = consultaPorIdsService;
     }
 
     @GetMapping("/canciones/album/{idAlbum}")
     public ResponseEntity<List<Cancion>> cancionesAlbumIdAlbumGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del álbum cuyas canciones se desean consultar", required = true, schema = @Schema()) @PathVariable("idAlbum") Integer idAlbum) {
-        List<Cancion> canciones = cancionService.getAll()
-                .stream()
-                .filter(c -> c.getIdAlbum() != null && c.getIdAlbum().equals(idAlbum))
-                .collect(Collectors.toList());
+            @Parameter(in = ParameterIn.PATH, description = "ID del álbum cuyas canciones se desean consultar", required = true, schema = @Schema()) @PathVariable("idAlbum") Integer idAlbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        Expansion expansion = Expansion.desde(expand);
+        if (RespuestasPaginadas.solicitada(cursor, limite)) {
+            return paginaDeCanciones(idAlbum, null, cursor, limite, expansion);
+        }
+
+        List<Cancion> canciones = cancionService.getDeAlbum(idAlbum, expansion);
 
         if (canciones.isEmpty())
             return ResponseEntity.noContent().build();
@@ -65,8 +79,9 @@ public class CancionesApiController implements CancionesApi {
 
     @GetMapping("/canciones/artista/{idArtista}")
     public ResponseEntity<List<Cancion>> cancionesArtistaIdArtistaGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas canciones se desean consultar", required = true, schema = @Schema()) @PathVariable("idArtista") Integer idArtista) {
-        List<Cancion> canciones = cancionService.getAll()
+            @Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas canciones se desean consultar", required = true, schema = @Schema()) @PathVariable("idArtista") Integer idArtista,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        List<Cancion> canciones = cancionService.getAll(Expansion.desde(expand))
                 .stream()
                 .filter(c -> c.getArtista() != null && c.getArtista().getId().equals(idArtista))
                 .collect(Collectors.toList());
@@ -79,8 +94,9 @@ public class CancionesApiController implements CancionesApi {
 
     @GetMapping("/canciones/genero/{idGenero}")
     public ResponseEntity<List<Cancion>> cancionesGeneroIdGeneroGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del género cuyas canciones se desean consultar", required = true, schema = @Schema()) @PathVariable("idGenero") Integer idGenero) {
-        List<Cancion> canciones = cancionService.getAll()
+            @Parameter(in = ParameterIn.PATH, description = "ID del género cuyas canciones se desean consultar", required = true, schema = @Schema()) @PathVariable("idGenero") Integer idGenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        List<Cancion> canciones = cancionService.getAll(Expansion.desde(expand))
                 .stream()
                 .filter(c -> c.getGenero() != null && c.getGenero().getId().equals(idGenero))
                 .collect(Collectors.toList());
@@ -95,14 +111,80 @@ public class CancionesApiController implements CancionesApi {
     @Override
     public ResponseEntity<List<Cancion>> cancionesGet(
             @Parameter(in = ParameterIn.QUERY, description = "ID del álbum al que pertenece la canción", schema = @Schema()) @Valid @RequestParam(value = "idAlbum", required = false) Integer idAlbum,
-            @Parameter(in = ParameterIn.QUERY, description = "Nombre de la canción", schema = @Schema()) @Valid @RequestParam(value = "nombre", required = false) String nombre) {
-        List<Cancion> canciones = cancionService.getAll();
+            @Parameter(in = ParameterIn.QUERY, description = "Palabras que debe contener el nombre de la canción, sin distinguir mayúsculas ni tildes.", schema = @Schema()) @Valid @RequestParam(value = "nombre", required = false) String nombre,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        Expansion expansion = Expansion.desde(expand);
+        if (RespuestasPaginadas.solicitada(cursor, limite)) {
+            return paginaDeCanciones(idAlbum, nombre, cursor, limite, expansion);
+        }
+
+        List<Cancion> canciones;
+        if (nombre != null) {
+            try {
+                canciones = cancionService.buscarPorNombre(idAlbum, nombre, expansion);
+            } catch (IllegalStateException ex) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        } else {
+            canciones = cancionService.getAll(expansion);
+        }
         if (canciones.isEmpty())
             return ResponseEntity.noContent().build();
 
         return ResponseEntity.ok(canciones);
     }
 
+    private ResponseEntity<List<Cancion>> paginaDeCanciones(Integer idAlbum, String nombre, String cursor, Integer limite,
+            Expansion expansion) {
+        try {
+            return RespuestasPaginadas.ok(cancionService.getPagina(idAlbum, nombre, cursor, limite, expansion));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Parámetros de paginación inválidos: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<List<Map<String, Object>>> cancionesGetCampos(
+            @Parameter(in = ParameterIn.QUERY, description = "Campos de cada canción: idElemento, nombre, descripcion, fechacrea, precio, esnovedad, numventas, valoracion, genero, subgenero, artista, urlFoto, nombreAudio, numRep, idAlbum.", required = true, schema = @Schema()) @Valid @RequestParam(value = "fields", required = true) String fields,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del álbum al que pertenece la canción", schema = @Schema()) @Valid @RequestParam(value = "idAlbum", required = false) Integer idAlbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Palabras que debe contener el nombre de la canción, sin distinguir mayúsculas ni tildes.", schema = @Schema()) @Valid @RequestParam(value = "nombre", required = false) String nombre,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        try {
+            if (RespuestasPaginadas.solicitada(cursor, limite)) {
+                return RespuestasPaginadas.ok(proyeccionService.paginaCanciones(idAlbum, nombre, fields, cursor, limite));
+            }
+            List<Map<String, Object>> canciones = proyeccionService.canciones(idAlbum, nombre, fields);
+            if (canciones.isEmpty())
+                return ResponseEntity.noContent().build();
+
+            return ResponseEntity.ok(canciones);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Parámetros de proyección inválidos: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<List<Cancion>> cancionesBatchPost(
+            @Parameter(in = ParameterIn.DEFAULT, description = "IDs de las canciones", required = true, schema = @Schema()) @RequestBody List<Integer> body,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        Expansion expansion = Expansion.desde(expand);
+        try {
+            return RespuestasPorIds.ok(consultaPorIdsService.canciones(body, expansion));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Lista de ids inválida: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Override
     public ResponseEntity<Cancion> cancionesPost(
             @Parameter(in = ParameterIn.DEFAULT, description = "", required = true, schema = @Schema()) @Valid @RequestBody CancionInput body) {
@@ -1,10 +1,15 @@
 package io.swagger.controllers;
 
 import io.swagger.api.ContenidosApi;
+import io.swagger.configuration.EtagCatalogoInterceptor;
 import io.swagger.model.Contenido;
+import io.swagger.model.Facetas;
+import io.swagger.repository.FiltroElementos;
 
 import io.swagger.services.ContenidoService;
+import io.swagger.services.ContenidoUnificado;
 import io.swagger.services.ElementoService;
+import io.swagger.services.ProyeccionService;
 import org.threeten.bp.LocalDate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,14 +17,19 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import javax.validation.Valid;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 
 @javax.annotation.Generated(value = "io.swagger.codegen.v3.generators.java.SpringCodegen", date = "2025-10-27T17:33:52.662194674Z[GMT]")
@@ -27,18 +37,28 @@ import java.util.List;
 public class ContenidosApiController implements ContenidosApi {
 
     private static final Logger log = LoggerFactory.getLogger(ContenidosApiController.class);
+
+    // Partes que faltan en una respuesta que no se ha podido completar a tiempo
+    static final String CABECERA_PARCIAL = "X-Resultado-Parcial";
     private final ElementoService elementoService;
       private final ContenidoService contenidoService;
+    private final ProyeccionService proyeccionService;
     private final ObjectMapper objectMapper;
 
     private final HttpServletRequest request;
 
+    private final HttpServletResponse response;
+
     @org.springframework.beans.factory.annotation.Autowired
-    public ContenidosApiController(ElementoService elementoService, ContenidoService contenidoService,ObjectMapper objectMapper, HttpServletRequest request) {
+    public ContenidosApiController(ElementoService elementoService, ContenidoService contenidoService,
+            ProyeccionService proyeccionService, ObjectMapper objectMapper, HttpServletRequest request,
+            HttpServletResponse response) {
         this.elementoService = elementoService;
         this.contenidoService = contenidoService;
+        this.proyeccionService = proyeccionService;
         this.objectMapper = objectMapper;
         this.request = request;
+        this.response = response;
     }
 
     // localhost:8080/api/contenidos    
@@ -47,11 +67,86 @@ public class ContenidosApiController implements ContenidosApi {
 ,@Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
 ,@Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
 ,@Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+,@Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden
+,@Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+,@Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        if (RespuestasPaginadas.solicitada(cursor, limite)) {
+            try {
+                return RespuestasPaginadas.ok(contenidoService.obtenerContenidoPaginado(
+                    genero, subgenero, preciomin, preciomax, fechamin, fechamax, orden, cursor, limite));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Parámetros de paginación inválidos: {}", ex.getMessage());
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        ContenidoUnificado contenido = contenidoService.obtenerContenidoUnificado(
+            genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (contenido.isArtistasIncompletos()) {
+            respuesta.header(CABECERA_PARCIAL, "artistas");
+            EtagCatalogoInterceptor.marcarIncompleta(response);
+        }
+        return respuesta.body(contenido.getContenidos());
+    }
+
+    // localhost:8080/api/contenidos?fields=id,nombre,tipo
+    public ResponseEntity<List<Map<String, Object>>> contenidosGetCampos(@Parameter(in = ParameterIn.QUERY, description = "Campos de cada contenido: id, nombre, descripcion, fechacrea, precio, tipo, esnovedad, numventas, valoracion, genero, subgenero, fotoamazon." ,required=true ,schema=@Schema()) @Valid @RequestParam(value = "fields", required = true) String fields
+,@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+,@Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+,@Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+,@Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax
+,@Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden
+,@Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+,@Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+        try {
+            if (RespuestasPaginadas.solicitada(cursor, limite)) {
+                return RespuestasPaginadas.ok(proyeccionService.paginaContenidos(filtro, fields, orden, cursor, limite));
+            }
+            return ResponseEntity.ok(proyeccionService.contenidos(filtro, fields));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Parámetros de proyección inválidos: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // localhost:8080/api/contenidos/facetas?genero=1
+    public ResponseEntity<Facetas> contenidosFacetasGet(@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+,@Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+,@Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+,@Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
 ,@Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax) {
-        List<Contenido> lista = contenidoService.obtenerContenidoUnificado(
+        Optional<Facetas> facetas = contenidoService.obtenerFacetas(
             genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+        return facetas.map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
 
-        return ResponseEntity.ok(lista);
+    // localhost:8080/api/contenidos con Accept: application/x-ndjson
+    public ResponseEntity<StreamingResponseBody> contenidosGetNdjson(@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+,@Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+,@Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+,@Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax) {
+        return RespuestasNdjson.<Contenido>ok(objectMapper, emitir -> contenidoService.recorrerContenidoUnificado(
+            genero, subgenero, preciomin, preciomax, fechamin, fechamax, emitir));
+    }
+
+    // localhost:8080/api/contenidos?stream=true
+    public ResponseEntity<StreamingResponseBody> contenidosGetStream(@Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+,@Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar." ,schema=@Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero
+,@Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin
+,@Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido." ,schema=@Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin
+,@Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación." ,schema=@Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax) {
+        return contenidosGetNdjson(genero, subgenero, preciomin, preciomax, fechamin, fechamax);
     }
 
 }
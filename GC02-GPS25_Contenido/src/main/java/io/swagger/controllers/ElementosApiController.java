@@ -2,11 +2,15 @@ package io.swagger.controllers;
 
 import io.swagger.api.ElementosApi;
 import io.swagger.entity.ElementoEntity;
-import io.swagger.entity.GeneroEntity;
 import io.swagger.model.*;
-import io.swagger.repository.GeneroRepository;
-import io.swagger.services.ArtistaClient;
+import io.swagger.repository.FiltroElementos;
+import io.swagger.services.CacheResultados;
+import io.swagger.services.ConsultaElementosService;
+import io.swagger.services.ConsultaPorIdsService;
 import io.swagger.services.ElementoService;
+import io.swagger.services.Expansion;
+import io.swagger.services.IndiceSimilares;
+import io.swagger.services.ProyeccionService;
 import java.util.Optional;
 
 import org.threeten.bp.LocalDate;
@@ -23,10 +27,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @javax.annotation.Generated(value = "io.swagger.codegen.v3.generators.java.SpringCodegen", date = "2025-10-27T17:33:52.662194674Z[GMT]")
@@ -35,87 +41,31 @@ public class ElementosApiController implements ElementosApi {
 
     private static final Logger log = LoggerFactory.getLogger(ElementosApiController.class);
     private final ElementoService elementoService;
+    private final ConsultaElementosService consultaElementosService;
+    private final CacheResultados cacheResultados;
+    private final ProyeccionService proyeccionService;
+    private final ConsultaPorIdsService consultaPorIdsService;
+    private final IndiceSimilares indiceSimilares;
     private final ObjectMapper objectMapper;
     private final HttpServletRequest request;
-    private final GeneroRepository generoRepository;
-    private final ArtistaClient artistaClient;
 
     private Elemento convertToModel(ElementoEntity entity) {
-        Elemento e = new Elemento();
-        e.setId(entity.getId());
-        e.setNombre(entity.getNombre());
-        e.setDescripcion(entity.getDescripcion());
-        e.setPrecio(entity.getPrecio());
-        e.setEsalbum(entity.getEsalbum());
-        e.setEsnovedad(entity.getEsnovedad());
-        // --- AÑADE ESTO ---
-        if (entity.getFechacrea() != null) {
-            // 1. Obtenemos la fecha original (java.time)
-            java.time.LocalDateTime fechaDb = entity.getFechacrea();
-
-            // 2. Construimos la fecha compatible con Swagger (org.threeten.bp)
-            // Copiamos año, mes, día, hora, minuto y segundo.
-            org.threeten.bp.LocalDateTime fechaCompatible = org.threeten.bp.LocalDateTime.of(
-                    fechaDb.getYear(),
-                    fechaDb.getMonthValue(),
-                    fechaDb.getDayOfMonth(),
-                    fechaDb.getHour(),
-                    fechaDb.getMinute(),
-                    fechaDb.getSecond());
-
-            // 3. Le asignamos una zona horaria (UTC) para convertirlo en OffsetDateTime
-            e.setFechacrea(org.threeten.bp.OffsetDateTime.of(fechaCompatible, org.threeten.bp.ZoneOffset.UTC));
-        }
-        e.setValoracion(entity.getValoracion());
-        e.setNumventas(entity.getNumventas());
-        e.setUrlFoto(entity.getUrlFoto());
-        // Género
-        Genero g = new Genero();
-        Integer idGenero = entity.getGenero();
-
-        if (idGenero != null) {
-            GeneroEntity genero = generoRepository.findById(idGenero).orElse(null);
-            if (genero != null) {
-                g.setId(genero.getId());
-                g.setNombre(genero.getNombre());
-            } else {
-                g.setId(idGenero);
-                g.setNombre(null);
-            }
-        }
-        e.setGenero(g);
-
-        // Subgénero
-        Genero sub = new Genero();
-        Integer idSub = entity.getSubgenero();
-
-        if (idSub != null) {
-            GeneroEntity subgenero = generoRepository.findById(idSub).orElse(null);
-            if (subgenero != null) {
-                sub.setId(subgenero.getId());
-                sub.setNombre(subgenero.getNombre());
-            } else {
-                sub.setId(idSub);
-                sub.setNombre(null);
-            }
-        }
-        e.setSubgenero(sub);
-        // Artista
-        if (entity.getArtista() != null) {
-            Artista a = artistaClient.obtenerArtistaPorId(entity.getArtista());
-            e.setArtista(a);
-        }
-        return e;
+        return elementoService.convertToModel(entity);
     }
 
     @org.springframework.beans.factory.annotation.Autowired
-    public ElementosApiController(ElementoService elementoService, ObjectMapper objectMapper,
-            HttpServletRequest request, GeneroRepository generoRepository) {
+    public ElementosApiController(ElementoService elementoService, ConsultaElementosService consultaElementosService,
+            CacheResultados cacheResultados, ProyeccionService proyeccionService,
+            ConsultaPorIdsService consultaPorIdsService, IndiceSimilares indiceSimilares, ObjectMapper objectMapper,
+            HttpServletRequest request) {
         this.elementoService = elementoService;
+        this.consultaElementosService = consultaElementosService;
+        this.cacheResultados = cacheResultados;
+        this.proyeccionService = proyeccionService;
+        this.consultaPorIdsService = consultaPorIdsService;
+        this.indiceSimilares = indiceSimilares;
         this.objectMapper = objectMapper;
         this.request = request;
-        this.generoRepository = generoRepository;
-        this.artistaClient = new ArtistaClient();
     }
 
     // GET /elementos
@@ -126,26 +76,118 @@ public class ElementosApiController implements ElementosApi {
             @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
             @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
             @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
-            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax) {
-
-        List<ElementoEntity> entidades = elementoService.getAll();
-        List<Elemento> elementos = entidades.stream()
-                .filter(e -> preciomin == null || e.getPrecio() >= preciomin)
-                .filter(e -> preciomax == null || e.getPrecio() <= preciomax)
-                .filter(e -> genero == null || e.getGenero().equals(genero))
-                .map(this::convertToModel)
-                .collect(Collectors.toList());
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+
+        Expansion expansion = Expansion.desde(expand);
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax)
+                .conTipo(esalbum, esnovedad);
+        if (RespuestasPaginadas.solicitada(cursor, limite)) {
+            try {
+                return RespuestasPaginadas.ok(consultaElementosService.buscarPagina(filtro, orden, cursor, limite)
+                        .mapLote(filas -> elementoService.convertirLote(filas, expansion)),
+                        consultaElementosService.contar(filtro));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Parámetros de paginación inválidos: {}", ex.getMessage());
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        List<Elemento> elementos = cacheResultados.elementos(filtro, expansion,
+                () -> elementoService.convertirLote(consultaElementosService.buscar(filtro), expansion));
         return ResponseEntity.ok(elementos);
     }
 
+    // GET /elementos?ids=1,2,3
+    @Override
+    public ResponseEntity<List<Elemento>> elementosGetPorIds(
+            @Parameter(in = ParameterIn.QUERY, description = "IDs de los elementos, separados por comas.", required = true, schema = @Schema()) @Valid @RequestParam(value = "ids", required = true) List<Integer> ids,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        Expansion expansion = Expansion.desde(expand);
+        try {
+            return RespuestasPorIds.ok(consultaPorIdsService.elementos(ids, expansion));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Lista de ids inválida: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /elementos?fields=...
+    @Override
+    public ResponseEntity<List<Map<String, Object>>> elementosGetCampos(
+            @Parameter(in = ParameterIn.QUERY, description = "Campos de cada elemento: id, nombre, descripcion, fechacrea, precio, esalbum, esnovedad, numventas, valoracion, genero, subgenero, artista, urlFoto.", required = true, schema = @Schema()) @Valid @RequestParam(value = "fields", required = true) String fields,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Clave de orden de la paginación: id (por defecto), fecha o precio.", schema = @Schema(allowableValues = { "id", "fecha", "precio" })) @Valid @RequestParam(value = "orden", required = false) String orden,
+            @Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax)
+                .conTipo(esalbum, esnovedad);
+        try {
+            if (RespuestasPaginadas.solicitada(cursor, limite)) {
+                return RespuestasPaginadas.ok(proyeccionService.paginaElementos(filtro, fields, orden, cursor, limite),
+                        consultaElementosService.contar(filtro));
+            }
+            return ResponseEntity.ok(proyeccionService.elementos(filtro, fields));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Parámetros de proyección inválidos: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /elementos en NDJSON (Accept: application/x-ndjson)
+    @Override
+    public ResponseEntity<StreamingResponseBody> elementosGetNdjson(
+            @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        Expansion expansion = Expansion.desde(expand);
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax)
+                .conTipo(esalbum, esnovedad);
+        return RespuestasNdjson.<Elemento>ok(objectMapper,
+                emitir -> consultaElementosService.recorrer(filtro,
+                        e -> emitir.accept(elementoService.convertToModel(e, expansion))));
+    }
+
+    // GET /elementos?stream=true
+    @Override
+    public ResponseEntity<StreamingResponseBody> elementosGetStream(
+            @Parameter(in = ParameterIn.QUERY, description = "ID del género por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero,
+            @Parameter(in = ParameterIn.QUERY, description = "ID del subgénero por el que se desea filtrar.", schema = @Schema()) @Valid @RequestParam(value = "subgenero", required = false) Integer subgenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio mínimo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomin", required = false) Float preciomin,
+            @Parameter(in = ParameterIn.QUERY, description = "Precio máximo del contenido.", schema = @Schema()) @Valid @RequestParam(value = "preciomax", required = false) Float preciomax,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha mínima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamin", required = false) LocalDate fechamin,
+            @Parameter(in = ParameterIn.QUERY, description = "Fecha máxima de creación o publicación.", schema = @Schema()) @Valid @RequestParam(value = "fechamax", required = false) LocalDate fechamax,
+            @Parameter(in = ParameterIn.QUERY, description = "true para obtener sólo álbumes, false para obtener sólo canciones.", schema = @Schema()) @Valid @RequestParam(value = "esalbum", required = false) Boolean esalbum,
+            @Parameter(in = ParameterIn.QUERY, description = "Filtra por si el elemento es novedad.", schema = @Schema()) @Valid @RequestParam(value = "esnovedad", required = false) Boolean esnovedad,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        return elementosGetNdjson(genero, subgenero, preciomin, preciomax, fechamin, fechamax, esalbum, esnovedad, expand);
+    }
+
     @GetMapping("/elementos/artista/{idArtista}")
     public ResponseEntity<List<Elemento>> elementosArtistaIdArtistaGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idArtista") Integer idArtista) {
-        List<Elemento> elementos = elementoService.getAll()
-                .stream()
-                .filter(c -> c.getArtista() != null && c.getArtista().equals(idArtista))
-                .map(this::convertToModel)
-                .collect(Collectors.toList());
+            @Parameter(in = ParameterIn.PATH, description = "ID del artista cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idArtista") Integer idArtista,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        List<Elemento> elementos = elementoService.convertirLote(
+                consultaElementosService.buscar(FiltroElementos.porArtista(idArtista)), Expansion.desde(expand));
 
         if (elementos.isEmpty())
             return ResponseEntity.noContent().build();
@@ -155,12 +197,10 @@ public class ElementosApiController implements ElementosApi {
 
     @GetMapping("/elementos/genero/{idGenero}")
     public ResponseEntity<List<Elemento>> elementosGeneroIdGeneroGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del género cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idGenero") Integer idGenero) {
-        List<Elemento> elementos = elementoService.getAll()
-                .stream()
-                .filter(c -> c.getGenero() != null && c.getGenero().equals(idGenero))
-                .map(this::convertToModel)
-                .collect(Collectors.toList());
+            @Parameter(in = ParameterIn.PATH, description = "ID del género cuyas elementos se desean consultar", required = true, schema = @Schema()) @PathVariable("idGenero") Integer idGenero,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        List<Elemento> elementos = elementoService.convertirLote(
+                consultaElementosService.buscar(FiltroElementos.porGenero(idGenero)), Expansion.desde(expand));
 
         if (elementos.isEmpty())
             return ResponseEntity.noContent().build();
@@ -181,12 +221,34 @@ public class ElementosApiController implements ElementosApi {
     // GET /elementos/{id}
     @Override
     public ResponseEntity<Elemento> elementosIdGet(
-            @Parameter(in = ParameterIn.PATH, description = "ID del contenido a consultar", required = true, schema = @Schema()) @PathVariable("id") Integer id) {
+            @Parameter(in = ParameterIn.PATH, description = "ID del contenido a consultar", required = true, schema = @Schema()) @PathVariable("id") Integer id,
+            @Parameter(in = ParameterIn.QUERY, description = "Relaciones que se devuelven completas, separadas por comas: artista, genero. Sin expandir sólo llevan el id.", schema = @Schema()) @Valid @RequestParam(value = "expand", required = false) String expand) {
+        Expansion expansion = Expansion.desde(expand);
         Optional<ElementoEntity> opt = elementoService.getById(id);
-        return opt.map(e -> ResponseEntity.ok(convertToModel(e)))
+        return opt.map(e -> ResponseEntity.ok(elementoService.convertToModel(e, expansion)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // GET /elementos/{id}/similares
+    @Override
+    public ResponseEntity<List<ElementoSimilar>> elementosIdSimilaresGet(
+            @Parameter(in = ParameterIn.PATH, description = "ID del elemento de referencia", required = true, schema = @Schema()) @PathVariable("id") Integer id,
+            @Parameter(in = ParameterIn.QUERY, description = "Número máximo de elementos a devolver; no puede superar los vecinos guardados por elemento.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        if (!indiceSimilares.isListo()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        int maximo = indiceSimilares.getMaximoVecinos();
+        int k = limite == null || limite <= 0 ? maximo : Math.min(limite, maximo);
+        List<ElementoSimilar> similares = indiceSimilares.similares(id, k).stream()
+                .map(s -> new ElementoSimilar()
+                        .id(s.getId())
+                        .nombre(s.getNombre())
+                        .similitud(s.getSimilitud())
+                        .comunes(s.getComunes()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(similares);
+    }
+
     // POST /elementos
     @Override
     public ResponseEntity<Elemento> elementosPost(
@@ -0,0 +1,45 @@
+package io.swagger.controllers;
+
+import io.swagger.model.ErrorResponse;
+import io.swagger.services.ExpansionInvalidaException;
+import io.swagger.services.UsuariosNoDisponibleException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Errores comunes a todos los controladores.
+ */
+@RestControllerAdvice
+public class ManejoErrores {
+
+    private static final Logger log = LoggerFactory.getLogger(ManejoErrores.class);
+
+    // El servicio de usuarios no se ha llamado para no esperar a un servicio caído o saturado
+    @ExceptionHandler(UsuariosNoDisponibleException.class)
+    public ResponseEntity<ErrorResponse> usuariosNoDisponible(UsuariosNoDisponibleException ex, HttpServletRequest request) {
+        log.warn("{} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse()
+                        .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .message("El servicio de usuarios no está disponible")
+                        .path(request.getRequestURI()));
+    }
+
+    // expand con una relación que no existe
+    @ExceptionHandler(ExpansionInvalidaException.class)
+    public ResponseEntity<ErrorResponse> expansionInvalida(ExpansionInvalidaException ex, HttpServletRequest request) {
+        log.warn("{} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse()
+                        .code(HttpStatus.BAD_REQUEST.value())
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI()));
+    }
+}
@@ -0,0 +1,85 @@
+package io.swagger.controllers;
+
+import io.swagger.api.RankingsApi;
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.entity.ElementoEntity;
+import io.swagger.model.Elemento;
+import io.swagger.model.PosicionRanking;
+import io.swagger.services.ConsultaElementosService;
+import io.swagger.services.CriterioRanking;
+import io.swagger.services.ElementoService;
+import io.swagger.services.IndiceRankings;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class RankingsApiController implements RankingsApi {
+
+    private final IndiceRankings indiceRankings;
+    private final ConsultaElementosService consultaElementosService;
+    private final ElementoService elementoService;
+    private final LimitesPaginacion limitesPaginacion;
+
+    public RankingsApiController(IndiceRankings indiceRankings, ConsultaElementosService consultaElementosService,
+            ElementoService elementoService, LimitesPaginacion limitesPaginacion) {
+        this.indiceRankings = indiceRankings;
+        this.consultaElementosService = consultaElementosService;
+        this.elementoService = elementoService;
+        this.limitesPaginacion = limitesPaginacion;
+    }
+
+    // localhost:8080/api/rankings/ventas?genero=3&limite=10
+    public ResponseEntity<List<PosicionRanking>> rankingsGet(@Parameter(in = ParameterIn.PATH, description = "Contador por el que se ordena.", required=true, schema=@Schema(allowableValues = { "ventas", "valoracion", "reproducciones" })) @PathVariable("criterio") String criterio
+,@Parameter(in = ParameterIn.QUERY, description = "ID del género al que se limita el ranking." ,schema=@Schema()) @Valid @RequestParam(value = "genero", required = false) Integer genero
+,@Parameter(in = ParameterIn.QUERY, description = "Número de puestos a devolver." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        CriterioRanking criterioRanking;
+        try {
+            criterioRanking = CriterioRanking.desde(criterio);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!indiceRankings.isListo()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        List<IndiceRankings.Puesto> puestos = indiceRankings.primeros(criterioRanking, genero,
+                limitesPaginacion.normalizar(limite));
+        int[] ids = new int[puestos.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = puestos.get(i).getId();
+        }
+        // Los artistas de toda la página se piden de una vez
+        List<ElementoEntity> entidades = consultaElementosService.cargarPorIds(ids);
+        List<Elemento> modelos = elementoService.convertirLote(entidades);
+        Map<Integer, Elemento> porId = new HashMap<>();
+        for (int i = 0; i < entidades.size(); i++) {
+            porId.put(entidades.get(i).getId(), modelos.get(i));
+        }
+
+        // Un elemento borrado justo después de leer el ranking se omite sin dejar hueco
+        List<PosicionRanking> ranking = new ArrayList<>(puestos.size());
+        for (IndiceRankings.Puesto puesto : puestos) {
+            Elemento elemento = porId.get(puesto.getId());
+            if (elemento != null) {
+                ranking.add(new PosicionRanking()
+                        .posicion(ranking.size() + 1)
+                        .valor(puesto.getValor())
+                        .elemento(elemento));
+            }
+        }
+        return ResponseEntity.ok(ranking);
+    }
+}
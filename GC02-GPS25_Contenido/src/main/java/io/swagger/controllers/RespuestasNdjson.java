@@ -0,0 +1,51 @@
+package io.swagger.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Respuestas en streaming con formato NDJSON (un objeto JSON por línea).
+ * Cada objeto se serializa directamente sobre la salida de la respuesta
+ * en cuanto se produce, sin acumular la lista completa en memoria.
+ */
+final class RespuestasNdjson {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private RespuestasNdjson() {
+    }
+
+    /**
+     * @param productor recibe el emisor y lo invoca una vez por cada objeto a escribir
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ok(ObjectMapper objectMapper, Consumer<Consumer<T>> productor) {
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generador.setRootValueSeparator(new SerializedString("\n"));
+                productor.accept(valor -> {
+                    try {
+                        generador.writeObject(valor);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generador.writeRaw('\n');
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(cuerpo);
+    }
+}
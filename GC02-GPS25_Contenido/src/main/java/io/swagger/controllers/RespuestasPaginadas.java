@@ -0,0 +1,40 @@
+package io.swagger.controllers;
+
+import io.swagger.services.Pagina;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Construcción común de las respuestas de los listados paginados:
+ * el cuerpo sigue siendo la lista y el cursor de la siguiente página
+ * viaja en la cabecera {@value #CABECERA_CURSOR}. Cuando el total se conoce
+ * sin coste adicional se informa en {@value #CABECERA_TOTAL}.
+ */
+final class RespuestasPaginadas {
+
+    static final String CABECERA_CURSOR = "X-Cursor-Siguiente";
+    static final String CABECERA_TOTAL = "X-Total-Elementos";
+
+    private RespuestasPaginadas() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Pagina<T> pagina) {
+        return ok(pagina, OptionalInt.empty());
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Pagina<T> pagina, OptionalInt total) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.getSiguiente() != null) {
+            respuesta.header(CABECERA_CURSOR, pagina.getSiguiente());
+        }
+        total.ifPresent(t -> respuesta.header(CABECERA_TOTAL, Integer.toString(t)));
+        return respuesta.body(pagina.getElementos());
+    }
+
+    static boolean solicitada(String cursor, Integer limite) {
+        return cursor != null || limite != null;
+    }
+}
@@ -0,0 +1,30 @@
+package io.swagger.controllers;
+
+import io.swagger.services.ResultadoPorIds;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Respuestas de las consultas por lista de ids: el cuerpo es la lista de encontrados
+ * en el orden pedido y los ids inexistentes viajan en la cabecera {@value #CABECERA_NO_ENCONTRADOS}.
+ */
+final class RespuestasPorIds {
+
+    static final String CABECERA_NO_ENCONTRADOS = "X-Ids-No-Encontrados";
+
+    private RespuestasPorIds() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(ResultadoPorIds<T> resultado) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (!resultado.getNoEncontrados().isEmpty()) {
+            respuesta.header(CABECERA_NO_ENCONTRADOS, resultado.getNoEncontrados().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+        return respuesta.body(resultado.getEncontrados());
+    }
+}
@@ -0,0 +1,35 @@
+package io.swagger.controllers;
+
+import io.swagger.api.SugerenciasApi;
+import io.swagger.model.Sugerencia;
+import io.swagger.services.IndiceSugerencias;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@RestController
+public class SugerenciasApiController implements SugerenciasApi {
+
+    private static final int SUGERENCIAS_POR_DEFECTO = 8;
+
+    private final IndiceSugerencias indiceSugerencias;
+
+    public SugerenciasApiController(IndiceSugerencias indiceSugerencias) {
+        this.indiceSugerencias = indiceSugerencias;
+    }
+
+    // localhost:8080/api/sugerencias?q=ver
+    public ResponseEntity<List<Sugerencia>> sugerenciasGet(@NotNull @Parameter(in = ParameterIn.QUERY, description = "Texto escrito hasta el momento." ,required=true,schema=@Schema()) @Valid @RequestParam(value = "q", required = true) String q
+,@Parameter(in = ParameterIn.QUERY, description = "Número máximo de sugerencias (hasta 20)." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        int n = limite != null ? limite : SUGERENCIAS_POR_DEFECTO;
+        return ResponseEntity.ok(indiceSugerencias.sugerir(q, n));
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 import javax.servlet.http.HttpServletRequest;
@@ -58,7 +59,16 @@ public class UsuarioValoraElemApiController implements UsuarioValoraElemApi {
 
     // GET /usuarioValoraElem
     @Override
-    public ResponseEntity<List<UsuarioValoraElem>> usuarioValoraElemGet() {
+    public ResponseEntity<List<UsuarioValoraElem>> usuarioValoraElemGet(@Parameter(in = ParameterIn.QUERY, description = "Cursor devuelto en la cabecera X-Cursor-Siguiente de la página anterior.", schema = @Schema()) @Valid @RequestParam(value = "cursor", required = false) String cursor
+        ,@Parameter(in = ParameterIn.QUERY, description = "Tamaño de página. Si se indica cursor o limite la respuesta se pagina.", schema = @Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        if (RespuestasPaginadas.solicitada(cursor, limite)) {
+            try {
+                return RespuestasPaginadas.ok(usuarioValoraElemService.getPagina(cursor, limite).map(this::converToModel));
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
        List<UsuarioValoraElemEntity> valoraciones = usuarioValoraElemService.getAll();
        List<UsuarioValoraElem> valoracionesModel = valoraciones.stream()
                .map(this::converToModel)
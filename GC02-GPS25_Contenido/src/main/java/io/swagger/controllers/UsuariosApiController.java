@@ -0,0 +1,39 @@
+package io.swagger.controllers;
+
+import io.swagger.api.UsuariosApi;
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.model.Elemento;
+import io.swagger.services.RecomendacionesService;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+public class UsuariosApiController implements UsuariosApi {
+
+    private final RecomendacionesService recomendacionesService;
+    private final LimitesPaginacion limitesPaginacion;
+
+    public UsuariosApiController(RecomendacionesService recomendacionesService, LimitesPaginacion limitesPaginacion) {
+        this.recomendacionesService = recomendacionesService;
+        this.limitesPaginacion = limitesPaginacion;
+    }
+
+    // localhost:8080/api/usuarios/6/recomendados?limite=10
+    public ResponseEntity<List<Elemento>> usuariosIdUserRecomendadosGet(@Parameter(in = ParameterIn.PATH, description = "ID del usuario.", required=true, schema=@Schema()) @PathVariable("idUser") Integer idUser
+,@Parameter(in = ParameterIn.QUERY, description = "Número de elementos a devolver." ,schema=@Schema()) @Valid @RequestParam(value = "limite", required = false) Integer limite) {
+        if (!recomendacionesService.isListo()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(recomendacionesService.recomendados(idUser, limitesPaginacion.normalizar(limite)));
+    }
+}
@@ -0,0 +1,195 @@
+package io.swagger.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.model.Cancion;
+import io.swagger.model.Elemento;
+import io.swagger.model.ResumenValoraciones;
+import io.swagger.model.UsuarioValoraElem;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.validation.annotation.Validated;
+import io.swagger.configuration.NotUndefined;
+import javax.validation.Valid;
+import javax.validation.constraints.*;
+
+/**
+ * DetalleAlbum
+ */
+@Validated
+@NotUndefined
+
+
+public class DetalleAlbum   {
+  @JsonProperty("album")
+
+  private Elemento album = null;
+
+  @JsonProperty("canciones")
+  @Valid
+  private List<Cancion> canciones = new ArrayList<Cancion>();
+
+  @JsonProperty("valoraciones")
+
+  private ResumenValoraciones valoraciones = null;
+
+  @JsonProperty("comentarios")
+  @Valid
+  private List<UsuarioValoraElem> comentarios = new ArrayList<UsuarioValoraElem>();
+
+
+  public DetalleAlbum album(Elemento album) { 
+
+    this.album = album;
+    return this;
+  }
+
+  /**
+   * Get album
+   * @return album
+   **/
+  
+  @Schema(required = true, description = "")
+  
+  @NotNull
+  @Valid
+  public Elemento getAlbum() {  
+    return album;
+  }
+
+
+
+  public void setAlbum(Elemento album) { 
+
+    this.album = album;
+  }
+
+  public DetalleAlbum canciones(List<Cancion> canciones) { 
+
+    this.canciones = canciones;
+    return this;
+  }
+
+  public DetalleAlbum addCancionesItem(Cancion cancionesItem) {
+    this.canciones.add(cancionesItem);
+    return this;
+  }
+
+  /**
+   * Canciones del álbum ordenadas por ID
+   * @return canciones
+   **/
+  
+  @Schema(description = "Canciones del álbum ordenadas por ID")
+  @Valid
+  public List<Cancion> getCanciones() {  
+    return canciones;
+  }
+
+
+
+  public void setCanciones(List<Cancion> canciones) { 
+
+    this.canciones = canciones;
+  }
+
+  public DetalleAlbum valoraciones(ResumenValoraciones valoraciones) { 
+
+    this.valoraciones = valoraciones;
+    return this;
+  }
+
+  /**
+   * Get valoraciones
+   * @return valoraciones
+   **/
+  
+  @Schema(required = true, description = "")
+  
+  @NotNull
+  @Valid
+  public ResumenValoraciones getValoraciones() {  
+    return valoraciones;
+  }
+
+
+
+  public void setValoraciones(ResumenValoraciones valoraciones) { 
+
+    this.valoraciones = valoraciones;
+  }
+
+  public DetalleAlbum comentarios(List<UsuarioValoraElem> comentarios) { 
+
+    this.comentarios = comentarios;
+    return this;
+  }
+
+  public DetalleAlbum addComentariosItem(UsuarioValoraElem comentariosItem) {
+    this.comentarios.add(comentariosItem);
+    return this;
+  }
+
+  /**
+   * Comentarios más recientes del álbum
+   * @return comentarios
+   **/
+  
+  @Schema(description = "Comentarios más recientes del álbum")
+  @Valid
+  public List<UsuarioValoraElem> getComentarios() {  
+    return comentarios;
+  }
+
+
+
+  public void setComentarios(List<UsuarioValoraElem> comentarios) { 
+
+    this.comentarios = comentarios;
+  }
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    DetalleAlbum detalleAlbum = (DetalleAlbum) o;
+    return Objects.equals(this.album, detalleAlbum.album) &&
+        Objects.equals(this.canciones, detalleAlbum.canciones) &&
+        Objects.equals(this.valoraciones, detalleAlbum.valoraciones) &&
+        Objects.equals(this.comentarios, detalleAlbum.comentarios);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(album, canciones, valoraciones, comentarios);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class DetalleAlbum {\n");
+    
+    sb.append("    album: ").append(toIndentedString(album)).append("\n");
+    sb.append("    canciones: ").append(toIndentedString(canciones)).append("\n");
+    sb.append("    valoraciones: ").append(toIndentedString(valoraciones)).append("\n");
+    sb.append("    comentarios: ").append(toIndentedString(comentarios)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,177 @@
+package io.swagger.model;
+
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.validation.annotation.Validated;
+import io.swagger.configuration.NotUndefined;
+import javax.validation.constraints.*;
+
+/**
+ * ElementoSimilar
+ */
+@Validated
+@NotUndefined
+
+
+public class ElementoSimilar   {
+  @JsonProperty("id")
+
+  private Integer id = null;
+
+  @JsonProperty("nombre")
+
+  private String nombre = null;
+
+  @JsonProperty("similitud")
+
+  private Float similitud = null;
+
+  @JsonProperty("comunes")
+
+  private Integer comunes = null;
+
+
+  public ElementoSimilar id(Integer id) { 
+
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * ID del elemento
+   * @return id
+   **/
+  
+  @Schema(example = "12", required = true, description = "ID del elemento")
+  
+  @NotNull
+  public Integer getId() {  
+    return id;
+  }
+
+
+
+  public void setId(Integer id) { 
+
+    this.id = id;
+  }
+
+  public ElementoSimilar nombre(String nombre) { 
+
+    this.nombre = nombre;
+    return this;
+  }
+
+  /**
+   * Nombre del elemento
+   * @return nombre
+   **/
+  
+  @Schema(example = "Noches de Rock", description = "Nombre del elemento")
+  
+  public String getNombre() {  
+    return nombre;
+  }
+
+
+
+  public void setNombre(String nombre) { 
+
+    this.nombre = nombre;
+  }
+
+  public ElementoSimilar similitud(Float similitud) { 
+
+    this.similitud = similitud;
+    return this;
+  }
+
+  /**
+   * Coseno ajustado entre las valoraciones de los dos elementos, entre 0 y 1
+   * @return similitud
+   **/
+  
+  @Schema(example = "0.82", required = true, description = "Coseno ajustado entre las valoraciones de los dos elementos, entre 0 y 1")
+  
+  @NotNull
+  public Float getSimilitud() {  
+    return similitud;
+  }
+
+
+
+  public void setSimilitud(Float similitud) { 
+
+    this.similitud = similitud;
+  }
+
+  public ElementoSimilar comunes(Integer comunes) { 
+
+    this.comunes = comunes;
+    return this;
+  }
+
+  /**
+   * Usuarios que han valorado los dos elementos
+   * @return comunes
+   **/
+  
+  @Schema(example = "7", required = true, description = "Usuarios que han valorado los dos elementos")
+  
+  @NotNull
+  public Integer getComunes() {  
+    return comunes;
+  }
+
+
+
+  public void setComunes(Integer comunes) { 
+
+    this.comunes = comunes;
+  }
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ElementoSimilar elementoSimilar = (ElementoSimilar) o;
+    return Objects.equals(this.id, elementoSimilar.id) &&
+        Objects.equals(this.nombre, elementoSimilar.nombre) &&
+        Objects.equals(this.similitud, elementoSimilar.similitud) &&
+        Objects.equals(this.comunes, elementoSimilar.comunes);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, nombre, similitud, comunes);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ElementoSimilar {\n");
+    
+    sb.append("    id: ").append(toIndentedString(id)).append("\n");
+    sb.append("    nombre: ").append(toIndentedString(nombre)).append("\n");
+    sb.append("    similitud: ").append(toIndentedString(similitud)).append("\n");
+    sb.append("    comunes: ").append(toIndentedString(comunes)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
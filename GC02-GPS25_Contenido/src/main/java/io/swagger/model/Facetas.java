@@ -0,0 +1,227 @@
+package io.swagger.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.validation.annotation.Validated;
+import io.swagger.configuration.NotUndefined;
+import javax.validation.constraints.*;
+
+/**
+ * Facetas
+ */
+@Validated
+@NotUndefined
+
+
+public class Facetas   {
+  @JsonProperty("total")
+
+  private Integer total = null;
+
+  @JsonProperty("generos")
+
+  private Map<String, Integer> generos = new LinkedHashMap<String, Integer>();
+
+  @JsonProperty("subgeneros")
+
+  private Map<String, Integer> subgeneros = new LinkedHashMap<String, Integer>();
+
+  @JsonProperty("precios")
+
+  private Map<String, Integer> precios = new LinkedHashMap<String, Integer>();
+
+  @JsonProperty("tipos")
+
+  private Map<String, Integer> tipos = new LinkedHashMap<String, Integer>();
+
+
+  public Facetas total(Integer total) { 
+
+    this.total = total;
+    return this;
+  }
+
+  /**
+   * Número de elementos que cumplen el filtro
+   * @return total
+   **/
+  
+  @Schema(example = "165", required = true, description = "Número de elementos que cumplen el filtro")
+  
+  @NotNull
+  public Integer getTotal() {  
+    return total;
+  }
+
+
+
+  public void setTotal(Integer total) { 
+
+    this.total = total;
+  }
+
+  public Facetas generos(Map<String, Integer> generos) { 
+
+    this.generos = generos;
+    return this;
+  }
+
+  public Facetas putGenerosItem(String key, Integer generosItem) {
+    this.generos.put(key, generosItem);
+    return this;
+  }
+
+  /**
+   * Número de elementos por ID de género
+   * @return generos
+   **/
+  
+  @Schema(example = "{\"1\": 120, \"2\": 45}", description = "Número de elementos por ID de género")
+  
+  public Map<String, Integer> getGeneros() {  
+    return generos;
+  }
+
+
+
+  public void setGeneros(Map<String, Integer> generos) { 
+
+    this.generos = generos;
+  }
+
+  public Facetas subgeneros(Map<String, Integer> subgeneros) { 
+
+    this.subgeneros = subgeneros;
+    return this;
+  }
+
+  public Facetas putSubgenerosItem(String key, Integer subgenerosItem) {
+    this.subgeneros.put(key, subgenerosItem);
+    return this;
+  }
+
+  /**
+   * Número de elementos por ID de subgénero
+   * @return subgeneros
+   **/
+  
+  @Schema(example = "{\"7\": 30}", description = "Número de elementos por ID de subgénero")
+  
+  public Map<String, Integer> getSubgeneros() {  
+    return subgeneros;
+  }
+
+
+
+  public void setSubgeneros(Map<String, Integer> subgeneros) { 
+
+    this.subgeneros = subgeneros;
+  }
+
+  public Facetas precios(Map<String, Integer> precios) { 
+
+    this.precios = precios;
+    return this;
+  }
+
+  public Facetas putPreciosItem(String key, Integer preciosItem) {
+    this.precios.put(key, preciosItem);
+    return this;
+  }
+
+  /**
+   * Número de elementos por tramo de precio; el extremo inferior se incluye y el superior no
+   * @return precios
+   **/
+  
+  @Schema(example = "{\"0-1\": 80, \"1-5\": 60, \"20+\": 3}", description = "Número de elementos por tramo de precio; el extremo inferior se incluye y el superior no")
+  
+  public Map<String, Integer> getPrecios() {  
+    return precios;
+  }
+
+
+
+  public void setPrecios(Map<String, Integer> precios) { 
+
+    this.precios = precios;
+  }
+
+  public Facetas tipos(Map<String, Integer> tipos) { 
+
+    this.tipos = tipos;
+    return this;
+  }
+
+  public Facetas putTiposItem(String key, Integer tiposItem) {
+    this.tipos.put(key, tiposItem);
+    return this;
+  }
+
+  /**
+   * Número de álbumes y de canciones
+   * @return tipos
+   **/
+  
+  @Schema(example = "{\"album\": 25, \"cancion\": 140}", description = "Número de álbumes y de canciones")
+  
+  public Map<String, Integer> getTipos() {  
+    return tipos;
+  }
+
+
+
+  public void setTipos(Map<String, Integer> tipos) { 
+
+    this.tipos = tipos;
+  }
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Facetas facetas = (Facetas) o;
+    return Objects.equals(this.total, facetas.total) &&
+        Objects.equals(this.generos, facetas.generos) &&
+        Objects.equals(this.subgeneros, facetas.subgeneros) &&
+        Objects.equals(this.precios, facetas.precios) &&
+        Objects.equals(this.tipos, facetas.tipos);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(total, generos, subgeneros, precios, tipos);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class Facetas {\n");
+    
+    sb.append("    total: ").append(toIndentedString(total)).append("\n");
+    sb.append("    generos: ").append(toIndentedString(generos)).append("\n");
+    sb.append("    subgeneros: ").append(toIndentedString(subgeneros)).append("\n");
+    sb.append("    precios: ").append(toIndentedString(precios)).append("\n");
+    sb.append("    tipos: ").append(toIndentedString(tipos)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
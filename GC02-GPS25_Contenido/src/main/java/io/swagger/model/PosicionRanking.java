@@ -0,0 +1,150 @@
+package io.swagger.model;
+
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.model.Elemento;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.validation.annotation.Validated;
+import io.swagger.configuration.NotUndefined;
+import javax.validation.Valid;
+import javax.validation.constraints.*;
+
+/**
+ * PosicionRanking
+ */
+@Validated
+@NotUndefined
+
+
+public class PosicionRanking   {
+  @JsonProperty("posicion")
+
+  private Integer posicion = null;
+
+  @JsonProperty("valor")
+
+  private Long valor = null;
+
+  @JsonProperty("elemento")
+
+  private Elemento elemento = null;
+
+
+  public PosicionRanking posicion(Integer posicion) { 
+
+    this.posicion = posicion;
+    return this;
+  }
+
+  /**
+   * Puesto en el ranking, empezando en 1
+   * @return posicion
+   **/
+  
+  @Schema(example = "1", required = true, description = "Puesto en el ranking, empezando en 1")
+  
+  @NotNull
+  public Integer getPosicion() {  
+    return posicion;
+  }
+
+
+
+  public void setPosicion(Integer posicion) { 
+
+    this.posicion = posicion;
+  }
+
+  public PosicionRanking valor(Long valor) { 
+
+    this.valor = valor;
+    return this;
+  }
+
+  /**
+   * Valor del contador por el que se ordena: ventas, valoración o reproducciones
+   * @return valor
+   **/
+  
+  @Schema(example = "1520", required = true, description = "Valor del contador por el que se ordena: ventas, valoración o reproducciones")
+  
+  @NotNull
+  public Long getValor() {  
+    return valor;
+  }
+
+
+
+  public void setValor(Long valor) { 
+
+    this.valor = valor;
+  }
+
+  public PosicionRanking elemento(Elemento elemento) { 
+
+    this.elemento = elemento;
+    return this;
+  }
+
+  /**
+   * Get elemento
+   * @return elemento
+   **/
+  
+  @Schema(required = true, description = "")
+  
+  @NotNull
+  @Valid
+  public Elemento getElemento() {  
+    return elemento;
+  }
+
+
+
+  public void setElemento(Elemento elemento) { 
+
+    this.elemento = elemento;
+  }
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PosicionRanking posicionRanking = (PosicionRanking) o;
+    return Objects.equals(this.posicion, posicionRanking.posicion) &&
+        Objects.equals(this.valor, posicionRanking.valor) &&
+        Objects.equals(this.elemento, posicionRanking.elemento);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(posicion, valor, elemento);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class PosicionRanking {\n");
+    
+    sb.append("    posicion: ").append(toIndentedString(posicion)).append("\n");
+    sb.append("    valor: ").append(toIndentedString(valor)).append("\n");
+    sb.append("    elemento: ").append(toIndentedString(elemento)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,152 @@
+package io.swagger.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.validation.annotation.Validated;
+import io.swagger.configuration.NotUndefined;
+import javax.validation.constraints.*;
+
+/**
+ * ResumenValoraciones
+ */
+@Validated
+@NotUndefined
+
+
+public class ResumenValoraciones   {
+  @JsonProperty("media")
+
+  private Double media = null;
+
+  @JsonProperty("total")
+
+  private Integer total = null;
+
+  @JsonProperty("distribucion")
+
+  private Map<String, Integer> distribucion = new LinkedHashMap<String, Integer>();
+
+
+  public ResumenValoraciones media(Double media) { 
+
+    this.media = media;
+    return this;
+  }
+
+  /**
+   * Valoración media; null si el elemento no tiene valoraciones
+   * @return media
+   **/
+  
+  @Schema(example = "4.25", description = "Valoración media; null si el elemento no tiene valoraciones")
+  
+  public Double getMedia() {  
+    return media;
+  }
+
+
+
+  public void setMedia(Double media) { 
+
+    this.media = media;
+  }
+
+  public ResumenValoraciones total(Integer total) { 
+
+    this.total = total;
+    return this;
+  }
+
+  /**
+   * Número de valoraciones
+   * @return total
+   **/
+  
+  @Schema(example = "12", required = true, description = "Número de valoraciones")
+  
+  @NotNull
+  public Integer getTotal() {  
+    return total;
+  }
+
+
+
+  public void setTotal(Integer total) { 
+
+    this.total = total;
+  }
+
+  public ResumenValoraciones distribucion(Map<String, Integer> distribucion) { 
+
+    this.distribucion = distribucion;
+    return this;
+  }
+
+  public ResumenValoraciones putDistribucionItem(String key, Integer distribucionItem) {
+    this.distribucion.put(key, distribucionItem);
+    return this;
+  }
+
+  /**
+   * Número de valoraciones por puntuación
+   * @return distribucion
+   **/
+  
+  @Schema(example = "{\"3\": 2, \"4\": 5, \"5\": 5}", description = "Número de valoraciones por puntuación")
+  
+  public Map<String, Integer> getDistribucion() {  
+    return distribucion;
+  }
+
+
+
+  public void setDistribucion(Map<String, Integer> distribucion) { 
+
+    this.distribucion = distribucion;
+  }
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ResumenValoraciones resumenValoraciones = (ResumenValoraciones) o;
+    return Objects.equals(this.media, resumenValoraciones.media) &&
+        Objects.equals(this.total, resumenValoraciones.total) &&
+        Objects.equals(this.distribucion, resumenValoraciones.distribucion);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(media, total, distribucion);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ResumenValoraciones {\n");
+    
+    sb.append("    media: ").append(toIndentedString(media)).append("\n");
+    sb.append("    total: ").append(toIndentedString(total)).append("\n");
+    sb.append("    distribucion: ").append(toIndentedString(distribucion)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,147 @@
+package io.swagger.model;
+
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.validation.annotation.Validated;
+import io.swagger.configuration.NotUndefined;
+import javax.validation.constraints.*;
+
+/**
+ * Sugerencia
+ */
+@Validated
+@NotUndefined
+
+
+public class Sugerencia   {
+  @JsonProperty("texto")
+
+  private String texto = null;
+
+  @JsonProperty("tipo")
+
+  private String tipo = null;
+
+  @JsonProperty("id")
+
+  private Integer id = null;
+
+
+  public Sugerencia texto(String texto) { 
+
+    this.texto = texto;
+    return this;
+  }
+
+  /**
+   * Nombre completo sugerido
+   * @return texto
+   **/
+  
+  @Schema(example = "Canción del Verano", required = true, description = "Nombre completo sugerido")
+  
+  @NotNull
+  public String getTexto() {  
+    return texto;
+  }
+
+
+
+  public void setTexto(String texto) { 
+
+    this.texto = texto;
+  }
+
+  public Sugerencia tipo(String tipo) { 
+
+    this.tipo = tipo;
+    return this;
+  }
+
+  /**
+   * Tipo de la sugerencia: cancion, album o genero
+   * @return tipo
+   **/
+  
+  @Schema(example = "cancion", required = true, allowableValues = { "cancion", "album", "genero" }, description = "Tipo de la sugerencia: cancion, album o genero")
+  
+  @NotNull
+  public String getTipo() {  
+    return tipo;
+  }
+
+
+
+  public void setTipo(String tipo) { 
+
+    this.tipo = tipo;
+  }
+
+  public Sugerencia id(Integer id) { 
+
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * Identificador del elemento o del género sugerido
+   * @return id
+   **/
+  
+  @Schema(example = "12", required = true, description = "Identificador del elemento o del género sugerido")
+  
+  @NotNull
+  public Integer getId() {  
+    return id;
+  }
+
+
+
+  public void setId(Integer id) { 
+
+    this.id = id;
+  }
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Sugerencia sugerencia = (Sugerencia) o;
+    return Objects.equals(this.texto, sugerencia.texto) &&
+        Objects.equals(this.tipo, sugerencia.tipo) &&
+        Objects.equals(this.id, sugerencia.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(texto, tipo, id);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class Sugerencia {\n");
+    
+    sb.append("    texto: ").append(toIndentedString(texto)).append("\n");
+    sb.append("    tipo: ").append(toIndentedString(tipo)).append("\n");
+    sb.append("    id: ").append(toIndentedString(id)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -1,10 +1,32 @@
 package io.swagger.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import io.swagger.entity.CancionEntity;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface CancionRepository extends JpaRepository<CancionEntity, Integer> {
+public interface CancionRepository extends JpaRepository<CancionEntity, Integer>, CancionRepositoryCustom {
+
+    // Páginas por clave: se pide siempre la página 0, así que no hay OFFSET ni COUNT
+    @Query("select c from CancionEntity c join fetch c.elemento where c.id > :despuesDe order by c.id")
+    List<CancionEntity> findPaginaDespuesDe(@Param("despuesDe") Integer despuesDe, Pageable pageable);
+
+    @Query("select c from CancionEntity c join fetch c.elemento "
+            + "where c.album.id = :idAlbum and c.id > :despuesDe order by c.id")
+    List<CancionEntity> findPaginaDeAlbumDespuesDe(@Param("idAlbum") Integer idAlbum,
+            @Param("despuesDe") Integer despuesDe, Pageable pageable);
+
+    @Query("select c from CancionEntity c join fetch c.elemento "
+            + "where c.id in :ids and (:idAlbum is null or c.album.id = :idAlbum) order by c.id")
+    List<CancionEntity> findConElementoPorIds(@Param("ids") Collection<Integer> ids, @Param("idAlbum") Integer idAlbum);
+
+    @Query("select c from CancionEntity c join fetch c.elemento where c.album.id = :idAlbum order by c.id")
+    List<CancionEntity> findConElementoDeAlbum(@Param("idAlbum") Integer idAlbum);
 }
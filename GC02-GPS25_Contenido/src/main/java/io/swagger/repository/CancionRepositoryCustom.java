@@ -0,0 +1,18 @@
+package io.swagger.repository;
+
+import io.swagger.entity.CancionEntity;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.Tuple;
+import java.util.List;
+
+public interface CancionRepositoryCustom {
+
+    /**
+     * Sólo las columnas indicadas (propias o del elemento, p. ej. {@code "elemento.nombre"}),
+     * como mucho {@code limite} filas (sin límite si es 0).
+     */
+    List<Tuple> proyectar(Specification<CancionEntity> spec, List<String> rutas, Sort orden, int limite);
+}
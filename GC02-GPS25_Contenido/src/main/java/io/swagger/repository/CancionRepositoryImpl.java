@@ -0,0 +1,22 @@
+package io.swagger.repository;
+
+import io.swagger.entity.CancionEntity;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import java.util.List;
+
+public class CancionRepositoryImpl implements CancionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> proyectar(Specification<CancionEntity> spec, List<String> rutas, Sort orden, int limite) {
+        return ConsultaProyectada.ejecutar(entityManager, CancionEntity.class, spec, rutas, orden, limite);
+    }
+}
@@ -0,0 +1,30 @@
+package io.swagger.repository;
+
+import io.swagger.entity.CancionEntity;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Condiciones sobre CANCIONES para las consultas construidas con Criteria.
+ */
+public final class CancionSpecifications {
+
+    private CancionSpecifications() {
+    }
+
+    /** Canciones del álbum; sin condición si {@code idAlbum} es null. */
+    public static Specification<CancionEntity> deAlbum(Integer idAlbum) {
+        return (root, query, cb) -> idAlbum == null ? null : cb.equal(root.get("album").get("id"), idAlbum);
+    }
+
+    public static Specification<CancionEntity> despuesDe(int id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    /** Canciones con esos ids; la colección no debe superar los 1000 valores de Oracle. */
+    public static Specification<CancionEntity> conIds(Collection<Integer> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
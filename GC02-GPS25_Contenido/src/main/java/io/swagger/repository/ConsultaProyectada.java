@@ -0,0 +1,65 @@
+package io.swagger.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consulta Criteria que selecciona sólo las columnas indicadas, sin construir entidades.
+ * Las rutas son atributos de la entidad raíz ({@code "nombre"}) o de una asociación
+ * ({@code "elemento.nombre"}, {@code "album.id"}), que se une con LEFT JOIN una sola vez.
+ * La tupla devuelta tiene una posición por ruta, en el mismo orden.
+ */
+final class ConsultaProyectada {
+
+    private ConsultaProyectada() {
+    }
+
+    static <T> List<Tuple> ejecutar(EntityManager entityManager, Class<T> entidad, Specification<T> spec,
+            List<String> rutas, Sort orden, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entidad);
+
+        Map<String, From<?, ?>> uniones = new HashMap<>();
+        List<Selection<?>> columnas = new ArrayList<>(rutas.size());
+        for (String ruta : rutas) {
+            int punto = ruta.indexOf('.');
+            if (punto < 0) {
+                columnas.add(root.get(ruta));
+            } else {
+                From<?, ?> union = uniones.computeIfAbsent(ruta.substring(0, punto),
+                        asociacion -> root.join(asociacion, JoinType.LEFT));
+                columnas.add(union.get(ruta.substring(punto + 1)));
+            }
+        }
+        query.multiselect(columnas);
+
+        Predicate predicado = spec.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(orden, root, cb));
+
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (limite > 0) {
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+}
@@ -1,10 +1,24 @@
 package io.swagger.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import io.swagger.entity.ElementoEntity;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface ElementoRepository extends JpaRepository<ElementoEntity, Integer> {
+public interface ElementoRepository extends JpaRepository<ElementoEntity, Integer>, ElementoRepositoryCustom {
+
+    // Sólo columnas, sin entidades gestionadas: el consumo de memoria no crece con el catálogo
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.id as id, e.nombre as nombre, e.esalbum as esalbum, e.genero as genero, "
+            + "e.numventas as numventas, e.valoracion as valoracion, c.numRep as numRep "
+            + "from ElementoEntity e left join CancionEntity c on c.id = e.id")
+    Stream<ResumenElemento> recorrerResumenes();
 }
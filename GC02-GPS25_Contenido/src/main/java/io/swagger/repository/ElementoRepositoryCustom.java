@@ -0,0 +1,31 @@
+package io.swagger.repository;
+
+import io.swagger.entity.ElementoEntity;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ElementoRepositoryCustom {
+
+    /**
+     * Ejecuta la especificación ordenada y devuelve como mucho {@code limite} filas,
+     * sin OFFSET y sin la consulta COUNT que añadiría un {@code Page}.
+     */
+    List<ElementoEntity> buscarConLimite(Specification<ElementoEntity> spec, Sort orden, int limite);
+
+    /**
+     * Recorre el resultado con un cursor de sólo avance, leyendo {@code fetchSize} filas
+     * por viaje a la base de datos. El stream debe cerrarse y consumirse dentro de una transacción.
+     */
+    Stream<ElementoEntity> recorrer(Specification<ElementoEntity> spec, Sort orden, int fetchSize);
+
+    /**
+     * Como {@link #buscarConLimite} pero seleccionando sólo los atributos indicados,
+     * sin cargar entidades. Sin límite si {@code limite} es 0.
+     */
+    List<Tuple> proyectar(Specification<ElementoEntity> spec, List<String> atributos, Sort orden, int limite);
+}
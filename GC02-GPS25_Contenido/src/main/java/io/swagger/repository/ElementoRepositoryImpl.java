@@ -0,0 +1,57 @@
+package io.swagger.repository;
+
+import io.swagger.entity.ElementoEntity;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ElementoRepositoryImpl implements ElementoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ElementoEntity> buscarConLimite(Specification<ElementoEntity> spec, Sort orden, int limite) {
+        return entityManager.createQuery(crearConsulta(spec, orden))
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<ElementoEntity> recorrer(Specification<ElementoEntity> spec, Sort orden, int fetchSize) {
+        return entityManager.createQuery(crearConsulta(spec, orden))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Tuple> proyectar(Specification<ElementoEntity> spec, List<String> atributos, Sort orden, int limite) {
+        return ConsultaProyectada.ejecutar(entityManager, ElementoEntity.class, spec, atributos, orden, limite);
+    }
+
+    private CriteriaQuery<ElementoEntity> crearConsulta(Specification<ElementoEntity> spec, Sort orden) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ElementoEntity> query = cb.createQuery(ElementoEntity.class);
+        Root<ElementoEntity> root = query.from(ElementoEntity.class);
+
+        Predicate predicado = spec.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(orden, root, cb));
+        return query;
+    }
+}
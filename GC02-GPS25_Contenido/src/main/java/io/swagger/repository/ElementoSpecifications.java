@@ -0,0 +1,96 @@
+package io.swagger.repository;
+
+import io.swagger.entity.ElementoEntity;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Traduce un {@link FiltroElementos} a un único predicado SQL sobre ELEMENTOS.
+ * Cada filtro presente se convierte en una condición con parámetro enlazado,
+ * de modo que Oracle devuelve sólo las filas que cumplen la combinación.
+ */
+public final class ElementoSpecifications {
+
+    // Los precios tienen dos decimales: dos precios distintos difieren al menos en 0.01
+    private static final float TOLERANCIA_PRECIO = 0.001f;
+
+    private ElementoSpecifications() {
+    }
+
+    public static Specification<ElementoEntity> desdeFiltro(FiltroElementos filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+
+            if (filtro.getGenero() != null) {
+                condiciones.add(cb.equal(root.get("genero"), filtro.getGenero()));
+            }
+            if (filtro.getSubgenero() != null) {
+                condiciones.add(cb.equal(root.get("subgenero"), filtro.getSubgenero()));
+            }
+            if (filtro.getArtista() != null) {
+                condiciones.add(cb.equal(root.get("artista"), filtro.getArtista()));
+            }
+            if (filtro.getEsalbum() != null) {
+                condiciones.add(cb.equal(root.get("esalbum"), filtro.getEsalbum()));
+            }
+            if (filtro.getEsnovedad() != null) {
+                condiciones.add(cb.equal(root.get("esnovedad"), filtro.getEsnovedad()));
+            }
+            // Con margen, como en despuesDe: un precio igual al límite puede no compararse igual
+            if (filtro.getPreciomin() != null) {
+                condiciones.add(cb.greaterThanOrEqualTo(root.get("precio"), filtro.getPreciomin() - TOLERANCIA_PRECIO));
+            }
+            if (filtro.getPreciomax() != null) {
+                condiciones.add(cb.lessThanOrEqualTo(root.get("precio"), filtro.getPreciomax() + TOLERANCIA_PRECIO));
+            }
+            // Las fechas se comparan por día completo: [fechamin 00:00, fechamax + 1 día 00:00)
+            if (filtro.getFechamin() != null) {
+                condiciones.add(cb.greaterThanOrEqualTo(root.get("fechacrea"),
+                        filtro.getFechamin().atStartOfDay()));
+            }
+            if (filtro.getFechamax() != null) {
+                condiciones.add(cb.lessThan(root.get("fechacrea"),
+                        filtro.getFechamax().plusDays(1).atStartOfDay()));
+            }
+
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Condición de keyset: filas estrictamente posteriores a (valor, id) en el orden
+     * {@code atributo ASC, id ASC}. Oracle coloca los NULL al final en orden ascendente,
+     * así que tras un valor no nulo también siguen las filas con la clave a NULL.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static Specification<ElementoEntity> despuesDe(String atributo, Comparable valor, int id) {
+        return (root, query, cb) -> {
+            Path<Integer> rootId = root.get("id");
+            if ("id".equals(atributo)) {
+                return cb.greaterThan(rootId, id);
+            }
+            Path<Comparable> clave = root.get(atributo);
+            if (valor == null) {
+                return cb.and(cb.isNull(clave), cb.greaterThan(rootId, id));
+            }
+            if (valor instanceof Float) {
+                // PRECIO se lee como float: la igualdad exacta con el valor del cursor no es fiable
+                float v = (Float) valor;
+                return cb.or(
+                        cb.greaterThan(clave, (Comparable) (v + TOLERANCIA_PRECIO)),
+                        cb.and(cb.between(clave, (Comparable) (v - TOLERANCIA_PRECIO), (Comparable) (v + TOLERANCIA_PRECIO)),
+                                cb.greaterThan(rootId, id)),
+                        cb.isNull(clave));
+            }
+            return cb.or(
+                    cb.greaterThan(clave, valor),
+                    cb.and(cb.equal(clave, valor), cb.greaterThan(rootId, id)),
+                    cb.isNull(clave));
+        };
+    }
+}
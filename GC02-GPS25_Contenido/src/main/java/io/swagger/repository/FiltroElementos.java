@@ -0,0 +1,124 @@
+package io.swagger.repository;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Combinación de filtros aplicable sobre la tabla ELEMENTOS.
+ * Todos los campos son opcionales: un valor null significa "sin filtro".
+ */
+public final class FiltroElementos {
+
+    /** Filtro vacío: todos los elementos. */
+    public static final FiltroElementos SIN_FILTRO = new FiltroElementos(null, null, null, null, null, null, null);
+
+    private final Integer genero;
+    private final Integer subgenero;
+    private final Float preciomin;
+    private final Float preciomax;
+    private final LocalDate fechamin;
+    private final LocalDate fechamax;
+    private final Integer artista;
+    private final Boolean esalbum;
+    private final Boolean esnovedad;
+
+    public FiltroElementos(Integer genero, Integer subgenero, Float preciomin, Float preciomax,
+            org.threeten.bp.LocalDate fechamin, org.threeten.bp.LocalDate fechamax, Integer artista) {
+        this(genero, subgenero, preciomin, preciomax, convertirFecha(fechamin), convertirFecha(fechamax),
+                artista, null, null);
+    }
+
+    public FiltroElementos(Integer genero, Integer subgenero, Float preciomin, Float preciomax,
+            org.threeten.bp.LocalDate fechamin, org.threeten.bp.LocalDate fechamax) {
+        this(genero, subgenero, preciomin, preciomax, fechamin, fechamax, null);
+    }
+
+    private FiltroElementos(Integer genero, Integer subgenero, Float preciomin, Float preciomax,
+            LocalDate fechamin, LocalDate fechamax, Integer artista, Boolean esalbum, Boolean esnovedad) {
+        this.genero = genero;
+        this.subgenero = subgenero;
+        this.preciomin = preciomin;
+        this.preciomax = preciomax;
+        this.fechamin = fechamin;
+        this.fechamax = fechamax;
+        this.artista = artista;
+        this.esalbum = esalbum;
+        this.esnovedad = esnovedad;
+    }
+
+    /** Copia del filtro que además restringe por tipo (álbum o canción) y por novedad. */
+    public FiltroElementos conTipo(Boolean esalbum, Boolean esnovedad) {
+        return new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax,
+                artista, esalbum, esnovedad);
+    }
+
+    public static FiltroElementos porArtista(Integer idArtista) {
+        return new FiltroElementos(null, null, null, null, null, null, idArtista);
+    }
+
+    public static FiltroElementos porGenero(Integer idGenero) {
+        return new FiltroElementos(idGenero, null, null, null, null, null, null);
+    }
+
+    // Los controladores reciben fechas de threeten (Swagger); la entidad usa java.time
+    private static LocalDate convertirFecha(org.threeten.bp.LocalDate fecha) {
+        if (fecha == null) {
+            return null;
+        }
+        return LocalDate.of(fecha.getYear(), fecha.getMonthValue(), fecha.getDayOfMonth());
+    }
+
+    public Integer getGenero() { return genero; }
+
+    public Integer getSubgenero() { return subgenero; }
+
+    public Float getPreciomin() { return preciomin; }
+
+    public Float getPreciomax() { return preciomax; }
+
+    public LocalDate getFechamin() { return fechamin; }
+
+    public LocalDate getFechamax() { return fechamax; }
+
+    public Integer getArtista() { return artista; }
+
+    public Boolean getEsalbum() { return esalbum; }
+
+    public Boolean getEsnovedad() { return esnovedad; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FiltroElementos that = (FiltroElementos) o;
+        return Objects.equals(genero, that.genero)
+                && Objects.equals(subgenero, that.subgenero)
+                && Objects.equals(preciomin, that.preciomin)
+                && Objects.equals(preciomax, that.preciomax)
+                && Objects.equals(fechamin, that.fechamin)
+                && Objects.equals(fechamax, that.fechamax)
+                && Objects.equals(artista, that.artista)
+                && Objects.equals(esalbum, that.esalbum)
+                && Objects.equals(esnovedad, that.esnovedad);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(genero, subgenero, preciomin, preciomax, fechamin, fechamax, artista, esalbum, esnovedad);
+    }
+
+    @Override
+    public String toString() {
+        return "FiltroElementos{" +
+                "genero=" + genero +
+                ", subgenero=" + subgenero +
+                ", preciomin=" + preciomin +
+                ", preciomax=" + preciomax +
+                ", fechamin=" + fechamin +
+                ", fechamax=" + fechamax +
+                ", artista=" + artista +
+                ", esalbum=" + esalbum +
+                ", esnovedad=" + esnovedad +
+                '}';
+    }
+}
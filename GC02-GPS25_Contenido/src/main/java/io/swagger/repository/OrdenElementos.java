@@ -0,0 +1,72 @@
+package io.swagger.repository;
+
+import io.swagger.entity.ElementoEntity;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Claves de orden admitidas por los listados paginados de ELEMENTOS.
+ * Cada clave sabe leer su valor de la entidad y pasarlo a/desde texto para el cursor.
+ */
+public enum OrdenElementos {
+
+    ID("id", "id", e -> null, texto -> null),
+    FECHA("fecha", "fechacrea", ElementoEntity::getFechacrea, LocalDateTime::parse),
+    PRECIO("precio", "precio", ElementoEntity::getPrecio, Float::valueOf);
+
+    private final String nombre;
+    private final String atributo;
+    private final Function<ElementoEntity, Comparable<?>> lector;
+    private final Function<String, Comparable<?>> parser;
+
+    OrdenElementos(String nombre, String atributo, Function<ElementoEntity, Comparable<?>> lector,
+            Function<String, Comparable<?>> parser) {
+        this.nombre = nombre;
+        this.atributo = atributo;
+        this.lector = lector;
+        this.parser = parser;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el nombre no corresponde a ninguna clave
+     */
+    public static OrdenElementos desde(String nombre) {
+        if (nombre == null) {
+            return ID;
+        }
+        for (OrdenElementos orden : values()) {
+            if (orden.nombre.equalsIgnoreCase(nombre)) {
+                return orden;
+            }
+        }
+        throw new IllegalArgumentException("Orden no soportado: " + nombre);
+    }
+
+    public String getNombre() { return nombre; }
+
+    public String getAtributo() { return atributo; }
+
+    public String valorComoTexto(ElementoEntity entidad) {
+        return valorComoTexto(lector.apply(entidad));
+    }
+
+    /** Igual que {@link #valorComoTexto(ElementoEntity)} pero con el valor ya leído de una proyección. */
+    public String valorComoTexto(Object valor) {
+        return valor == null || this == ID ? null : valor.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException si el texto no es un valor válido para esta clave
+     */
+    public Comparable<?> valorDesdeTexto(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return parser.apply(texto);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Valor de cursor inválido para el orden " + nombre, e);
+        }
+    }
+}
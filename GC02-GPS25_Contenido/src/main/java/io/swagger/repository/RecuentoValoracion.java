@@ -0,0 +1,11 @@
+package io.swagger.repository;
+
+/**
+ * Número de valoraciones de un elemento con una misma puntuación.
+ */
+public interface RecuentoValoracion {
+
+    Integer getValoracion();
+
+    Long getTotal();
+}
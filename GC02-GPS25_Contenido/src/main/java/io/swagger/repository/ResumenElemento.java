@@ -0,0 +1,23 @@
+package io.swagger.repository;
+
+/**
+ * Proyección con las columnas de un elemento que necesitan los índices de lectura,
+ * sin cargar la entidad completa.
+ */
+public interface ResumenElemento {
+
+    Integer getId();
+
+    String getNombre();
+
+    Boolean getEsalbum();
+
+    Integer getGenero();
+
+    Integer getNumventas();
+
+    Integer getValoracion();
+
+    /** Reproducciones si el elemento es una canción; null en los álbumes. */
+    Integer getNumRep();
+}
@@ -1,15 +1,49 @@
 package io.swagger.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import io.swagger.entity.UsuarioValoraElemEntity;
 import io.swagger.entity.UsuarioValoraElemId;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UsuarioValoraElemRepository extends JpaRepository<UsuarioValoraElemEntity, UsuarioValoraElemId>{
    List<UsuarioValoraElemEntity> findById_IdElem(Integer idElem);
 
+   // Página por clave sobre la clave primaria (IDELEM, IDUSER)
+   @Query("select v from UsuarioValoraElemEntity v "
+           + "where v.id.idElem > :idElem or (v.id.idElem = :idElem and v.id.idUser > :idUser) "
+           + "order by v.id.idElem, v.id.idUser")
+   List<UsuarioValoraElemEntity> findPaginaDespuesDe(@Param("idElem") Integer idElem,
+           @Param("idUser") Integer idUser, Pageable pageable);
+
+   @Query("select v.valoracion as valoracion, count(v) as total from UsuarioValoraElemEntity v "
+           + "where v.id.idElem = :idElem group by v.valoracion order by v.valoracion")
+   List<RecuentoValoracion> contarPorValoracion(@Param("idElem") Integer idElem);
+
+   // Los comentarios más recientes primero
+   @Query("select v from UsuarioValoraElemEntity v where v.id.idElem = :idElem and v.comentario is not null "
+           + "order by v.fechaComentario desc, v.id.idUser")
+   List<UsuarioValoraElemEntity> findComentariosRecientes(@Param("idElem") Integer idElem, Pageable pageable);
+
+   // Ordenadas por usuario para agrupar las valoraciones de cada uno al recorrerlas
+   @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+   @Query("select v.id.idUser as idUser, v.id.idElem as idElem, v.valoracion as valoracion, e.nombre as nombre "
+           + "from UsuarioValoraElemEntity v join v.elemento e order by v.id.idUser, v.id.idElem")
+   Stream<ValoracionUsuario> recorrerValoraciones();
+
+   @Query("select v.id.idElem as idElem, v.valoracion as valoracion, e.genero as genero, e.subgenero as subgenero "
+           + "from UsuarioValoraElemEntity v join v.elemento e where v.id.idUser = :idUser")
+   List<ValoracionGenero> findGenerosValorados(@Param("idUser") Integer idUser);
+
 }
@@ -0,0 +1,15 @@
+package io.swagger.repository;
+
+/**
+ * Una valoración de un usuario junto con el género y subgénero del elemento valorado.
+ */
+public interface ValoracionGenero {
+
+    Integer getIdElem();
+
+    Integer getValoracion();
+
+    Integer getGenero();
+
+    Integer getSubgenero();
+}
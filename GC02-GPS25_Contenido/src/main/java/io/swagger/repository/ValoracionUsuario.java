@@ -0,0 +1,16 @@
+package io.swagger.repository;
+
+/**
+ * Una valoración con el nombre del elemento valorado, para construir índices en memoria
+ * sin cargar entidades.
+ */
+public interface ValoracionUsuario {
+
+    Integer getIdUser();
+
+    Integer getIdElem();
+
+    Integer getValoracion();
+
+    String getNombre();
+}
@@ -0,0 +1,51 @@
+package io.swagger.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenización de textos en español para la búsqueda: minúsculas, sin tildes
+ * ni diéresis ("Canción" y "cancion" dan el mismo término) y sin palabras vacías.
+ */
+public final class AnalizadorTexto {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // Ya normalizadas (sin tildes), porque se comparan después de normalizar
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "algo", "algunas", "algunos", "ante", "antes", "como", "con", "contra", "cual",
+            "cuando", "de", "del", "desde", "donde", "durante", "e", "el", "ella", "ellas", "ellos",
+            "en", "entre", "era", "es", "esa", "esas", "ese", "eso", "esos", "esta", "estas", "este",
+            "esto", "estos", "fue", "ha", "hasta", "hay", "la", "las", "le", "les", "lo", "los", "mas",
+            "me", "mi", "mis", "mucho", "muy", "nada", "ni", "no", "nos", "o", "otra", "otro", "para",
+            "pero", "poco", "por", "porque", "que", "quien", "se", "si", "sin", "sobre", "su", "sus",
+            "tambien", "te", "tu", "tus", "u", "un", "una", "unas", "uno", "unos", "y", "ya", "yo");
+
+    private AnalizadorTexto() {
+    }
+
+    /** Términos del texto en el orden en que aparecen (con repeticiones). */
+    public static List<String> tokenizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return terminos;
+        }
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty() && !PALABRAS_VACIAS.contains(token)) {
+                terminos.add(token);
+            }
+        }
+        return terminos;
+    }
+
+    /** Minúsculas y sin marcas diacríticas ("Ñandú" pasa a "nandu"). */
+    public static String normalizar(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
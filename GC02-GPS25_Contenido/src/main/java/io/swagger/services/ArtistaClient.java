@@ -1,150 +1,265 @@
 package io.swagger.services;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
-import org.threeten.bp.OffsetDateTime;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
-import java.time.format.DateTimeParseException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import io.swagger.model.Contenido;
-import io.swagger.model.Genero;
 import io.swagger.model.Artista;
 
 @Service
 public class ArtistaClient {
 
-    // IMPORTANTE: Asegúrate de que este puerto (3000) es donde corre tu backend de
-    // usuarios.
-    // Si usas otro puerto (ej. 8080), cámbialo aquí.
-    private String usuariosBaseUrl = "http://usuario-service:3000/api/usuarios";
+    // URL del servicio de usuarios: contenido.usuarios.url-base
+    private final String usuariosBaseUrl;
+
+    // Con pool de conexiones y tiempos máximos (ClienteUsuariosConfig)
+    private final RestTemplate restTemplate;
+
+    // Límite de llamadas simultáneas y circuito: todas las llamadas remotas pasan por aquí
+    private final ProteccionLlamadas proteccion;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /*
+     * Artistas ya pedidos al servicio de usuarios, por id. Se guarda el futuro de la petición,
+     * no sólo el resultado: mientras una petición está en marcha, el resto de hilos que piden
+     * el mismo artista esperan a esa misma petición en vez de lanzar otra. Los artistas que no
+     * existen (404) se guardan vacíos con una caducidad más corta. Si la petición falla por
+     * otro motivo el futuro se retira y el siguiente lo vuelve a intentar.
+     */
+    private final AsyncCache<Integer, Optional<Artista>> artistas;
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Timer peticiones;
 
-    // Obtener la lista de artistas desde el microservicio externo para mapear a
-    // Contenido
+    public ArtistaClient(RestTemplate restTemplateUsuarios, MeterRegistry registro,
+            @Value("${contenido.usuarios.url-base:http://usuario-service:3000/api/usuarios}") String usuariosBaseUrl,
+            @Value("${contenido.usuarios.concurrencia.maximo:20}") int maximoConcurrentes,
+            @Value("${contenido.usuarios.concurrencia.espera-ms:100}") long esperaHuecoMs,
+            @Value("${contenido.usuarios.circuito.ventana:20}") int ventana,
+            @Value("${contenido.usuarios.circuito.minimo-llamadas:10}") int minimoLlamadas,
+            @Value("${contenido.usuarios.circuito.umbral-fallos:50}") int umbralFallos,
+            @Value("${contenido.usuarios.circuito.espera-ms:10000}") long esperaAbiertoMs,
+            @Value("${contenido.artistas.cache.maximo:10000}") long maximo,
+            @Value("${contenido.artistas.cache.ttl-segundos:300}") long ttlSegundos,
+            @Value("${contenido.artistas.cache.ttl-negativo-segundos:30}") long ttlNegativoSegundos) {
+        this.restTemplate = restTemplateUsuarios;
+        this.usuariosBaseUrl = usuariosBaseUrl;
+        this.proteccion = new ProteccionLlamadas("usuarios", maximoConcurrentes, Duration.ofMillis(esperaHuecoMs),
+                ventana, minimoLlamadas, umbralFallos, Duration.ofMillis(esperaAbiertoMs), registro);
+        this.artistas = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfter(new Caducidad(Duration.ofSeconds(ttlSegundos), Duration.ofSeconds(ttlNegativoSegundos)))
+                .buildAsync();
+        this.aciertos = registro.counter("contenido.artistas.cache", "resultado", "acierto");
+        this.fallos = registro.counter("contenido.artistas.cache", "resultado", "fallo");
+        this.peticiones = Timer.builder("contenido.artistas.peticiones")
+                .description("Peticiones de un artista al servicio de usuarios")
+                .register(registro);
+        registro.gauge("contenido.artistas.cache.tamanio", artistas, cache -> cache.synchronous().estimatedSize());
+    }
+
+    /**
+     * Listado de artistas del servicio de usuarios convertido a {@link Contenido} (tipo 0).
+     * La respuesta se lee en streaming y cada artista se convierte según llega.
+     */
     public List<Contenido> obtenerArtistas() {
 
         String url = usuariosBaseUrl + "/artistas";
 
-        // Usamos ParameterizedTypeReference para asegurar que recibimos una Lista de
-        // Mapas
-        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+        List<Contenido> artistas = proteccion.ejecutar(() -> restTemplate.execute(
                 url,
                 HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                });
+                peticion -> peticion.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                respuesta -> {
+                    List<Contenido> leidos = new ArrayList<>();
+                    LectorArtistas.leer(respuesta.getBody(), leidos::add);
+                    return leidos;
+                }));
 
-        List<Map<String, Object>> artistasJson = response.getBody();
-        List<Contenido> artistas = new ArrayList<>();
+        return artistas != null ? artistas : new ArrayList<>();
+    }
 
-        if (artistasJson == null) {
-            return artistas;
+    /**
+     * Artista con ese id, de la caché si está y si no del servicio de usuarios.
+     * Null si el servicio responde que no existe.
+     */
+    public Artista obtenerArtistaPorId(Integer idArtista) {
+        CompletableFuture<Optional<Artista>> pendiente = new CompletableFuture<>();
+        CompletableFuture<Optional<Artista>> existente = artistas.asMap().putIfAbsent(idArtista, pendiente);
+        if (existente != null) {
+            aciertos.increment();
+            try {
+                return existente.join().orElse(null);
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+            }
         }
+        fallos.increment();
+        // La petición se hace en este hilo; quien pida el mismo id mientras tanto espera a 'pendiente'
+        try {
+            Optional<Artista> artista = peticiones.record(() -> pedirArtista(idArtista));
+            pendiente.complete(artista);
+            return artista.orElse(null);
+        } catch (RuntimeException ex) {
+            // Un futuro completado con error se retira solo de la caché
+            pendiente.completeExceptionally(ex);
+            throw ex;
+        }
+    }
 
-        for (Map<String, Object> art : artistasJson) {
+    /**
+     * Artistas de {@code ids}, con como mucho una petición al servicio de usuarios para todo
+     * el lote: los que ya están en la caché (o pedidos por otro hilo) se reutilizan y, si falta
+     * más de uno, se piden todos juntos con el listado de artistas. El resto del listado se
+     * guarda también en la caché, para que los lotes siguientes no tengan que volver a pedirlo.
+     * Los que no existen no aparecen en el mapa.
+     */
+    public Map<Integer, Artista> obtenerArtistasPorId(Collection<Integer> ids) {
+        Map<Integer, CompletableFuture<Optional<Artista>>> ajenos = new HashMap<>();
+        Map<Integer, CompletableFuture<Optional<Artista>>> propios = new HashMap<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            CompletableFuture<Optional<Artista>> pendiente = new CompletableFuture<>();
+            CompletableFuture<Optional<Artista>> existente = artistas.asMap().putIfAbsent(id, pendiente);
+            if (existente != null) {
+                aciertos.increment();
+                ajenos.put(id, existente);
+            } else {
+                fallos.increment();
+                propios.put(id, pendiente);
+            }
+        }
+
+        if (!propios.isEmpty()) {
             try {
-                Contenido c = new Contenido();
-
-                // --- FIX 1: Casteo seguro de IDs numéricos ---
-                Object idObj = art.get("id");
-                if (idObj instanceof Number) {
-                    c.setId(((Number) idObj).intValue());
-                }
-
-                c.setNombre((String) art.get("nombreusuario"));
-
-                // --- FIX 2: Parseo de fecha seguro ---
-                Object fechaObjeto = art.get("fecharegistro");
-                if (fechaObjeto instanceof String) {
-                    try {
-                        OffsetDateTime fecha = OffsetDateTime.parse((String) fechaObjeto);
-                        c.setFechacrea(fecha);
-                    } catch (DateTimeParseException e) {
-                        System.err.println("Error parseando fecha para artista ID " + idObj + ": " + fechaObjeto);
-                    }
-                }
-
-                c.setDescripcion((String) art.get("descripcion"));
-
-                // --- FIX 3: Valoración y Ventas (Manejo de Double a Integer) ---
-                // Si la valoración viene como 3.8 (Double), el cast directo a (Integer)
-                // fallaba.
-                Object oyentesObj = art.getOrDefault("oyentes", 0);
-                if (oyentesObj instanceof Number) {
-                    c.setNumventas(((Number) oyentesObj).intValue());
-                }
-
-                Object valObj = art.getOrDefault("valoracion", 0);
-                if (valObj instanceof Number) {
-                    // Convertimos cualquier número (Double, Float) a int de forma segura
-                    c.setValoracion(((Number) valObj).intValue());
-                }
-
-                c.setPrecio(0.0f); // Artistas no tienen precio
-
-                // Booleano seguro
-                Object esNovedadObj = art.get("esnovedad");
-                c.setEsnovedad(esNovedadObj instanceof Boolean ? (Boolean) esNovedadObj : false);
-
-                c.setFotoamazon((String) art.get("rutafoto"));
-
-                // --- FIX 4: GÉNERO (El error principal) ---
-                // El JSON suele traer un objeto: "genero": { "id": 1, ... }
-                // El código antiguo intentaba leerlo como Integer directamente y fallaba.
-                Genero g = new Genero();
-                Object generoObj = art.get("genero");
-
-                if (generoObj instanceof Map) {
-                    // Caso A: Es un objeto JSON (LinkedHashMap)
-                    Map<?, ?> generoMap = (Map<?, ?>) generoObj;
-                    Object idGenero = generoMap.get("id");
-                    if (idGenero instanceof Number) {
-                        g.setId(((Number) idGenero).intValue());
-                    }
-                    // Meter genero en el artista
-                    Object nombreGen = generoMap.get("nombre");
-                    if (nombreGen instanceof String) {
-                        g.setNombre((String) nombreGen);
-                    }
-
-                } else if (generoObj instanceof Number) {
-                    // Caso B: Es solo el número ID
-                    g.setId(((Number) generoObj).intValue());
-                }
-
-                c.setGenero(g);
-                c.setTipo(0); // 0 = artista
-                artistas.add(c);
-
-            } catch (Exception e) {
-                // Si falla un artista concreto, lo logueamos y seguimos con el siguiente
-                System.err.println("Error mapeando un artista: " + e.getMessage());
-                e.printStackTrace();
+                Map<Integer, Artista> recibidos = propios.size() == 1
+                        ? unico(propios.keySet().iterator().next())
+                        : peticiones.record(this::pedirArtistas);
+                // Los que no vienen en el listado no existen: se guardan vacíos como los 404
+                propios.forEach((id, pendiente) -> pendiente.complete(Optional.ofNullable(recibidos.get(id))));
+                // Sin pisar los que ya están guardados o en camino
+                recibidos.forEach((id, artista) -> artistas.asMap()
+                        .putIfAbsent(id, CompletableFuture.completedFuture(Optional.of(artista))));
+            } catch (RuntimeException ex) {
+                propios.values().forEach(pendiente -> pendiente.completeExceptionally(ex));
+                throw ex;
             }
         }
 
-        return artistas;
+        Map<Integer, Artista> resultado = new HashMap<>();
+        try {
+            propios.forEach((id, futuro) -> futuro.join().ifPresent(a -> resultado.put(id, a)));
+            ajenos.forEach((id, futuro) -> futuro.join().ifPresent(a -> resultado.put(id, a)));
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+        }
+        return resultado;
     }
 
-    public Artista obtenerArtistaPorId(Integer idArtista) {
+    /** Descarta el artista guardado, para que la próxima vez se pida de nuevo. */
+    public void olvidarArtista(Integer idArtista) {
+        artistas.synchronous().invalidate(idArtista);
+    }
+
+    /** Descarta todos los artistas guardados. */
+    public void olvidarArtistas() {
+        artistas.synchronous().invalidateAll();
+    }
+
+    private Optional<Artista> pedirArtista(Integer idArtista) {
         String url = usuariosBaseUrl + "/artistas/" + idArtista;
 
-        ResponseEntity<Artista> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                Artista.class);
+        ResponseEntity<Artista> response;
+        try {
+            response = proteccion.ejecutar(() -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    Artista.class));
+        } catch (HttpClientErrorException.NotFound ex) {
+            return Optional.empty();
+        }
 
         if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
             throw new RuntimeException("No se ha podido obtener el artista con id " + idArtista);
         }
 
-        return response.getBody();
+        return Optional.of(response.getBody());
+    }
+
+    private Map<Integer, Artista> unico(Integer idArtista) {
+        Map<Integer, Artista> recibidos = new HashMap<>();
+        peticiones.record(() -> pedirArtista(idArtista)).ifPresent(a -> recibidos.put(idArtista, a));
+        return recibidos;
+    }
+
+    // Todos los artistas en una sola petición, con el mismo listado que obtenerArtistas y
+    // también leído en streaming
+    private Map<Integer, Artista> pedirArtistas() {
+        Map<Integer, Artista> recibidos = proteccion.ejecutar(() -> restTemplate.execute(
+                usuariosBaseUrl + "/artistas",
+                HttpMethod.GET,
+                peticion -> peticion.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                respuesta -> {
+                    Map<Integer, Artista> leidos = new HashMap<>();
+                    LectorArtistas.leerArtistas(respuesta.getBody(), artista -> {
+                        if (artista.getId() != null) {
+                            leidos.put(artista.getId(), artista);
+                        }
+                    });
+                    return leidos;
+                }));
+
+        if (recibidos == null) {
+            throw new RuntimeException("No se ha podido obtener el listado de artistas");
+        }
+        return recibidos;
+    }
+
+    /** Caducidad de cada entrada: más corta para los artistas que no existen. */
+    private static final class Caducidad implements Expiry<Integer, Optional<Artista>> {
+
+        private final long encontrado;
+        private final long noEncontrado;
+
+        Caducidad(Duration encontrado, Duration noEncontrado) {
+            this.encontrado = encontrado.toNanos();
+            this.noEncontrado = noEncontrado.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Integer id, Optional<Artista> artista, long ahora) {
+            return artista.isPresent() ? encontrado : noEncontrado;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer id, Optional<Artista> artista, long ahora, long restante) {
+            return expireAfterCreate(id, artista, ahora);
+        }
+
+        @Override
+        public long expireAfterRead(Integer id, Optional<Artista> artista, long ahora, long restante) {
+            return restante;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package io.swagger.services;
+
+import io.swagger.model.Contenido;
+import io.swagger.model.Elemento;
+import io.swagger.repository.FiltroElementos;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Caché de los listados completos de /elementos y de los elementos internos de /contenidos
+ * por combinación de filtros.
+ * <p>
+ * La clave es el {@link FiltroElementos} (ya normalizado: igualdad por valor) junto con la
+ * {@link Expansion} pedida y la {@link VersionCatalogo} vigente al empezar el cálculo. Tras
+ * una escritura la versión avanza y ninguna lectura vuelve a usar las entradas anteriores,
+ * ni siquiera las que estuvieran calculándose durante la escritura; la expulsión (W-TinyLFU,
+ * acotada por número total de filas) las retira después. Como los listados incluyen datos del servicio de usuarios, que
+ * no avisa de sus cambios, las entradas caducan además a los {@code ttl-segundos}.
+ * <p>
+ * El cálculo se hace en el hilo de la petición (necesita su sesión JPA) y una sola vez por
+ * clave: las peticiones concurrentes con el mismo filtro esperan a ese resultado. En la caché
+ * sólo se guarda el futuro, así que la consulta no bloquea otras claves de la misma tabla
+ * interna. Si el cálculo falla, quienes esperaban reciben el mismo error y la clave no se guarda.
+ */
+@Service
+public class CacheResultados {
+
+    private final VersionCatalogo versionCatalogo;
+    private final AsyncCache<Clave, List<Contenido>> contenidos;
+    private final AsyncCache<Clave, List<Elemento>> elementos;
+
+    public CacheResultados(VersionCatalogo versionCatalogo, MeterRegistry registro,
+            @Value("${contenido.cache.resultados.maximo-filas:200000}") long maximoFilas,
+            @Value("${contenido.cache.resultados.ttl-segundos:60}") long ttlSegundos) {
+        this.versionCatalogo = versionCatalogo;
+        this.contenidos = CaffeineCacheMetrics.monitor(registro, crear(maximoFilas, ttlSegundos), "resultados.contenidos");
+        this.elementos = CaffeineCacheMetrics.monitor(registro, crear(maximoFilas, ttlSegundos), "resultados.elementos");
+    }
+
+    private static <T> AsyncCache<Clave, List<T>> crear(long maximoFilas, long ttlSegundos) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximoFilas)
+                .weigher((Clave clave, List<T> lista) -> Math.max(1, lista.size()))
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Elementos internos de /contenidos para el filtro, calculándolos con {@code calcular} si
+     * no están en caché.
+     */
+    public List<Contenido> contenidos(FiltroElementos filtro, Supplier<List<Contenido>> calcular) {
+        return obtener(contenidos, filtro, null, calcular);
+    }
+
+    /**
+     * Elementos para el filtro con esa expansión, calculándolos con {@code calcular} si no
+     * están en caché.
+     */
+    public List<Elemento> elementos(FiltroElementos filtro, Expansion expansion, Supplier<List<Elemento>> calcular) {
+        return obtener(elementos, filtro, expansion, calcular);
+    }
+
+    // Las listas cacheadas se comparten entre peticiones: se guardan inmutables
+    private <T> List<T> obtener(AsyncCache<Clave, List<T>> cache, FiltroElementos filtro, Expansion expansion,
+            Supplier<List<T>> calcular) {
+        Clave clave = new Clave(filtro, expansion, versionCatalogo.actual());
+        CompletableFuture<List<T>> pendiente = new CompletableFuture<>();
+        CompletableFuture<List<T>> existente = cache.get(clave, (c, ejecutor) -> pendiente);
+        if (existente != pendiente) {
+            try {
+                return existente.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+            }
+        }
+        // El cálculo va fuera del bloqueo de la caché; quien pida la misma clave espera a 'pendiente'
+        try {
+            List<T> resultado = Collections.unmodifiableList(new ArrayList<>(calcular.get()));
+            pendiente.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error ex) {
+            // Un futuro completado con error se retira solo de la caché
+            pendiente.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static final class Clave {
+
+        private final FiltroElementos filtro;
+        private final Expansion expansion;
+        private final long version;
+
+        Clave(FiltroElementos filtro, Expansion expansion, long version) {
+            this.filtro = filtro;
+            this.expansion = expansion;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave)) return false;
+            Clave that = (Clave) o;
+            return version == that.version && expansion == that.expansion && filtro.equals(that.filtro);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filtro, expansion, version);
+        }
+    }
+}
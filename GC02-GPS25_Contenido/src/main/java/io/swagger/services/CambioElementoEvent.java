@@ -0,0 +1,34 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+
+/**
+ * Aviso de que un elemento del catálogo se ha guardado o eliminado.
+ * Lo publican los servicios de escritura para que los índices en memoria
+ * se actualicen sin volver a leer la tabla completa.
+ */
+public final class CambioElementoEvent {
+
+    private final int id;
+    private final ElementoEntity elemento;
+
+    private CambioElementoEvent(int id, ElementoEntity elemento) {
+        this.id = id;
+        this.elemento = elemento;
+    }
+
+    public static CambioElementoEvent guardado(ElementoEntity elemento) {
+        return new CambioElementoEvent(elemento.getId(), elemento);
+    }
+
+    public static CambioElementoEvent eliminado(int id) {
+        return new CambioElementoEvent(id, null);
+    }
+
+    public int getId() { return id; }
+
+    /** Estado guardado del elemento, o null si se ha eliminado. */
+    public ElementoEntity getElemento() { return elemento; }
+
+    public boolean isEliminado() { return elemento == null; }
+}
@@ -0,0 +1,16 @@
+package io.swagger.services;
+
+/**
+ * Aviso de que un género se ha creado, renombrado o eliminado. Los nombres de
+ * género forman parte de las respuestas del catálogo, así que invalidan lo cacheado.
+ */
+public final class CambioGeneroEvent {
+
+    private final int id;
+
+    public CambioGeneroEvent(int id) {
+        this.id = id;
+    }
+
+    public int getId() { return id; }
+}
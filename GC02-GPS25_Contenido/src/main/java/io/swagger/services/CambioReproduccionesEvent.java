@@ -0,0 +1,20 @@
+package io.swagger.services;
+
+/**
+ * Aviso de que ha cambiado el número de reproducciones de una canción.
+ * Las reproducciones viven en CANCIONES, así que no llegan con {@link CambioElementoEvent}.
+ */
+public final class CambioReproduccionesEvent {
+
+    private final int id;
+    private final Integer numRep;
+
+    public CambioReproduccionesEvent(int id, Integer numRep) {
+        this.id = id;
+        this.numRep = numRep;
+    }
+
+    public int getId() { return id; }
+
+    public Integer getNumRep() { return numRep; }
+}
@@ -0,0 +1,24 @@
+package io.swagger.services;
+
+/**
+ * Aviso de que un usuario ha valorado un elemento, ha cambiado su valoración
+ * o la ha borrado (valoración null).
+ */
+public final class CambioValoracionEvent {
+
+    private final int idUser;
+    private final int idElem;
+    private final Integer valoracion;
+
+    public CambioValoracionEvent(int idUser, int idElem, Integer valoracion) {
+        this.idUser = idUser;
+        this.idElem = idElem;
+        this.valoracion = valoracion;
+    }
+
+    public int getIdUser() { return idUser; }
+
+    public int getIdElem() { return idElem; }
+
+    public Integer getValoracion() { return valoracion; }
+}
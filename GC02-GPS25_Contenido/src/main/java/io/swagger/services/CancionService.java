@@ -1,28 +1,83 @@
 package io.swagger.services;
 
+import io.swagger.configuration.LimitesPaginacion;
 import io.swagger.entity.CancionEntity;
 import io.swagger.entity.ElementoEntity;
-import io.swagger.entity.GeneroEntity;
 import io.swagger.model.Artista;
 import io.swagger.model.Cancion;
 import io.swagger.model.Genero;
 import io.swagger.repository.CancionRepository;
-import io.swagger.repository.GeneroRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class CancionService {
 
     private final CancionRepository cancionRepository;
     private final ArtistaClient artistaClient;
-    private final GeneroRepository generoRepository;
+    private final DiccionarioGeneros diccionarioGeneros;
+    private final CargaRelacionados cargaRelacionados;
+    private final LimitesPaginacion limitesPaginacion;
+    private final ApplicationEventPublisher eventos;
+    private final IndiceTextual indiceTextual;
+
+    // Oracle no admite más de 1000 valores en una lista IN
+    private static final int TAMANIO_BLOQUE_IN = 1000;
 
     public Cancion convertToModel(CancionEntity entity) {
+        return convertToModel(entity, Expansion.COMPLETA);
+    }
+
+    /** Convierte una canción completando sólo las relaciones de {@code expansion}. */
+    public Cancion convertToModel(CancionEntity entity, Expansion expansion) {
+        Function<Integer, Artista> buscarArtista = expansion.isArtista()
+                ? artistaClient::obtenerArtistaPorId
+                : CargaRelacionados::referenciaArtista;
+        return convertToModel(entity, buscarArtista, buscarGenero(expansion));
+    }
+
+    public List<Cancion> convertirLote(List<CancionEntity> entidades) {
+        return convertirLote(entidades, Expansion.COMPLETA);
+    }
+
+    /**
+     * Convierte varias canciones a la vez. Si se expande el artista, los de todo el lote se
+     * resuelven con una sola llamada al servicio de usuarios; si no, no se le llama.
+     */
+    public List<Cancion> convertirLote(List<CancionEntity> entidades, Expansion expansion) {
+        Function<Integer, Artista> buscarArtista = CargaRelacionados::referenciaArtista;
+        if (expansion.isArtista()) {
+            Set<Integer> idsArtista = new HashSet<>();
+            for (CancionEntity entidad : entidades) {
+                ElementoEntity e = entidad.getElemento();
+                if (e.getArtista() != null) idsArtista.add(e.getArtista());
+            }
+            buscarArtista = cargaRelacionados.artistas(idsArtista)::get;
+        }
+        Function<Integer, Genero> buscarGenero = buscarGenero(expansion);
+
+        List<Cancion> canciones = new ArrayList<>(entidades.size());
+        for (CancionEntity entidad : entidades) {
+            canciones.add(convertToModel(entidad, buscarArtista, buscarGenero));
+        }
+        return canciones;
+    }
+
+    private Function<Integer, Genero> buscarGenero(Expansion expansion) {
+        return expansion.isGenero() ? diccionarioGeneros::genero : DiccionarioGeneros::referencia;
+    }
+
+    private Cancion convertToModel(CancionEntity entity, Function<Integer, Artista> buscarArtista,
+            Function<Integer, Genero> buscarGenero) {
 
         Cancion c = new Cancion();
 
@@ -38,40 +93,12 @@ public class CancionService {
         c.setEsnovedad(e.getEsnovedad());
         c.setUrlFoto(e.getUrlFoto());
         if (e.getArtista() != null) {
-            Artista a = artistaClient.obtenerArtistaPorId(e.getArtista());
+            Artista a = buscarArtista.apply(e.getArtista());
             c.setArtista(a);
         }
-         // Género
-        Genero g = new Genero();
-        Integer idGenero = e.getGenero();
-
-        if (idGenero != null) {
-        GeneroEntity genero = generoRepository.findById(idGenero).orElse(null);
-        if (genero != null) {
-                g.setId(genero.getId());
-                g.setNombre(genero.getNombre());
-        } else {
-                g.setId(idGenero);
-                g.setNombre(null);
-        }
-        }
-        c.setGenero(g);
-
-        // Subgénero
-        Genero sub = new Genero();
-        Integer idSub = e.getSubgenero();
-
-        if (idSub != null) {
-        GeneroEntity subgenero = generoRepository.findById(idSub).orElse(null);
-        if (subgenero != null) {
-                sub.setId(subgenero.getId());
-                sub.setNombre(subgenero.getNombre());
-        } else {
-                sub.setId(idSub);
-                sub.setNombre(null);
-        }
-        }
-        c.setSubgenero(sub);
+        // Género y subgénero
+        c.setGenero(buscarGenero.apply(e.getGenero()));
+        c.setSubgenero(buscarGenero.apply(e.getSubgenero()));
 
         // Conversión fecha
         if (e.getFechacrea() != null) {
@@ -96,29 +123,107 @@ public class CancionService {
     }
 
 
-    public CancionService(CancionRepository cancionRepository, ArtistaClient artistaClient, GeneroRepository generoRepository) {
+    public CancionService(CancionRepository cancionRepository, ArtistaClient artistaClient, DiccionarioGeneros diccionarioGeneros,
+            CargaRelacionados cargaRelacionados, LimitesPaginacion limitesPaginacion, ApplicationEventPublisher eventos, IndiceTextual indiceTextual) {
         this.cancionRepository = cancionRepository;
         this.artistaClient = artistaClient;
-        this.generoRepository = generoRepository;
+        this.diccionarioGeneros = diccionarioGeneros;
+        this.cargaRelacionados = cargaRelacionados;
+        this.limitesPaginacion = limitesPaginacion;
+        this.eventos = eventos;
+        this.indiceTextual = indiceTextual;
+    }
+
+    public List<Cancion> getAll(Expansion expansion) {
+        return convertirLote(cancionRepository.findAll(), expansion);
+    }
+
+    /** Canciones de un álbum ordenadas por ID, cargadas con una sola consulta junto con su elemento. */
+    public List<Cancion> getDeAlbum(Integer idAlbum, Expansion expansion) {
+        return convertirLote(cancionRepository.findConElementoDeAlbum(idAlbum), expansion);
+    }
+
+    /**
+     * Canciones cuyo nombre contiene todas las palabras de {@code nombre} (sin distinguir
+     * mayúsculas ni tildes), opcionalmente de un álbum, ordenadas por ID.
+     *
+     * @throws IllegalStateException si el índice de búsqueda aún no está cargado
+     */
+    public List<Cancion> buscarPorNombre(Integer idAlbum, String nombre, Expansion expansion) {
+        return convertirLote(cargarPorNombre(idAlbum, nombre, Integer.MIN_VALUE, Integer.MAX_VALUE), expansion);
     }
 
-    public List<Cancion> getAll() {
-        return cancionRepository.findAll()
-                .stream()
-                .map(this::convertToModel)
-                .collect(Collectors.toList());
-    }       
+    /**
+     * Página de canciones ordenada por ID, opcionalmente restringida a un álbum
+     * y a las que contienen en el nombre todas las palabras de {@code nombre}.
+     *
+     * @throws IllegalArgumentException si el cursor no es válido
+     * @throws IllegalStateException si se filtra por nombre y el índice de búsqueda aún no está cargado
+     */
+    public Pagina<Cancion> getPagina(Integer idAlbum, String nombre, String cursor, Integer limite, Expansion expansion) {
+        int tamanio = limitesPaginacion.normalizar(limite);
+        int despuesDe = Integer.MIN_VALUE;
+        if (cursor != null) {
+            CursorPagina anterior = CursorPagina.decodificar(cursor);
+            if (!"id".equals(anterior.getOrden())) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            despuesDe = anterior.getId();
+        }
+
+        PageRequest primera = PageRequest.of(0, tamanio + 1);
+        List<CancionEntity> filas;
+        if (nombre != null) {
+            filas = cargarPorNombre(idAlbum, nombre, despuesDe, tamanio + 1);
+        } else if (idAlbum == null) {
+            filas = cancionRepository.findPaginaDespuesDe(despuesDe, primera);
+        } else {
+            filas = cancionRepository.findPaginaDeAlbumDespuesDe(idAlbum, despuesDe, primera);
+        }
+
+        return Pagina.desdeFilas(filas, tamanio, ultima -> new CursorPagina("id", null, ultima.getId()).codificar())
+                .mapLote(filasPagina -> convertirLote(filasPagina, expansion));
+    }
+
+    // Los ids del índice vienen ordenados, así que los bloques se consultan en orden
+    // y se para en cuanto se han reunido las filas pedidas
+    private List<CancionEntity> cargarPorNombre(Integer idAlbum, String nombre, int despuesDe, int maximo) {
+        if (!indiceTextual.isListo()) {
+            throw new IllegalStateException("El índice de búsqueda aún no está disponible");
+        }
+        int[] ids = indiceTextual.buscarPorNombre(nombre);
+        List<CancionEntity> filas = new ArrayList<>();
+        List<Integer> bloque = new ArrayList<>(TAMANIO_BLOQUE_IN);
+        for (int i = 0; i < ids.length && filas.size() < maximo; i++) {
+            if (ids[i] <= despuesDe) {
+                continue;
+            }
+            bloque.add(ids[i]);
+            if (bloque.size() == TAMANIO_BLOQUE_IN) {
+                filas.addAll(cancionRepository.findConElementoPorIds(bloque, idAlbum));
+                bloque.clear();
+            }
+        }
+        if (!bloque.isEmpty() && filas.size() < maximo) {
+            filas.addAll(cancionRepository.findConElementoPorIds(bloque, idAlbum));
+        }
+        return filas.size() > maximo ? filas.subList(0, maximo) : filas;
+    }
 
     public Optional<CancionEntity> getById(Integer id) {
         return cancionRepository.findById(id);
     }
 
     public CancionEntity save(CancionEntity elemento) {
-        return cancionRepository.save(elemento);
+        CancionEntity guardada = cancionRepository.save(elemento);
+        eventos.publishEvent(new CambioReproduccionesEvent(guardada.getId(), guardada.getNumRep()));
+        return guardada;
     }
 
     public void delete(Integer id) {
         cancionRepository.deleteById(id);
+        // El borrado se propaga al elemento asociado (CascadeType.ALL)
+        eventos.publishEvent(CambioElementoEvent.eliminado(id));
     }
 
 
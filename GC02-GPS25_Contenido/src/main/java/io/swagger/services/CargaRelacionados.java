@@ -0,0 +1,42 @@
+package io.swagger.services;
+
+import io.swagger.model.Artista;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Carga por lotes de los datos que completan un elemento y no están en memoria: los
+ * artistas. Se usa al convertir resultados de varias filas para no repetir la misma
+ * llamada por cada fila. Los géneros salen de {@link DiccionarioGeneros}.
+ */
+@Service
+public class CargaRelacionados {
+
+    private final ArtistaClient artistaClient;
+
+    public CargaRelacionados(ArtistaClient artistaClient) {
+        this.artistaClient = artistaClient;
+    }
+
+    /**
+     * Artistas de {@code ids}, con como mucho una llamada al servicio de usuarios para todo
+     * el lote. Los que no existen no aparecen en el mapa.
+     */
+    public Map<Integer, Artista> artistas(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return artistaClient.obtenerArtistasPorId(ids);
+    }
+
+    /** Artista con sólo el id, para las respuestas que no expanden el artista. */
+    public static Artista referenciaArtista(Integer id) {
+        Artista artista = new Artista();
+        artista.setId(id);
+        return artista;
+    }
+}
@@ -0,0 +1,204 @@
+package io.swagger.services;
+
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.entity.ElementoEntity;
+import io.swagger.model.Facetas;
+import io.swagger.repository.ContenidoRepository;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.ElementoSpecifications;
+import io.swagger.repository.FiltroElementos;
+import io.swagger.repository.OrdenElementos;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Motor de consultas del catálogo: resuelve cualquier combinación de filtros
+ * en la base de datos en lugar de cargar ELEMENTOS completo y filtrar en Java.
+ */
+@Service
+public class ConsultaElementosService {
+
+    private static final int TAMANIO_BLOQUE_IN = 1000;
+
+    private final ContenidoRepository contenidoRepository;
+    private final ElementoRepository elementoRepository;
+    private final LimitesPaginacion limitesPaginacion;
+    private final IndiceCatalogo indiceCatalogo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contenido.streaming.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${contenido.indice.carga-por-ids-maxima:5000}")
+    private int cargaPorIdsMaxima;
+
+    public ConsultaElementosService(ContenidoRepository contenidoRepository, ElementoRepository elementoRepository,
+            LimitesPaginacion limitesPaginacion, IndiceCatalogo indiceCatalogo) {
+        this.contenidoRepository = contenidoRepository;
+        this.elementoRepository = elementoRepository;
+        this.limitesPaginacion = limitesPaginacion;
+        this.indiceCatalogo = indiceCatalogo;
+    }
+
+    /**
+     * Elementos que cumplen el filtro, ordenados por id. Si el índice en memoria está cargado
+     * y el filtro es selectivo, se resuelve en él y a Oracle sólo se le piden las filas por
+     * clave primaria. Con más coincidencias que {@code carga-por-ids-maxima} sale más barata
+     * una única consulta con el filtro que cientos de bloques IN.
+     */
+    public List<ElementoEntity> buscar(FiltroElementos filtro) {
+        if (indiceCatalogo.isListo() && indiceCatalogo.contar(filtro) <= cargaPorIdsMaxima) {
+            return cargarPorIds(indiceCatalogo.filtrar(filtro));
+        }
+        return contenidoRepository.findAll(ElementoSpecifications.desdeFiltro(filtro), Sort.by("id"));
+    }
+
+    /**
+     * Número total de elementos que cumplen el filtro, calculado en el índice en memoria.
+     * Vacío si el índice no está disponible, para no lanzar un COUNT sobre Oracle.
+     */
+    public OptionalInt contar(FiltroElementos filtro) {
+        if (!indiceCatalogo.isListo()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(indiceCatalogo.contar(filtro));
+    }
+
+    /**
+     * Recuentos por faceta de los elementos que cumplen el filtro, calculados en el índice
+     * en memoria. Vacío si el índice no está disponible: sin él habría que recorrer la tabla.
+     */
+    public Optional<Facetas> facetas(FiltroElementos filtro) {
+        if (!indiceCatalogo.isListo()) {
+            return Optional.empty();
+        }
+        return Optional.of(indiceCatalogo.facetas(filtro));
+    }
+
+    /**
+     * Carga los elementos indicados respetando el orden de {@code ids}. Las consultas se
+     * parten en bloques porque Oracle no admite más de 1000 valores en una lista IN.
+     * Los ids que ya no existen se omiten.
+     */
+    public List<ElementoEntity> cargarPorIds(int[] ids) {
+        Map<Integer, ElementoEntity> porId = new HashMap<>(ids.length * 2);
+        for (int desde = 0; desde < ids.length; desde += TAMANIO_BLOQUE_IN) {
+            int hasta = Math.min(ids.length, desde + TAMANIO_BLOQUE_IN);
+            List<Integer> bloque = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                bloque.add(ids[i]);
+            }
+            for (ElementoEntity e : contenidoRepository.findAllById(bloque)) {
+                porId.put(e.getId(), e);
+            }
+        }
+        List<ElementoEntity> resultado = new ArrayList<>(porId.size());
+        for (int id : ids) {
+            ElementoEntity e = porId.get(id);
+            if (e != null) {
+                resultado.add(e);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve una página ordenada por (orden, id). El cursor indica la última fila
+     * de la página anterior, por lo que cada página cuesta lo mismo que la primera.
+     *
+     * @throws IllegalArgumentException si el orden o el cursor no son válidos
+     */
+    public Pagina<ElementoEntity> buscarPagina(FiltroElementos filtro, String orden, String cursor, Integer limite) {
+        OrdenElementos criterio = OrdenElementos.desde(orden);
+        int tamanio = limitesPaginacion.normalizar(limite);
+
+        List<ElementoEntity> filas = elementoRepository.buscarConLimite(
+                especificacionPagina(filtro, criterio, cursor), ordenPagina(criterio), tamanio + 1);
+        return Pagina.desdeFilas(filas, tamanio, ultima -> new CursorPagina(criterio.getNombre(),
+                criterio.valorComoTexto(ultima), ultima.getId()).codificar());
+    }
+
+    /**
+     * Elementos que cumplen el filtro, ordenados por id, con sólo los atributos indicados:
+     * cada tupla tiene una posición por atributo, en el mismo orden.
+     */
+    public List<Tuple> proyectar(FiltroElementos filtro, List<String> atributos) {
+        return elementoRepository.proyectar(ElementoSpecifications.desdeFiltro(filtro), atributos, Sort.by("id"), 0);
+    }
+
+    /**
+     * Como {@link #buscarPagina} pero seleccionando sólo los atributos indicados. Las tuplas
+     * llevan además, detrás de los atributos pedidos, el id y la clave de orden para el cursor.
+     *
+     * @throws IllegalArgumentException si el orden o el cursor no son válidos
+     */
+    public Pagina<Tuple> buscarPaginaProyectada(FiltroElementos filtro, List<String> atributos, String orden,
+            String cursor, Integer limite) {
+        OrdenElementos criterio = OrdenElementos.desde(orden);
+        int tamanio = limitesPaginacion.normalizar(limite);
+
+        List<String> columnas = new ArrayList<>(atributos);
+        int posicionId = columnas.size();
+        columnas.add("id");
+        columnas.add(criterio.getAtributo());
+
+        List<Tuple> filas = elementoRepository.proyectar(
+                especificacionPagina(filtro, criterio, cursor), columnas, ordenPagina(criterio), tamanio + 1);
+        return Pagina.desdeFilas(filas, tamanio, ultima -> new CursorPagina(criterio.getNombre(),
+                criterio.valorComoTexto(ultima.get(posicionId + 1)), (Integer) ultima.get(posicionId)).codificar());
+    }
+
+    private static Specification<ElementoEntity> especificacionPagina(FiltroElementos filtro, OrdenElementos criterio,
+            String cursor) {
+        Specification<ElementoEntity> spec = ElementoSpecifications.desdeFiltro(filtro);
+        if (cursor != null) {
+            CursorPagina anterior = CursorPagina.decodificar(cursor);
+            if (!criterio.getNombre().equals(anterior.getOrden())) {
+                throw new IllegalArgumentException("El cursor no corresponde al orden " + criterio.getNombre());
+            }
+            spec = spec.and(ElementoSpecifications.despuesDe(criterio.getAtributo(),
+                    criterio.valorDesdeTexto(anterior.getValor()), anterior.getId()));
+        }
+        return spec;
+    }
+
+    private static Sort ordenPagina(OrdenElementos criterio) {
+        return criterio == OrdenElementos.ID
+                ? Sort.by("id")
+                : Sort.by(criterio.getAtributo()).and(Sort.by("id"));
+    }
+
+    /**
+     * Entrega al consumidor, una a una, todas las filas que cumplen el filtro.
+     * Cada entidad se desacopla del contexto de persistencia tras procesarla,
+     * así que la memoria usada no depende del tamaño del catálogo.
+     */
+    @Transactional(readOnly = true)
+    public void recorrer(FiltroElementos filtro, Consumer<ElementoEntity> consumidor) {
+        try (Stream<ElementoEntity> filas = elementoRepository.recorrer(
+                ElementoSpecifications.desdeFiltro(filtro), Sort.by("id"), fetchSize)) {
+            filas.forEach(entidad -> {
+                consumidor.accept(entidad);
+                entityManager.detach(entidad);
+            });
+        }
+    }
+}
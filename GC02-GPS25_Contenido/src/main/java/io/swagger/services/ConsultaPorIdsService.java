@@ -0,0 +1,116 @@
+package io.swagger.services;
+
+import io.swagger.entity.CancionEntity;
+import io.swagger.entity.ElementoEntity;
+import io.swagger.model.Cancion;
+import io.swagger.model.Elemento;
+import io.swagger.repository.CancionRepository;
+import io.swagger.repository.ElementoRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lectura de muchos elementos o canciones por id en una sola petición: las filas se
+ * cargan con consultas {@code IN} por bloques y el lote se completa de una vez: los géneros
+ * salen de {@link DiccionarioGeneros}, sin consultas, y si se expande el artista todos los
+ * del lote se resuelven con una sola llamada a {@link ArtistaClient#obtenerArtistasPorId}.
+ * El resultado respeta el orden pedido; los ids repetidos se devuelven una sola vez.
+ */
+@Service
+public class ConsultaPorIdsService {
+
+    // Oracle no admite más de 1000 valores en una lista IN
+    private static final int TAMANIO_BLOQUE_IN = 1000;
+
+    private final ElementoRepository elementoRepository;
+    private final CancionRepository cancionRepository;
+    private final ElementoService elementoService;
+    private final CancionService cancionService;
+
+    @Value("${contenido.multiget.maximo-ids:500}")
+    private int maximoIds;
+
+    public ConsultaPorIdsService(ElementoRepository elementoRepository, CancionRepository cancionRepository,
+            ElementoService elementoService, CancionService cancionService) {
+        this.elementoRepository = elementoRepository;
+        this.cancionRepository = cancionRepository;
+        this.elementoService = elementoService;
+        this.cancionService = cancionService;
+    }
+
+    /**
+     * @throws IllegalArgumentException si no hay ids o se piden más de los permitidos
+     */
+    public ResultadoPorIds<Elemento> elementos(List<Integer> ids, Expansion expansion) {
+        List<Integer> pedidos = validar(ids);
+        Map<Integer, ElementoEntity> filas = cargar(pedidos, elementoRepository::findAllById, ElementoEntity::getId);
+        List<Integer> noEncontrados = new ArrayList<>();
+        List<ElementoEntity> ordenadas = ordenar(pedidos, filas, noEncontrados);
+        return new ResultadoPorIds<>(elementoService.convertirLote(ordenadas, expansion), noEncontrados);
+    }
+
+    /**
+     * @throws IllegalArgumentException si no hay ids o se piden más de los permitidos
+     */
+    public ResultadoPorIds<Cancion> canciones(List<Integer> ids, Expansion expansion) {
+        List<Integer> pedidos = validar(ids);
+        Map<Integer, CancionEntity> filas = cargar(pedidos,
+                bloque -> cancionRepository.findConElementoPorIds(bloque, null), CancionEntity::getId);
+        List<Integer> noEncontrados = new ArrayList<>();
+        List<CancionEntity> ordenadas = ordenar(pedidos, filas, noEncontrados);
+        return new ResultadoPorIds<>(cancionService.convertirLote(ordenadas, expansion), noEncontrados);
+    }
+
+    private List<Integer> validar(List<Integer> ids) {
+        Set<Integer> distintos = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Integer id : ids) {
+                if (id != null) {
+                    distintos.add(id);
+                }
+            }
+        }
+        if (distintos.isEmpty()) {
+            throw new IllegalArgumentException("No se ha indicado ningún id");
+        }
+        if (distintos.size() > maximoIds) {
+            throw new IllegalArgumentException("Se admiten como mucho " + maximoIds + " ids por petición");
+        }
+        return new ArrayList<>(distintos);
+    }
+
+    private static <E> Map<Integer, E> cargar(List<Integer> ids, Function<Collection<Integer>, ? extends Iterable<E>> consulta,
+            Function<E, Integer> idDe) {
+        Map<Integer, E> filas = new HashMap<>();
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_BLOQUE_IN) {
+            List<Integer> bloque = ids.subList(desde, Math.min(desde + TAMANIO_BLOQUE_IN, ids.size()));
+            for (E fila : consulta.apply(bloque)) {
+                filas.put(idDe.apply(fila), fila);
+            }
+        }
+        return filas;
+    }
+
+    private static <E> List<E> ordenar(List<Integer> pedidos, Map<Integer, E> filas, List<Integer> noEncontrados) {
+        List<E> ordenadas = new ArrayList<>(filas.size());
+        for (Integer id : pedidos) {
+            E fila = filas.get(id);
+            if (fila != null) {
+                ordenadas.add(fila);
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return ordenadas;
+    }
+}
@@ -1,31 +1,56 @@
 package io.swagger.services;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
+import io.swagger.configuration.EjecutorConsultas;
+import io.swagger.configuration.LimitesPaginacion;
 import io.swagger.entity.ElementoEntity;
-import io.swagger.entity.GeneroEntity;
 import io.swagger.model.Contenido;
-import io.swagger.model.Genero;
-import io.swagger.repository.ElementoRepository;
-import io.swagger.repository.GeneroRepository;
+import io.swagger.model.Facetas;
+import io.swagger.repository.FiltroElementos;
+import io.swagger.repository.OrdenElementos;
 
 @Service
 public class ContenidoService {
 
+    private static final Logger log = LoggerFactory.getLogger(ContenidoService.class);
+
+    @Autowired
+    private ConsultaElementosService consultaElementosService;
+
+    @Autowired
+    private DiccionarioGeneros diccionarioGeneros;
+
+    @Autowired
+    private InstantaneaArtistas instantaneaArtistas;
+
     @Autowired
-    private ElementoRepository elementoRepository;
+    private CacheResultados cacheResultados;
 
     @Autowired
-    private GeneroRepository generoRepository;
+    private EjecutorConsultas ejecutorConsultas;
 
     @Autowired
-    private ArtistaClient artistaClient;
+    private LimitesPaginacion limitesPaginacion;
+
+    @Value("${contenido.contenidos.plazo-ms:2000}")
+    private long plazoMs;
 
     /**
      * Convierte ElementoEntity → Contenido
@@ -57,37 +82,9 @@ public class ContenidoService {
             c.setFechacrea( fechaThreeTen.atOffset(org.threeten.bp.ZoneOffset.UTC) );
         }
 
-        // Género
-        Genero g = new Genero();
-        Integer idGenero = e.getGenero();
-
-        if (idGenero != null) {
-        GeneroEntity genero = generoRepository.findById(idGenero).orElse(null);
-        if (genero != null) {
-                g.setId(genero.getId());
-                g.setNombre(genero.getNombre());
-        } else {
-                g.setId(idGenero);
-                g.setNombre(null);
-        }
-        }
-        c.setGenero(g);
-
-        // Subgénero
-        Genero sub = new Genero();
-        Integer idSub = e.getSubgenero();
-
-        if (idSub != null) {
-        GeneroEntity subgenero = generoRepository.findById(idSub).orElse(null);
-        if (subgenero != null) {
-                sub.setId(subgenero.getId());
-                sub.setNombre(subgenero.getNombre());
-        } else {
-                sub.setId(idSub);
-                sub.setNombre(null);
-        }
-        }
-        c.setSubgenero(sub);
+        // Género y subgénero, del diccionario en memoria
+        c.setGenero(diccionarioGeneros.genero(e.getGenero()));
+        c.setSubgenero(diccionarioGeneros.genero(e.getSubgenero()));
 
 
         // Asignar tipo desde esalbum
@@ -100,7 +97,14 @@ public class ContenidoService {
         return c;
     }
 
-    public List<Contenido> obtenerContenidoUnificado(
+    /**
+     * Artistas y elementos internos que cumplen los filtros. Las dos mitades se obtienen a
+     * la vez: los artistas en el pool de {@link EjecutorConsultas} y los elementos en el hilo
+     * de la petición. Ambas comparten el plazo de {@code plazo-ms} contado desde el inicio;
+     * si los artistas no están listos al vencer (o fallan) se responde sólo con los elementos
+     * y el resultado se marca como incompleto.
+     */
+    public ContenidoUnificado obtenerContenidoUnificado(
             Integer genero,
             Integer subgenero,
             Float preciomin,
@@ -108,42 +112,103 @@ public class ContenidoService {
             org.threeten.bp.LocalDate fechamin,
             org.threeten.bp.LocalDate fechamax
     ) {
+        long vence = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plazoMs);
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+
+        // Con el pool lleno se responde sin artistas, igual que si no llegaran a tiempo
+        CompletableFuture<List<Contenido>> artistas;
+        try {
+            artistas = CompletableFuture.supplyAsync(() -> instantaneaArtistas.artistas(filtro), ejecutorConsultas.ejecutor());
+        } catch (RejectedExecutionException ex) {
+            artistas = CompletableFuture.failedFuture(ex);
+        }
+        // Sólo se cachea la parte interna: los artistas ya están en memoria y un resultado
+        // incompleto no debe quedarse en la caché
+        List<Contenido> internos = cacheResultados.contenidos(filtro, () -> calcularInternos(filtro));
 
-        // 1. Obtener todos los elementos internos
-        List<ElementoEntity> entidades = elementoRepository.findAll();
+        List<Contenido> resultado = new ArrayList<>();
+        boolean incompleto = false;
+        try {
+            resultado.addAll(artistas.get(Math.max(0, vence - System.nanoTime()), TimeUnit.NANOSECONDS)); // tipo = 0
+        } catch (TimeoutException ex) {
+            artistas.cancel(false);
+            log.warn("Los artistas no llegaron en {} ms; /contenidos responde sin ellos", plazoMs);
+            incompleto = true;
+        } catch (ExecutionException ex) {
+            log.warn("No se pudieron obtener los artistas; /contenidos responde sin ellos: {}", ex.getCause().toString());
+            incompleto = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            incompleto = true;
+        }
+        resultado.addAll(internos); // tipo = 1 ó 2
+        return new ContenidoUnificado(resultado, incompleto);
+    }
 
-        // 2. Convertir ElementoEntity → Contenido + aplicar filtros
-        List<Contenido> internos = entidades.stream()
+    // Elementos internos ya filtrados en la base de datos, convertidos a Contenido
+    private List<Contenido> calcularInternos(FiltroElementos filtro) {
+        return consultaElementosService.buscar(filtro).stream()
                 .map(this::convertToContenido)
-                .filter(c -> genero == null || 
-                        (c.getGenero() != null && c.getGenero().getId().equals(genero)))
-                .filter(c -> subgenero == null || 
-                        (c.getSubgenero() != null && c.getSubgenero().getId().equals(subgenero)))
-                .filter(c -> preciomin == null || 
-                        (c.getPrecio() != null && c.getPrecio() >= preciomin))
-                .filter(c -> preciomax == null || 
-                        (c.getPrecio() != null && c.getPrecio() <= preciomax))
-                .filter(c -> {
-                    if (fechamin == null && fechamax == null) return true;
-                    if (c.getFechacrea() == null) return false;
-
-                    org.threeten.bp.LocalDate fecha = c.getFechacrea().toLocalDate();
-
-                    if (fechamin != null && fecha.isBefore(fechamin)) return false;
-                    if (fechamax != null && fecha.isAfter(fechamax)) return false;
-
-                    return true;
-                })
                 .collect(Collectors.toList());
+    }
 
-        // 3. Obtener los artistas externos (ya convertidos a Contenido)
-        List<Contenido> artistas = artistaClient.obtenerArtistas();
+    /**
+     * Versión paginada del contenido unificado. Primero se recorren los artistas externos,
+     * ordenados por id, y después los elementos internos con paginación por clave; ninguna
+     * página supera el límite.
+     *
+     * @throws IllegalArgumentException si el orden o el cursor no son válidos
+     */
+    public Pagina<Contenido> obtenerContenidoPaginado(
+            Integer genero,
+            Integer subgenero,
+            Float preciomin,
+            Float preciomax,
+            org.threeten.bp.LocalDate fechamin,
+            org.threeten.bp.LocalDate fechamax,
+            String orden,
+            String cursor,
+            Integer limite
+    ) {
+        OrdenElementos.desde(orden);
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+        return PaginaContenidos.paginar(instantaneaArtistas.artistas(filtro), cursor,
+                limitesPaginacion.normalizar(limite), artistas -> artistas,
+                (desde, tamanio) -> consultaElementosService.buscarPagina(filtro, orden, desde, tamanio)
+                        .map(this::convertToContenido));
+    }
 
-        // 4. Merge final
-        List<Contenido> resultado = new ArrayList<>();
-        resultado.addAll(artistas);   // tipo = 0
-        resultado.addAll(internos);   // tipo = 1 ó 2
+    /**
+     * Recuentos por faceta de los elementos internos que cumplen los filtros de
+     * {@link #obtenerContenidoUnificado}. Vacío si el índice del catálogo aún no está cargado.
+     */
+    public Optional<Facetas> obtenerFacetas(
+            Integer genero,
+            Integer subgenero,
+            Float preciomin,
+            Float preciomax,
+            org.threeten.bp.LocalDate fechamin,
+            org.threeten.bp.LocalDate fechamax
+    ) {
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+        return consultaElementosService.facetas(filtro);
+    }
 
-        return resultado;
+    /**
+     * Entrega el contenido unificado elemento a elemento, para escribirlo en streaming:
+     * primero los artistas externos y después los elementos internos según se leen.
+     */
+    public void recorrerContenidoUnificado(
+            Integer genero,
+            Integer subgenero,
+            Float preciomin,
+            Float preciomax,
+            org.threeten.bp.LocalDate fechamin,
+            org.threeten.bp.LocalDate fechamax,
+            Consumer<Contenido> consumidor
+    ) {
+        FiltroElementos filtro = new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax);
+        instantaneaArtistas.artistas(filtro).forEach(consumidor);
+        consultaElementosService.recorrer(filtro, e -> consumidor.accept(convertToContenido(e)));
     }
 }
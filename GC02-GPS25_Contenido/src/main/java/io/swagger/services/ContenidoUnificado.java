@@ -0,0 +1,25 @@
+package io.swagger.services;
+
+import io.swagger.model.Contenido;
+
+import java.util.List;
+
+/**
+ * Contenido unificado de /contenidos: artistas externos seguidos de los elementos internos.
+ * Si los artistas no se han podido obtener a tiempo la lista sólo tiene los elementos
+ * internos y {@link #isArtistasIncompletos()} lo indica.
+ */
+public class ContenidoUnificado {
+
+    private final List<Contenido> contenidos;
+    private final boolean artistasIncompletos;
+
+    public ContenidoUnificado(List<Contenido> contenidos, boolean artistasIncompletos) {
+        this.contenidos = contenidos;
+        this.artistasIncompletos = artistasIncompletos;
+    }
+
+    public List<Contenido> getContenidos() { return contenidos; }
+
+    public boolean isArtistasIncompletos() { return artistasIncompletos; }
+}
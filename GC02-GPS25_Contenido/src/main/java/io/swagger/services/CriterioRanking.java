@@ -0,0 +1,31 @@
+package io.swagger.services;
+
+/**
+ * Contadores por los que se puede pedir un ranking del catálogo.
+ */
+public enum CriterioRanking {
+
+    VENTAS("ventas"),
+    VALORACION("valoracion"),
+    REPRODUCCIONES("reproducciones");
+
+    private final String nombre;
+
+    CriterioRanking(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el nombre no corresponde a ningún criterio
+     */
+    public static CriterioRanking desde(String nombre) {
+        for (CriterioRanking criterio : values()) {
+            if (criterio.nombre.equalsIgnoreCase(nombre)) {
+                return criterio;
+            }
+        }
+        throw new IllegalArgumentException("Ranking no soportado: " + nombre);
+    }
+
+    public String getNombre() { return nombre; }
+}
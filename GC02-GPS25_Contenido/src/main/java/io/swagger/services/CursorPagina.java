@@ -0,0 +1,54 @@
+package io.swagger.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación por clave (keyset).
+ * Guarda el criterio de orden, el valor de la clave de orden y el ID de la
+ * última fila devuelta; la siguiente página arranca justo después de ella.
+ */
+public final class CursorPagina {
+
+    private static final String SEPARADOR = "|";
+    private static final String VALOR_NULO = "~";
+
+    private final String orden;
+    private final String valor;
+    private final int id;
+
+    public CursorPagina(String orden, String valor, int id) {
+        this.orden = orden;
+        this.valor = valor;
+        this.id = id;
+    }
+
+    public String getOrden() { return orden; }
+
+    /** Valor de la clave de orden de la última fila, o null si la fila no lo tenía. */
+    public String getValor() { return valor; }
+
+    public int getId() { return id; }
+
+    public String codificar() {
+        String texto = orden + SEPARADOR + (valor == null ? VALOR_NULO : valor) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el texto no es un cursor generado por esta clase
+     */
+    public static CursorPagina decodificar(String cursor) {
+        String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] partes = texto.split("\\|", -1);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+        try {
+            String valor = VALOR_NULO.equals(partes[1]) ? null : partes[1];
+            return new CursorPagina(partes[0], valor, Integer.parseInt(partes[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+}
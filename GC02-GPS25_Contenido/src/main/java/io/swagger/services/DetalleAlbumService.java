@@ -0,0 +1,146 @@
+package io.swagger.services;
+
+import io.swagger.configuration.EjecutorConsultas;
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.model.Cancion;
+import io.swagger.model.DetalleAlbum;
+import io.swagger.model.Elemento;
+import io.swagger.model.ResumenValoraciones;
+import io.swagger.model.UsuarioValoraElem;
+import io.swagger.repository.CancionRepository;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.RecuentoValoracion;
+import io.swagger.repository.UsuarioValoraElemRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Todo lo que muestra la página de un álbum en una sola respuesta: el álbum, sus canciones,
+ * el resumen de valoraciones y los comentarios más recientes.
+ * <p>
+ * Las cuatro partes son independientes, así que se piden a la vez en el pool de
+ * {@link EjecutorConsultas}, cada una con su propia consulta: las canciones filtradas por
+ * álbum en la base de datos y las valoraciones agregadas con GROUP BY.
+ */
+@Service
+public class DetalleAlbumService {
+
+    private final ElementoRepository elementoRepository;
+    private final CancionRepository cancionRepository;
+    private final UsuarioValoraElemRepository usuarioValoraElemRepository;
+    private final ElementoService elementoService;
+    private final CancionService cancionService;
+    private final UsuarioValoraElemService usuarioValoraElemService;
+    private final LimitesPaginacion limitesPaginacion;
+    private final EjecutorConsultas ejecutorConsultas;
+
+    @Value("${contenido.detalle-album.comentarios:10}")
+    private int comentariosDefecto;
+
+    @Value("${contenido.detalle-album.timeout-ms:5000}")
+    private long timeoutMs;
+
+    public DetalleAlbumService(ElementoRepository elementoRepository, CancionRepository cancionRepository,
+            UsuarioValoraElemRepository usuarioValoraElemRepository, ElementoService elementoService,
+            CancionService cancionService, UsuarioValoraElemService usuarioValoraElemService,
+            LimitesPaginacion limitesPaginacion, EjecutorConsultas ejecutorConsultas) {
+        this.elementoRepository = elementoRepository;
+        this.cancionRepository = cancionRepository;
+        this.usuarioValoraElemRepository = usuarioValoraElemRepository;
+        this.elementoService = elementoService;
+        this.cancionService = cancionService;
+        this.usuarioValoraElemService = usuarioValoraElemService;
+        this.limitesPaginacion = limitesPaginacion;
+        this.ejecutorConsultas = ejecutorConsultas;
+    }
+
+    /**
+     * Detalle del álbum, o vacío si no existe o el elemento no es un álbum.
+     *
+     * @throws IllegalStateException si las consultas no terminan dentro del tiempo máximo
+     *         o el pool de consultas está lleno
+     */
+    public Optional<DetalleAlbum> obtener(int idAlbum, Integer limiteComentarios) {
+        int comentarios = limiteComentarios != null ? limitesPaginacion.normalizar(limiteComentarios) : comentariosDefecto;
+
+        List<CompletableFuture<?>> partes = new ArrayList<>(4);
+        CompletableFuture<Optional<Elemento>> album = enParalelo(partes, idAlbum, () -> elementoRepository.findById(idAlbum)
+                .filter(e -> Boolean.TRUE.equals(e.getEsalbum()))
+                .map(elementoService::convertToModel));
+        CompletableFuture<List<Cancion>> canciones = enParalelo(partes, idAlbum, () ->
+                cancionService.convertirLote(cancionRepository.findConElementoDeAlbum(idAlbum)));
+        CompletableFuture<ResumenValoraciones> valoraciones = enParalelo(partes, idAlbum, () ->
+                resumir(usuarioValoraElemRepository.contarPorValoracion(idAlbum)));
+        CompletableFuture<List<UsuarioValoraElem>> recientes = enParalelo(partes, idAlbum, () -> usuarioValoraElemRepository
+                .findComentariosRecientes(idAlbum, PageRequest.of(0, comentarios))
+                .stream()
+                .map(usuarioValoraElemService::convertToModel)
+                .collect(Collectors.toList()));
+
+        CompletableFuture<Void> todas = CompletableFuture.allOf(album, canciones, valoraciones, recientes);
+        try {
+            todas.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            cancelar(partes);
+            throw new IllegalStateException("El detalle del álbum " + idAlbum + " no se completó a tiempo", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta del detalle del álbum interrumpida", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : new CompletionException(ex.getCause());
+        }
+
+        return album.join().map(a -> new DetalleAlbum()
+                .album(a)
+                .canciones(canciones.join())
+                .valoraciones(valoraciones.join())
+                .comentarios(recientes.join()));
+    }
+
+    // Si el pool rechaza una parte, las ya lanzadas se cancelan y se responde como en un timeout
+    private <T> CompletableFuture<T> enParalelo(List<CompletableFuture<?>> partes, int idAlbum, Supplier<T> consulta) {
+        try {
+            CompletableFuture<T> parte = CompletableFuture.supplyAsync(consulta, ejecutorConsultas.ejecutor());
+            partes.add(parte);
+            return parte;
+        } catch (RejectedExecutionException ex) {
+            cancelar(partes);
+            throw new IllegalStateException("Pool de consultas lleno: no se puede atender el detalle del álbum " + idAlbum, ex);
+        }
+    }
+
+    // Las que sigan en cola ya no se ejecutan
+    private static void cancelar(List<CompletableFuture<?>> partes) {
+        for (CompletableFuture<?> parte : partes) {
+            parte.cancel(false);
+        }
+    }
+
+    private static ResumenValoraciones resumir(List<RecuentoValoracion> recuentos) {
+        ResumenValoraciones resumen = new ResumenValoraciones();
+        long total = 0;
+        long suma = 0;
+        for (RecuentoValoracion recuento : recuentos) {
+            resumen.putDistribucionItem(String.valueOf(recuento.getValoracion()), recuento.getTotal().intValue());
+            total += recuento.getTotal();
+            suma += recuento.getValoracion() * recuento.getTotal();
+        }
+        return resumen
+                .total((int) total)
+                .media(total == 0 ? null : Math.round(suma * 100.0 / total) / 100.0);
+    }
+}
@@ -0,0 +1,82 @@
+package io.swagger.services;
+
+import io.swagger.entity.GeneroEntity;
+import io.swagger.model.Genero;
+import io.swagger.repository.GeneroRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Todos los géneros en memoria, para que convertir una fila no cueste dos consultas
+ * (género y subgénero). Son pocos y cambian muy rara vez: se cargan enteros al arrancar y
+ * con cada {@link CambioGeneroEvent} se construye un mapa nuevo que sustituye al anterior
+ * de una vez, así que las lecturas nunca bloquean ni ven un mapa a medias.
+ * <p>
+ * Sólo se guardan los nombres: cada llamada devuelve un {@link Genero} nuevo, así que quien
+ * lo recibe puede modificarlo sin afectar a otras respuestas.
+ */
+@Service
+public class DiccionarioGeneros {
+
+    private static final Logger log = LoggerFactory.getLogger(DiccionarioGeneros.class);
+
+    private final GeneroRepository generoRepository;
+
+    // Nunca se modifica una vez publicado
+    private volatile MapaEnteros<String> nombres;
+
+    public DiccionarioGeneros(GeneroRepository generoRepository) {
+        this.generoRepository = generoRepository;
+    }
+
+    /**
+     * Género con ese id. Sin id devuelve un género vacío; si el id no existe, un género
+     * con el id y sin nombre.
+     */
+    public Genero genero(Integer id) {
+        if (id == null) {
+            return new Genero();
+        }
+        MapaEnteros<String> actual = nombres;
+        if (actual == null) {
+            actual = cargar();
+        }
+        return new Genero().id(id).nombre(actual.get(id));
+    }
+
+    /**
+     * Género con sólo el id, para las respuestas que no expanden los géneros. Sin id devuelve
+     * un género vacío, como {@link #genero(Integer)}.
+     */
+    public static Genero referencia(Integer id) {
+        return id == null ? new Genero() : new Genero().id(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onArranque() {
+        cargar();
+    }
+
+    @EventListener
+    public void onCambioGenero(CambioGeneroEvent cambio) {
+        cargar();
+    }
+
+    // Serializado para que una carga lenta no publique su mapa después de otra más reciente
+    private synchronized MapaEnteros<String> cargar() {
+        MapaEnteros<String> nuevo = new MapaEnteros<>();
+        for (GeneroEntity entidad : generoRepository.findAll()) {
+            // Uno sin nombre da lo mismo que uno que no existe: un género con sólo el id
+            if (entidad.getNombre() != null) {
+                nuevo.put(entidad.getId(), entidad.getNombre());
+            }
+        }
+        nombres = nuevo;
+        log.debug("Diccionario de géneros cargado: {} géneros", nuevo.size());
+        return nuevo;
+    }
+}
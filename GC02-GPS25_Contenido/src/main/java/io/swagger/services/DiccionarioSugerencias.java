@@ -0,0 +1,204 @@
+package io.swagger.services;
+
+import io.swagger.model.Sugerencia;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Diccionario inmutable de autocompletado. Las claves (el nombre normalizado y cada
+ * sufijo que empieza en una palabra) están ordenadas en un array, de modo que las
+ * claves con un prefijo dado forman un rango contiguo que se localiza por búsqueda binaria.
+ * <p>
+ * Para los prefijos con muchas claves (los de una o dos letras) las mejores entradas se
+ * calculan al construir el diccionario; el resto de rangos son pequeños y se recorren
+ * en la consulta. Así ninguna consulta cuesta más que {@link #UMBRAL_PRECALCULO} claves.
+ */
+final class DiccionarioSugerencias {
+
+    static final int MAXIMO_SUGERENCIAS = 20;
+    static final int UMBRAL_PRECALCULO = 256;
+
+    static final DiccionarioSugerencias VACIO = new Constructor().construir();
+
+    private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // Entradas: lo que se devuelve al cliente
+    private final String[] textos;
+    private final String[] tipos;
+    private final int[] ids;
+    private final long[] pesos;
+
+    // Claves ordenadas y la entrada a la que apunta cada una
+    private final String[] claves;
+    private final int[] entradaDeClave;
+
+    private final Map<String, int[]> precalculados;
+
+    private DiccionarioSugerencias(String[] textos, String[] tipos, int[] ids, long[] pesos,
+            String[] claves, int[] entradaDeClave) {
+        this.textos = textos;
+        this.tipos = tipos;
+        this.ids = ids;
+        this.pesos = pesos;
+        this.claves = claves;
+        this.entradaDeClave = entradaDeClave;
+        this.precalculados = precalcular();
+    }
+
+    int getNumeroEntradas() {
+        return textos.length;
+    }
+
+    /** Las {@code n} entradas de más peso que tienen alguna clave que empieza por {@code prefijo}. */
+    List<Sugerencia> sugerir(String prefijo, int n) {
+        String clave = normalizarClave(prefijo);
+        if (clave.isEmpty() || n <= 0) {
+            return Collections.emptyList();
+        }
+        int[] mejores = precalculados.get(clave);
+        if (mejores == null) {
+            int desde = limiteInferior(clave);
+            int hasta = limiteInferior(clave + Character.MAX_VALUE);
+            mejores = mejoresEntradas(desde, hasta, n);
+        }
+        List<Sugerencia> sugerencias = new ArrayList<>(Math.min(n, mejores.length));
+        for (int i = 0; i < mejores.length && i < n; i++) {
+            int e = mejores[i];
+            sugerencias.add(new Sugerencia().texto(textos[e]).tipo(tipos[e]).id(ids[e]));
+        }
+        return sugerencias;
+    }
+
+    static String normalizarClave(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return NO_ALFANUMERICO.matcher(AnalizadorTexto.normalizar(texto)).replaceAll(" ").trim();
+    }
+
+    // Primera posición cuya clave es >= valor
+    private int limiteInferior(String valor) {
+        int pos = Arrays.binarySearch(claves, valor);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    // Recorre las claves en orden; como los rangos de un prefijo son contiguos, cada prefijo
+    // nuevo aparece por primera vez en la posición donde empieza su rango
+    private Map<String, int[]> precalcular() {
+        Map<String, int[]> resultado = new HashMap<>();
+        for (int i = 0; i < claves.length; i++) {
+            String clave = claves[i];
+            int comun = i == 0 ? 0 : prefijoComun(clave, claves[i - 1]);
+            for (int longitud = comun + 1; longitud <= clave.length(); longitud++) {
+                String prefijo = clave.substring(0, longitud);
+                int hasta = limiteInferior(prefijo + Character.MAX_VALUE);
+                if (hasta - i <= UMBRAL_PRECALCULO) {
+                    break;  // los prefijos más largos tienen rangos aún menores
+                }
+                resultado.put(prefijo, mejoresEntradas(i, hasta, MAXIMO_SUGERENCIAS));
+            }
+        }
+        return resultado;
+    }
+
+    private static int prefijoComun(String a, String b) {
+        int n = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < n && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Montículo acotado con las n entradas de más peso del rango, sin repetir entrada
+    private int[] mejoresEntradas(int desde, int hasta, int n) {
+        Comparator<Integer> peorPrimero = Comparator
+                .<Integer>comparingLong(e -> pesos[e])
+                .thenComparing(e -> textos[e], Comparator.reverseOrder());
+        PriorityQueue<Integer> monticulo = new PriorityQueue<>(n + 1, peorPrimero);
+        Set<Integer> incluidas = new HashSet<>();
+        for (int k = desde; k < hasta; k++) {
+            int e = entradaDeClave[k];
+            if (incluidas.contains(e)) {
+                continue;
+            }
+            if (monticulo.size() < n) {
+                monticulo.add(e);
+                incluidas.add(e);
+            } else if (peorPrimero.compare(e, monticulo.peek()) > 0) {
+                incluidas.remove(monticulo.poll());
+                monticulo.add(e);
+                incluidas.add(e);
+            }
+        }
+        int[] mejores = new int[monticulo.size()];
+        for (int i = mejores.length - 1; i >= 0; i--) {
+            mejores[i] = monticulo.poll();
+        }
+        return mejores;
+    }
+
+    /** Acumula entradas y genera el diccionario ordenado. No es seguro entre hilos. */
+    static final class Constructor {
+
+        private final List<String> textos = new ArrayList<>();
+        private final List<String> tipos = new ArrayList<>();
+        private final List<Integer> ids = new ArrayList<>();
+        private final List<Long> pesos = new ArrayList<>();
+
+        Constructor agregar(String texto, String tipo, int id, long peso) {
+            if (texto != null && !normalizarClave(texto).isEmpty()) {
+                textos.add(texto);
+                tipos.add(tipo);
+                ids.add(id);
+                pesos.add(peso);
+            }
+            return this;
+        }
+
+        DiccionarioSugerencias construir() {
+            int numeroEntradas = textos.size();
+            List<String> claves = new ArrayList<>();
+            List<Integer> entradas = new ArrayList<>();
+            for (int e = 0; e < numeroEntradas; e++) {
+                String normalizado = normalizarClave(textos.get(e));
+                // El nombre completo y cada sufijo que empieza en una palabra: "del verano", "verano"
+                for (int i = 0; i < normalizado.length(); i++) {
+                    if (i == 0 || normalizado.charAt(i - 1) == ' ') {
+                        claves.add(normalizado.substring(i));
+                        entradas.add(e);
+                    }
+                }
+            }
+
+            Integer[] orden = new Integer[claves.size()];
+            for (int i = 0; i < orden.length; i++) {
+                orden[i] = i;
+            }
+            Arrays.sort(orden, Comparator.comparing(claves::get));
+            String[] clavesOrdenadas = new String[orden.length];
+            int[] entradaDeClave = new int[orden.length];
+            for (int i = 0; i < orden.length; i++) {
+                clavesOrdenadas[i] = claves.get(orden[i]);
+                entradaDeClave[i] = entradas.get(orden[i]);
+            }
+
+            return new DiccionarioSugerencias(
+                    textos.toArray(new String[0]),
+                    tipos.toArray(new String[0]),
+                    ids.stream().mapToInt(Integer::intValue).toArray(),
+                    pesos.stream().mapToLong(Long::longValue).toArray(),
+                    clavesOrdenadas, entradaDeClave);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.swagger.services;
+
+/**
+ * Distancia de edición acotada entre dos palabras. Además de inserciones, borrados y
+ * sustituciones cuenta como un solo error el intercambio de dos letras seguidas
+ * ("rokc" por "rock"), que es la errata más habitual al teclear.
+ */
+public final class DistanciaEdicion {
+
+    private DistanciaEdicion() {
+    }
+
+    /**
+     * Distancia entre {@code a} y {@code b} si es como mucho {@code maximo}; en otro caso
+     * devuelve {@code maximo + 1}. Abandona en cuanto toda una fila de la matriz supera el máximo.
+     */
+    public static int acotada(String a, String b, int maximo) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maximo) {
+            return maximo + 1;
+        }
+        int[] antepenultima = new int[m + 1];
+        int[] anterior = new int[m + 1];
+        int[] actual = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            actual[0] = i;
+            int minimoFila = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int valor = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + (ca == cb ? 0 : 1));
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    valor = Math.min(valor, antepenultima[j - 2] + 1);
+                }
+                actual[j] = valor;
+                minimoFila = Math.min(minimoFila, valor);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+            int[] libre = antepenultima;
+            antepenultima = anterior;
+            anterior = actual;
+            actual = libre;
+        }
+        return Math.min(anterior[m], maximo + 1);
+    }
+}
@@ -1,20 +1,120 @@
 package io.swagger.services;
 
 import io.swagger.entity.ElementoEntity;
+import io.swagger.model.Artista;
+import io.swagger.model.Elemento;
+import io.swagger.model.Genero;
 import io.swagger.repository.ElementoRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class ElementoService {
 
     private final ElementoRepository elementoRepository;
+    private final DiccionarioGeneros diccionarioGeneros;
+    private final ArtistaClient artistaClient;
+    private final CargaRelacionados cargaRelacionados;
+    private final ApplicationEventPublisher eventos;
 
-    public ElementoService(ElementoRepository elementoRepository) {
+    public Elemento convertToModel(ElementoEntity entity) {
+        return convertToModel(entity, Expansion.COMPLETA);
+    }
+
+    /** Convierte un elemento completando sólo las relaciones de {@code expansion}. */
+    public Elemento convertToModel(ElementoEntity entity, Expansion expansion) {
+        Function<Integer, Artista> buscarArtista = expansion.isArtista()
+                ? artistaClient::obtenerArtistaPorId
+                : CargaRelacionados::referenciaArtista;
+        return convertToModel(entity, buscarArtista, buscarGenero(expansion));
+    }
+
+    public List<Elemento> convertirLote(List<ElementoEntity> entidades) {
+        return convertirLote(entidades, Expansion.COMPLETA);
+    }
+
+    /**
+     * Convierte varios elementos a la vez. Si se expande el artista, los de todo el lote se
+     * resuelven con una sola llamada al servicio de usuarios; si no, no se le llama.
+     */
+    public List<Elemento> convertirLote(List<ElementoEntity> entidades, Expansion expansion) {
+        Function<Integer, Artista> buscarArtista = CargaRelacionados::referenciaArtista;
+        if (expansion.isArtista()) {
+            Set<Integer> idsArtista = new HashSet<>();
+            for (ElementoEntity entidad : entidades) {
+                if (entidad.getArtista() != null) idsArtista.add(entidad.getArtista());
+            }
+            buscarArtista = cargaRelacionados.artistas(idsArtista)::get;
+        }
+        Function<Integer, Genero> buscarGenero = buscarGenero(expansion);
+
+        List<Elemento> elementos = new ArrayList<>(entidades.size());
+        for (ElementoEntity entidad : entidades) {
+            elementos.add(convertToModel(entidad, buscarArtista, buscarGenero));
+        }
+        return elementos;
+    }
+
+    private Function<Integer, Genero> buscarGenero(Expansion expansion) {
+        return expansion.isGenero() ? diccionarioGeneros::genero : DiccionarioGeneros::referencia;
+    }
+
+    private Elemento convertToModel(ElementoEntity entity, Function<Integer, Artista> buscarArtista,
+            Function<Integer, Genero> buscarGenero) {
+        Elemento e = new Elemento();
+        e.setId(entity.getId());
+        e.setNombre(entity.getNombre());
+        e.setDescripcion(entity.getDescripcion());
+        e.setPrecio(entity.getPrecio());
+        e.setEsalbum(entity.getEsalbum());
+        e.setEsnovedad(entity.getEsnovedad());
+        // --- AÑADE ESTO ---
+        if (entity.getFechacrea() != null) {
+            // 1. Obtenemos la fecha original (java.time)
+            java.time.LocalDateTime fechaDb = entity.getFechacrea();
+
+            // 2. Construimos la fecha compatible con Swagger (org.threeten.bp)
+            // Copiamos año, mes, día, hora, minuto y segundo.
+            org.threeten.bp.LocalDateTime fechaCompatible = org.threeten.bp.LocalDateTime.of(
+                    fechaDb.getYear(),
+                    fechaDb.getMonthValue(),
+                    fechaDb.getDayOfMonth(),
+                    fechaDb.getHour(),
+                    fechaDb.getMinute(),
+                    fechaDb.getSecond());
+
+            // 3. Le asignamos una zona horaria (UTC) para convertirlo en OffsetDateTime
+            e.setFechacrea(org.threeten.bp.OffsetDateTime.of(fechaCompatible, org.threeten.bp.ZoneOffset.UTC));
+        }
+        e.setValoracion(entity.getValoracion());
+        e.setNumventas(entity.getNumventas());
+        e.setUrlFoto(entity.getUrlFoto());
+        // Género y subgénero
+        e.setGenero(buscarGenero.apply(entity.getGenero()));
+        e.setSubgenero(buscarGenero.apply(entity.getSubgenero()));
+        // Artista
+        if (entity.getArtista() != null) {
+            Artista a = buscarArtista.apply(entity.getArtista());
+            e.setArtista(a);
+        }
+        return e;
+    }
+
+    public ElementoService(ElementoRepository elementoRepository, DiccionarioGeneros diccionarioGeneros,
+            ArtistaClient artistaClient, CargaRelacionados cargaRelacionados, ApplicationEventPublisher eventos) {
         this.elementoRepository = elementoRepository;
+        this.diccionarioGeneros = diccionarioGeneros;
+        this.artistaClient = artistaClient;
+        this.cargaRelacionados = cargaRelacionados;
+        this.eventos = eventos;
     }
 
     public List<ElementoEntity> getAll() {
@@ -31,11 +131,14 @@ public class ElementoService {
     }
 
     public ElementoEntity save(ElementoEntity elemento) {
-        return elementoRepository.save(elemento);
+        ElementoEntity guardado = elementoRepository.save(elemento);
+        eventos.publishEvent(CambioElementoEvent.guardado(guardado));
+        return guardado;
     }
 
     public void delete(Integer id) {
         elementoRepository.deleteById(id);
+        eventos.publishEvent(CambioElementoEvent.eliminado(id));
     }
 }
 
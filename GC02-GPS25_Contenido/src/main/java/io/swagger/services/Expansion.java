@@ -0,0 +1,54 @@
+package io.swagger.services;
+
+/**
+ * Relaciones que se completan al convertir un elemento o una canción, según el parámetro
+ * {@code expand} de la petición. Sin expandir, el artista y los géneros llevan sólo el id:
+ * el artista no se pide al servicio de usuarios y los géneros no se buscan en el diccionario.
+ */
+public enum Expansion {
+
+    NINGUNA(false, false),
+    ARTISTA(true, false),
+    GENERO(false, true),
+    COMPLETA(true, true);
+
+    private final boolean artista;
+    private final boolean genero;
+
+    Expansion(boolean artista, boolean genero) {
+        this.artista = artista;
+        this.genero = genero;
+    }
+
+    /**
+     * Expansión pedida en {@code expand}: nombres separados por comas (artista, genero).
+     * Sin valor no se expande nada.
+     *
+     * @throws ExpansionInvalidaException si algún nombre no corresponde a ninguna relación
+     */
+    public static Expansion desde(String expand) {
+        boolean artista = false;
+        boolean genero = false;
+        if (expand != null) {
+            for (String nombre : expand.split(",")) {
+                switch (nombre.trim().toLowerCase()) {
+                    case "artista":
+                        artista = true;
+                        break;
+                    case "genero":
+                        genero = true;
+                        break;
+                    case "":
+                        break;
+                    default:
+                        throw new ExpansionInvalidaException("Relación no expandible: " + nombre.trim());
+                }
+            }
+        }
+        return artista ? (genero ? COMPLETA : ARTISTA) : (genero ? GENERO : NINGUNA);
+    }
+
+    public boolean isArtista() { return artista; }
+
+    public boolean isGenero() { return genero; }
+}
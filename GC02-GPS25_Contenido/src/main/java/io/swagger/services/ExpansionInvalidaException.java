@@ -0,0 +1,11 @@
+package io.swagger.services;
+
+/**
+ * El parámetro {@code expand} pide una relación que no se puede expandir. Se responde con 400.
+ */
+public class ExpansionInvalidaException extends IllegalArgumentException {
+
+    public ExpansionInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package io.swagger.services;
 
 import io.swagger.entity.GeneroEntity;
 import io.swagger.repository.GeneroRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,9 +12,11 @@ import java.util.Optional;
 public class GeneroService {
 
     private final GeneroRepository generoRepository;
+    private final ApplicationEventPublisher eventos;
 
-    public GeneroService(GeneroRepository generoRepository) {
+    public GeneroService(GeneroRepository generoRepository, ApplicationEventPublisher eventos) {
         this.generoRepository = generoRepository;
+        this.eventos = eventos;
     }
 
     public List<GeneroEntity> getAllGeneros() {
@@ -25,19 +28,24 @@ public class GeneroService {
     }
 
     public GeneroEntity createGenero(GeneroEntity genero) {
-        return generoRepository.save(genero);
+        GeneroEntity guardado = generoRepository.save(genero);
+        eventos.publishEvent(new CambioGeneroEvent(guardado.getId()));
+        return guardado;
     }
 
     public GeneroEntity updateGenero(Integer id, GeneroEntity generoDetails) {
         return generoRepository.findById(id)
                 .map(genero -> {
                     genero.setNombre(generoDetails.getNombre());
-                    return generoRepository.save(genero);
+                    GeneroEntity guardado = generoRepository.save(genero);
+                    eventos.publishEvent(new CambioGeneroEvent(id));
+                    return guardado;
                 })
                 .orElse(null);
     }
 
     public void deleteGenero(Integer id) {
         generoRepository.deleteById(id);
+        eventos.publishEvent(new CambioGeneroEvent(id));
     }
 }
@@ -0,0 +1,507 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+import io.swagger.model.Facetas;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.ElementoSpecifications;
+import io.swagger.repository.FiltroElementos;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Modelo de lectura en memoria de ELEMENTOS con las columnas de filtrado
+ * guardadas en arrays primitivos (una posición por elemento).
+ * Evaluar un {@link FiltroElementos} es un bucle sobre esos arrays,
+ * sin ir a Oracle; sólo se consulta la base de datos para cargar las filas resultantes.
+ * <p>
+ * Las columnas de igualdad (género, subgénero, artista, esalbum y esnovedad) tienen además
+ * un bitmap comprimido de ids por valor: una combinación de filtros se resuelve con la
+ * intersección de los bitmaps y el número de resultados con su cardinalidad.
+ * Precio y fecha tienen también bitmaps por valor y por día, de modo que los recuentos
+ * ({@link #contar}, {@link #facetas}) nunca recorren filas.
+ */
+@Service
+public class IndiceCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceCatalogo.class);
+
+    // Marcas para columnas a NULL: nunca coinciden con un filtro
+    private static final int SIN_VALOR = Integer.MIN_VALUE;
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final long SEGUNDOS_DIA = 86400L;
+
+    private final ElementoRepository elementoRepository;
+    private final TransactionTemplate transaccionLectura;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contenido.indice.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${contenido.streaming.fetch-size:500}")
+    private int fetchSize;
+
+    // Límites (ascendentes) de los tramos de precio de las facetas
+    @Value("${contenido.facetas.tramos-precio:1,5,10,20}")
+    private float[] tramosPrecio;
+
+    private volatile boolean listo;
+
+    // Columnas: la posición i describe al elemento ids[i]
+    private int tamanio;
+    private int[] ids = new int[CAPACIDAD_INICIAL];
+    private int[] generos = new int[CAPACIDAD_INICIAL];
+    private int[] subgeneros = new int[CAPACIDAD_INICIAL];
+    private int[] artistas = new int[CAPACIDAD_INICIAL];
+    private float[] precios = new float[CAPACIDAD_INICIAL];
+    private long[] fechas = new long[CAPACIDAD_INICIAL];
+    private final Map<Integer, Integer> posiciones = new HashMap<>();
+
+    // Bitmaps de ids por valor de columna
+    private final Map<Integer, RoaringBitmap> porGenero = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> porSubgenero = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> porArtista = new HashMap<>();
+    private final Map<Boolean, RoaringBitmap> porEsalbum = new HashMap<>();
+    private final Map<Boolean, RoaringBitmap> porEsnovedad = new HashMap<>();
+
+    // Bitmaps de rango: por precio exacto, por día de creación y por tramo de precio
+    private final NavigableMap<Float, RoaringBitmap> porPrecio = new TreeMap<>();
+    private final NavigableMap<Long, RoaringBitmap> porDia = new TreeMap<>();
+    private final Map<Integer, RoaringBitmap> porTramoPrecio = new HashMap<>();
+    private final RoaringBitmap todos = new RoaringBitmap();
+
+    public IndiceCatalogo(ElementoRepository elementoRepository, PlatformTransactionManager transactionManager) {
+        this.elementoRepository = elementoRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    /** Indica si el índice está cargado; mientras no lo esté, las consultas van a Oracle. */
+    public boolean isListo() {
+        return listo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            vaciar();
+            transaccionLectura.executeWithoutResult(estado -> {
+                try (Stream<ElementoEntity> filas = elementoRepository.recorrer(
+                        ElementoSpecifications.desdeFiltro(FiltroElementos.SIN_FILTRO), Sort.by("id"), fetchSize)) {
+                    filas.forEach(e -> {
+                        escribir(e);
+                        entityManager.detach(e);
+                    });
+                }
+            });
+            optimizarBitmaps();
+            listo = true;
+            log.info("Índice del catálogo cargado: {} elementos en {} ms", tamanio, System.currentTimeMillis() - inicio);
+        } catch (RuntimeException ex) {
+            log.error("No se pudo cargar el índice del catálogo; las consultas seguirán yendo a la base de datos", ex);
+            vaciar();
+            listo = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onCambioElemento(CambioElementoEvent cambio) {
+        if (!habilitado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (cambio.isEliminado()) {
+                borrar(cambio.getId());
+            } else {
+                escribir(cambio.getElemento());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve, ordenados de menor a mayor, los ids de los elementos que cumplen el filtro.
+     * Mismas reglas que {@link ElementoSpecifications#desdeFiltro}: una columna a NULL
+     * no cumple ningún filtro sobre ella y las fechas se comparan por día completo.
+     */
+    public int[] filtrar(FiltroElementos filtro) {
+        Rangos rangos = new Rangos(filtro);
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidatos = intersectar(filtro);
+            if (candidatos == null) {
+                return recorrerColumnas(rangos);
+            }
+            if (!rangos.presentes) {
+                return candidatos.toArray();
+            }
+            int[] resultado = new int[candidatos.getCardinality()];
+            int n = 0;
+            for (int id : candidatos) {
+                if (rangos.cumple(posiciones.get(id))) {
+                    resultado[n++] = id;
+                }
+            }
+            return Arrays.copyOf(resultado, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de elementos que cumplen el filtro: la cardinalidad de la intersección
+     * de bitmaps, sin recorrer filas.
+     */
+    public int contar(FiltroElementos filtro) {
+        lock.readLock().lock();
+        try {
+            return seleccionar(filtro).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recuentos por género, subgénero, tramo de precio y tipo de los elementos que cumplen
+     * el filtro. Cada recuento es la cardinalidad del AND entre la selección y el bitmap
+     * del valor, así que el coste depende del número de valores distintos y no de filas.
+     */
+    public Facetas facetas(FiltroElementos filtro) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap seleccion = seleccionar(filtro);
+            int total = seleccion.getCardinality();
+            int albumes = contarEn(seleccion, porEsalbum.get(Boolean.TRUE));
+
+            Facetas facetas = new Facetas().total(total);
+            porGenero.forEach((genero, bitmap) -> anotar(facetas.getGeneros(), String.valueOf(genero), seleccion, bitmap));
+            porSubgenero.forEach((sub, bitmap) -> anotar(facetas.getSubgeneros(), String.valueOf(sub), seleccion, bitmap));
+            for (int tramo = 0; tramo <= tramosPrecio.length; tramo++) {
+                anotar(facetas.getPrecios(), etiquetaTramo(tramo), seleccion, porTramoPrecio.get(tramo));
+            }
+            // Igual que en el contenido unificado, lo que no es álbum cuenta como canción
+            facetas.getTipos().put("album", albumes);
+            facetas.getTipos().put("cancion", total - albumes);
+            return facetas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void anotar(Map<String, Integer> recuentos, String clave, RoaringBitmap seleccion, RoaringBitmap bitmap) {
+        int n = contarEn(seleccion, bitmap);
+        if (n > 0) {
+            recuentos.put(clave, n);
+        }
+    }
+
+    private static int contarEn(RoaringBitmap seleccion, RoaringBitmap bitmap) {
+        return bitmap == null ? 0 : RoaringBitmap.andCardinality(seleccion, bitmap);
+    }
+
+    // Elementos que cumplen el filtro, resuelto sólo con bitmaps
+    private RoaringBitmap seleccionar(FiltroElementos filtro) {
+        List<RoaringBitmap> bitmaps = criteriosIgualdad(filtro);
+        if (filtro.getPreciomin() != null || filtro.getPreciomax() != null) {
+            bitmaps.add(unir(rango(porPrecio, filtro.getPreciomin(), filtro.getPreciomax())));
+        }
+        if (filtro.getFechamin() != null || filtro.getFechamax() != null) {
+            Long diaMin = filtro.getFechamin() != null ? filtro.getFechamin().toEpochDay() : null;
+            Long diaMax = filtro.getFechamax() != null ? filtro.getFechamax().toEpochDay() : null;
+            bitmaps.add(unir(rango(porDia, diaMin, diaMax)));
+        }
+        return bitmaps.isEmpty() ? todos.clone() : interseccion(bitmaps);
+    }
+
+    // Vista de las claves en [min, max]; un extremo null no acota
+    private static <K extends Comparable<K>> NavigableMap<K, RoaringBitmap> rango(NavigableMap<K, RoaringBitmap> indice,
+            K min, K max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            return new TreeMap<>();
+        }
+        NavigableMap<K, RoaringBitmap> vista = indice;
+        if (min != null) {
+            vista = vista.tailMap(min, true);
+        }
+        if (max != null) {
+            vista = vista.headMap(max, true);
+        }
+        return vista;
+    }
+
+    private static RoaringBitmap unir(NavigableMap<?, RoaringBitmap> vista) {
+        return vista.isEmpty() ? new RoaringBitmap() : RoaringBitmap.or(vista.values().iterator());
+    }
+
+    // Intersección de los bitmaps de los filtros de igualdad, o null si no hay ninguno
+    private RoaringBitmap intersectar(FiltroElementos filtro) {
+        List<RoaringBitmap> bitmaps = criteriosIgualdad(filtro);
+        return bitmaps.isEmpty() ? null : interseccion(bitmaps);
+    }
+
+    private List<RoaringBitmap> criteriosIgualdad(FiltroElementos filtro) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(7);
+        agregarCriterio(bitmaps, porGenero, filtro.getGenero());
+        agregarCriterio(bitmaps, porSubgenero, filtro.getSubgenero());
+        agregarCriterio(bitmaps, porArtista, filtro.getArtista());
+        agregarCriterio(bitmaps, porEsalbum, filtro.getEsalbum());
+        agregarCriterio(bitmaps, porEsnovedad, filtro.getEsnovedad());
+        return bitmaps;
+    }
+
+    private static RoaringBitmap interseccion(List<RoaringBitmap> bitmaps) {
+        // Empezando por el más pequeño, cada AND trabaja sobre el menor conjunto posible
+        bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap resultado = bitmaps.get(0).clone();
+        for (int i = 1; i < bitmaps.size() && !resultado.isEmpty(); i++) {
+            resultado.and(bitmaps.get(i));
+        }
+        return resultado;
+    }
+
+    private static <K> void agregarCriterio(List<RoaringBitmap> bitmaps, Map<K, RoaringBitmap> indice, K valor) {
+        if (valor != null) {
+            bitmaps.add(indice.getOrDefault(valor, new RoaringBitmap()));
+        }
+    }
+
+    // Sin filtros de igualdad: bucle directo sobre las columnas de rango
+    private int[] recorrerColumnas(Rangos rangos) {
+        int[] resultado = new int[tamanio];
+        int n = 0;
+        for (int i = 0; i < tamanio; i++) {
+            if (rangos.cumple(i)) {
+                resultado[n++] = ids[i];
+            }
+        }
+        int[] seleccion = Arrays.copyOf(resultado, n);
+        Arrays.sort(seleccion);
+        return seleccion;
+    }
+
+    /** Filtros de precio y fecha de un {@link FiltroElementos}, evaluables sobre una posición. */
+    private final class Rangos {
+
+        private final boolean conPrecioMin;
+        private final boolean conPrecioMax;
+        private final float precioMin;
+        private final float precioMax;
+        private final boolean conFechas;
+        private final long fechaMin;
+        private final long fechaMax;
+        private final boolean presentes;
+
+        Rangos(FiltroElementos filtro) {
+            conPrecioMin = filtro.getPreciomin() != null;
+            conPrecioMax = filtro.getPreciomax() != null;
+            precioMin = conPrecioMin ? filtro.getPreciomin() : 0f;
+            precioMax = conPrecioMax ? filtro.getPreciomax() : 0f;
+            conFechas = filtro.getFechamin() != null || filtro.getFechamax() != null;
+            fechaMin = filtro.getFechamin() != null ? segundos(filtro.getFechamin().atStartOfDay()) : Long.MIN_VALUE;
+            fechaMax = filtro.getFechamax() != null
+                    ? segundos(filtro.getFechamax().plusDays(1).atStartOfDay())
+                    : Long.MAX_VALUE;
+            presentes = conPrecioMin || conPrecioMax || conFechas;
+        }
+
+        boolean cumple(int i) {
+            // Un precio a NULL se guarda como NaN y cualquier comparación con NaN es falsa
+            if (conPrecioMin && !(precios[i] >= precioMin)) return false;
+            if (conPrecioMax && !(precios[i] <= precioMax)) return false;
+            return !conFechas || (fechas[i] != SIN_FECHA && fechas[i] >= fechaMin && fechas[i] < fechaMax);
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Mantenimiento de las columnas (siempre con el lock de escritura)
+    // ------------------------------------------------------------------
+
+    private void escribir(ElementoEntity e) {
+        Integer posicion = posiciones.get(e.getId());
+        int i;
+        if (posicion != null) {
+            i = posicion;
+            quitarDeBitmaps(i);
+        } else {
+            asegurarCapacidad(tamanio + 1);
+            i = tamanio++;
+            posiciones.put(e.getId(), i);
+        }
+        ids[i] = e.getId();
+        generos[i] = e.getGenero() != null ? e.getGenero() : SIN_VALOR;
+        subgeneros[i] = e.getSubgenero() != null ? e.getSubgenero() : SIN_VALOR;
+        artistas[i] = e.getArtista() != null ? e.getArtista() : SIN_VALOR;
+        precios[i] = e.getPrecio() != null ? e.getPrecio() : Float.NaN;
+        fechas[i] = e.getFechacrea() != null ? segundos(e.getFechacrea()) : SIN_FECHA;
+
+        int id = e.getId();
+        marcar(porGenero, e.getGenero(), id);
+        marcar(porSubgenero, e.getSubgenero(), id);
+        marcar(porArtista, e.getArtista(), id);
+        marcar(porEsalbum, e.getEsalbum(), id);
+        marcar(porEsnovedad, e.getEsnovedad(), id);
+        marcar(porPrecio, e.getPrecio(), id);
+        marcar(porDia, fechas[i] != SIN_FECHA ? dia(fechas[i]) : null, id);
+        marcar(porTramoPrecio, e.getPrecio() != null ? tramo(e.getPrecio()) : null, id);
+        todos.add(id);
+    }
+
+    // Mueve el último elemento al hueco para mantener las columnas compactas
+    private void borrar(int id) {
+        Integer posicion = posiciones.remove(id);
+        if (posicion == null) {
+            return;
+        }
+        int i = posicion;
+        quitarDeBitmaps(i);
+        todos.remove(id);
+        int ultima = --tamanio;
+        if (i != ultima) {
+            ids[i] = ids[ultima];
+            generos[i] = generos[ultima];
+            subgeneros[i] = subgeneros[ultima];
+            artistas[i] = artistas[ultima];
+            precios[i] = precios[ultima];
+            fechas[i] = fechas[ultima];
+            posiciones.put(ids[i], i);
+        }
+    }
+
+    private static <K> void marcar(Map<K, RoaringBitmap> indice, K valor, int id) {
+        if (valor != null) {
+            indice.computeIfAbsent(valor, v -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    // Los valores antiguos de las columnas de igualdad se leen de los propios arrays
+    private void quitarDeBitmaps(int i) {
+        int id = ids[i];
+        desmarcar(porGenero, generos[i], id);
+        desmarcar(porSubgenero, subgeneros[i], id);
+        desmarcar(porArtista, artistas[i], id);
+        desmarcar(porEsalbum, Boolean.TRUE, id);
+        desmarcar(porEsalbum, Boolean.FALSE, id);
+        desmarcar(porEsnovedad, Boolean.TRUE, id);
+        desmarcar(porEsnovedad, Boolean.FALSE, id);
+        if (!Float.isNaN(precios[i])) {
+            desmarcar(porPrecio, precios[i], id);
+            desmarcar(porTramoPrecio, tramo(precios[i]), id);
+        }
+        if (fechas[i] != SIN_FECHA) {
+            desmarcar(porDia, dia(fechas[i]), id);
+        }
+    }
+
+    private static <K> void desmarcar(Map<K, RoaringBitmap> indice, K valor, int id) {
+        RoaringBitmap bitmap = indice.get(valor);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                indice.remove(valor);
+            }
+        }
+    }
+
+    // Convierte a run-length los contenedores en los que compensa (p. ej. ids consecutivos)
+    private void optimizarBitmaps() {
+        for (Map<?, RoaringBitmap> indice : List.of(porGenero, porSubgenero, porArtista, porEsalbum, porEsnovedad,
+                porPrecio, porDia, porTramoPrecio)) {
+            indice.values().forEach(RoaringBitmap::runOptimize);
+        }
+        todos.runOptimize();
+    }
+
+    private void asegurarCapacidad(int minima) {
+        if (minima <= ids.length) {
+            return;
+        }
+        int capacidad = Math.max(minima, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacidad);
+        generos = Arrays.copyOf(generos, capacidad);
+        subgeneros = Arrays.copyOf(subgeneros, capacidad);
+        artistas = Arrays.copyOf(artistas, capacidad);
+        precios = Arrays.copyOf(precios, capacidad);
+        fechas = Arrays.copyOf(fechas, capacidad);
+    }
+
+    private void vaciar() {
+        tamanio = 0;
+        posiciones.clear();
+        porGenero.clear();
+        porSubgenero.clear();
+        porArtista.clear();
+        porEsalbum.clear();
+        porEsnovedad.clear();
+        porPrecio.clear();
+        porDia.clear();
+        porTramoPrecio.clear();
+        todos.clear();
+    }
+
+    // Tramo i: [tramosPrecio[i-1], tramosPrecio[i]); el primero empieza en 0 y el último no tiene tope
+    private int tramo(float precio) {
+        int i = 0;
+        while (i < tramosPrecio.length && precio >= tramosPrecio[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private String etiquetaTramo(int tramo) {
+        String desde = tramo == 0 ? "0" : formatear(tramosPrecio[tramo - 1]);
+        return tramo == tramosPrecio.length ? desde + "+" : desde + "-" + formatear(tramosPrecio[tramo]);
+    }
+
+    private static String formatear(float limite) {
+        return new BigDecimal(Float.toString(limite)).stripTrailingZeros().toPlainString();
+    }
+
+    // Mismo día que usa el filtro de fechas: el de la fecha de creación en UTC
+    private static long dia(long segundos) {
+        return Math.floorDiv(segundos, SEGUNDOS_DIA);
+    }
+
+    // FECHACREA no guarda zona horaria: basta una conversión fija y coherente
+    private static long segundos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC);
+    }
+}
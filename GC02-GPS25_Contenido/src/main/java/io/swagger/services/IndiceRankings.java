@@ -0,0 +1,282 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.ResumenElemento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Rankings del catálogo por ventas, valoración y reproducciones, global y por género.
+ * <p>
+ * Cada ranking es un skip list ordenado de mayor a menor que se actualiza con los eventos
+ * de escritura, así que leer los k primeros es recorrer k nodos: no se ordena el catálogo
+ * en cada petición ni se consulta Oracle. Las lecturas no bloquean; las escrituras se
+ * serializan para que cada elemento esté siempre en una sola posición de cada ranking.
+ */
+@Service
+public class IndiceRankings {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceRankings.class);
+
+    private final ElementoRepository elementoRepository;
+    private final TransactionTemplate transaccionLectura;
+    private final Lock escritura = new ReentrantLock();
+
+    @Value("${contenido.indice.habilitado:true}")
+    private boolean habilitado;
+
+    private volatile boolean listo;
+
+    private final Map<CriterioRanking, Clasificacion> clasificaciones = new EnumMap<>(CriterioRanking.class);
+
+    // Género actual de cada elemento, para mover sus entradas cuando cambia
+    private final Map<Integer, Integer> generos = new HashMap<>();
+
+    public IndiceRankings(ElementoRepository elementoRepository, PlatformTransactionManager transactionManager) {
+        this.elementoRepository = elementoRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+        for (CriterioRanking criterio : CriterioRanking.values()) {
+            clasificaciones.put(criterio, new Clasificacion());
+        }
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    /**
+     * Los {@code k} primeros elementos del ranking, de mayor a menor valor (a igual valor,
+     * por id), opcionalmente sólo los de un género. Los elementos sin valor no aparecen y
+     * ninguno aparece dos veces, aunque se lea mientras cambia su valor.
+     */
+    public List<Puesto> primeros(CriterioRanking criterio, Integer genero, int k) {
+        NavigableSet<Entrada> orden = clasificaciones.get(criterio).ranking(genero);
+        if (orden == null) {
+            return Collections.emptyList();
+        }
+        // Sin reservar k: puede ser mucho mayor que el ranking
+        List<Puesto> puestos = new ArrayList<>();
+        // Durante un cambio de valor el elemento está un instante en las dos posiciones (ver poner)
+        Set<Integer> vistos = new HashSet<>();
+        Iterator<Entrada> it = orden.iterator();
+        while (puestos.size() < k && it.hasNext()) {
+            Entrada entrada = it.next();
+            if (vistos.add(entrada.id)) {
+                puestos.add(new Puesto(entrada.id, entrada.valor));
+            }
+        }
+        return puestos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        escritura.lock();
+        try {
+            vaciar();
+            transaccionLectura.executeWithoutResult(estado -> {
+                try (Stream<ResumenElemento> resumenes = elementoRepository.recorrerResumenes()) {
+                    resumenes.forEach(r -> {
+                        generos.put(r.getId(), r.getGenero());
+                        poner(CriterioRanking.VENTAS, r.getId(), r.getNumventas());
+                        poner(CriterioRanking.VALORACION, r.getId(), r.getValoracion());
+                        poner(CriterioRanking.REPRODUCCIONES, r.getId(), r.getNumRep());
+                    });
+                }
+            });
+            listo = true;
+            log.info("Rankings cargados: {} elementos en {} ms", generos.size(), System.currentTimeMillis() - inicio);
+        } catch (RuntimeException ex) {
+            log.error("No se pudieron cargar los rankings", ex);
+            vaciar();
+            listo = false;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    @EventListener
+    public void onCambioElemento(CambioElementoEvent cambio) {
+        if (!habilitado) {
+            return;
+        }
+        escritura.lock();
+        try {
+            if (cambio.isEliminado()) {
+                generos.remove(cambio.getId());
+                for (Clasificacion clasificacion : clasificaciones.values()) {
+                    clasificacion.quitar(cambio.getId());
+                }
+                return;
+            }
+            ElementoEntity e = cambio.getElemento();
+            generos.put(e.getId(), e.getGenero());
+            poner(CriterioRanking.VENTAS, e.getId(), e.getNumventas());
+            poner(CriterioRanking.VALORACION, e.getId(), e.getValoracion());
+            // Las reproducciones no cambian aquí, pero sí puede haber cambiado el género
+            Entrada reproducciones = clasificaciones.get(CriterioRanking.REPRODUCCIONES).actual(e.getId());
+            if (reproducciones != null) {
+                poner(CriterioRanking.REPRODUCCIONES, e.getId(), reproducciones.valor);
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    @EventListener
+    public void onCambioReproducciones(CambioReproduccionesEvent cambio) {
+        if (!habilitado) {
+            return;
+        }
+        escritura.lock();
+        try {
+            poner(CriterioRanking.REPRODUCCIONES, cambio.getId(), cambio.getNumRep());
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // Siempre con el lock de escritura
+    private void poner(CriterioRanking criterio, int id, Number valor) {
+        Clasificacion clasificacion = clasificaciones.get(criterio);
+        if (valor == null) {
+            clasificacion.quitar(id);
+        } else {
+            clasificacion.poner(new Entrada(id, valor.longValue(), generos.get(id)));
+        }
+    }
+
+    private void vaciar() {
+        generos.clear();
+        for (Clasificacion clasificacion : clasificaciones.values()) {
+            clasificacion.vaciar();
+        }
+    }
+
+    /** Posición de un elemento en un ranking. */
+    public static final class Puesto {
+
+        private final int id;
+        private final long valor;
+
+        Puesto(int id, long valor) {
+            this.id = id;
+            this.valor = valor;
+        }
+
+        public int getId() { return id; }
+
+        public long getValor() { return valor; }
+    }
+
+    private static final class Entrada {
+
+        // De mayor a menor valor; a igual valor, por id para que el orden sea estable
+        static final Comparator<Entrada> ORDEN = Comparator.<Entrada>comparingLong(e -> -e.valor)
+                .thenComparingInt(e -> e.id);
+
+        final int id;
+        final long valor;
+        final Integer genero;
+
+        Entrada(int id, long valor, Integer genero) {
+            this.id = id;
+            this.valor = valor;
+            this.genero = genero;
+        }
+    }
+
+    /** Un criterio: ranking global, uno por género y la entrada vigente de cada elemento. */
+    private static final class Clasificacion {
+
+        private final ConcurrentSkipListSet<Entrada> global = new ConcurrentSkipListSet<>(Entrada.ORDEN);
+        private final Map<Integer, ConcurrentSkipListSet<Entrada>> porGenero = new ConcurrentHashMap<>();
+        private final Map<Integer, Entrada> actuales = new HashMap<>();
+
+        NavigableSet<Entrada> ranking(Integer genero) {
+            return genero == null ? global : porGenero.get(genero);
+        }
+
+        Entrada actual(int id) {
+            return actuales.get(id);
+        }
+
+        void poner(Entrada nueva) {
+            Entrada anterior = actuales.get(nueva.id);
+            // Mismo valor: la posición en el ranking global no cambia, como mucho el género
+            boolean mismoPuesto = anterior != null && anterior.valor == nueva.valor;
+            if (mismoPuesto && Objects.equals(anterior.genero, nueva.genero)) {
+                return;
+            }
+            // Se inserta antes de quitar la anterior: un lector concurrente puede ver el elemento
+            // dos veces durante un instante (primeros descarta la repetición), pero nunca que ha
+            // desaparecido del ranking
+            if (!mismoPuesto) {
+                global.add(nueva);
+            }
+            if (nueva.genero != null) {
+                porGenero.computeIfAbsent(nueva.genero, g -> new ConcurrentSkipListSet<>(Entrada.ORDEN)).add(nueva);
+            }
+            if (anterior != null) {
+                if (!mismoPuesto) {
+                    global.remove(anterior);
+                }
+                quitarDeGenero(anterior);
+            }
+            actuales.put(nueva.id, nueva);
+        }
+
+        void quitar(int id) {
+            Entrada anterior = actuales.remove(id);
+            if (anterior != null) {
+                global.remove(anterior);
+                quitarDeGenero(anterior);
+            }
+        }
+
+        void vaciar() {
+            global.clear();
+            porGenero.clear();
+            actuales.clear();
+        }
+
+        private void quitarDeGenero(Entrada entrada) {
+            if (entrada.genero != null) {
+                ConcurrentSkipListSet<Entrada> delGenero = porGenero.get(entrada.genero);
+                if (delGenero != null) {
+                    delGenero.remove(entrada);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,736 @@
+package io.swagger.services;
+
+import io.swagger.repository.UsuarioValoraElemRepository;
+import io.swagger.repository.ValoracionUsuario;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Elementos similares según las valoraciones de USUARIO_VALORA_ELEM: dos elementos se
+ * parecen si los mismos usuarios los valoran por encima (o por debajo) de su media.
+ * <p>
+ * La similitud es el coseno ajustado (a cada valoración se le resta la media del usuario)
+ * y de cada elemento sólo se guardan sus {@code contenido.similares.vecinos} mejores vecinos.
+ * La matriz completa se calcula al arrancar y periódicamente con fork/join; entre medias,
+ * cada valoración nueva recalcula sólo los elementos del usuario que la hizo. Las consultas
+ * se responden desde memoria.
+ * <p>
+ * Al actualizar, un elemento que no es del usuario recibe el nuevo valor de su similitud con
+ * los recalculados, pero no recupera vecinos que hubiera descartado antes; la reconstrucción
+ * periódica corrige esa deriva.
+ */
+@Service
+public class IndiceSimilares {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceSimilares.class);
+
+    private final UsuarioValoraElemRepository usuarioValoraElemRepository;
+    private final TransactionTemplate transaccionLectura;
+    private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final Lock reconstruccion = new ReentrantLock();
+
+    @Value("${contenido.indice.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${contenido.similares.vecinos:50}")
+    private int maximoVecinos;
+
+    @Value("${contenido.similares.minimo-comunes:2}")
+    private int minimoComunes;
+
+    private volatile boolean listo;
+
+    // Protegidos por el cerrojo
+    private Estado estado = new Estado();
+    private final Acumulador acumulador = new Acumulador();
+    // Cambios recibidos durante una reconstrucción, que se repiten sobre el estado nuevo
+    private List<Runnable> pendientes;
+
+    public IndiceSimilares(UsuarioValoraElemRepository usuarioValoraElemRepository,
+            PlatformTransactionManager transactionManager) {
+        this.usuarioValoraElemRepository = usuarioValoraElemRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    public int getMaximoVecinos() {
+        return maximoVecinos;
+    }
+
+    /** Hasta {@code k} elementos más parecidos a {@code id}, de mayor a menor similitud. */
+    public List<Similar> similares(int id, int k) {
+        cerrojo.readLock().lock();
+        try {
+            Item item = estado.items.get(id);
+            if (item == null) {
+                return Collections.emptyList();
+            }
+            Vecinos vecinos = item.vecinos;
+            List<Similar> resultado = new ArrayList<>(Math.min(k, vecinos.ids.length));
+            for (int i = 0; i < vecinos.ids.length && resultado.size() < k; i++) {
+                Item vecino = estado.items.get(vecinos.ids[i]);
+                if (vecino != null) {
+                    resultado.add(new Similar(vecinos.ids[i], vecino.nombre, vecinos.similitudes[i], vecinos.comunes[i]));
+                }
+            }
+            return resultado;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${contenido.similares.recarga-ms:3600000}",
+            fixedDelayString = "${contenido.similares.recarga-ms:3600000}")
+    public void recargar() {
+        if (habilitado && listo) {
+            reconstruir();
+        }
+    }
+
+    @EventListener
+    public void onCambioValoracion(CambioValoracionEvent cambio) {
+        if (habilitado) {
+            modificar(() -> aplicar(cambio.getIdUser(), cambio.getIdElem(), cambio.getValoracion()));
+        }
+    }
+
+    @EventListener
+    public void onCambioElemento(CambioElementoEvent cambio) {
+        if (!habilitado) {
+            return;
+        }
+        int id = cambio.getId();
+        if (cambio.isEliminado()) {
+            modificar(() -> {
+                Item item = estado.items.get(id);
+                if (item != null) {
+                    for (int usuario : Arrays.copyOf(item.valoradores, item.numValoradores)) {
+                        aplicar(usuario, id, null);
+                    }
+                }
+            });
+        } else {
+            String nombre = cambio.getElemento().getNombre();
+            modificar(() -> {
+                Item item = estado.items.get(id);
+                if (item != null) {
+                    item.nombre = nombre;
+                }
+            });
+        }
+    }
+
+    private void modificar(Runnable cambio) {
+        cerrojo.writeLock().lock();
+        try {
+            cambio.run();
+            if (pendientes != null) {
+                pendientes.add(cambio);
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Construcción completa
+    // ------------------------------------------------------------------
+
+    // El estado nuevo se construye sin bloquear las consultas y se sustituye al final.
+    // Los cambios recibidos mientras tanto se repiten sobre él: aplicar una valoración
+    // que ya estaba en la lectura no cambia nada.
+    private void reconstruir() {
+        if (!reconstruccion.tryLock()) {
+            return;
+        }
+        try {
+            long inicio = System.currentTimeMillis();
+            cerrojo.writeLock().lock();
+            try {
+                pendientes = new ArrayList<>();
+            } finally {
+                cerrojo.writeLock().unlock();
+            }
+
+            Estado nuevo;
+            try {
+                nuevo = construir();
+            } catch (RuntimeException ex) {
+                log.error("No se pudo construir la matriz de similares", ex);
+                cerrojo.writeLock().lock();
+                try {
+                    pendientes = null;
+                } finally {
+                    cerrojo.writeLock().unlock();
+                }
+                return;
+            }
+
+            cerrojo.writeLock().lock();
+            try {
+                estado = nuevo;
+                for (Runnable cambio : pendientes) {
+                    cambio.run();
+                }
+                pendientes = null;
+                listo = true;
+            } finally {
+                cerrojo.writeLock().unlock();
+            }
+            log.info("Matriz de similares construida: {} elementos y {} usuarios en {} ms",
+                    nuevo.items.size(), nuevo.usuarios.size(), System.currentTimeMillis() - inicio);
+        } finally {
+            reconstruccion.unlock();
+        }
+    }
+
+    private Estado construir() {
+        Estado nuevo = new Estado();
+        transaccionLectura.executeWithoutResult(st -> {
+            try (Stream<ValoracionUsuario> valoraciones = usuarioValoraElemRepository.recorrerValoraciones()) {
+                Agrupador agrupador = new Agrupador(nuevo);
+                valoraciones.forEach(agrupador::agregar);
+                agrupador.cerrar();
+            }
+        });
+
+        // Primero todas las normas, que el cálculo de vecinos usa para cada par
+        int[] ids = nuevo.items.claves();
+        ForkJoinPool.commonPool().invoke(new PorTramos(0, ids.length, (desde, hasta) -> {
+            for (int i = desde; i < hasta; i++) {
+                Item item = nuevo.items.get(ids[i]);
+                item.norma = norma(nuevo, ids[i], item);
+            }
+        }));
+        ForkJoinPool.commonPool().invoke(new PorTramos(0, ids.length, (desde, hasta) -> {
+            Acumulador propio = new Acumulador();
+            for (int i = desde; i < hasta; i++) {
+                nuevo.items.get(ids[i]).vecinos = calcular(nuevo, ids[i], propio, null);
+            }
+        }));
+        return nuevo;
+    }
+
+    // ------------------------------------------------------------------
+    // Actualización incremental (con el cerrojo de escritura)
+    // ------------------------------------------------------------------
+
+    private void aplicar(int idUsuario, int idElem, Integer valoracion) {
+        Usuario anterior = estado.usuarios.get(idUsuario);
+        if (anterior == null) {
+            anterior = Usuario.VACIO;
+        }
+        Usuario actual = valoracion != null ? anterior.con(idElem, valoracion) : anterior.sin(idElem);
+        if (actual == anterior) {
+            return;
+        }
+        if (actual.items.length == 0) {
+            estado.usuarios.remove(idUsuario);
+        } else {
+            estado.usuarios.put(idUsuario, actual);
+        }
+
+        Item item = estado.items.get(idElem);
+        if (valoracion != null) {
+            if (item == null) {
+                item = new Item();
+                estado.items.put(idElem, item);
+            }
+            item.agregarValorador(idUsuario);
+        } else if (item != null) {
+            item.quitarValorador(idUsuario);
+            if (item.numValoradores == 0) {
+                estado.items.remove(idElem);
+            }
+        }
+
+        // La media del usuario ha cambiado: cambian todas sus valoraciones ajustadas, así que
+        // hay que recalcular cada elemento que valoró antes o después del cambio
+        int[] afectados = union(anterior.items, actual.items);
+        for (int id : afectados) {
+            Item afectado = estado.items.get(id);
+            if (afectado != null) {
+                afectado.norma = norma(estado, id, afectado);
+            }
+        }
+        for (int id : afectados) {
+            Item afectado = estado.items.get(id);
+            if (afectado == null) {
+                continue;
+            }
+            afectado.vecinos = calcular(estado, id, acumulador, (otro, similitud, comunes) -> {
+                // Los afectados se recalculan enteros; el resto sólo actualiza este par
+                if (Arrays.binarySearch(afectados, otro) < 0) {
+                    Item item2 = estado.items.get(otro);
+                    item2.vecinos = similitud > 0
+                            ? item2.vecinos.con(id, similitud, comunes, maximoVecinos)
+                            : item2.vecinos.sin(id);
+                }
+            });
+        }
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] resultado = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                resultado[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                resultado[n++] = b[j++];
+            } else {
+                resultado[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    // ------------------------------------------------------------------
+    // Cálculo
+    // ------------------------------------------------------------------
+
+    private static double norma(Estado estado, int id, Item item) {
+        double suma = 0;
+        for (int k = 0; k < item.numValoradores; k++) {
+            Usuario usuario = estado.usuarios.get(item.valoradores[k]);
+            double ajustada = usuario.nota(id) - usuario.media;
+            suma += ajustada * ajustada;
+        }
+        return Math.sqrt(suma);
+    }
+
+    /**
+     * Vecinos de {@code id}: recorre los usuarios que lo valoraron y, de cada uno, el resto
+     * de elementos que valoró, acumulando los productos de las valoraciones ajustadas.
+     * Si se indica, {@code candidato} recibe la similitud con cada elemento valorado en común
+     * (0 si no llega al mínimo de usuarios comunes o no es positiva).
+     */
+    private Vecinos calcular(Estado estado, int id, Acumulador acc, Candidato candidato) {
+        Item item = estado.items.get(id);
+        acc.vaciar();
+        for (int k = 0; k < item.numValoradores; k++) {
+            Usuario usuario = estado.usuarios.get(item.valoradores[k]);
+            double ajustada = usuario.nota(id) - usuario.media;
+            for (int j = 0; j < usuario.items.length; j++) {
+                if (usuario.items[j] != id) {
+                    acc.sumar(usuario.items[j], ajustada * (usuario.notas[j] - usuario.media));
+                }
+            }
+        }
+
+        Seleccion seleccion = new Seleccion(maximoVecinos);
+        for (int s = 0; s < acc.numOcupadas; s++) {
+            int hueco = acc.ocupadas[s];
+            int otro = acc.claves[hueco];
+            double normaOtro = estado.items.get(otro).norma;
+            float similitud = 0;
+            if (acc.comunes[hueco] >= minimoComunes && item.norma > 0 && normaOtro > 0) {
+                similitud = (float) Math.max(0, acc.sumas[hueco] / (item.norma * normaOtro));
+            }
+            if (similitud > 0) {
+                seleccion.ofrecer(otro, similitud, acc.comunes[hueco]);
+            }
+            if (candidato != null) {
+                candidato.similitud(otro, similitud, acc.comunes[hueco]);
+            }
+        }
+        return seleccion.construir();
+    }
+
+    private interface Candidato {
+        void similitud(int id, float similitud, int comunes);
+    }
+
+    // ------------------------------------------------------------------
+    // Estructuras
+    // ------------------------------------------------------------------
+
+    private static final class Estado {
+        final MapaEnteros<Usuario> usuarios = new MapaEnteros<>();
+        final MapaEnteros<Item> items = new MapaEnteros<>();
+    }
+
+    /** Valoraciones de un usuario ordenadas por elemento, con su media. Inmutable. */
+    private static final class Usuario {
+
+        static final Usuario VACIO = new Usuario(new int[0], new float[0]);
+
+        final int[] items;
+        final float[] notas;
+        final double media;
+
+        Usuario(int[] items, float[] notas) {
+            this.items = items;
+            this.notas = notas;
+            double suma = 0;
+            for (float nota : notas) {
+                suma += nota;
+            }
+            this.media = notas.length == 0 ? 0 : suma / notas.length;
+        }
+
+        float nota(int id) {
+            return notas[Arrays.binarySearch(items, id)];
+        }
+
+        Usuario con(int id, int valoracion) {
+            int i = Arrays.binarySearch(items, id);
+            if (i >= 0) {
+                if (notas[i] == valoracion) {
+                    return this;
+                }
+                float[] nuevas = notas.clone();
+                nuevas[i] = valoracion;
+                return new Usuario(items, nuevas);
+            }
+            int pos = -i - 1;
+            int[] nuevosItems = new int[items.length + 1];
+            float[] nuevas = new float[notas.length + 1];
+            System.arraycopy(items, 0, nuevosItems, 0, pos);
+            System.arraycopy(notas, 0, nuevas, 0, pos);
+            nuevosItems[pos] = id;
+            nuevas[pos] = valoracion;
+            System.arraycopy(items, pos, nuevosItems, pos + 1, items.length - pos);
+            System.arraycopy(notas, pos, nuevas, pos + 1, notas.length - pos);
+            return new Usuario(nuevosItems, nuevas);
+        }
+
+        Usuario sin(int id) {
+            int i = Arrays.binarySearch(items, id);
+            if (i < 0) {
+                return this;
+            }
+            int[] nuevosItems = new int[items.length - 1];
+            float[] nuevas = new float[notas.length - 1];
+            System.arraycopy(items, 0, nuevosItems, 0, i);
+            System.arraycopy(notas, 0, nuevas, 0, i);
+            System.arraycopy(items, i + 1, nuevosItems, i, items.length - i - 1);
+            System.arraycopy(notas, i + 1, nuevas, i, notas.length - i - 1);
+            return new Usuario(nuevosItems, nuevas);
+        }
+    }
+
+    /** Un elemento: quién lo valoró (ordenado), su norma y sus mejores vecinos. */
+    private static final class Item {
+
+        int[] valoradores = new int[4];
+        int numValoradores;
+        double norma;
+        Vecinos vecinos = Vecinos.VACIO;
+        String nombre;
+
+        void agregarValorador(int usuario) {
+            int i = Arrays.binarySearch(valoradores, 0, numValoradores, usuario);
+            if (i >= 0) {
+                return;
+            }
+            int pos = -i - 1;
+            if (numValoradores == valoradores.length) {
+                valoradores = Arrays.copyOf(valoradores, valoradores.length * 2);
+            }
+            System.arraycopy(valoradores, pos, valoradores, pos + 1, numValoradores - pos);
+            valoradores[pos] = usuario;
+            numValoradores++;
+        }
+
+        void quitarValorador(int usuario) {
+            int i = Arrays.binarySearch(valoradores, 0, numValoradores, usuario);
+            if (i >= 0) {
+                System.arraycopy(valoradores, i + 1, valoradores, i, numValoradores - i - 1);
+                numValoradores--;
+            }
+        }
+    }
+
+    /** Mejores vecinos de un elemento, de mayor a menor similitud (a igualdad, por id). Inmutable. */
+    private static final class Vecinos {
+
+        static final Vecinos VACIO = new Vecinos(new int[0], new float[0], new int[0]);
+
+        final int[] ids;
+        final float[] similitudes;
+        final int[] comunes;
+
+        Vecinos(int[] ids, float[] similitudes, int[] comunes) {
+            this.ids = ids;
+            this.similitudes = similitudes;
+            this.comunes = comunes;
+        }
+
+        Vecinos sin(int id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    Seleccion seleccion = new Seleccion(ids.length);
+                    for (int j = 0; j < ids.length; j++) {
+                        if (j != i) {
+                            seleccion.ofrecer(ids[j], similitudes[j], comunes[j]);
+                        }
+                    }
+                    return seleccion.construir();
+                }
+            }
+            return this;
+        }
+
+        Vecinos con(int id, float similitud, int numComunes, int maximo) {
+            Seleccion seleccion = new Seleccion(maximo);
+            for (int j = 0; j < ids.length; j++) {
+                if (ids[j] != id) {
+                    seleccion.ofrecer(ids[j], similitudes[j], comunes[j]);
+                }
+            }
+            seleccion.ofrecer(id, similitud, numComunes);
+            return seleccion.construir();
+        }
+    }
+
+    /** Los {@code maximo} mejores candidatos, mantenidos ordenados por inserción. */
+    private static final class Seleccion {
+
+        private final int maximo;
+        private final int[] ids;
+        private final float[] similitudes;
+        private final int[] comunes;
+        private int n;
+
+        Seleccion(int maximo) {
+            this.maximo = maximo;
+            this.ids = new int[maximo];
+            this.similitudes = new float[maximo];
+            this.comunes = new int[maximo];
+        }
+
+        void ofrecer(int id, float similitud, int numComunes) {
+            if (maximo == 0 || (n == maximo && !antes(similitud, id, similitudes[n - 1], ids[n - 1]))) {
+                return;
+            }
+            int i = n < maximo ? n++ : n - 1;
+            while (i > 0 && antes(similitud, id, similitudes[i - 1], ids[i - 1])) {
+                ids[i] = ids[i - 1];
+                similitudes[i] = similitudes[i - 1];
+                comunes[i] = comunes[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            similitudes[i] = similitud;
+            comunes[i] = numComunes;
+        }
+
+        private static boolean antes(float similitud, int id, float otraSimilitud, int otroId) {
+            return similitud > otraSimilitud || (similitud == otraSimilitud && id < otroId);
+        }
+
+        Vecinos construir() {
+            return n == 0 ? Vecinos.VACIO
+                    : new Vecinos(Arrays.copyOf(ids, n), Arrays.copyOf(similitudes, n), Arrays.copyOf(comunes, n));
+        }
+    }
+
+    /**
+     * Sumas de productos y número de usuarios comunes por elemento, en una tabla de
+     * direccionamiento abierto que se reutiliza de un elemento al siguiente.
+     */
+    private static final class Acumulador {
+
+        int[] claves = new int[64];
+        double[] sumas = new double[64];
+        int[] comunes = new int[64];
+        boolean[] usadas = new boolean[64];
+        int[] ocupadas = new int[32];
+        int numOcupadas;
+
+        void vaciar() {
+            for (int s = 0; s < numOcupadas; s++) {
+                usadas[ocupadas[s]] = false;
+            }
+            numOcupadas = 0;
+        }
+
+        void sumar(int id, double producto) {
+            if ((numOcupadas + 1) * 2 > claves.length) {
+                crecer();
+            }
+            int mascara = claves.length - 1;
+            int h = id * 0x9E3779B9;
+            int i = (h ^ (h >>> 16)) & mascara;
+            while (usadas[i] && claves[i] != id) {
+                i = (i + 1) & mascara;
+            }
+            if (!usadas[i]) {
+                usadas[i] = true;
+                claves[i] = id;
+                sumas[i] = 0;
+                comunes[i] = 0;
+                ocupadas[numOcupadas++] = i;
+            }
+            sumas[i] += producto;
+            comunes[i]++;
+        }
+
+        private void crecer() {
+            int[] clavesAnteriores = claves;
+            double[] sumasAnteriores = sumas;
+            int[] comunesAnteriores = comunes;
+            int[] ocupadasAnteriores = ocupadas;
+            int numAnteriores = numOcupadas;
+            int capacidad = claves.length * 2;
+            claves = new int[capacidad];
+            sumas = new double[capacidad];
+            comunes = new int[capacidad];
+            usadas = new boolean[capacidad];
+            ocupadas = new int[capacidad / 2];
+            numOcupadas = 0;
+            for (int s = 0; s < numAnteriores; s++) {
+                int hueco = ocupadasAnteriores[s];
+                int mascara = capacidad - 1;
+                int h = clavesAnteriores[hueco] * 0x9E3779B9;
+                int i = (h ^ (h >>> 16)) & mascara;
+                while (usadas[i]) {
+                    i = (i + 1) & mascara;
+                }
+                usadas[i] = true;
+                claves[i] = clavesAnteriores[hueco];
+                sumas[i] = sumasAnteriores[hueco];
+                comunes[i] = comunesAnteriores[hueco];
+                ocupadas[numOcupadas++] = i;
+            }
+        }
+    }
+
+    /** Agrupa las valoraciones, que llegan ordenadas por usuario, en un {@link Usuario} por cada uno. */
+    private static final class Agrupador {
+
+        private final Estado estado;
+        private int usuario;
+        private int[] items = new int[16];
+        private float[] notas = new float[16];
+        private int n;
+
+        Agrupador(Estado estado) {
+            this.estado = estado;
+        }
+
+        void agregar(ValoracionUsuario v) {
+            if (v.getValoracion() == null) {
+                return;
+            }
+            if (n > 0 && v.getIdUser() != usuario) {
+                cerrar();
+            }
+            usuario = v.getIdUser();
+            if (n == items.length) {
+                items = Arrays.copyOf(items, n * 2);
+                notas = Arrays.copyOf(notas, n * 2);
+            }
+            items[n] = v.getIdElem();
+            notas[n] = v.getValoracion();
+            n++;
+
+            Item item = estado.items.get(v.getIdElem());
+            if (item == null) {
+                item = new Item();
+                item.nombre = v.getNombre();
+                estado.items.put(v.getIdElem(), item);
+            }
+            // Los usuarios llegan en orden, así que se añade al final
+            if (item.numValoradores == item.valoradores.length) {
+                item.valoradores = Arrays.copyOf(item.valoradores, item.valoradores.length * 2);
+            }
+            item.valoradores[item.numValoradores++] = usuario;
+        }
+
+        void cerrar() {
+            if (n > 0) {
+                estado.usuarios.put(usuario, new Usuario(Arrays.copyOf(items, n), Arrays.copyOf(notas, n)));
+                n = 0;
+            }
+        }
+    }
+
+    /** Reparte un rango de elementos entre los hilos del pool fork/join. */
+    private static final class PorTramos extends RecursiveAction {
+
+        private static final int UMBRAL = 64;
+
+        interface Tarea {
+            void ejecutar(int desde, int hasta);
+        }
+
+        private final int desde;
+        private final int hasta;
+        private final Tarea tarea;
+
+        PorTramos(int desde, int hasta, Tarea tarea) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tarea = tarea;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                tarea.ejecutar(desde, hasta);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new PorTramos(desde, medio, tarea), new PorTramos(medio, hasta, tarea));
+        }
+    }
+
+    /** Un elemento parecido a otro. */
+    public static final class Similar {
+
+        private final int id;
+        private final String nombre;
+        private final float similitud;
+        private final int comunes;
+
+        Similar(int id, String nombre, float similitud, int comunes) {
+            this.id = id;
+            this.nombre = nombre;
+            this.similitud = similitud;
+            this.comunes = comunes;
+        }
+
+        public int getId() { return id; }
+
+        public String getNombre() { return nombre; }
+
+        public float getSimilitud() { return similitud; }
+
+        /** Usuarios que valoraron los dos elementos. */
+        public int getComunes() { return comunes; }
+    }
+}
@@ -0,0 +1,114 @@
+package io.swagger.services;
+
+import io.swagger.entity.GeneroEntity;
+import io.swagger.model.Sugerencia;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.GeneroRepository;
+import io.swagger.repository.ResumenElemento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletado de nombres de canciones, álbumes y géneros. Las consultas se sirven
+ * de un {@link DiccionarioSugerencias} inmutable en memoria, sin tocar Oracle; el
+ * diccionario se reconstruye en segundo plano y se sustituye de forma atómica.
+ */
+@Service
+public class IndiceSugerencias {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceSugerencias.class);
+
+    private final ElementoRepository elementoRepository;
+    private final GeneroRepository generoRepository;
+    private final TransactionTemplate transaccionLectura;
+
+    @Value("${contenido.sugerencias.recarga-maxima-ms:600000}")
+    private long recargaMaximaMs;
+
+    private volatile DiccionarioSugerencias diccionario = DiccionarioSugerencias.VACIO;
+    private volatile boolean cambiosPendientes = true;
+    private volatile long ultimaConstruccion;
+
+    public IndiceSugerencias(ElementoRepository elementoRepository, GeneroRepository generoRepository,
+            PlatformTransactionManager transactionManager) {
+        this.elementoRepository = elementoRepository;
+        this.generoRepository = generoRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+    }
+
+    /**
+     * Hasta {@code n} nombres que empiezan por {@code prefijo} o tienen una palabra que
+     * empieza por él, de más a menos vendidos o reproducidos.
+     */
+    public List<Sugerencia> sugerir(String prefijo, int n) {
+        return diccionario.sugerir(prefijo, Math.min(n, DiccionarioSugerencias.MAXIMO_SUGERENCIAS));
+    }
+
+    @EventListener
+    public void onCambioElemento(CambioElementoEvent cambio) {
+        cambiosPendientes = true;
+    }
+
+    /**
+     * Reconstruye el diccionario si ha habido cambios en el catálogo o si el actual es
+     * más antiguo que {@code contenido.sugerencias.recarga-maxima-ms} (cambios de géneros
+     * o escrituras hechas fuera de este servicio).
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${contenido.sugerencias.comprobacion-ms:30000}")
+    public void reconstruirSiHaceFalta() {
+        boolean caducado = System.currentTimeMillis() - ultimaConstruccion > recargaMaximaMs;
+        if (!cambiosPendientes && !caducado) {
+            return;
+        }
+        cambiosPendientes = false;
+        try {
+            reconstruir();
+        } catch (RuntimeException ex) {
+            cambiosPendientes = true;
+            log.error("No se pudo reconstruir el diccionario de sugerencias; se mantiene el anterior", ex);
+        }
+    }
+
+    private void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        DiccionarioSugerencias.Constructor constructor = new DiccionarioSugerencias.Constructor();
+        Map<Integer, Long> pesoPorGenero = new HashMap<>();
+
+        transaccionLectura.executeWithoutResult(estado -> {
+            try (Stream<ResumenElemento> resumenes = elementoRepository.recorrerResumenes()) {
+                resumenes.forEach(r -> {
+                    boolean esAlbum = Boolean.TRUE.equals(r.getEsalbum());
+                    // Las canciones se ordenan por reproducciones y los álbumes por ventas
+                    Integer popularidad = esAlbum ? r.getNumventas() : r.getNumRep();
+                    long peso = popularidad != null ? popularidad : 0L;
+                    constructor.agregar(r.getNombre(), esAlbum ? "album" : "cancion", r.getId(), peso);
+                    if (r.getGenero() != null) {
+                        pesoPorGenero.merge(r.getGenero(), peso, Long::sum);
+                    }
+                });
+            }
+        });
+        for (GeneroEntity genero : generoRepository.findAll()) {
+            constructor.agregar(genero.getNombre(), "genero", genero.getId(), pesoPorGenero.getOrDefault(genero.getId(), 0L));
+        }
+
+        DiccionarioSugerencias nuevo = constructor.construir();
+        diccionario = nuevo;
+        ultimaConstruccion = System.currentTimeMillis();
+        log.info("Diccionario de sugerencias reconstruido: {} entradas en {} ms",
+                nuevo.getNumeroEntradas(), ultimaConstruccion - inicio);
+    }
+}
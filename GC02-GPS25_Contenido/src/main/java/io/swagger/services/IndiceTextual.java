@@ -0,0 +1,464 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+import io.swagger.repository.FiltroElementos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el nombre y la descripción de los elementos.
+ * Las búsquedas se puntúan con BM25 y sólo se conservan los k mejores resultados
+ * en un montículo acotado, así que el coste no depende del número de coincidencias
+ * que se devuelven sino de las que se puntúan.
+ * <p>
+ * Para la búsqueda difusa se mantiene además un índice de trigramas sobre el vocabulario:
+ * cada término de la consulta se amplía con los términos indexados a poca distancia de
+ * edición, sin recorrer el vocabulario completo.
+ */
+@Service
+public class IndiceTextual {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTextual.class);
+
+    // Parámetros habituales de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Una aparición en el nombre pesa como varias en la descripción
+    private static final int PESO_NOMBRE = 3;
+
+    private final ConsultaElementosService consultaElementosService;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+    private final Map<String, Set<String>> terminosPorTrigrama = new HashMap<>();
+    private long longitudTotal;
+
+    @Value("${contenido.busqueda.presupuesto-difuso-ms:50}")
+    private long presupuestoDifusoMs;
+
+    private volatile boolean listo;
+
+    public IndiceTextual(ConsultaElementosService consultaElementosService) {
+        this.consultaElementosService = consultaElementosService;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            terminosPorTrigrama.clear();
+            longitudTotal = 0;
+            consultaElementosService.recorrer(FiltroElementos.SIN_FILTRO, this::indexar);
+            listo = true;
+            log.info("Índice de búsqueda cargado: {} elementos y {} términos en {} ms",
+                    documentos.size(), postings.size(), System.currentTimeMillis() - inicio);
+        } catch (RuntimeException ex) {
+            log.error("No se pudo cargar el índice de búsqueda", ex);
+            listo = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mantiene el índice al día con cada alta, cambio o baja. Si el nombre y la descripción
+     * dan los mismos términos que ya estaban indexados (un cambio de precio, de ventas...)
+     * no se toca nada.
+     */
+    @EventListener
+    public void onCambioElemento(CambioElementoEvent cambio) {
+        lock.writeLock().lock();
+        try {
+            Documento nuevo = cambio.isEliminado() ? null : analizar(cambio.getElemento());
+            if (nuevo != null && nuevo.mismosTerminos(documentos.get(cambio.getId()))) {
+                return;
+            }
+            desindexar(cambio.getId());
+            if (nuevo != null) {
+                indexar(cambio.getId(), nuevo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids de los {@code k} elementos más relevantes para la consulta, de más a menos relevante.
+     * Basta con que aparezca uno de los términos; los que aparecen en más sitios puntúan más.
+     */
+    public int[] buscar(String consulta, int k) {
+        List<String> terminos = new ArrayList<>(new LinkedHashSet<>(AnalizadorTexto.tokenizar(consulta)));
+        if (terminos.isEmpty() || k <= 0) {
+            return new int[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Double>> grupos = new ArrayList<>(terminos.size());
+            for (String termino : terminos) {
+                grupos.add(Collections.singletonMap(termino, 1.0));
+            }
+            return puntuar(grupos, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Como {@link #buscar} pero tolerando errores de escritura: cada término se amplía con
+     * los términos indexados a distancia de edición 1 (desde 4 letras) o 2 (desde 7 letras).
+     * Una variante puntúa menos cuanto más lejos está del término escrito. La ampliación se
+     * corta al agotar {@code contenido.busqueda.presupuesto-difuso-ms} y se puntúa con las
+     * variantes encontradas hasta entonces.
+     */
+    public int[] buscarDifuso(String consulta, int k) {
+        List<String> terminos = new ArrayList<>(new LinkedHashSet<>(AnalizadorTexto.tokenizar(consulta)));
+        if (terminos.isEmpty() || k <= 0) {
+            return new int[0];
+        }
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(presupuestoDifusoMs);
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Double>> grupos = new ArrayList<>(terminos.size());
+            for (String termino : terminos) {
+                grupos.add(variantes(termino, limite));
+            }
+            return puntuar(grupos, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // BM25 por grupos: cada grupo son las variantes (con su peso) de un término de la consulta
+    // y un documento suma, por grupo, la mejor de las variantes que contiene
+    private int[] puntuar(List<Map<String, Double>> grupos, int k) {
+        int total = documentos.size();
+        if (total == 0) {
+            return new int[0];
+        }
+        double longitudMedia = (double) longitudTotal / total;
+
+        Map<Integer, double[]> puntuaciones = new HashMap<>();
+        for (Map<String, Double> grupo : grupos) {
+            Map<Integer, double[]> delGrupo = grupo.size() == 1 ? puntuaciones : new HashMap<>();
+            for (Map.Entry<String, Double> variante : grupo.entrySet()) {
+                Postings lista = postings.get(variante.getKey());
+                if (lista == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (total - lista.tamanio + 0.5) / (lista.tamanio + 0.5));
+                for (int i = 0; i < lista.tamanio; i++) {
+                    int tf = lista.frecuencias[i];
+                    double normalizacion = K1 * (1 - B + B * documentos.get(lista.docs[i]).longitud / longitudMedia);
+                    double parcial = variante.getValue() * idf * tf * (K1 + 1) / (tf + normalizacion);
+                    double[] acumulado = delGrupo.computeIfAbsent(lista.docs[i], id -> new double[1]);
+                    if (delGrupo == puntuaciones) {
+                        acumulado[0] += parcial;
+                    } else {
+                        acumulado[0] = Math.max(acumulado[0], parcial);
+                    }
+                }
+            }
+            if (delGrupo != puntuaciones) {
+                delGrupo.forEach((doc, v) -> puntuaciones.computeIfAbsent(doc, id -> new double[1])[0] += v[0]);
+            }
+        }
+        return mejores(puntuaciones, k);
+    }
+
+    // Términos del vocabulario a distancia acotada de "termino", con peso 1 / (1 + distancia)
+    private Map<String, Double> variantes(String termino, long limite) {
+        Map<String, Double> variantes = new HashMap<>();
+        if (postings.containsKey(termino)) {
+            variantes.put(termino, 1.0);
+        }
+        int maximo = erroresPermitidos(termino.length());
+        if (maximo == 0) {
+            return variantes;
+        }
+
+        // Lema de los q-gramas: una inserción, borrado o sustitución rompe como mucho 3 trigramas,
+        // así que un término a esa distancia comparte al menos |trigramas| - 3 * maximo.
+        // Un intercambio de letras puede romper 4, por lo que para ellos el filtro es aproximado
+        Set<String> gramas = trigramas(termino);
+        int minimoComunes = gramas.size() - 3 * maximo;
+        Map<String, int[]> comunes = new HashMap<>();
+        int pasos = 0;
+        for (String grama : gramas) {
+            for (String candidato : terminosPorTrigrama.getOrDefault(grama, Collections.emptySet())) {
+                if (Math.abs(candidato.length() - termino.length()) <= maximo) {
+                    comunes.computeIfAbsent(candidato, c -> new int[1])[0]++;
+                }
+                if ((++pasos & 0xFF) == 0 && System.nanoTime() > limite) {
+                    return variantes;
+                }
+            }
+        }
+        for (Map.Entry<String, int[]> candidato : comunes.entrySet()) {
+            if (candidato.getValue()[0] < minimoComunes || candidato.getKey().equals(termino)) {
+                continue;
+            }
+            int distancia = DistanciaEdicion.acotada(termino, candidato.getKey(), maximo);
+            if (distancia <= maximo) {
+                variantes.put(candidato.getKey(), 1.0 / (1 + distancia));
+            }
+            if ((++pasos & 0x3F) == 0 && System.nanoTime() > limite) {
+                break;
+            }
+        }
+        return variantes;
+    }
+
+    // Con menos letras la distancia permitida no dejaría trigramas en común que buscar
+    private static int erroresPermitidos(int longitud) {
+        if (longitud < 4) {
+            return 0;
+        }
+        return longitud < 7 ? 1 : 2;
+    }
+
+    // Trigramas con un delimitador a cada lado: "rock" da "$ro", "roc", "ock", "ck$"
+    private static Set<String> trigramas(String termino) {
+        String ampliado = "$" + termino + "$";
+        Set<String> gramas = new HashSet<>();
+        for (int i = 0; i + 3 <= ampliado.length(); i++) {
+            gramas.add(ampliado.substring(i, i + 3));
+        }
+        return gramas;
+    }
+
+    /**
+     * Ids, de menor a mayor, de los elementos cuyo nombre contiene todas las palabras
+     * significativas de {@code texto}, sin distinguir mayúsculas ni tildes.
+     */
+    public int[] buscarPorNombre(String texto) {
+        String[] terminos = AnalizadorTexto.tokenizar(texto).stream().distinct().toArray(String[]::new);
+        if (terminos.length == 0) {
+            return new int[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            // Se parte de la lista más corta y se comprueba el resto en el propio documento
+            Postings menor = null;
+            for (String termino : terminos) {
+                Postings lista = postings.get(termino);
+                if (lista == null) {
+                    return new int[0];
+                }
+                if (menor == null || lista.tamanio < menor.tamanio) {
+                    menor = lista;
+                }
+            }
+            int[] resultado = new int[menor.tamanio];
+            int n = 0;
+            for (int i = 0; i < menor.tamanio; i++) {
+                if (documentos.get(menor.docs[i]).nombreContiene(terminos)) {
+                    resultado[n++] = menor.docs[i];
+                }
+            }
+            // Las apariciones ya están ordenadas por id
+            return Arrays.copyOf(resultado, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Montículo de mínimos con los k mejores: la raíz es siempre el peor de los conservados
+    private static int[] mejores(Map<Integer, double[]> puntuaciones, int k) {
+        Comparator<Map.Entry<Integer, double[]>> peorPrimero = Comparator
+                .<Map.Entry<Integer, double[]>>comparingDouble(e -> e.getValue()[0])
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<Integer, double[]>> monticulo = new PriorityQueue<>(k + 1, peorPrimero);
+        for (Map.Entry<Integer, double[]> entrada : puntuaciones.entrySet()) {
+            if (monticulo.size() < k) {
+                monticulo.add(entrada);
+            } else if (peorPrimero.compare(entrada, monticulo.peek()) > 0) {
+                monticulo.poll();
+                monticulo.add(entrada);
+            }
+        }
+        int[] ids = new int[monticulo.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = monticulo.poll().getKey();
+        }
+        return ids;
+    }
+
+    // ------------------------------------------------------------------
+    // Mantenimiento (siempre con el lock de escritura)
+    // ------------------------------------------------------------------
+
+    private void indexar(ElementoEntity e) {
+        Documento doc = analizar(e);
+        if (doc != null) {
+            indexar(e.getId(), doc);
+        }
+    }
+
+    private void indexar(int id, Documento doc) {
+        documentos.put(id, doc);
+        longitudTotal += doc.longitud;
+        for (int i = 0; i < doc.terminos.length; i++) {
+            String termino = doc.terminos[i];
+            Postings lista = postings.get(termino);
+            if (lista == null) {
+                lista = new Postings();
+                postings.put(termino, lista);
+                for (String grama : trigramas(termino)) {
+                    terminosPorTrigrama.computeIfAbsent(grama, g -> new HashSet<>()).add(termino);
+                }
+            }
+            lista.agregar(id, doc.frecuencias[i]);
+        }
+    }
+
+    // Términos y frecuencias ponderadas del elemento; null si no tiene ningún término indexable
+    private static Documento analizar(ElementoEntity e) {
+        List<String> nombre = AnalizadorTexto.tokenizar(e.getNombre());
+        List<String> descripcion = AnalizadorTexto.tokenizar(e.getDescripcion());
+
+        Map<String, Integer> frecuencias = new HashMap<>();
+        nombre.forEach(t -> frecuencias.merge(t, PESO_NOMBRE, Integer::sum));
+        descripcion.forEach(t -> frecuencias.merge(t, 1, Integer::sum));
+        if (frecuencias.isEmpty()) {
+            return null;
+        }
+
+        String[] terminos = frecuencias.keySet().toArray(new String[0]);
+        Arrays.sort(terminos);
+        int[] tf = new int[terminos.length];
+        for (int i = 0; i < terminos.length; i++) {
+            tf[i] = frecuencias.get(terminos[i]);
+        }
+        int longitud = PESO_NOMBRE * nombre.size() + descripcion.size();
+        return new Documento(terminos, tf, nombre.stream().distinct().sorted().toArray(String[]::new), longitud);
+    }
+
+    private void desindexar(int id) {
+        Documento doc = documentos.remove(id);
+        if (doc == null) {
+            return;
+        }
+        longitudTotal -= doc.longitud;
+        for (String termino : doc.terminos) {
+            Postings lista = postings.get(termino);
+            if (lista != null && lista.quitar(id) && lista.tamanio == 0) {
+                postings.remove(termino);
+                olvidarTrigramas(termino);
+            }
+        }
+    }
+
+    private void olvidarTrigramas(String termino) {
+        for (String grama : trigramas(termino)) {
+            Set<String> terminos = terminosPorTrigrama.get(grama);
+            if (terminos != null && terminos.remove(termino) && terminos.isEmpty()) {
+                terminosPorTrigrama.remove(grama);
+            }
+        }
+    }
+
+    /** Términos indexados de un elemento, necesarios para poder desindexarlo. */
+    private static final class Documento {
+
+        private final String[] terminos;   // ordenados
+        private final int[] frecuencias;   // paralelo a terminos
+        private final String[] nombre;     // ordenados, para búsqueda binaria
+        private final int longitud;
+
+        Documento(String[] terminos, int[] frecuencias, String[] nombre, int longitud) {
+            this.terminos = terminos;
+            this.frecuencias = frecuencias;
+            this.nombre = nombre;
+            this.longitud = longitud;
+        }
+
+        // Indexar uno u otro deja el índice exactamente igual
+        boolean mismosTerminos(Documento otro) {
+            return otro != null
+                    && longitud == otro.longitud
+                    && Arrays.equals(terminos, otro.terminos)
+                    && Arrays.equals(frecuencias, otro.frecuencias)
+                    && Arrays.equals(nombre, otro.nombre);
+        }
+
+        boolean nombreContiene(String[] buscados) {
+            for (String termino : buscados) {
+                if (Arrays.binarySearch(nombre, termino) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Lista de apariciones de un término: ids de documento, ordenados de menor a mayor, y
+     * frecuencia ponderada en arrays paralelos. La carga inicial recorre el catálogo por id,
+     * así que casi siempre se añade al final; quitar localiza el id por búsqueda binaria.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frecuencias = new int[4];
+        private int tamanio;
+
+        void agregar(int doc, int frecuencia) {
+            if (tamanio == docs.length) {
+                docs = Arrays.copyOf(docs, tamanio * 2);
+                frecuencias = Arrays.copyOf(frecuencias, tamanio * 2);
+            }
+            int posicion = tamanio;
+            if (tamanio > 0 && docs[tamanio - 1] > doc) {
+                posicion = -Arrays.binarySearch(docs, 0, tamanio, doc) - 1;
+                System.arraycopy(docs, posicion, docs, posicion + 1, tamanio - posicion);
+                System.arraycopy(frecuencias, posicion, frecuencias, posicion + 1, tamanio - posicion);
+            }
+            docs[posicion] = doc;
+            frecuencias[posicion] = frecuencia;
+            tamanio++;
+        }
+
+        boolean quitar(int doc) {
+            int posicion = Arrays.binarySearch(docs, 0, tamanio, doc);
+            if (posicion < 0) {
+                return false;
+            }
+            tamanio--;
+            System.arraycopy(docs, posicion + 1, docs, posicion, tamanio - posicion);
+            System.arraycopy(frecuencias, posicion + 1, frecuencias, posicion, tamanio - posicion);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.swagger.services;
+
+import io.swagger.model.Contenido;
+import io.swagger.repository.FiltroElementos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Artistas del servicio de usuarios ya convertidos a {@link Contenido}, para que /contenidos
+ * no tenga que descargar y convertir el listado entero en cada petición.
+ * <p>
+ * El listado se refresca en segundo plano cada {@code refresco-ms} y se sustituye de una vez,
+ * así que una petición ve siempre un listado completo. Cada refresco se guarda además en un
+ * fichero local: al arrancar se sirve lo guardado sin esperar al servicio de usuarios. Si el
+ * servicio no responde se sigue sirviendo el último listado, marcado como desactualizado
+ * cuando supera {@code antiguedad-maxima-ms}.
+ * <p>
+ * Nunca hay más de una descarga del listado a la vez. Si no hay ninguna instantánea
+ * (primer arranque sin fichero), la primera petición descarga el listado; las que llegan
+ * mientras tanto reciben una lista vacía marcada como desactualizada, sin esperar.
+ */
+@Service
+public class InstantaneaArtistas {
+
+    private static final Logger log = LoggerFactory.getLogger(InstantaneaArtistas.class);
+
+    private final ArtistaClient artistaClient;
+    private final ObjectMapper objectMapper;
+    private final Path fichero;
+    private final long antiguedadMaximaMs;
+
+    // Nunca se modifica una vez publicada
+    private volatile Instantanea actual;
+    // Lo tiene quien está descargando el listado; nadie espera por él
+    private final ReentrantLock descarga = new ReentrantLock();
+
+    public InstantaneaArtistas(ArtistaClient artistaClient, ObjectMapper objectMapper, MeterRegistry registro,
+            @Value("${contenido.artistas.instantanea.fichero:${java.io.tmpdir}/contenido-artistas.json}") String fichero,
+            @Value("${contenido.artistas.instantanea.antiguedad-maxima-ms:180000}") long antiguedadMaximaMs) {
+        this.artistaClient = artistaClient;
+        this.objectMapper = objectMapper;
+        this.fichero = Paths.get(fichero);
+        this.antiguedadMaximaMs = antiguedadMaximaMs;
+        registro.gauge("contenido.artistas.instantanea.antiguedad", this, i -> i.antiguedadMs() / 1000.0);
+    }
+
+    /**
+     * Artistas de la última instantánea. Sólo si todavía no hay ninguna (primer arranque sin
+     * fichero) se piden al servicio de usuarios en esta misma llamada, y sólo si no los está
+     * pidiendo ya otro hilo: en ese caso se devuelve una lista vacía.
+     */
+    public List<Contenido> artistas() {
+        Instantanea instantanea = actual;
+        if (instantanea == null) {
+            instantanea = primeraCarga();
+        }
+        return instantanea != null ? instantanea.artistas : Collections.emptyList();
+    }
+
+    /**
+     * Artistas de la última instantánea que cumplen {@code filtro}, con el mismo criterio que
+     * los elementos internos. Un artista no tiene subgénero ni es álbum o canción, y su precio
+     * es 0; la fecha que se compara es la de registro.
+     */
+    public List<Contenido> artistas(FiltroElementos filtro) {
+        List<Contenido> todos = artistas();
+        if (FiltroElementos.SIN_FILTRO.equals(filtro)) {
+            return todos;
+        }
+        List<Contenido> resultado = new ArrayList<>();
+        for (Contenido artista : todos) {
+            if (cumple(artista, filtro)) {
+                resultado.add(artista);
+            }
+        }
+        return resultado;
+    }
+
+    /** Milisegundos desde que se obtuvo la instantánea vigente; 0 si no hay ninguna. */
+    public long antiguedadMs() {
+        Instantanea instantanea = actual;
+        return instantanea == null ? 0 : Math.max(0, System.currentTimeMillis() - instantanea.obtenida);
+    }
+
+    /**
+     * true si la instantánea vigente no se ha podido refrescar a tiempo, o si aún no hay
+     * ninguna y los artistas pueden faltar.
+     */
+    public boolean isDesactualizada() {
+        return actual == null || antiguedadMs() > antiguedadMaximaMs;
+    }
+
+    @PostConstruct
+    public void leerFichero() {
+        if (!Files.isReadable(fichero)) {
+            return;
+        }
+        try {
+            Guardada guardada = objectMapper.readValue(fichero.toFile(), Guardada.class);
+            actual = new Instantanea(guardada.artistas, guardada.obtenida);
+            log.info("Instantánea de artistas leída de {}: {} artistas", fichero, guardada.artistas.size());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("No se pudo leer la instantánea de artistas de {}: {}", fichero, ex.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${contenido.artistas.instantanea.refresco-ms:60000}")
+    public void refrescar() {
+        // Si una petición está haciendo la primera carga, este refresco sobra
+        if (!descarga.tryLock()) {
+            return;
+        }
+        try {
+            publicar(artistaClient.obtenerArtistas());
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo refrescar la instantánea de artistas; se sigue sirviendo la de hace {} s: {}",
+                    antiguedadMs() / 1000, ex.getMessage());
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    private static boolean cumple(Contenido artista, FiltroElementos filtro) {
+        if (filtro.getSubgenero() != null || filtro.getEsalbum() != null) {
+            return false;
+        }
+        if (filtro.getArtista() != null && !filtro.getArtista().equals(artista.getId())) {
+            return false;
+        }
+        if (filtro.getGenero() != null
+                && (artista.getGenero() == null || !filtro.getGenero().equals(artista.getGenero().getId()))) {
+            return false;
+        }
+        if (filtro.getEsnovedad() != null && !filtro.getEsnovedad().equals(artista.isEsnovedad())) {
+            return false;
+        }
+        float precio = artista.getPrecio() != null ? artista.getPrecio() : 0f;
+        if ((filtro.getPreciomin() != null && precio < filtro.getPreciomin())
+                || (filtro.getPreciomax() != null && precio > filtro.getPreciomax())) {
+            return false;
+        }
+        if (filtro.getFechamin() != null || filtro.getFechamax() != null) {
+            if (artista.getFechacrea() == null) {
+                return false;
+            }
+            // Días completos, como en la consulta de elementos
+            long dia = artista.getFechacrea().toLocalDate().toEpochDay();
+            if ((filtro.getFechamin() != null && dia < filtro.getFechamin().toEpochDay())
+                    || (filtro.getFechamax() != null && dia > filtro.getFechamax().toEpochDay())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Null si otro hilo ya está descargando el listado
+    private Instantanea primeraCarga() {
+        if (!descarga.tryLock()) {
+            return actual;
+        }
+        try {
+            if (actual == null) {
+                publicar(artistaClient.obtenerArtistas());
+            }
+            return actual;
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    private synchronized void publicar(List<Contenido> artistas) {
+        Instantanea nueva = new Instantanea(artistas, System.currentTimeMillis());
+        actual = nueva;
+        guardar(nueva);
+    }
+
+    // Se escribe en un temporal y se renombra, para no dejar nunca un fichero a medias
+    private void guardar(Instantanea instantanea) {
+        try {
+            Path directorio = fichero.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, "artistas", ".tmp");
+            try {
+                objectMapper.writeValue(temporal.toFile(), new Guardada(instantanea.artistas, instantanea.obtenida));
+                Files.move(temporal, fichero, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+        } catch (IOException ex) {
+            log.warn("No se pudo guardar la instantánea de artistas en {}: {}", fichero, ex.getMessage());
+        }
+    }
+
+    private static final class Instantanea {
+
+        final List<Contenido> artistas;
+        final long obtenida;
+
+        Instantanea(List<Contenido> artistas, long obtenida) {
+            this.artistas = Collections.unmodifiableList(new ArrayList<>(artistas));
+            this.obtenida = obtenida;
+        }
+    }
+
+    /** Formato del fichero. */
+    static final class Guardada {
+
+        public long obtenida;
+        public List<Contenido> artistas = new ArrayList<>();
+
+        Guardada() {
+        }
+
+        Guardada(List<Contenido> artistas, long obtenida) {
+            this.artistas = artistas;
+            this.obtenida = obtenida;
+        }
+    }
+}
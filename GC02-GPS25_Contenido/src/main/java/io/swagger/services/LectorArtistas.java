@@ -0,0 +1,217 @@
+package io.swagger.services;
+
+import io.swagger.model.Artista;
+import io.swagger.model.Contenido;
+import io.swagger.model.Genero;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.OffsetDateTime;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.format.DateTimeParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming del listado de artistas del servicio de usuarios: recorre los tokens
+ * del JSON y rellena cada {@link Contenido} (para /contenidos) o {@link Artista} (para
+ * completar elementos y canciones) directamente, sin pasar por un mapa por artista ni cargar
+ * el documento entero. Sólo hay en memoria el artista que se está leyendo.
+ * <p>
+ * Con datos bien formados da lo mismo que la conversión anterior desde mapas. Es más
+ * tolerante que ella: un campo con un tipo inesperado (o una fecha mal formada) se ignora
+ * y el artista se entrega igualmente, en vez de perderse entero.
+ */
+final class LectorArtistas {
+
+    private static final Logger log = LoggerFactory.getLogger(LectorArtistas.class);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private LectorArtistas() {
+    }
+
+    /** Entrega a {@code consumidor} cada artista del array JSON de {@code entrada}, en orden, como contenido de tipo 0. */
+    static void leer(InputStream entrada, Consumer<Contenido> consumidor) throws IOException {
+        recorrer(entrada, LectorArtistas::contenido, consumidor);
+    }
+
+    /**
+     * Como {@link #leer}, pero con los mismos campos que daría enlazar el JSON a {@link Artista}.
+     * La fecha de registro se acepta como {@code fechaRegistro} o {@code fecharegistro} y se
+     * pasa a UTC, para que el artista guardado sea igual venga del listado o de /artistas/{id}.
+     */
+    static void leerArtistas(InputStream entrada, Consumer<Artista> consumidor) throws IOException {
+        recorrer(entrada, LectorArtistas::artista, consumidor);
+    }
+
+    private static <T> void recorrer(InputStream entrada, LectorObjeto<T> lector, Consumer<T> consumidor)
+            throws IOException {
+        try (JsonParser p = JSON.createParser(entrada)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                return;
+            }
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    consumidor.accept(lector.leer(p));
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+    }
+
+    // El parser está en el START_OBJECT del artista; termina en su END_OBJECT
+    private static Contenido contenido(JsonParser p) throws IOException {
+        Contenido c = new Contenido();
+        c.setPrecio(0.0f); // Artistas no tienen precio
+        c.setEsnovedad(false);
+        c.setNumventas(0);
+        c.setValoracion(0);
+        c.setTipo(0); // 0 = artista
+        Genero g = new Genero();
+        c.setGenero(g);
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = p.getCurrentName();
+            JsonToken valor = p.nextToken();
+            switch (campo) {
+                case "id":
+                    if (valor.isNumeric()) c.setId(p.getIntValue());
+                    break;
+                case "nombreusuario":
+                    c.setNombre(texto(p, valor));
+                    break;
+                case "descripcion":
+                    c.setDescripcion(texto(p, valor));
+                    break;
+                case "rutafoto":
+                    c.setFotoamazon(texto(p, valor));
+                    break;
+                case "fecharegistro":
+                    c.setFechacrea(fecha(p, valor, c.getId()));
+                    break;
+                case "oyentes":
+                    // Puede llegar como decimal: se trunca igual que con intValue()
+                    if (valor.isNumeric()) c.setNumventas(p.getValueAsInt());
+                    break;
+                case "valoracion":
+                    if (valor.isNumeric()) c.setValoracion(p.getValueAsInt());
+                    break;
+                case "esnovedad":
+                    c.setEsnovedad(valor == JsonToken.VALUE_TRUE);
+                    break;
+                case "genero":
+                    // Normalmente un objeto { "id": 1, "nombre": "..." }; a veces sólo el id
+                    if (valor == JsonToken.START_OBJECT) {
+                        genero(p, g);
+                    } else if (valor.isNumeric()) {
+                        g.setId(p.getIntValue());
+                    }
+                    break;
+                default:
+                    break;
+            }
+            // Objetos o arrays no esperados se saltan enteros
+            p.skipChildren();
+        }
+        return c;
+    }
+
+    private static Artista artista(JsonParser p) throws IOException {
+        Artista a = new Artista();
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = p.getCurrentName();
+            JsonToken valor = p.nextToken();
+            switch (campo) {
+                case "id":
+                    if (valor.isNumeric()) a.setId(p.getIntValue());
+                    break;
+                case "nombreusuario":
+                    a.setNombreUsuario(texto(p, valor));
+                    break;
+                case "nombrereal":
+                    a.setNombreReal(texto(p, valor));
+                    break;
+                case "correo":
+                    a.setCorreo(texto(p, valor));
+                    break;
+                case "descripcion":
+                    a.setDescripcion(texto(p, valor));
+                    break;
+                case "rutafoto":
+                    a.setRutaFoto(texto(p, valor));
+                    break;
+                case "fechaRegistro":
+                case "fecharegistro":
+                    // En UTC, como la deja Jackson al enlazar (ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                    OffsetDateTime registro = fecha(p, valor, a.getId());
+                    a.setFechaRegistro(registro != null ? registro.withOffsetSameInstant(ZoneOffset.UTC) : null);
+                    break;
+                case "oyentes":
+                    if (valor.isNumeric()) a.setOyentes(p.getValueAsInt());
+                    break;
+                case "valoracion":
+                    if (valor.isNumeric()) a.setValoracion(p.getFloatValue());
+                    break;
+                case "esnovedad":
+                    if (valor.isBoolean()) a.setEsnovedad(valor == JsonToken.VALUE_TRUE);
+                    break;
+                case "genero":
+                    if (valor == JsonToken.START_OBJECT) {
+                        Genero g = new Genero();
+                        genero(p, g);
+                        a.setGenero(g);
+                    } else if (valor.isNumeric()) {
+                        a.setGenero(DiccionarioGeneros.referencia(p.getIntValue()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            p.skipChildren();
+        }
+        return a;
+    }
+
+    private static void genero(JsonParser p, Genero g) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = p.getCurrentName();
+            JsonToken valor = p.nextToken();
+            if ("id".equals(campo) && valor.isNumeric()) {
+                g.setId(p.getIntValue());
+            } else if ("nombre".equals(campo)) {
+                g.setNombre(texto(p, valor));
+            }
+            p.skipChildren();
+        }
+    }
+
+    private static String texto(JsonParser p, JsonToken valor) throws IOException {
+        return valor == JsonToken.VALUE_STRING ? p.getText() : null;
+    }
+
+    private static OffsetDateTime fecha(JsonParser p, JsonToken valor, Integer id) throws IOException {
+        if (valor != JsonToken.VALUE_STRING) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(p.getText());
+        } catch (DateTimeParseException e) {
+            log.warn("Error parseando fecha para artista ID {}: {}", id, p.getText());
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface LectorObjeto<T> {
+        T leer(JsonParser p) throws IOException;
+    }
+}
@@ -0,0 +1,140 @@
+package io.swagger.services;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de claves {@code int} con direccionamiento abierto: sin objetos {@code Integer}
+ * ni nodos por entrada, así que ocupa bastante menos que un {@code HashMap} con muchos
+ * elementos. Los valores no pueden ser null. No es seguro para hilos.
+ */
+final class MapaEnteros<V> {
+
+    /** Recibe cada clave con su valor al recorrer el mapa. */
+    interface Visitante<V> {
+        void visitar(int clave, V valor);
+    }
+
+    private int[] claves;
+    private Object[] valores;
+    private int tamanio;
+
+    MapaEnteros() {
+        this(16);
+    }
+
+    MapaEnteros(int capacidadInicial) {
+        int capacidad = Integer.highestOneBit(Math.max(8, capacidadInicial * 2 - 1)) << 1;
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+    }
+
+    int size() {
+        return tamanio;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int clave) {
+        int mascara = claves.length - 1;
+        for (int i = posicion(clave, mascara); valores[i] != null; i = (i + 1) & mascara) {
+            if (claves[i] == clave) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    void put(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("MapaEnteros no admite valores null");
+        }
+        // Carga máxima del 50 %: las búsquedas fallidas siguen siendo cortas
+        if ((tamanio + 1) * 2 > claves.length) {
+            redimensionar(claves.length * 2);
+        }
+        int mascara = claves.length - 1;
+        int i = posicion(clave, mascara);
+        while (valores[i] != null) {
+            if (claves[i] == clave) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        tamanio++;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(int clave) {
+        int mascara = claves.length - 1;
+        int i = posicion(clave, mascara);
+        while (valores[i] != null && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        if (valores[i] == null) {
+            return null;
+        }
+        V anterior = (V) valores[i];
+        // Se desplazan hacia atrás las entradas siguientes del mismo tramo para no dejar huecos
+        int hueco = i;
+        for (int j = (i + 1) & mascara; valores[j] != null; j = (j + 1) & mascara) {
+            int ideal = posicion(claves[j], mascara);
+            boolean alcanzable = hueco <= j ? (ideal <= hueco || ideal > j) : (ideal <= hueco && ideal > j);
+            if (alcanzable) {
+                claves[hueco] = claves[j];
+                valores[hueco] = valores[j];
+                hueco = j;
+            }
+        }
+        valores[hueco] = null;
+        tamanio--;
+        return anterior;
+    }
+
+    @SuppressWarnings("unchecked")
+    void recorrer(Visitante<V> visitante) {
+        for (int i = 0; i < claves.length; i++) {
+            if (valores[i] != null) {
+                visitante.visitar(claves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    /** Copia de las claves, en orden ascendente. */
+    int[] claves() {
+        int[] resultado = new int[tamanio];
+        int n = 0;
+        for (int i = 0; i < claves.length; i++) {
+            if (valores[i] != null) {
+                resultado[n++] = claves[i];
+            }
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    private void redimensionar(int capacidad) {
+        int[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        int mascara = capacidad - 1;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (valoresAnteriores[i] != null) {
+                int j = posicion(clavesAnteriores[i], mascara);
+                while (valores[j] != null) {
+                    j = (j + 1) & mascara;
+                }
+                claves[j] = clavesAnteriores[i];
+                valores[j] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    // Los ids son consecutivos: se mezclan los bits para repartirlos por toda la tabla
+    private static int posicion(int clave, int mascara) {
+        int h = clave * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
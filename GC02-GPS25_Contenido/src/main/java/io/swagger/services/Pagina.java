@@ -0,0 +1,45 @@
+package io.swagger.services;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Página de resultados junto con el cursor de la siguiente página
+ * (null cuando ya no quedan filas).
+ */
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final String siguiente;
+
+    public Pagina(List<T> elementos, String siguiente) {
+        this.elementos = elementos;
+        this.siguiente = siguiente;
+    }
+
+    /**
+     * Construye la página a partir de una consulta que pidió {@code limite + 1} filas:
+     * si llegó la fila extra, hay página siguiente y el cursor apunta a la última devuelta.
+     */
+    public static <T> Pagina<T> desdeFilas(List<T> filas, int limite, Function<T, String> cursorDe) {
+        if (filas.size() <= limite) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> visibles = filas.subList(0, limite);
+        return new Pagina<>(visibles, cursorDe.apply(visibles.get(limite - 1)));
+    }
+
+    public <R> Pagina<R> map(Function<T, R> conversor) {
+        return new Pagina<>(elementos.stream().map(conversor).collect(Collectors.toList()), siguiente);
+    }
+
+    /** Como {@link #map}, pero convirtiendo todas las filas de la página de una vez. */
+    public <R> Pagina<R> mapLote(Function<List<T>, List<R>> conversor) {
+        return new Pagina<>(conversor.apply(elementos), siguiente);
+    }
+
+    public List<T> getElementos() { return elementos; }
+
+    public String getSiguiente() { return siguiente; }
+}
@@ -0,0 +1,63 @@
+package io.swagger.services;
+
+import io.swagger.model.Contenido;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paginación del contenido unificado: primero los artistas externos, ordenados por id, y
+ * después los elementos internos con su propio cursor por clave. Mientras quedan artistas
+ * el cursor es de tipo {@link #ORDEN_ARTISTAS} y guarda el id del último devuelto; la página
+ * en la que se acaban se completa con los primeros elementos internos, así que ninguna
+ * página supera el límite pedido.
+ */
+final class PaginaContenidos {
+
+    /** Criterio de los cursores que todavía apuntan a la lista de artistas. */
+    static final String ORDEN_ARTISTAS = "artistas";
+
+    private PaginaContenidos() {
+    }
+
+    /**
+     * @param artistas   artistas que cumplen el filtro, en cualquier orden
+     * @param cursor     cursor recibido, o null para la primera página
+     * @param tamanio    tamaño de página ya normalizado
+     * @param convertir  conversión de los artistas de la página al tipo de salida
+     * @param internos   página de elementos internos dado su cursor (null para empezar) y su límite
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    static <T> Pagina<T> paginar(List<Contenido> artistas, String cursor, int tamanio,
+            Function<List<Contenido>, List<T>> convertir, BiFunction<String, Integer, Pagina<T>> internos) {
+        int despuesDe = Integer.MIN_VALUE;
+        if (cursor != null) {
+            CursorPagina anterior = CursorPagina.decodificar(cursor);
+            if (!ORDEN_ARTISTAS.equals(anterior.getOrden())) {
+                return internos.apply(cursor, tamanio);
+            }
+            despuesDe = anterior.getId();
+        }
+
+        int desde = despuesDe;
+        List<Contenido> pendientes = artistas.stream()
+                .filter(a -> a.getId() != null && a.getId() > desde)
+                .sorted(Comparator.comparing(Contenido::getId))
+                .collect(Collectors.toList());
+
+        if (pendientes.size() >= tamanio) {
+            List<Contenido> visibles = pendientes.subList(0, tamanio);
+            String siguiente = new CursorPagina(ORDEN_ARTISTAS, null, visibles.get(tamanio - 1).getId()).codificar();
+            return new Pagina<>(convertir.apply(visibles), siguiente);
+        }
+
+        Pagina<T> resto = internos.apply(null, tamanio - pendientes.size());
+        List<T> resultado = new ArrayList<>(convertir.apply(pendientes));
+        resultado.addAll(resto.getElementos());
+        return new Pagina<>(resultado, resto.getSiguiente());
+    }
+}
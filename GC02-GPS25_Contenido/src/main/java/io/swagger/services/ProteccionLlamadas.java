@@ -0,0 +1,167 @@
+package io.swagger.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Protección de las llamadas a un servicio remoto:
+ * <ul>
+ * <li>Límite de llamadas simultáneas: si no queda hueco en poco tiempo, se rechaza en vez
+ * de dejar el hilo esperando.</li>
+ * <li>Circuito: con las últimas {@code ventana} llamadas, si fallan al menos
+ * {@code umbralFallos} de cada cien se deja de llamar durante {@code espera}. Pasado ese
+ * tiempo una única llamada de prueba decide si se vuelve a cerrar o sigue abierto.</li>
+ * </ul>
+ * Los errores 4xx son respuestas del servicio, no fallos de disponibilidad: no abren el circuito.
+ */
+final class ProteccionLlamadas {
+
+    private static final Logger log = LoggerFactory.getLogger(ProteccionLlamadas.class);
+
+    enum Estado { CERRADO, ABIERTO, SEMIABIERTO }
+
+    private final String nombre;
+    private final Semaphore huecos;
+    private final long esperaHuecoNanos;
+    private final long esperaAbiertoNanos;
+    private final int minimoLlamadas;
+    private final int umbralFallos;
+
+    // Resultado de las últimas llamadas, como anillo; protegido por 'this'
+    private final boolean[] fallidas;
+    private int siguiente;
+    private int registradas;
+    private int fallos;
+    private Estado estado = Estado.CERRADO;
+    private long abiertoHasta;
+
+    private final Counter rechazadasCircuito;
+    private final Counter rechazadasSaturacion;
+
+    ProteccionLlamadas(String nombre, int maximoConcurrentes, Duration esperaHueco, int ventana, int minimoLlamadas,
+            int umbralFallos, Duration esperaAbierto, MeterRegistry registro) {
+        this.nombre = nombre;
+        this.huecos = new Semaphore(maximoConcurrentes);
+        this.esperaHuecoNanos = esperaHueco.toNanos();
+        this.esperaAbiertoNanos = esperaAbierto.toNanos();
+        this.fallidas = new boolean[ventana];
+        this.minimoLlamadas = Math.min(minimoLlamadas, ventana);
+        this.umbralFallos = umbralFallos;
+        this.rechazadasCircuito = registro.counter("contenido.remoto.rechazadas", "servicio", nombre, "motivo", "circuito");
+        this.rechazadasSaturacion = registro.counter("contenido.remoto.rechazadas", "servicio", nombre, "motivo", "saturacion");
+        registro.gauge("contenido.remoto.circuito", Tags.of("servicio", nombre), this,
+                p -> p.getEstado().ordinal());
+    }
+
+    synchronized Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Ejecuta la llamada si el circuito lo permite y hay hueco.
+     *
+     * @throws UsuariosNoDisponibleException si se rechaza sin llamar
+     */
+    <T> T ejecutar(Supplier<T> llamada) {
+        boolean prueba = autorizar();
+        try {
+            if (!huecos.tryAcquire(esperaHuecoNanos, TimeUnit.NANOSECONDS)) {
+                rechazadasSaturacion.increment();
+                if (prueba) {
+                    liberarPrueba();
+                }
+                throw new UsuariosNoDisponibleException("Demasiadas llamadas simultáneas a " + nombre);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (prueba) {
+                liberarPrueba();
+            }
+            throw new UsuariosNoDisponibleException("Interrumpido esperando hueco para llamar a " + nombre);
+        }
+        try {
+            T resultado = llamada.get();
+            registrar(false);
+            return resultado;
+        } catch (HttpClientErrorException ex) {
+            registrar(false);
+            throw ex;
+        } catch (RuntimeException ex) {
+            registrar(true);
+            throw ex;
+        } finally {
+            huecos.release();
+        }
+    }
+
+    // true si esta llamada es la de prueba con el circuito semiabierto
+    private synchronized boolean autorizar() {
+        if (estado == Estado.CERRADO) {
+            return false;
+        }
+        if (estado == Estado.ABIERTO && System.nanoTime() - abiertoHasta >= 0) {
+            estado = Estado.SEMIABIERTO;
+            return true;
+        }
+        rechazadasCircuito.increment();
+        throw new UsuariosNoDisponibleException("Circuito abierto hacia " + nombre);
+    }
+
+    // La prueba no llegó a hacerse: se permite otra en cuanto alguien lo intente
+    private synchronized void liberarPrueba() {
+        if (estado == Estado.SEMIABIERTO) {
+            estado = Estado.ABIERTO;
+            abiertoHasta = System.nanoTime();
+        }
+    }
+
+    private synchronized void registrar(boolean fallida) {
+        if (estado == Estado.SEMIABIERTO) {
+            if (fallida) {
+                abrir();
+            } else {
+                log.info("Circuito hacia {} cerrado de nuevo", nombre);
+                estado = Estado.CERRADO;
+                reiniciar();
+            }
+            return;
+        }
+        if (estado != Estado.CERRADO) {
+            return;
+        }
+        if (registradas == fallidas.length && fallidas[siguiente]) {
+            fallos--;
+        }
+        fallidas[siguiente] = fallida;
+        siguiente = (siguiente + 1) % fallidas.length;
+        registradas = Math.min(registradas + 1, fallidas.length);
+        if (fallida) {
+            fallos++;
+        }
+        if (registradas >= minimoLlamadas && fallos * 100 >= umbralFallos * registradas) {
+            log.warn("Circuito hacia {} abierto: {} fallos en las últimas {} llamadas", nombre, fallos, registradas);
+            abrir();
+        }
+    }
+
+    private void abrir() {
+        estado = Estado.ABIERTO;
+        abiertoHasta = System.nanoTime() + esperaAbiertoNanos;
+        reiniciar();
+    }
+
+    private void reiniciar() {
+        siguiente = 0;
+        registradas = 0;
+        fallos = 0;
+    }
+}
@@ -0,0 +1,376 @@
+package io.swagger.services;
+
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.entity.CancionEntity;
+import io.swagger.model.Artista;
+import io.swagger.model.Contenido;
+import io.swagger.model.Genero;
+import io.swagger.repository.CancionRepository;
+import io.swagger.repository.CancionSpecifications;
+import io.swagger.repository.FiltroElementos;
+import io.swagger.repository.OrdenElementos;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.Tuple;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listados con sólo los campos pedidos en {@code fields=}. Se seleccionan únicamente las
+ * columnas necesarias (sin construir entidades) y cada enriquecimiento se hace sólo si
+ * algún campo lo necesita: los nombres de género con una consulta para todo el resultado
+ * y los artistas con una llamada al servicio de usuarios por artista distinto.
+ * Los nombres de los campos son los de los modelos Elemento, Contenido y Cancion.
+ */
+@Service
+public class ProyeccionService {
+
+    private static final int TAMANIO_BLOQUE_IN = 1000;
+
+    private static final Map<String, Campo> CAMPOS_ELEMENTO = new LinkedHashMap<>();
+    private static final Map<String, Campo> CAMPOS_CONTENIDO = new LinkedHashMap<>();
+    private static final Map<String, Campo> CAMPOS_CANCION = new LinkedHashMap<>();
+
+    static {
+        CAMPOS_ELEMENTO.put("id", new Campo("id", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("nombre", new Campo("nombre", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("fechacrea", new Campo("fechacrea", Tratamiento.FECHA));
+        CAMPOS_ELEMENTO.put("descripcion", new Campo("descripcion", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("urlFoto", new Campo("urlFoto", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("numventas", new Campo("numventas", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("valoracion", new Campo("valoracion", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("precio", new Campo("precio", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("esnovedad", new Campo("esnovedad", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("esalbum", new Campo("esalbum", Tratamiento.VALOR));
+        CAMPOS_ELEMENTO.put("genero", new Campo("genero", Tratamiento.GENERO));
+        CAMPOS_ELEMENTO.put("subgenero", new Campo("subgenero", Tratamiento.GENERO));
+        CAMPOS_ELEMENTO.put("artista", new Campo("artista", Tratamiento.ARTISTA));
+
+        for (String nombre : List.of("id", "nombre", "fechacrea", "descripcion", "numventas", "valoracion",
+                "precio", "esnovedad", "genero", "subgenero")) {
+            CAMPOS_CONTENIDO.put(nombre, CAMPOS_ELEMENTO.get(nombre));
+        }
+        CAMPOS_CONTENIDO.put("fotoamazon", new Campo("urlFoto", Tratamiento.VALOR));
+        CAMPOS_CONTENIDO.put("tipo", new Campo("esalbum", Tratamiento.TIPO));
+
+        CAMPOS_ELEMENTO.forEach((nombre, campo) ->
+                CAMPOS_CANCION.put(nombre, new Campo("elemento." + campo.ruta, campo.tratamiento)));
+        CAMPOS_CANCION.put("idElemento", new Campo("id", Tratamiento.VALOR));
+        CAMPOS_CANCION.put("nombreAudio", new Campo("nombreAudio", Tratamiento.VALOR));
+        CAMPOS_CANCION.put("numRep", new Campo("numRep", Tratamiento.VALOR));
+        CAMPOS_CANCION.put("idAlbum", new Campo("album.id", Tratamiento.VALOR));
+    }
+
+    private final ConsultaElementosService consultaElementosService;
+    private final CancionRepository cancionRepository;
+    private final CargaRelacionados cargaRelacionados;
+    private final DiccionarioGeneros diccionarioGeneros;
+    private final InstantaneaArtistas instantaneaArtistas;
+    private final IndiceTextual indiceTextual;
+    private final LimitesPaginacion limitesPaginacion;
+    private final ObjectMapper objectMapper;
+
+    public ProyeccionService(ConsultaElementosService consultaElementosService, CancionRepository cancionRepository,
+            CargaRelacionados cargaRelacionados, DiccionarioGeneros diccionarioGeneros, InstantaneaArtistas instantaneaArtistas,
+            IndiceTextual indiceTextual, LimitesPaginacion limitesPaginacion, ObjectMapper objectMapper) {
+        this.consultaElementosService = consultaElementosService;
+        this.cancionRepository = cancionRepository;
+        this.cargaRelacionados = cargaRelacionados;
+        this.diccionarioGeneros = diccionarioGeneros;
+        this.instantaneaArtistas = instantaneaArtistas;
+        this.indiceTextual = indiceTextual;
+        this.limitesPaginacion = limitesPaginacion;
+        this.objectMapper = objectMapper;
+    }
+
+    // ------------------------------------------------------------------
+    // Elementos
+    // ------------------------------------------------------------------
+
+    /**
+     * @throws IllegalArgumentException si {@code fields} está vacío o tiene un campo desconocido
+     */
+    public List<Map<String, Object>> elementos(FiltroElementos filtro, String fields) {
+        Seleccion seleccion = new Seleccion(CAMPOS_ELEMENTO, fields);
+        return convertir(seleccion, consultaElementosService.proyectar(filtro, seleccion.rutas));
+    }
+
+    /**
+     * @throws IllegalArgumentException si {@code fields}, el orden o el cursor no son válidos
+     */
+    public Pagina<Map<String, Object>> paginaElementos(FiltroElementos filtro, String fields, String orden,
+            String cursor, Integer limite) {
+        Seleccion seleccion = new Seleccion(CAMPOS_ELEMENTO, fields);
+        Pagina<Tuple> pagina = consultaElementosService.buscarPaginaProyectada(filtro, seleccion.rutas, orden, cursor, limite);
+        return new Pagina<>(convertir(seleccion, pagina.getElementos()), pagina.getSiguiente());
+    }
+
+    // ------------------------------------------------------------------
+    // Contenido unificado: artistas externos seguidos de los elementos internos
+    // ------------------------------------------------------------------
+
+    /**
+     * @throws IllegalArgumentException si {@code fields} está vacío o tiene un campo desconocido
+     */
+    public List<Map<String, Object>> contenidos(FiltroElementos filtro, String fields) {
+        Seleccion seleccion = new Seleccion(CAMPOS_CONTENIDO, fields);
+        List<Map<String, Object>> resultado = artistas(seleccion, filtro);
+        resultado.addAll(convertir(seleccion, consultaElementosService.proyectar(filtro, seleccion.rutas)));
+        return resultado;
+    }
+
+    /**
+     * Como en el contenido unificado paginado, primero van los artistas y después los elementos internos.
+     *
+     * @throws IllegalArgumentException si {@code fields}, el orden o el cursor no son válidos
+     */
+    public Pagina<Map<String, Object>> paginaContenidos(FiltroElementos filtro, String fields, String orden,
+            String cursor, Integer limite) {
+        Seleccion seleccion = new Seleccion(CAMPOS_CONTENIDO, fields);
+        OrdenElementos.desde(orden);
+        return PaginaContenidos.paginar(instantaneaArtistas.artistas(filtro), cursor,
+                limitesPaginacion.normalizar(limite), artistas -> artistas(seleccion, artistas),
+                (desde, tamanio) -> {
+                    Pagina<Tuple> pagina = consultaElementosService.buscarPaginaProyectada(
+                            filtro, seleccion.rutas, orden, desde, tamanio);
+                    return new Pagina<>(convertir(seleccion, pagina.getElementos()), pagina.getSiguiente());
+                });
+    }
+
+    private List<Map<String, Object>> artistas(Seleccion seleccion, FiltroElementos filtro) {
+        return artistas(seleccion, instantaneaArtistas.artistas(filtro));
+    }
+
+    // Los artistas llegan ya convertidos a Contenido: sólo se recortan sus campos
+    private List<Map<String, Object>> artistas(Seleccion seleccion, List<Contenido> artistas) {
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (Contenido artista : artistas) {
+            Map<String, Object> completo = objectMapper.convertValue(artista, new TypeReference<Map<String, Object>>() { });
+            Map<String, Object> recortado = new LinkedHashMap<>();
+            for (String campo : seleccion.pedidos) {
+                recortado.put(campo, completo.get(campo));
+            }
+            resultado.add(recortado);
+        }
+        return resultado;
+    }
+
+    // ------------------------------------------------------------------
+    // Canciones
+    // ------------------------------------------------------------------
+
+    /**
+     * Canciones ordenadas por ID, opcionalmente de un álbum y con todas las palabras de {@code nombre}.
+     *
+     * @throws IllegalArgumentException si {@code fields} está vacío o tiene un campo desconocido
+     * @throws IllegalStateException si se filtra por nombre y el índice de búsqueda aún no está cargado
+     */
+    public List<Map<String, Object>> canciones(Integer idAlbum, String nombre, String fields) {
+        Seleccion seleccion = new Seleccion(CAMPOS_CANCION, fields);
+        return convertir(seleccion, filasCanciones(idAlbum, nombre, seleccion.rutas, Integer.MIN_VALUE, 0));
+    }
+
+    /**
+     * @throws IllegalArgumentException si {@code fields} o el cursor no son válidos
+     * @throws IllegalStateException si se filtra por nombre y el índice de búsqueda aún no está cargado
+     */
+    public Pagina<Map<String, Object>> paginaCanciones(Integer idAlbum, String nombre, String fields, String cursor,
+            Integer limite) {
+        Seleccion seleccion = new Seleccion(CAMPOS_CANCION, fields);
+        int tamanio = limitesPaginacion.normalizar(limite);
+        int despuesDe = Integer.MIN_VALUE;
+        if (cursor != null) {
+            CursorPagina anterior = CursorPagina.decodificar(cursor);
+            if (!"id".equals(anterior.getOrden())) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            despuesDe = anterior.getId();
+        }
+
+        // El id va detrás de los campos pedidos para construir el cursor
+        List<String> columnas = new ArrayList<>(seleccion.rutas);
+        int posicionId = columnas.size();
+        columnas.add("id");
+        List<Tuple> filas = filasCanciones(idAlbum, nombre, columnas, despuesDe, tamanio + 1);
+        Pagina<Tuple> pagina = Pagina.desdeFilas(filas, tamanio,
+                ultima -> new CursorPagina("id", null, (Integer) ultima.get(posicionId)).codificar());
+        return new Pagina<>(convertir(seleccion, pagina.getElementos()), pagina.getSiguiente());
+    }
+
+    // Con nombre, los ids salen ordenados del índice textual y se consultan por bloques
+    // hasta reunir las filas pedidas; maximo 0 significa sin límite
+    private List<Tuple> filasCanciones(Integer idAlbum, String nombre, List<String> rutas, int despuesDe, int maximo) {
+        Specification<CancionEntity> base = CancionSpecifications.deAlbum(idAlbum)
+                .and(CancionSpecifications.despuesDe(despuesDe));
+        if (nombre == null) {
+            return cancionRepository.proyectar(base, rutas, Sort.by("id"), maximo);
+        }
+        if (!indiceTextual.isListo()) {
+            throw new IllegalStateException("El índice de búsqueda aún no está disponible");
+        }
+        int[] ids = indiceTextual.buscarPorNombre(nombre);
+        List<Tuple> filas = new ArrayList<>();
+        List<Integer> bloque = new ArrayList<>(TAMANIO_BLOQUE_IN);
+        for (int i = 0; i < ids.length && !completo(filas, maximo); i++) {
+            if (ids[i] <= despuesDe) {
+                continue;
+            }
+            bloque.add(ids[i]);
+            if (bloque.size() == TAMANIO_BLOQUE_IN) {
+                filas.addAll(proyectarBloque(base, bloque, rutas, maximo, filas.size()));
+                bloque.clear();
+            }
+        }
+        if (!bloque.isEmpty() && !completo(filas, maximo)) {
+            filas.addAll(proyectarBloque(base, bloque, rutas, maximo, filas.size()));
+        }
+        return filas;
+    }
+
+    private List<Tuple> proyectarBloque(Specification<CancionEntity> base, List<Integer> bloque, List<String> rutas,
+            int maximo, int yaLeidas) {
+        Specification<CancionEntity> spec = base.and(CancionSpecifications.conIds(new ArrayList<>(bloque)));
+        return cancionRepository.proyectar(spec, rutas, Sort.by("id"), maximo == 0 ? 0 : maximo - yaLeidas);
+    }
+
+    private static boolean completo(List<Tuple> filas, int maximo) {
+        return maximo != 0 && filas.size() >= maximo;
+    }
+
+    // ------------------------------------------------------------------
+    // Conversión de las tuplas
+    // ------------------------------------------------------------------
+
+    private List<Map<String, Object>> convertir(Seleccion seleccion, List<Tuple> filas) {
+        Map<Integer, Genero> generos = cargarGeneros(seleccion, filas);
+        Map<Integer, Artista> artistas = cargarArtistas(seleccion, filas);
+
+        List<Map<String, Object>> resultado = new ArrayList<>(filas.size());
+        for (Tuple fila : filas) {
+            Map<String, Object> campos = new LinkedHashMap<>();
+            for (int i = 0; i < seleccion.pedidos.size(); i++) {
+                Object valor = fila.get(seleccion.posiciones[i]);
+                campos.put(seleccion.pedidos.get(i), transformar(seleccion.campos.get(i).tratamiento, valor, generos, artistas));
+            }
+            resultado.add(campos);
+        }
+        return resultado;
+    }
+
+    private Object transformar(Tratamiento tratamiento, Object valor, Map<Integer, Genero> generos,
+            Map<Integer, Artista> artistas) {
+        switch (tratamiento) {
+            case FECHA:
+                return valor == null ? null : fechaModelo((LocalDateTime) valor);
+            case GENERO:
+                // Igual que convertToModel: sin género se devuelve un Genero vacío
+                return valor == null ? diccionarioGeneros.genero(null) : generos.get(valor);
+            case ARTISTA:
+                return valor == null ? null : artistas.get(valor);
+            case TIPO:
+                return Boolean.TRUE.equals(valor) ? 1 : 2;
+            default:
+                return valor;
+        }
+    }
+
+    // Los géneros del resultado, sacados del diccionario en memoria
+    private Map<Integer, Genero> cargarGeneros(Seleccion seleccion, List<Tuple> filas) {
+        Map<Integer, Genero> generos = new HashMap<>();
+        for (Integer id : idsDe(seleccion, filas, Tratamiento.GENERO)) {
+            generos.put(id, diccionarioGeneros.genero(id));
+        }
+        return generos;
+    }
+
+    // Una llamada al servicio de usuarios por artista distinto, no por fila
+    private Map<Integer, Artista> cargarArtistas(Seleccion seleccion, List<Tuple> filas) {
+        return cargaRelacionados.artistas(idsDe(seleccion, filas, Tratamiento.ARTISTA));
+    }
+
+    private static Set<Integer> idsDe(Seleccion seleccion, List<Tuple> filas, Tratamiento tratamiento) {
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < seleccion.campos.size(); i++) {
+            if (seleccion.campos.get(i).tratamiento != tratamiento) {
+                continue;
+            }
+            for (Tuple fila : filas) {
+                Object valor = fila.get(seleccion.posiciones[i]);
+                if (valor != null) {
+                    ids.add((Integer) valor);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static org.threeten.bp.OffsetDateTime fechaModelo(LocalDateTime fecha) {
+        return org.threeten.bp.LocalDateTime.of(fecha.getYear(), fecha.getMonthValue(), fecha.getDayOfMonth(),
+                fecha.getHour(), fecha.getMinute(), fecha.getSecond())
+                .atOffset(org.threeten.bp.ZoneOffset.UTC);
+    }
+
+    // ------------------------------------------------------------------
+
+    /** Cómo se pasa la columna leída al valor del campo en la respuesta. */
+    private enum Tratamiento { VALOR, FECHA, GENERO, ARTISTA, TIPO }
+
+    private static final class Campo {
+
+        final String ruta;
+        final Tratamiento tratamiento;
+
+        Campo(String ruta, Tratamiento tratamiento) {
+            this.ruta = ruta;
+            this.tratamiento = tratamiento;
+        }
+    }
+
+    /** Campos pedidos, en orden y sin repetir, y las columnas (también sin repetir) que hay que leer. */
+    private static final class Seleccion {
+
+        final List<String> pedidos;
+        final List<Campo> campos = new ArrayList<>();
+        final List<String> rutas = new ArrayList<>();
+        final int[] posiciones;
+
+        Seleccion(Map<String, Campo> disponibles, String fields) {
+            Set<String> nombres = new LinkedHashSet<>();
+            for (String nombre : fields.split(",")) {
+                if (!nombre.isBlank()) {
+                    nombres.add(nombre.trim());
+                }
+            }
+            if (nombres.isEmpty()) {
+                throw new IllegalArgumentException("fields no indica ningún campo");
+            }
+            pedidos = new ArrayList<>(nombres);
+            posiciones = new int[pedidos.size()];
+            for (int i = 0; i < pedidos.size(); i++) {
+                Campo campo = disponibles.get(pedidos.get(i));
+                if (campo == null) {
+                    throw new IllegalArgumentException("Campo no soportado: " + pedidos.get(i));
+                }
+                campos.add(campo);
+                int posicion = rutas.indexOf(campo.ruta);
+                if (posicion < 0) {
+                    posicion = rutas.size();
+                    rutas.add(campo.ruta);
+                }
+                posiciones[i] = posicion;
+            }
+        }
+    }
+}
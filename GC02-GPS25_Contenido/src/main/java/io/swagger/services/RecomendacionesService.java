@@ -0,0 +1,246 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+import io.swagger.model.Elemento;
+import io.swagger.repository.UsuarioValoraElemRepository;
+import io.swagger.repository.ValoracionGenero;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recomendaciones personalizadas: elementos que el usuario no ha valorado, ordenados por su
+ * afinidad con el género y subgénero del elemento y por la popularidad global de éste
+ * (ventas y valoración media).
+ * <p>
+ * La afinidad de cada usuario se calcula con sus filas de USUARIO_VALORA_ELEM y se guarda
+ * en una caché acotada como unos pocos arrays de primitivos; cuando el usuario valora algo
+ * se descarta y se vuelve a calcular en su siguiente petición. Los candidatos salen de los
+ * rankings por género de {@link IndiceRankings}, que ya están ordenados: de cada género afín
+ * sólo se leen los primeros puestos, así que el coste no depende del tamaño del catálogo.
+ */
+@Service
+public class RecomendacionesService {
+
+    // Peso del subgénero frente al género en la afinidad de un elemento
+    private static final float PESO_SUBGENERO = 0.5f;
+
+    private final UsuarioValoraElemRepository usuarioValoraElemRepository;
+    private final IndiceRankings indiceRankings;
+    private final ConsultaElementosService consultaElementosService;
+    private final ElementoService elementoService;
+    private final LoadingCache<Integer, Afinidad> afinidades;
+
+    @Value("${contenido.recomendados.generos-candidatos:5}")
+    private int generosCandidatos;
+
+    @Value("${contenido.recomendados.candidatos-por-resultado:4}")
+    private int candidatosPorResultado;
+
+    public RecomendacionesService(UsuarioValoraElemRepository usuarioValoraElemRepository,
+            IndiceRankings indiceRankings, ConsultaElementosService consultaElementosService,
+            ElementoService elementoService, MeterRegistry registro,
+            @Value("${contenido.recomendados.usuarios-cacheados:10000}") long usuariosCacheados,
+            @Value("${contenido.recomendados.ttl-minutos:60}") long ttlMinutos) {
+        this.usuarioValoraElemRepository = usuarioValoraElemRepository;
+        this.indiceRankings = indiceRankings;
+        this.consultaElementosService = consultaElementosService;
+        this.elementoService = elementoService;
+        // La caducidad recoge los cambios de género de elementos ya valorados, que no invalidan
+        this.afinidades = CaffeineCacheMetrics.monitor(registro, Caffeine.newBuilder()
+                .maximumSize(usuariosCacheados)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .recordStats()
+                .build(this::calcularAfinidad), "recomendados.afinidad");
+    }
+
+    public boolean isListo() {
+        return indiceRankings.isListo();
+    }
+
+    /** Hasta {@code limite} elementos recomendados para el usuario, del más al menos recomendable. */
+    public List<Elemento> recomendados(int idUser, int limite) {
+        Afinidad afinidad = afinidades.get(idUser);
+        int porLista = limite * candidatosPorResultado + afinidad.vistos.length;
+
+        Set<Integer> candidatos = new LinkedHashSet<>();
+        if (afinidad.generos.length == 0) {
+            // Sin valoraciones positivas todavía: sólo cuenta la popularidad
+            anadirCandidatos(candidatos, null, porLista, afinidad);
+        } else {
+            for (int i = 0; i < afinidad.generos.length && i < generosCandidatos; i++) {
+                anadirCandidatos(candidatos, afinidad.generos[i], porLista, afinidad);
+            }
+        }
+        if (candidatos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long maximoVentas = indiceRankings.primeros(CriterioRanking.VENTAS, null, 1).stream()
+                .mapToLong(IndiceRankings.Puesto::getValor).findFirst().orElse(0);
+        double escalaVentas = Math.log1p(Math.max(1, maximoVentas));
+
+        int[] ids = candidatos.stream().mapToInt(Integer::intValue).toArray();
+        List<Puntuado> puntuados = new ArrayList<>(ids.length);
+        for (ElementoEntity e : consultaElementosService.cargarPorIds(ids)) {
+            double popularidad = 0.5 * Math.log1p(Math.max(0, valor(e.getNumventas()))) / escalaVentas
+                    + 0.5 * valor(e.getValoracion()) / 5.0;
+            double afinidadElemento = afinidad.generos.length == 0
+                    ? 1.0
+                    : afinidad.deGenero(e.getGenero()) + PESO_SUBGENERO * afinidad.deSubgenero(e.getSubgenero());
+            if (afinidadElemento > 0) {
+                puntuados.add(new Puntuado(e, afinidadElemento * popularidad));
+            }
+        }
+        // De mayor a menor puntuación; a igual puntuación, por id para que el orden sea estable
+        puntuados.sort((a, b) -> a.puntuacion != b.puntuacion
+                ? Double.compare(b.puntuacion, a.puntuacion)
+                : Integer.compare(a.elemento.getId(), b.elemento.getId()));
+
+        List<ElementoEntity> elegidos = new ArrayList<>(Math.min(limite, puntuados.size()));
+        for (int i = 0; i < puntuados.size() && i < limite; i++) {
+            elegidos.add(puntuados.get(i).elemento);
+        }
+        return elementoService.convertirLote(elegidos);
+    }
+
+    @EventListener
+    public void onCambioValoracion(CambioValoracionEvent cambio) {
+        afinidades.invalidate(cambio.getIdUser());
+    }
+
+    // Los más vendidos y los mejor valorados del género, sin los que el usuario ya ha valorado
+    private void anadirCandidatos(Set<Integer> candidatos, Integer genero, int porLista, Afinidad afinidad) {
+        for (CriterioRanking criterio : new CriterioRanking[] { CriterioRanking.VENTAS, CriterioRanking.VALORACION }) {
+            for (IndiceRankings.Puesto puesto : indiceRankings.primeros(criterio, genero, porLista)) {
+                if (Arrays.binarySearch(afinidad.vistos, puesto.getId()) < 0) {
+                    candidatos.add(puesto.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Cada valoración suma (valoración - 3) al género y al subgénero del elemento: de -2 a +2
+     * en la escala de 1 a 5. Sólo se guardan las afinidades positivas, escaladas para que la
+     * mayor valga 1.
+     */
+    private Afinidad calcularAfinidad(Integer idUser) {
+        List<ValoracionGenero> valoraciones = usuarioValoraElemRepository.findGenerosValorados(idUser);
+        Map<Integer, Float> generos = new HashMap<>();
+        Map<Integer, Float> subgeneros = new HashMap<>();
+        int[] vistos = new int[valoraciones.size()];
+        int n = 0;
+        for (ValoracionGenero v : valoraciones) {
+            vistos[n++] = v.getIdElem();
+            float peso = v.getValoracion() - 3f;
+            if (v.getGenero() != null) {
+                generos.merge(v.getGenero(), peso, Float::sum);
+            }
+            if (v.getSubgenero() != null) {
+                subgeneros.merge(v.getSubgenero(), peso, Float::sum);
+            }
+        }
+        Arrays.sort(vistos);
+        Vector g = Vector.desde(generos);
+        Vector s = Vector.desde(subgeneros);
+        return new Afinidad(g.ids, g.pesos, s.ids, s.pesos, vistos);
+    }
+
+    private static int valor(Integer n) {
+        return n == null ? 0 : n;
+    }
+
+    /** Afinidad de un usuario: géneros de mayor a menor peso, subgéneros y elementos ya valorados. */
+    private static final class Afinidad {
+
+        final int[] generos;
+        final float[] pesosGenero;
+        final int[] subgeneros;
+        final float[] pesosSubgenero;
+        final int[] vistos;
+
+        Afinidad(int[] generos, float[] pesosGenero, int[] subgeneros, float[] pesosSubgenero, int[] vistos) {
+            this.generos = generos;
+            this.pesosGenero = pesosGenero;
+            this.subgeneros = subgeneros;
+            this.pesosSubgenero = pesosSubgenero;
+            this.vistos = vistos;
+        }
+
+        float deGenero(Integer genero) {
+            return peso(generos, pesosGenero, genero);
+        }
+
+        float deSubgenero(Integer subgenero) {
+            return peso(subgeneros, pesosSubgenero, subgenero);
+        }
+
+        // Son muy pocos géneros por usuario: una búsqueda lineal basta
+        private static float peso(int[] ids, float[] pesos, Integer id) {
+            if (id != null) {
+                for (int i = 0; i < ids.length; i++) {
+                    if (ids[i] == id) {
+                        return pesos[i];
+                    }
+                }
+            }
+            return 0f;
+        }
+    }
+
+    /** Pesos positivos ordenados de mayor a menor y normalizados a [0, 1]. */
+    private static final class Vector {
+
+        final int[] ids;
+        final float[] pesos;
+
+        private Vector(int[] ids, float[] pesos) {
+            this.ids = ids;
+            this.pesos = pesos;
+        }
+
+        static Vector desde(Map<Integer, Float> acumulados) {
+            List<Map.Entry<Integer, Float>> positivos = new ArrayList<>();
+            for (Map.Entry<Integer, Float> entrada : acumulados.entrySet()) {
+                if (entrada.getValue() > 0) {
+                    positivos.add(entrada);
+                }
+            }
+            positivos.sort((a, b) -> Float.compare(b.getValue(), a.getValue()));
+            int[] ids = new int[positivos.size()];
+            float[] pesos = new float[positivos.size()];
+            float maximo = positivos.isEmpty() ? 1f : positivos.get(0).getValue();
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = positivos.get(i).getKey();
+                pesos[i] = positivos.get(i).getValue() / maximo;
+            }
+            return new Vector(ids, pesos);
+        }
+    }
+
+    private static final class Puntuado {
+
+        final ElementoEntity elemento;
+        final double puntuacion;
+
+        Puntuado(ElementoEntity elemento, double puntuacion) {
+            this.elemento = elemento;
+            this.puntuacion = puntuacion;
+        }
+    }
+}
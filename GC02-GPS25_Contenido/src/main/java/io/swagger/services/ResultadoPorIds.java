@@ -0,0 +1,22 @@
+package io.swagger.services;
+
+import java.util.List;
+
+/**
+ * Resultado de una consulta por lista de ids: los encontrados en el orden pedido
+ * y los ids que no existen.
+ */
+public class ResultadoPorIds<T> {
+
+    private final List<T> encontrados;
+    private final List<Integer> noEncontrados;
+
+    public ResultadoPorIds(List<T> encontrados, List<Integer> noEncontrados) {
+        this.encontrados = encontrados;
+        this.noEncontrados = noEncontrados;
+    }
+
+    public List<T> getEncontrados() { return encontrados; }
+
+    public List<Integer> getNoEncontrados() { return noEncontrados; }
+}
@@ -6,8 +6,12 @@ import java.util.Optional;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import io.swagger.configuration.LimitesPaginacion;
+
 import io.swagger.entity.UsuarioValoraElemEntity;
 import io.swagger.entity.UsuarioValoraElemId;
 import io.swagger.repository.UsuarioValoraElemRepository;
@@ -25,10 +29,15 @@ public class UsuarioValoraElemService {
 
     private final UsuarioValoraElemRepository usuarioValoraElemRepository;
     private final ElementoRepository elementoRepository;
+    private final LimitesPaginacion limitesPaginacion;
+    private final ApplicationEventPublisher eventos;
 
-    public UsuarioValoraElemService(UsuarioValoraElemRepository usuarioValoraElemRepository, ElementoRepository elementoRepository) {
+    public UsuarioValoraElemService(UsuarioValoraElemRepository usuarioValoraElemRepository, ElementoRepository elementoRepository,
+            LimitesPaginacion limitesPaginacion, ApplicationEventPublisher eventos) {
         this.usuarioValoraElemRepository = usuarioValoraElemRepository;
         this.elementoRepository = elementoRepository;
+        this.limitesPaginacion = limitesPaginacion;
+        this.eventos = eventos;
     }
 
     // GET all
@@ -36,6 +45,26 @@ public class UsuarioValoraElemService {
         return usuarioValoraElemRepository.findAll();
     }
 
+    // GET paginado por (idElem, idUser)
+    public Pagina<UsuarioValoraElemEntity> getPagina(String cursor, Integer limite) {
+        int tamanio = limitesPaginacion.normalizar(limite);
+        int idElem = Integer.MIN_VALUE;
+        int idUser = Integer.MIN_VALUE;
+        if (cursor != null) {
+            CursorPagina anterior = CursorPagina.decodificar(cursor);
+            if (!"elemento".equals(anterior.getOrden()) || anterior.getValor() == null) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            idElem = Integer.parseInt(anterior.getValor());
+            idUser = anterior.getId();
+        }
+
+        List<UsuarioValoraElemEntity> filas = usuarioValoraElemRepository.findPaginaDespuesDe(
+                idElem, idUser, PageRequest.of(0, tamanio + 1));
+        return Pagina.desdeFilas(filas, tamanio, ultima -> new CursorPagina("elemento",
+                String.valueOf(ultima.getId().getIdElem()), ultima.getId().getIdUser()).codificar());
+    }
+
     // GET espfecífico
     public Optional<UsuarioValoraElemEntity> getById(Integer idUser, Integer idElem) {
         UsuarioValoraElemId pk = new UsuarioValoraElemId(idUser, idElem);
@@ -50,6 +79,8 @@ public class UsuarioValoraElemService {
     public UsuarioValoraElemEntity create(UsuarioValoraElemEntity uve) {
         // 1. Guardar la valoración
         UsuarioValoraElemEntity saved = usuarioValoraElemRepository.save(uve);
+        eventos.publishEvent(new CambioValoracionEvent(uve.getId().getIdUser(), uve.getId().getIdElem(),
+                uve.getValoracion()));
        
         // 2. Conseguir todas las valoraciones del elemento
         List<UsuarioValoraElemEntity> valoraciones =
@@ -68,6 +99,7 @@ public class UsuarioValoraElemService {
         int mediaEntero = (int) Math.round(media);
         elemento.setValoracion(mediaEntero);
         elementoRepository.save(elemento);
+        eventos.publishEvent(CambioElementoEvent.guardado(elemento));
 
         return saved;
     }
@@ -75,6 +107,16 @@ public class UsuarioValoraElemService {
     // DELETE
     public void delete(UsuarioValoraElemId pk) {
         usuarioValoraElemRepository.deleteById(pk);
+        eventos.publishEvent(new CambioValoracionEvent(pk.getIdUser(), pk.getIdElem(), null));
+    }
+
+    public UsuarioValoraElem convertToModel(UsuarioValoraElemEntity entity) {
+        UsuarioValoraElem uve = convertToInputModel(entity);
+        uve.setComentario(entity.getComentario());
+        if (entity.getFechaComentario() != null) {
+            uve.setFechaComentario(entity.getFechaComentario().toString());
+        }
+        return uve;
     }
 
     public UsuarioValoraElem convertToInputModel(UsuarioValoraElemEntity entity) {
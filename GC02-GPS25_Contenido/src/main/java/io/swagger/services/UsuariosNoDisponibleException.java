@@ -0,0 +1,12 @@
+package io.swagger.services;
+
+/**
+ * El servicio de usuarios no se ha llamado porque se considera caído (circuito abierto)
+ * o porque ya hay demasiadas llamadas en curso. Se responde con 503.
+ */
+public class UsuariosNoDisponibleException extends RuntimeException {
+
+    public UsuariosNoDisponibleException(String message) {
+        super(message);
+    }
+}
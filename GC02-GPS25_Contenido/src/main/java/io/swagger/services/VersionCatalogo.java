@@ -0,0 +1,56 @@
+package io.swagger.services;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador monótono que avanza con cada escritura en elementos o géneros.
+ * Dos lecturas con la misma versión ven el mismo catálogo, así que sirve como
+ * clave de invalidación para todo lo que se deriva de él.
+ * <p>
+ * Además guarda la versión de cada elemento modificado desde el arranque (incluidas las
+ * reproducciones de las canciones, que no cambian los listados y por eso no mueven el
+ * contador global) y la de los géneros, cuyos nombres aparecen en cada elemento.
+ */
+@Service
+public class VersionCatalogo {
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong versionGeneros = new AtomicLong();
+    private final AtomicLong secuenciaElementos = new AtomicLong();
+    private final Map<Integer, Long> versionesElemento = new ConcurrentHashMap<>();
+
+    public long actual() {
+        return version.get();
+    }
+
+    public long generos() {
+        return versionGeneros.get();
+    }
+
+    /** Versión del elemento: 0 si no ha cambiado desde el arranque. */
+    public long deElemento(int id) {
+        return versionesElemento.getOrDefault(id, 0L);
+    }
+
+    @EventListener
+    public void onCambioElemento(CambioElementoEvent cambio) {
+        versionesElemento.put(cambio.getId(), secuenciaElementos.incrementAndGet());
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void onCambioReproducciones(CambioReproduccionesEvent cambio) {
+        versionesElemento.put(cambio.getId(), secuenciaElementos.incrementAndGet());
+    }
+
+    @EventListener
+    public void onCambioGenero(CambioGeneroEvent cambio) {
+        versionGeneros.incrementAndGet();
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,181 @@
+package io.swagger.repository;
+
+import io.swagger.entity.ElementoEntity;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El predicado de {@link ElementoSpecifications#desdeFiltro} ejecutado contra H2 debe dar
+ * las mismas filas que comprobar cada filtro en Java sobre todas las entidades. Los precios
+ * y las fechas de los filtros coinciden a menudo con los de alguna fila, para probar que
+ * los dos extremos están incluidos, y las fechas caen en los bordes del día.
+ */
+class ElementoSpecificationsTest {
+
+    private static final float[] PRECIOS = { 0.5f, 0.99f, 1.5f, 2.05f, 9.99f, 10f, 19.99f };
+    private static final LocalDate PRIMER_DIA = LocalDate.of(2024, 2, 27);
+    private static final int DIAS = 6;
+    private static final LocalTime[] HORAS = { LocalTime.MIDNIGHT, LocalTime.NOON, LocalTime.of(23, 59, 59, 999_000_000) };
+
+    private static LocalContainerEntityManagerFactoryBean fabrica;
+    private static EntityManager entityManager;
+    private static List<ElementoEntity> guardados = new ArrayList<>();
+
+    @BeforeAll
+    static void crearTabla() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:especificaciones;DB_CLOSE_DELAY=-1");
+        fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setPackagesToScan("io.swagger.entity");
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        fabrica.afterPropertiesSet();
+        entityManager = fabrica.getObject().createEntityManager();
+
+        Random aleatorio = new Random(1);
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < 400; i++) {
+            ElementoEntity e = new ElementoEntity();
+            e.setNombre("Elemento " + i);
+            e.setGenero(aleatorio.nextInt(6) == 0 ? null : 1 + aleatorio.nextInt(3));
+            e.setSubgenero(aleatorio.nextInt(4) == 0 ? null : 1 + aleatorio.nextInt(4));
+            e.setArtista(aleatorio.nextInt(6) == 0 ? null : 1 + aleatorio.nextInt(5));
+            e.setEsalbum(aleatorio.nextInt(8) == 0 ? null : aleatorio.nextBoolean());
+            e.setEsnovedad(aleatorio.nextInt(8) == 0 ? null : aleatorio.nextBoolean());
+            e.setPrecio(aleatorio.nextInt(8) == 0 ? null : PRECIOS[aleatorio.nextInt(PRECIOS.length)]);
+            entityManager.persist(e);
+            // FECHACREA la pone @PrePersist y no se actualiza desde la entidad
+            LocalDateTime fecha = aleatorio.nextInt(8) == 0 ? null
+                    : PRIMER_DIA.plusDays(aleatorio.nextInt(DIAS)).atTime(HORAS[aleatorio.nextInt(HORAS.length)]);
+            entityManager.flush();
+            entityManager.createNativeQuery("update ELEMENTOS set FECHACREA = ?1 where ID = ?2")
+                    .setParameter(1, fecha).setParameter(2, e.getId()).executeUpdate();
+            e.setFechacrea(fecha);
+            guardados.add(e);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @AfterAll
+    static void cerrar() {
+        entityManager.close();
+        fabrica.destroy();
+    }
+
+    @Test
+    void coincideConFiltrarEnJava() {
+        Random aleatorio = new Random(2);
+        for (int i = 0; i < 300; i++) {
+            FiltroElementos filtro = filtroAleatorio(aleatorio);
+            assertThat(consultar(filtro)).as(filtro.toString()).containsExactlyElementsOf(filtrar(filtro));
+        }
+    }
+
+    @Test
+    void losLimitesDePrecioYFechaSeIncluyen() {
+        FiltroElementos precio = new FiltroElementos(null, null, 1.5f, 1.5f, null, null);
+        assertThat(consultar(precio)).isNotEmpty().containsExactlyElementsOf(filtrar(precio));
+
+        // Todo el día: de las 00:00 a las 23:59:59.999
+        org.threeten.bp.LocalDate dia = org.threeten.bp.LocalDate.of(2024, 2, 29);
+        FiltroElementos fecha = new FiltroElementos(null, null, null, null, dia, dia);
+        List<Integer> delDia = consultar(fecha);
+        assertThat(delDia).containsExactlyElementsOf(filtrar(fecha));
+        assertThat(guardados.stream().filter(e -> delDia.contains(e.getId())).map(e -> e.getFechacrea().toLocalTime()))
+                .contains(HORAS);
+    }
+
+    @Test
+    void sinFiltrosDevuelveTodo() {
+        assertThat(consultar(FiltroElementos.SIN_FILTRO)).hasSize(guardados.size());
+    }
+
+    // ------------------------------------------------------------------
+
+    private static List<Integer> consultar(FiltroElementos filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ElementoEntity> consulta = cb.createQuery(ElementoEntity.class);
+        Root<ElementoEntity> root = consulta.from(ElementoEntity.class);
+        consulta.where(ElementoSpecifications.desdeFiltro(filtro).toPredicate(root, consulta, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(consulta).getResultList().stream()
+                .map(ElementoEntity::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Referencia: cada filtro presente comprobado sobre la entidad; un valor NULL no cumple ninguno
+    private static List<Integer> filtrar(FiltroElementos filtro) {
+        List<Predicate<ElementoEntity>> condiciones = new ArrayList<>();
+        if (filtro.getGenero() != null) condiciones.add(e -> filtro.getGenero().equals(e.getGenero()));
+        if (filtro.getSubgenero() != null) condiciones.add(e -> filtro.getSubgenero().equals(e.getSubgenero()));
+        if (filtro.getArtista() != null) condiciones.add(e -> filtro.getArtista().equals(e.getArtista()));
+        if (filtro.getEsalbum() != null) condiciones.add(e -> filtro.getEsalbum().equals(e.getEsalbum()));
+        if (filtro.getEsnovedad() != null) condiciones.add(e -> filtro.getEsnovedad().equals(e.getEsnovedad()));
+        if (filtro.getPreciomin() != null) {
+            condiciones.add(e -> e.getPrecio() != null && e.getPrecio() >= filtro.getPreciomin());
+        }
+        if (filtro.getPreciomax() != null) {
+            condiciones.add(e -> e.getPrecio() != null && e.getPrecio() <= filtro.getPreciomax());
+        }
+        if (filtro.getFechamin() != null) {
+            condiciones.add(e -> e.getFechacrea() != null && !e.getFechacrea().toLocalDate().isBefore(filtro.getFechamin()));
+        }
+        if (filtro.getFechamax() != null) {
+            condiciones.add(e -> e.getFechacrea() != null && !e.getFechacrea().toLocalDate().isAfter(filtro.getFechamax()));
+        }
+        return guardados.stream()
+                .filter(e -> condiciones.stream().allMatch(c -> c.test(e)))
+                .map(ElementoEntity::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Cada filtro presente con probabilidad 1/3; precios y fechas casi siempre de los que hay
+    private static FiltroElementos filtroAleatorio(Random aleatorio) {
+        Integer genero = aleatorio.nextInt(3) == 0 ? 1 + aleatorio.nextInt(3) : null;
+        Integer subgenero = aleatorio.nextInt(3) == 0 ? 1 + aleatorio.nextInt(4) : null;
+        Integer artista = aleatorio.nextInt(4) == 0 ? 1 + aleatorio.nextInt(5) : null;
+        Float preciomin = aleatorio.nextInt(3) == 0 ? precioAleatorio(aleatorio) : null;
+        Float preciomax = aleatorio.nextInt(3) == 0 ? precioAleatorio(aleatorio) : null;
+        org.threeten.bp.LocalDate fechamin = aleatorio.nextInt(3) == 0 ? fechaAleatoria(aleatorio) : null;
+        org.threeten.bp.LocalDate fechamax = aleatorio.nextInt(3) == 0 ? fechaAleatoria(aleatorio) : null;
+        Boolean esalbum = aleatorio.nextInt(3) == 0 ? aleatorio.nextBoolean() : null;
+        Boolean esnovedad = aleatorio.nextInt(3) == 0 ? aleatorio.nextBoolean() : null;
+        return new FiltroElementos(genero, subgenero, preciomin, preciomax, fechamin, fechamax, artista)
+                .conTipo(esalbum, esnovedad);
+    }
+
+    private static float precioAleatorio(Random aleatorio) {
+        return aleatorio.nextInt(5) == 0 ? aleatorio.nextInt(2100) / 100f : PRECIOS[aleatorio.nextInt(PRECIOS.length)];
+    }
+
+    // Desde el día anterior al primero hasta el siguiente al último
+    private static org.threeten.bp.LocalDate fechaAleatoria(Random aleatorio) {
+        LocalDate dia = PRIMER_DIA.plusDays(aleatorio.nextInt(DIAS + 2) - 1);
+        return org.threeten.bp.LocalDate.of(dia.getYear(), dia.getMonthValue(), dia.getDayOfMonth());
+    }
+}
@@ -0,0 +1,265 @@
+package io.swagger.services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.swagger.configuration.ClienteUsuariosConfig;
+import io.swagger.model.Artista;
+import io.swagger.model.Contenido;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cliente del servicio de usuarios contra un servidor HTTP local que hace de servicio de
+ * usuarios, con el mismo cliente HTTP (pool y tiempos máximos) que en la aplicación.
+ */
+class ArtistaClientTest {
+
+    private static final String LISTADO = "[" + artista(6) + "," + artista(7) + "," + artista(8) + "]";
+
+    private HttpServer servidor;
+    private ExecutorService hilosServidor;
+    private CloseableHttpClient clienteHttp;
+    private String urlBase;
+
+    // Respuestas por ruta; las que no están responden 404
+    private final Map<String, Respuesta> respuestas = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> recibidas = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void arrancar() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        hilosServidor = Executors.newCachedThreadPool();
+        servidor.setExecutor(hilosServidor);
+        servidor.createContext("/api/usuarios", this::atender);
+        servidor.start();
+        urlBase = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/api/usuarios";
+
+        respuestas.put("/artistas", new Respuesta(200, LISTADO, 0));
+        for (int id = 6; id <= 8; id++) {
+            respuestas.put("/artistas/" + id, new Respuesta(200, artista(id), 0));
+        }
+    }
+
+    @AfterEach
+    void parar() throws IOException {
+        if (clienteHttp != null) {
+            clienteHttp.close();
+        }
+        servidor.stop(0);
+        hilosServidor.shutdownNow();
+    }
+
+    @Test
+    void convierteElListadoAContenidos() {
+        List<Contenido> contenidos = cliente(5, 10).obtenerArtistas();
+
+        assertThat(contenidos).extracting(Contenido::getId).containsExactly(6, 7, 8);
+        assertThat(contenidos.get(1).getNombre()).isEqualTo("artista7");
+        assertThat(contenidos.get(1).getNumventas()).isEqualTo(70);
+        assertThat(contenidos.get(1).getGenero().getId()).isEqualTo(1);
+        assertThat(contenidos.get(1).getTipo()).isZero();
+    }
+
+    @Test
+    void guardaElArtistaYNoLoVuelveAPedir() {
+        ArtistaClient cliente = cliente(5, 10);
+
+        Artista artista = cliente.obtenerArtistaPorId(7);
+        assertThat(artista.getNombreUsuario()).isEqualTo("artista7");
+        assertThat(artista.getOyentes()).isEqualTo(70);
+        assertThat(cliente.obtenerArtistaPorId(7)).isSameAs(artista);
+        assertThat(recibidas("/artistas/7")).isEqualTo(1);
+
+        cliente.olvidarArtista(7);
+        cliente.obtenerArtistaPorId(7);
+        assertThat(recibidas("/artistas/7")).isEqualTo(2);
+    }
+
+    @Test
+    void unArtistaQueNoExisteSeGuardaVacio() {
+        ArtistaClient cliente = cliente(5, 10);
+
+        assertThat(cliente.obtenerArtistaPorId(99)).isNull();
+        assertThat(cliente.obtenerArtistaPorId(99)).isNull();
+
+        assertThat(recibidas("/artistas/99")).isEqualTo(1);
+    }
+
+    @Test
+    void lasPeticionesSimultaneasDelMismoArtistaSeJuntan() throws Exception {
+        respuestas.put("/artistas/7", new Respuesta(200, artista(7), 300));
+        ArtistaClient cliente = cliente(20, 10);
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<Artista>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(hilos.submit(() -> {
+                    salida.await();
+                    return cliente.obtenerArtistaPorId(7);
+                }));
+            }
+            salida.countDown();
+            for (Future<Artista> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS).getId()).isEqualTo(7);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertThat(recibidas("/artistas/7")).isEqualTo(1);
+    }
+
+    @Test
+    void elLoteHaceUnaPeticionYGuardaTodoElListado() {
+        ArtistaClient cliente = cliente(5, 10);
+
+        Map<Integer, Artista> lote = cliente.obtenerArtistasPorId(List.of(6, 7, 99));
+        assertThat(lote).containsOnlyKeys(6, 7);
+        assertThat(recibidas("/artistas")).isEqualTo(1);
+
+        // El 8 venía en el listado y el 99 no existe: nada de eso vuelve a pedirse
+        assertThat(cliente.obtenerArtistaPorId(8).getNombreUsuario()).isEqualTo("artista8");
+        assertThat(cliente.obtenerArtistaPorId(99)).isNull();
+        assertThat(cliente.obtenerArtistasPorId(List.of(6, 7, 8))).containsOnlyKeys(6, 7, 8);
+        assertThat(recibidas("/artistas")).isEqualTo(1);
+        assertThat(recibidas("/artistas/8") + recibidas("/artistas/99")).isZero();
+    }
+
+    @Test
+    void losErroresNoSeGuardanYAbrenElCircuito() {
+        respuestas.put("/artistas/7", new Respuesta(500, "{}", 0));
+        ArtistaClient cliente = cliente(5, 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> cliente.obtenerArtistaPorId(7)).isInstanceOf(RuntimeException.class)
+                    .isNotInstanceOf(UsuariosNoDisponibleException.class);
+        }
+        assertThat(recibidas("/artistas/7")).isEqualTo(4);
+
+        // Con el circuito abierto se rechaza sin llamar, aunque el servicio ya se haya recuperado
+        respuestas.put("/artistas/7", new Respuesta(200, artista(7), 0));
+        assertThatThrownBy(() -> cliente.obtenerArtistaPorId(7)).isInstanceOf(UsuariosNoDisponibleException.class);
+        assertThatThrownBy(() -> cliente.obtenerArtistasPorId(List.of(6, 7)))
+                .isInstanceOf(UsuariosNoDisponibleException.class);
+        assertThat(recibidas("/artistas/7")).isEqualTo(4);
+        assertThat(recibidas("/artistas")).isZero();
+    }
+
+    @Test
+    void unaRespuestaLentaCortaPorElTiempoDeLectura() {
+        respuestas.put("/artistas/7", new Respuesta(200, artista(7), 2000));
+        ArtistaClient cliente = cliente(5, 10);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> cliente.obtenerArtistaPorId(7)).isInstanceOf(ResourceAccessException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(1500);
+    }
+
+    @Test
+    void sinHuecoSeRechazaSinEsperarALaPeticion() throws Exception {
+        respuestas.put("/artistas/7", new Respuesta(200, artista(7), 400));
+        ArtistaClient cliente = cliente(1, 10);
+        ExecutorService hilos = Executors.newSingleThreadExecutor();
+        try {
+            Future<Artista> lenta = hilos.submit(() -> cliente.obtenerArtistaPorId(7));
+            while (recibidas("/artistas/7") == 0) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> cliente.obtenerArtistaPorId(6))
+                    .isInstanceOf(UsuariosNoDisponibleException.class);
+            assertThat(lenta.get(5, TimeUnit.SECONDS).getId()).isEqualTo(7);
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertThat(recibidas("/artistas/6")).isZero();
+    }
+
+    // ------------------------------------------------------------------
+
+    // Circuito de 4 llamadas que se abre con la mitad fallidas y no se prueba durante la prueba
+    private ArtistaClient cliente(int maximoConcurrentes, long esperaHuecoMs) {
+        ClienteUsuariosConfig config = new ClienteUsuariosConfig();
+        ReflectionTestUtils.setField(config, "maximoConexiones", 20);
+        ReflectionTestUtils.setField(config, "timeoutConexionMs", 1000);
+        ReflectionTestUtils.setField(config, "timeoutPoolMs", 500);
+        ReflectionTestUtils.setField(config, "timeoutLecturaMs", 1000);
+        clienteHttp = config.clienteHttpUsuarios();
+        RestTemplate restTemplate = config.restTemplateUsuarios(new RestTemplateBuilder(), clienteHttp);
+        return new ArtistaClient(restTemplate, new SimpleMeterRegistry(), urlBase, maximoConcurrentes,
+                esperaHuecoMs, 4, 4, 50, 60_000, 1000, 300, 30);
+    }
+
+    private int recibidas(String ruta) {
+        AtomicInteger contador = recibidas.get(ruta);
+        return contador == null ? 0 : contador.get();
+    }
+
+    private void atender(HttpExchange intercambio) throws IOException {
+        String ruta = intercambio.getRequestURI().getPath().substring("/api/usuarios".length());
+        recibidas.computeIfAbsent(ruta, r -> new AtomicInteger()).incrementAndGet();
+        Respuesta respuesta = respuestas.getOrDefault(ruta, new Respuesta(404, "{}", 0));
+        try {
+            if (respuesta.retrasoMs > 0) {
+                Thread.sleep(respuesta.retrasoMs);
+            }
+            byte[] cuerpo = respuesta.cuerpo.getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().set("Content-Type", "application/json");
+            intercambio.sendResponseHeaders(respuesta.estado, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            // El cliente ya ha cortado la conexión
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    private static String artista(int id) {
+        return "{\"id\":" + id + ",\"nombreusuario\":\"artista" + id + "\",\"descripcion\":\"Artista " + id + "\","
+                + "\"oyentes\":" + (id * 10) + ",\"valoracion\":4.5,\"esnovedad\":false,"
+                + "\"genero\":{\"id\":" + (id % 3) + ",\"nombre\":\"Género " + (id % 3) + "\"}}";
+    }
+
+    private static final class Respuesta {
+
+        private final int estado;
+        private final String cuerpo;
+        private final long retrasoMs;
+
+        Respuesta(int estado, String cuerpo, long retrasoMs) {
+            this.estado = estado;
+            this.cuerpo = cuerpo;
+            this.retrasoMs = retrasoMs;
+        }
+    }
+}
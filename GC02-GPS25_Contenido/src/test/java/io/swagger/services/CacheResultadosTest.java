@@ -0,0 +1,134 @@
+package io.swagger.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.swagger.model.Contenido;
+import io.swagger.repository.FiltroElementos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheResultadosTest {
+
+    private final CacheResultados cache = new CacheResultados(new VersionCatalogo(), new SimpleMeterRegistry(), 10_000, 60);
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void parar() {
+        liberar.countDown();
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void lasPeticionesConElMismoFiltroCalculanUnaVez() throws Exception {
+        AtomicInteger calculos = new AtomicInteger();
+        CountDownLatch empezado = new CountDownLatch(1);
+        Future<List<Contenido>> primera = hilos.submit(() -> cache.contenidos(filtro(1), () -> {
+            calculos.incrementAndGet();
+            empezado.countDown();
+            esperar(liberar);
+            return List.of(contenido(1));
+        }));
+        assertThat(empezado.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<Contenido>> segunda = hilos.submit(() -> cache.contenidos(filtro(1), () -> {
+            calculos.incrementAndGet();
+            return List.of();
+        }));
+
+        liberar.countDown();
+        assertThat(primera.get(5, TimeUnit.SECONDS)).extracting(Contenido::getId).containsExactly(1);
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isSameAs(primera.get());
+        assertThat(calculos).hasValue(1);
+    }
+
+    /*
+     * Antes el cálculo se hacía dentro del bloqueo de la tabla interna de la caché: cualquier
+     * otra clave que cayera en la misma celda esperaba a la consulta lenta. Con tantas claves
+     * alguna coincide seguro.
+     */
+    @Test
+    void unCalculoLentoNoBloqueaOtrosFiltros() throws Exception {
+        CountDownLatch empezado = new CountDownLatch(1);
+        Future<List<Contenido>> lenta = hilos.submit(() -> cache.contenidos(filtro(0), () -> {
+            empezado.countDown();
+            esperar(liberar);
+            return List.of(contenido(0));
+        }));
+        assertThat(empezado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Integer> otras = hilos.submit(() -> {
+            int total = 0;
+            for (int genero = 1; genero <= 500; genero++) {
+                int id = genero;
+                total += cache.contenidos(filtro(genero), () -> List.of(contenido(id))).size();
+            }
+            return total;
+        });
+        assertThat(otras.get(5, TimeUnit.SECONDS)).isEqualTo(500);
+        assertThat(lenta).isNotDone();
+
+        liberar.countDown();
+        assertThat(lenta.get(5, TimeUnit.SECONDS)).extracting(Contenido::getId).containsExactly(0);
+    }
+
+    @Test
+    void unErrorLlegaAQuienEsperabaYNoSeGuarda() throws Exception {
+        CountDownLatch empezado = new CountDownLatch(1);
+        Future<List<Contenido>> primera = hilos.submit(() -> cache.contenidos(filtro(1), () -> {
+            empezado.countDown();
+            esperar(liberar);
+            throw new UsuariosNoDisponibleException("usuarios");
+        }));
+        assertThat(empezado.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<Contenido>> segunda = hilos.submit(() -> cache.contenidos(filtro(1), List::of));
+
+        liberar.countDown();
+        for (Future<List<Contenido>> peticion : List.of(primera, segunda)) {
+            assertThatThrownBy(() -> peticion.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(UsuariosNoDisponibleException.class);
+        }
+        assertThat(cache.contenidos(filtro(1), () -> List.of(contenido(2))))
+                .extracting(Contenido::getId).containsExactly(2);
+    }
+
+    @Test
+    void laListaGuardadaNoSePuedeModificar() {
+        List<Contenido> calculada = new ArrayList<>(List.of(contenido(1)));
+        List<Contenido> guardada = cache.contenidos(filtro(1), () -> calculada);
+        calculada.clear();
+
+        assertThat(guardada).hasSize(1);
+        assertThatThrownBy(() -> guardada.add(contenido(2))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    // ------------------------------------------------------------------
+
+    private static FiltroElementos filtro(int genero) {
+        return new FiltroElementos(genero, null, null, null, null, null);
+    }
+
+    private static Contenido contenido(int id) {
+        Contenido c = new Contenido();
+        c.setId(id);
+        return c;
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
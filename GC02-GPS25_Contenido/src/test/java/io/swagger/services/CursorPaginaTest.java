@@ -0,0 +1,77 @@
+package io.swagger.services;
+
+import io.swagger.repository.OrdenElementos;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPaginaTest {
+
+    @Test
+    void codificarYDecodificarConservaLosTresCampos() {
+        CursorPagina cursor = CursorPagina.decodificar(new CursorPagina("fecha", "2025-03-10T10:00", 42).codificar());
+
+        assertThat(cursor.getOrden()).isEqualTo("fecha");
+        assertThat(cursor.getValor()).isEqualTo("2025-03-10T10:00");
+        assertThat(cursor.getId()).isEqualTo(42);
+    }
+
+    @Test
+    void conservaElValorNulo() {
+        CursorPagina cursor = CursorPagina.decodificar(new CursorPagina("precio", null, 7).codificar());
+
+        assertThat(cursor.getValor()).isNull();
+        assertThat(cursor.getId()).isEqualTo(7);
+    }
+
+    @Test
+    void elCursorEsSeguroEnUnaUrl() {
+        String codificado = new CursorPagina("artistas", null, Integer.MAX_VALUE).codificar();
+
+        assertThat(codificado).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rechazaCursoresQueNoGeneraEstaClase() {
+        assertThatThrownBy(() -> CursorPagina.decodificar("no es base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPagina.decodificar(base64("precio|1.5")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPagina.decodificar(base64("precio|1.5|x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /*
+     * La clave de precio es un float: el valor que vuelve en el cursor tiene que ser
+     * exactamente el de la última fila para que la condición de keyset no repita ni salte filas.
+     */
+    @Test
+    void elPrecioVuelveBitABitIgual() {
+        Random aleatorio = new Random(3);
+        float[] precios = new float[1000];
+        precios[0] = 0.1f;
+        precios[1] = 9.99f;
+        precios[2] = 1e-7f;
+        precios[3] = Float.MAX_VALUE;
+        for (int i = 4; i < precios.length; i++) {
+            precios[i] = Math.round(aleatorio.nextFloat() * 100_000) / 100f;
+        }
+
+        for (float precio : precios) {
+            String cursor = new CursorPagina("precio", OrdenElementos.PRECIO.valorComoTexto(precio), 1).codificar();
+            Object leido = OrdenElementos.PRECIO.valorDesdeTexto(CursorPagina.decodificar(cursor).getValor());
+            assertThat(leido).isInstanceOf(Float.class);
+            assertThat(Float.floatToIntBits((Float) leido)).as("precio %s", precio).isEqualTo(Float.floatToIntBits(precio));
+        }
+    }
+
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+package io.swagger.services;
+
+import io.swagger.entity.GeneroEntity;
+import io.swagger.model.Genero;
+import io.swagger.repository.GeneroRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DiccionarioGenerosTest {
+
+    @Test
+    void cadaLlamadaDevuelveUnGeneroNuevo() {
+        DiccionarioGeneros diccionario = diccionario(genero(1, "Rock"), genero(2, "Jazz"));
+
+        Genero primero = diccionario.genero(1);
+        assertThat(primero).isEqualTo(new Genero().id(1).nombre("Rock"));
+        primero.setNombre("modificado");
+
+        // Modificar un género de una respuesta no cambia los de las siguientes
+        assertThat(diccionario.genero(1)).isNotSameAs(primero).isEqualTo(new Genero().id(1).nombre("Rock"));
+        Genero vacio = diccionario.genero(null);
+        vacio.setId(9);
+        assertThat(diccionario.genero(null)).isEqualTo(new Genero());
+        assertThat(DiccionarioGeneros.referencia(null)).isEqualTo(new Genero());
+    }
+
+    @Test
+    void unIdQueNoExisteOSinNombreDaSoloElId() {
+        DiccionarioGeneros diccionario = diccionario(genero(1, "Rock"), genero(3, null));
+
+        assertThat(diccionario.genero(3)).isEqualTo(new Genero().id(3));
+        assertThat(diccionario.genero(7)).isEqualTo(new Genero().id(7));
+        assertThat(DiccionarioGeneros.referencia(1)).isEqualTo(new Genero().id(1));
+    }
+
+    @Test
+    void unCambioDeGeneroRecargaLosNombres() {
+        GeneroRepository repositorio = mock(GeneroRepository.class);
+        when(repositorio.findAll()).thenReturn(List.of(genero(1, "Rock")), List.of(genero(1, "Rock & Roll")));
+        DiccionarioGeneros diccionario = new DiccionarioGeneros(repositorio);
+        diccionario.onArranque();
+        assertThat(diccionario.genero(1).getNombre()).isEqualTo("Rock");
+
+        diccionario.onCambioGenero(null);
+
+        assertThat(diccionario.genero(1).getNombre()).isEqualTo("Rock & Roll");
+    }
+
+    // ------------------------------------------------------------------
+
+    private static DiccionarioGeneros diccionario(GeneroEntity... generos) {
+        GeneroRepository repositorio = mock(GeneroRepository.class);
+        when(repositorio.findAll()).thenReturn(List.of(generos));
+        return new DiccionarioGeneros(repositorio);
+    }
+
+    private static GeneroEntity genero(int id, String nombre) {
+        GeneroEntity entidad = new GeneroEntity();
+        entidad.setId(id);
+        entidad.setNombre(nombre);
+        return entidad;
+    }
+}
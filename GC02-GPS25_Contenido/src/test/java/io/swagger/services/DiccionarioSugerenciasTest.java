@@ -0,0 +1,141 @@
+package io.swagger.services;
+
+import io.swagger.model.Sugerencia;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Las sugerencias deben coincidir con recorrer todas las entradas: las que tienen el nombre
+ * o alguna palabra (y lo que la sigue) empezando por el prefijo, cada una una sola vez, de
+ * más a menos peso y a igual peso por texto. Con pocas palabras distintas los prefijos de
+ * una o dos letras superan {@link DiccionarioSugerencias#UMBRAL_PRECALCULO} y salen de lo
+ * calculado al construir; los largos se recorren en la consulta.
+ */
+class DiccionarioSugerenciasTest {
+
+    private static final String[] PALABRAS = { "la", "las", "luna", "lunar", "canción", "Cancion", "del", "de",
+            "verano", "Vera", "sol", "SOLEDAD", "mar", "Mar-azul", "ñu", "año", "a" };
+    private static final String[] TIPOS = { "album", "cancion", "artista" };
+
+    @Test
+    void coincideConRecorrerTodasLasEntradas() {
+        Random aleatorio = new Random(11);
+        List<Entrada> entradas = new ArrayList<>();
+        DiccionarioSugerencias.Constructor constructor = new DiccionarioSugerencias.Constructor();
+        for (int id = 1; id <= 3000; id++) {
+            // Palabras repetidas dentro del nombre: varias claves de la misma entrada comparten prefijo
+            StringBuilder texto = new StringBuilder();
+            int palabras = 1 + aleatorio.nextInt(4);
+            for (int p = 0; p < palabras; p++) {
+                texto.append(PALABRAS[aleatorio.nextInt(PALABRAS.length)]).append(' ');
+            }
+            // El número hace único el texto, y así el orden a igual peso
+            Entrada entrada = new Entrada(texto.append(id).toString(), TIPOS[id % TIPOS.length], id,
+                    aleatorio.nextInt(50));
+            entradas.add(entrada);
+            constructor.agregar(entrada.texto, entrada.tipo, entrada.id, entrada.peso);
+        }
+        DiccionarioSugerencias diccionario = constructor.construir();
+        assertThat(diccionario.getNumeroEntradas()).isEqualTo(entradas.size());
+        @SuppressWarnings("unchecked")
+        Map<String, int[]> precalculados = (Map<String, int[]>) ReflectionTestUtils.getField(diccionario, "precalculados");
+        assertThat(precalculados).containsKeys("l", "la", "c", "ca");
+
+        for (String prefijo : prefijos(entradas)) {
+            List<Entrada> todas = recorrer(entradas, prefijo);
+            for (int n : new int[] { 1, 5, DiccionarioSugerencias.MAXIMO_SUGERENCIAS }) {
+                List<Entrada> esperadas = todas.subList(0, Math.min(n, todas.size()));
+                List<Sugerencia> obtenidas = diccionario.sugerir(prefijo, n);
+                assertThat(obtenidas).as("'%s', n %d", prefijo, n).hasSameSizeAs(esperadas);
+                for (int i = 0; i < esperadas.size(); i++) {
+                    Sugerencia sugerencia = obtenidas.get(i);
+                    Entrada esperada = esperadas.get(i);
+                    assertThat(sugerencia.getId()).as("'%s', n %d, puesto %d", prefijo, n, i).isEqualTo(esperada.id);
+                    assertThat(sugerencia.getTexto()).isEqualTo(esperada.texto);
+                    assertThat(sugerencia.getTipo()).isEqualTo(esperada.tipo);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unaEntradaConVariasClavesDelPrefijoSaleUnaVez() {
+        DiccionarioSugerencias diccionario = new DiccionarioSugerencias.Constructor()
+                .agregar("La la la", "cancion", 1, 10)
+                .agregar("Lágrimas", "album", 2, 5)
+                .agregar("Sin letra", "cancion", 3, 1)
+                .construir();
+
+        assertThat(diccionario.sugerir("la", 10)).extracting(Sugerencia::getId).containsExactly(1, 2);
+        assertThat(diccionario.sugerir("L", 10)).extracting(Sugerencia::getId).containsExactly(1, 2, 3);
+        assertThat(diccionario.sugerir("la la", 10)).extracting(Sugerencia::getId).containsExactly(1);
+        assertThat(diccionario.sugerir("  ", 10)).isEmpty();
+        assertThat(diccionario.sugerir("la", 0)).isEmpty();
+    }
+
+    // ------------------------------------------------------------------
+
+    // Referencia: todas las claves de cada entrada comparadas con el prefijo
+    private static List<Entrada> recorrer(List<Entrada> entradas, String prefijo) {
+        String clave = DiccionarioSugerencias.normalizarClave(prefijo);
+        List<Entrada> coinciden = new ArrayList<>();
+        for (Entrada entrada : entradas) {
+            if (!clave.isEmpty() && entrada.claves.stream().anyMatch(c -> c.startsWith(clave))) {
+                coinciden.add(entrada);
+            }
+        }
+        coinciden.sort(Comparator.<Entrada>comparingLong(e -> -e.peso).thenComparing(e -> e.texto));
+        return coinciden;
+    }
+
+    private static List<String> claves(String texto) {
+        String[] palabras = DiccionarioSugerencias.normalizarClave(texto).split(" ");
+        List<String> claves = new ArrayList<>();
+        for (int i = 0; i < palabras.length; i++) {
+            claves.add(String.join(" ", List.of(palabras).subList(i, palabras.length)));
+        }
+        return claves;
+    }
+
+    // Cada prefijo de hasta cuatro letras de las claves, otros más largos y algunos sin resultados
+    private static Set<String> prefijos(List<Entrada> entradas) {
+        Set<String> prefijos = new TreeSet<>(List.of("Can", "CANCIÓN", "mar a", "de l", "x", "ñ", "lunas", "1", "29"));
+        for (Entrada entrada : entradas.subList(0, 200)) {
+            for (String clave : entrada.claves) {
+                for (int longitud = 1; longitud <= Math.min(clave.length(), 4); longitud++) {
+                    prefijos.add(clave.substring(0, longitud));
+                }
+                prefijos.add(clave.substring(0, Math.min(clave.length(), 9)));
+            }
+        }
+        return prefijos;
+    }
+
+    private static final class Entrada {
+
+        private final String texto;
+        private final String tipo;
+        private final int id;
+        private final long peso;
+        private final List<String> claves;
+
+        Entrada(String texto, String tipo, int id, long peso) {
+            this.texto = texto;
+            this.tipo = tipo;
+            this.id = id;
+            this.peso = peso;
+            this.claves = claves(texto);
+        }
+    }
+}
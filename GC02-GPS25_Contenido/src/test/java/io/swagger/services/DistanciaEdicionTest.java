@@ -0,0 +1,97 @@
+package io.swagger.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DistanciaEdicionTest {
+
+    @Test
+    void cuentaCadaOperacionComoUnError() {
+        assertThat(DistanciaEdicion.acotada("rock", "rock", 2)).isZero();
+        assertThat(DistanciaEdicion.acotada("rock", "rack", 2)).isEqualTo(1);   // sustitución
+        assertThat(DistanciaEdicion.acotada("rock", "rocks", 2)).isEqualTo(1);  // inserción
+        assertThat(DistanciaEdicion.acotada("rock", "roc", 2)).isEqualTo(1);    // borrado
+        assertThat(DistanciaEdicion.acotada("rokc", "rock", 2)).isEqualTo(1);   // intercambio
+        assertThat(DistanciaEdicion.acotada("", "ab", 2)).isEqualTo(2);
+    }
+
+    @Test
+    void porEncimaDelMaximoDevuelveMaximoMasUno() {
+        assertThat(DistanciaEdicion.acotada("flamenco", "flamingo", 1)).isEqualTo(2);
+        assertThat(DistanciaEdicion.acotada("pop", "popular", 2)).isEqualTo(3);
+        assertThat(DistanciaEdicion.acotada("abcdef", "uvwxyz", 2)).isEqualTo(3);
+    }
+
+    @Test
+    void coincideConLaDistanciaCompletaAcotada() {
+        Random aleatorio = new Random(11);
+        for (int caso = 0; caso < 20_000; caso++) {
+            String a = palabra(aleatorio);
+            String b = aleatorio.nextBoolean() ? palabra(aleatorio) : variante(a, aleatorio);
+            int maximo = aleatorio.nextInt(4);
+            int esperada = Math.min(referencia(a, b), maximo + 1);
+            assertThat(DistanciaEdicion.acotada(a, b, maximo)).as("%s / %s con máximo %d", a, b, maximo)
+                    .isEqualTo(esperada);
+        }
+    }
+
+    // Alfabeto corto para que abunden las letras repetidas y los intercambios
+    private static String palabra(Random aleatorio) {
+        StringBuilder sb = new StringBuilder();
+        int longitud = aleatorio.nextInt(9);
+        for (int i = 0; i < longitud; i++) {
+            sb.append((char) ('a' + aleatorio.nextInt(4)));
+        }
+        return sb.toString();
+    }
+
+    private static String variante(String palabra, Random aleatorio) {
+        StringBuilder sb = new StringBuilder(palabra);
+        for (int errores = aleatorio.nextInt(4); errores > 0; errores--) {
+            int i = sb.length() == 0 ? 0 : aleatorio.nextInt(sb.length());
+            switch (aleatorio.nextInt(4)) {
+                case 0:
+                    sb.insert(i, (char) ('a' + aleatorio.nextInt(4)));
+                    break;
+                case 1:
+                    if (sb.length() > 0) sb.deleteCharAt(i);
+                    break;
+                case 2:
+                    if (sb.length() > 0) sb.setCharAt(i, (char) ('a' + aleatorio.nextInt(4)));
+                    break;
+                default:
+                    if (i + 1 < sb.length()) {
+                        char c = sb.charAt(i);
+                        sb.setCharAt(i, sb.charAt(i + 1));
+                        sb.setCharAt(i + 1, c);
+                    }
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    // Distancia de Damerau-Levenshtein restringida (intercambios adyacentes) con la matriz entera
+    private static int referencia(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int coste = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + coste);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,185 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.FiltroElementos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tiempos de {@link IndiceCatalogo} frente a filtrar las entidades con un stream, que es lo
+ * que se hacía antes de los bitmaps, con 10.000, 100.000 y 1.000.000 de elementos. El
+ * catálogo se genera siempre con la misma semilla y cada medida es la mediana de varias
+ * repeticiones tras un calentamiento. Antes de medir se comprueba que los dos caminos
+ * devuelven los mismos ids.
+ * <p>
+ * No se ejecuta con el resto de pruebas. Para lanzarlo:
+ * <pre>
+ * mvn test -Dtest=IndiceCatalogoRendimientoTest -Drendimiento=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "rendimiento", matches = "true")
+class IndiceCatalogoRendimientoTest {
+
+    private static final int[] TAMANIOS = { 10_000, 100_000, 1_000_000 };
+    private static final int CALENTAMIENTO = 20;
+    private static final int REPETICIONES = 30;
+
+    private static final float[] TRAMOS_PRECIO = { 1f, 5f, 10f, 20f };
+    private static final LocalDateTime INICIO = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    // Evita que el JIT descarte los resultados que no se usan
+    private long sumidero;
+
+    @Test
+    void compararConFiltrarEntidades() {
+        System.out.printf("%n%-10s %-26s %12s %12s %12s %9s%n", "elementos", "consulta", "stream (us)",
+                "filtrar (us)", "contar (us)", "resultados");
+        // Para que la primera carga medida no incluya arrancar Mockito ni cargar clases
+        indice(catalogo(1000, new Random(5)));
+        for (int tamanio : TAMANIOS) {
+            List<ElementoEntity> catalogo = catalogo(tamanio, new Random(5));
+
+            long inicio = System.nanoTime();
+            IndiceCatalogo indice = indice(catalogo);
+            System.out.printf("%-10d %-26s %12d%n", tamanio, "carga", (System.nanoTime() - inicio) / 1000);
+
+            for (Consulta consulta : consultas(tamanio)) {
+                int[] esperados = catalogo.stream().filter(consulta.predicado)
+                        .mapToInt(ElementoEntity::getId).sorted().toArray();
+                assertThat(indice.filtrar(consulta.filtro)).as(consulta.nombre).isEqualTo(esperados);
+                assertThat(indice.contar(consulta.filtro)).as(consulta.nombre).isEqualTo(esperados.length);
+
+                long stream = mediana(() -> catalogo.stream().filter(consulta.predicado)
+                        .mapToInt(ElementoEntity::getId).sorted().toArray().length);
+                long filtrar = mediana(() -> indice.filtrar(consulta.filtro).length);
+                long contar = mediana(() -> indice.contar(consulta.filtro));
+                System.out.printf("%-10d %-26s %12d %12d %12d %9d%n", tamanio, consulta.nombre,
+                        stream / 1000, filtrar / 1000, contar / 1000, esperados.length);
+            }
+        }
+        assertThat(sumidero).isPositive();
+    }
+
+    // Mediana en nanosegundos
+    private long mediana(IntSupplier operacion) {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            sumidero += operacion.getAsInt();
+        }
+        long[] tiempos = new long[REPETICIONES];
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            sumidero += operacion.getAsInt();
+            tiempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[REPETICIONES / 2];
+    }
+
+    // ------------------------------------------------------------------
+
+    /*
+     * Reparto parecido al del catálogo real: pocos géneros, más subgéneros, muchos artistas
+     * con unas veinte obras cada uno, un 30 % de álbumes, un 5 % de novedades y algunos
+     * precios y fechas a NULL.
+     */
+    private static List<ElementoEntity> catalogo(int tamanio, Random aleatorio) {
+        List<ElementoEntity> elementos = new ArrayList<>(tamanio);
+        for (int id = 1; id <= tamanio; id++) {
+            ElementoEntity e = new ElementoEntity();
+            e.setId(id);
+            e.setGenero(1 + aleatorio.nextInt(20));
+            e.setSubgenero(aleatorio.nextInt(10) == 0 ? null : 1 + aleatorio.nextInt(100));
+            e.setArtista(1 + aleatorio.nextInt(Math.max(1, tamanio / 20)));
+            e.setEsalbum(aleatorio.nextInt(10) < 3);
+            e.setEsnovedad(aleatorio.nextInt(20) == 0);
+            e.setPrecio(aleatorio.nextInt(10) == 0 ? null : (50 + aleatorio.nextInt(2950)) / 100f);
+            e.setFechacrea(aleatorio.nextInt(50) == 0 ? null
+                    : INICIO.plusMinutes(aleatorio.nextInt(10 * 365 * 24 * 60)));
+            elementos.add(e);
+        }
+        return elementos;
+    }
+
+    private static List<Consulta> consultas(int tamanio) {
+        int artista = Math.max(1, tamanio / 40);
+        LocalDate desde = LocalDate.of(2020, 1, 1);
+        List<Consulta> consultas = new ArrayList<>();
+        consultas.add(new Consulta("genero",
+                new FiltroElementos(3, null, null, null, null, null),
+                e -> igual(e.getGenero(), 3)));
+        consultas.add(new Consulta("genero+subgenero",
+                new FiltroElementos(3, 42, null, null, null, null),
+                e -> igual(e.getGenero(), 3) && igual(e.getSubgenero(), 42)));
+        consultas.add(new Consulta("genero+album+novedad",
+                new FiltroElementos(3, null, null, null, null, null).conTipo(true, true),
+                e -> igual(e.getGenero(), 3) && Boolean.TRUE.equals(e.getEsalbum())
+                        && Boolean.TRUE.equals(e.getEsnovedad())));
+        consultas.add(new Consulta("artista",
+                FiltroElementos.porArtista(artista),
+                e -> igual(e.getArtista(), artista)));
+        consultas.add(new Consulta("genero+precio",
+                new FiltroElementos(3, null, 5f, 10f, null, null),
+                e -> igual(e.getGenero(), 3) && e.getPrecio() != null && e.getPrecio() >= 5f && e.getPrecio() <= 10f));
+        consultas.add(new Consulta("precio+fecha",
+                new FiltroElementos(null, null, 5f, 10f, org.threeten.bp.LocalDate.of(2020, 1, 1), null),
+                e -> e.getPrecio() != null && e.getPrecio() >= 5f && e.getPrecio() <= 10f
+                        && e.getFechacrea() != null && !e.getFechacrea().toLocalDate().isBefore(desde)));
+        return consultas;
+    }
+
+    private static boolean igual(Integer valor, int esperado) {
+        return valor != null && valor == esperado;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IndiceCatalogo indice(List<ElementoEntity> catalogo) {
+        ElementoRepository repositorio = mock(ElementoRepository.class);
+        when(repositorio.recorrer(any(Specification.class), any(Sort.class), anyInt()))
+                .thenAnswer(invocacion -> catalogo.stream());
+        IndiceCatalogo indice = new IndiceCatalogo(repositorio, mock(PlatformTransactionManager.class));
+        // detach no hace nada: un mock de Mockito pesaría más en la carga que el propio índice
+        ReflectionTestUtils.setField(indice, "entityManager", Proxy.newProxyInstance(
+                EntityManager.class.getClassLoader(), new Class<?>[] { EntityManager.class }, (proxy, metodo, args) -> null));
+        ReflectionTestUtils.setField(indice, "habilitado", true);
+        ReflectionTestUtils.setField(indice, "fetchSize", 500);
+        ReflectionTestUtils.setField(indice, "tramosPrecio", TRAMOS_PRECIO);
+        indice.cargar();
+        assertThat(indice.isListo()).isTrue();
+        return indice;
+    }
+
+    private static final class Consulta {
+
+        private final String nombre;
+        private final FiltroElementos filtro;
+        private final Predicate<ElementoEntity> predicado;
+
+        Consulta(String nombre, FiltroElementos filtro, Predicate<ElementoEntity> predicado) {
+            this.nombre = nombre;
+            this.filtro = filtro;
+            this.predicado = predicado;
+        }
+    }
+}
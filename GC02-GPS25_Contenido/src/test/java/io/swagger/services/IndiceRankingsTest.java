@@ -0,0 +1,211 @@
+package io.swagger.services;
+
+import io.swagger.entity.ElementoEntity;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.ResumenElemento;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tras cualquier serie de altas, cambios de valor o de género, bajas y reproducciones, cada
+ * ranking debe coincidir con ordenar a mano el catálogo resultante: de mayor a menor valor,
+ * a igual valor por id y sin los elementos que no tienen valor.
+ */
+class IndiceRankingsTest {
+
+    private static final int ELEMENTOS = 60;
+    private static final int GENEROS = 4;
+
+    @Test
+    void losRankingsCoincidenConOrdenarElCatalogo() {
+        Random aleatorio = new Random(9);
+        Map<Integer, Fila> catalogo = new TreeMap<>();
+        for (int id = 1; id <= ELEMENTOS; id++) {
+            catalogo.put(id, filaAleatoria(id, aleatorio, null));
+        }
+        IndiceRankings indice = indice(catalogo);
+        comprobar(indice, catalogo, "carga");
+
+        for (int paso = 0; paso < 400; paso++) {
+            int id = 1 + aleatorio.nextInt(ELEMENTOS + 10);
+            Fila anterior = catalogo.get(id);
+            int operacion = aleatorio.nextInt(6);
+            if (operacion == 0) {
+                catalogo.remove(id);
+                indice.onCambioElemento(CambioElementoEvent.eliminado(id));
+            } else if (operacion == 1 && anterior != null) {
+                Integer numRep = aleatorio.nextInt(5) == 0 ? null : aleatorio.nextInt(8);
+                catalogo.put(id, anterior.conReproducciones(numRep));
+                indice.onCambioReproducciones(new CambioReproduccionesEvent(id, numRep));
+            } else {
+                // Guardar no toca las reproducciones: se quedan las que tuviera
+                Fila nueva = filaAleatoria(id, aleatorio, anterior != null ? anterior.numRep : null);
+                catalogo.put(id, nueva);
+                indice.onCambioElemento(CambioElementoEvent.guardado(nueva.entidad()));
+            }
+            comprobar(indice, catalogo, "paso " + paso);
+        }
+    }
+
+    @Test
+    void cambiarDeGeneroMueveElElementoDeRanking() {
+        Map<Integer, Fila> catalogo = new TreeMap<>();
+        catalogo.put(1, new Fila(1, 1, 10, 3, 100));
+        catalogo.put(2, new Fila(2, 1, 5, 4, 50));
+        catalogo.put(3, new Fila(3, 2, 7, 1, 70));
+        IndiceRankings indice = indice(catalogo);
+
+        Fila movida = new Fila(1, 2, 10, 3, 100);
+        indice.onCambioElemento(CambioElementoEvent.guardado(movida.entidad()));
+
+        for (CriterioRanking criterio : CriterioRanking.values()) {
+            assertThat(ids(indice.primeros(criterio, 1, 10))).as("%s género 1", criterio).containsExactly(2);
+            assertThat(ids(indice.primeros(criterio, 2, 10))).as("%s género 2", criterio).containsOnly(1, 3);
+            assertThat(ids(indice.primeros(criterio, null, 10))).as("%s global", criterio).hasSize(3);
+        }
+        assertThat(ids(indice.primeros(CriterioRanking.REPRODUCCIONES, 2, 10))).containsExactly(1, 3);
+    }
+
+    // ------------------------------------------------------------------
+
+    private static void comprobar(IndiceRankings indice, Map<Integer, Fila> catalogo, String momento) {
+        for (CriterioRanking criterio : CriterioRanking.values()) {
+            for (Integer genero : generosConNulo()) {
+                for (int k : new int[] { 1, 7, Integer.MAX_VALUE }) {
+                    List<long[]> esperados = ordenar(catalogo, criterio, genero, k);
+                    List<IndiceRankings.Puesto> obtenidos = indice.primeros(criterio, genero, k);
+                    assertThat(obtenidos).as("%s, %s, género %s, k %d", momento, criterio, genero, k)
+                            .hasSameSizeAs(esperados);
+                    for (int i = 0; i < esperados.size(); i++) {
+                        assertThat(new long[] { obtenidos.get(i).getId(), obtenidos.get(i).getValor() })
+                                .as("%s, %s, género %s, puesto %d", momento, criterio, genero, i)
+                                .containsExactly(esperados.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    // Referencia: ordenar todo el catálogo en cada consulta
+    private static List<long[]> ordenar(Map<Integer, Fila> catalogo, CriterioRanking criterio, Integer genero, int k) {
+        Function<Fila, Integer> valor = valor(criterio);
+        List<long[]> puestos = new ArrayList<>();
+        for (Fila fila : catalogo.values()) {
+            if (valor.apply(fila) != null && (genero == null || genero.equals(fila.genero))) {
+                puestos.add(new long[] { fila.id, valor.apply(fila) });
+            }
+        }
+        puestos.sort(Comparator.<long[]>comparingLong(p -> -p[1]).thenComparingLong(p -> p[0]));
+        return puestos.subList(0, Math.min(k, puestos.size()));
+    }
+
+    private static Function<Fila, Integer> valor(CriterioRanking criterio) {
+        switch (criterio) {
+            case VENTAS:
+                return f -> f.numventas;
+            case VALORACION:
+                return f -> f.valoracion;
+            default:
+                return f -> f.numRep;
+        }
+    }
+
+    private static List<Integer> generosConNulo() {
+        List<Integer> generos = new ArrayList<>();
+        generos.add(null);
+        for (int g = 1; g <= GENEROS; g++) {
+            generos.add(g);
+        }
+        return generos;
+    }
+
+    private static List<Integer> ids(List<IndiceRankings.Puesto> puestos) {
+        List<Integer> ids = new ArrayList<>();
+        puestos.forEach(p -> ids.add(p.getId()));
+        return ids;
+    }
+
+    // Valores en un rango corto para que haya empates; algunos géneros y valores a null
+    private static Fila filaAleatoria(int id, Random aleatorio, Integer numRep) {
+        Integer genero = aleatorio.nextInt(8) == 0 ? null : 1 + aleatorio.nextInt(GENEROS);
+        Integer numventas = aleatorio.nextInt(6) == 0 ? null : aleatorio.nextInt(8);
+        Integer valoracion = aleatorio.nextInt(6) == 0 ? null : aleatorio.nextInt(6);
+        return new Fila(id, genero, numventas, valoracion, numRep);
+    }
+
+    private static IndiceRankings indice(Map<Integer, Fila> catalogo) {
+        List<ResumenElemento> filas = new ArrayList<>(catalogo.values());
+        ElementoRepository repositorio = mock(ElementoRepository.class);
+        when(repositorio.recorrerResumenes()).thenAnswer(invocacion -> filas.stream());
+        IndiceRankings indice = new IndiceRankings(repositorio, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(indice, "habilitado", true);
+        indice.cargar();
+        assertThat(indice.isListo()).isTrue();
+        return indice;
+    }
+
+    private static final class Fila implements ResumenElemento {
+
+        private final int id;
+        private final Integer genero;
+        private final Integer numventas;
+        private final Integer valoracion;
+        private final Integer numRep;
+
+        Fila(int id, Integer genero, Integer numventas, Integer valoracion, Integer numRep) {
+            this.id = id;
+            this.genero = genero;
+            this.numventas = numventas;
+            this.valoracion = valoracion;
+            this.numRep = numRep;
+        }
+
+        Fila conReproducciones(Integer nuevas) {
+            return new Fila(id, genero, numventas, valoracion, nuevas);
+        }
+
+        ElementoEntity entidad() {
+            ElementoEntity e = new ElementoEntity();
+            e.setId(id);
+            e.setGenero(genero);
+            e.setNumventas(numventas);
+            e.setValoracion(valoracion);
+            return e;
+        }
+
+        @Override
+        public Integer getId() { return id; }
+
+        @Override
+        public String getNombre() { return "Elemento " + id; }
+
+        @Override
+        public Boolean getEsalbum() { return numRep == null; }
+
+        @Override
+        public Integer getGenero() { return genero; }
+
+        @Override
+        public Integer getNumventas() { return numventas; }
+
+        @Override
+        public Integer getValoracion() { return valoracion; }
+
+        @Override
+        public Integer getNumRep() { return numRep; }
+    }
+}
@@ -0,0 +1,137 @@
+package io.swagger.services;
+
+import io.swagger.repository.UsuarioValoraElemRepository;
+import io.swagger.repository.ValoracionUsuario;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Las valoraciones aplicadas una a una sobre la matriz ya construida deben dejarla igual
+ * que una construcción completa con las valoraciones finales. Con pocos elementos ningún
+ * vecino se descarta por el máximo, así que no hay deriva que esperar.
+ */
+class IndiceSimilaresTest {
+
+    private static final int USUARIOS = 40;
+    private static final int ELEMENTOS = 25;
+
+    @Test
+    void aplicarValoracionesEquivaleAConstruirDeNuevo() {
+        Random aleatorio = new Random(7);
+        // usuario -> (elemento -> valoración)
+        Map<Integer, Map<Integer, Integer>> valoraciones = new TreeMap<>();
+        for (int u = 1; u <= USUARIOS; u++) {
+            for (int e = 1; e <= ELEMENTOS; e++) {
+                if (aleatorio.nextInt(3) == 0) {
+                    valoraciones.computeIfAbsent(u, x -> new TreeMap<>()).put(e, 1 + aleatorio.nextInt(5));
+                }
+            }
+        }
+        IndiceSimilares incremental = indice(valoraciones);
+
+        // Altas, cambios y bajas, incluidas las que dejan un elemento o un usuario sin valoraciones
+        for (int paso = 0; paso < 300; paso++) {
+            int usuario = 1 + aleatorio.nextInt(USUARIOS + 5);
+            int elemento = 1 + aleatorio.nextInt(ELEMENTOS + 3);
+            Integer valoracion = aleatorio.nextInt(4) == 0 ? null : 1 + aleatorio.nextInt(5);
+            if (valoracion == null) {
+                Map<Integer, Integer> delUsuario = valoraciones.get(usuario);
+                if (delUsuario != null) {
+                    delUsuario.remove(elemento);
+                    if (delUsuario.isEmpty()) {
+                        valoraciones.remove(usuario);
+                    }
+                }
+            } else {
+                valoraciones.computeIfAbsent(usuario, x -> new TreeMap<>()).put(elemento, valoracion);
+            }
+            incremental.onCambioValoracion(new CambioValoracionEvent(usuario, elemento, valoracion));
+        }
+
+        IndiceSimilares completo = indice(valoraciones);
+        for (int e = 1; e <= ELEMENTOS + 3; e++) {
+            List<IndiceSimilares.Similar> esperados = completo.similares(e, Integer.MAX_VALUE);
+            List<IndiceSimilares.Similar> obtenidos = incremental.similares(e, Integer.MAX_VALUE);
+            assertThat(obtenidos).as("similares de %d", e).hasSameSizeAs(esperados);
+            for (int i = 0; i < esperados.size(); i++) {
+                assertThat(obtenidos.get(i).getId()).as("vecino %d de %d", i, e).isEqualTo(esperados.get(i).getId());
+                assertThat(obtenidos.get(i).getComunes()).isEqualTo(esperados.get(i).getComunes());
+                assertThat(obtenidos.get(i).getSimilitud()).isCloseTo(esperados.get(i).getSimilitud(),
+                        offset(1e-5f));
+            }
+        }
+    }
+
+    @Test
+    void borrarUnElementoLoQuitaDeLosVecinos() {
+        Map<Integer, Map<Integer, Integer>> valoraciones = new TreeMap<>();
+        valoraciones.put(1, new TreeMap<>(Map.of(10, 5, 20, 5, 30, 1)));
+        valoraciones.put(2, new TreeMap<>(Map.of(10, 4, 20, 5, 30, 2)));
+        valoraciones.put(3, new TreeMap<>(Map.of(10, 1, 20, 2, 30, 5)));
+        IndiceSimilares indice = indice(valoraciones);
+        assertThat(indice.similares(10, 5)).extracting(IndiceSimilares.Similar::getId).containsExactly(20);
+
+        for (int usuario = 1; usuario <= 3; usuario++) {
+            indice.onCambioValoracion(new CambioValoracionEvent(usuario, 20, null));
+        }
+
+        assertThat(indice.similares(20, 5)).isEmpty();
+        assertThat(indice.similares(10, 5)).extracting(IndiceSimilares.Similar::getId).doesNotContain(20);
+    }
+
+    private static IndiceSimilares indice(Map<Integer, Map<Integer, Integer>> valoraciones) {
+        List<ValoracionUsuario> filas = new ArrayList<>();
+        valoraciones.forEach((usuario, delUsuario) ->
+                delUsuario.forEach((elemento, valoracion) -> filas.add(new Fila(usuario, elemento, valoracion))));
+        filas.sort(Comparator.comparing(ValoracionUsuario::getIdUser).thenComparing(ValoracionUsuario::getIdElem));
+
+        UsuarioValoraElemRepository repositorio = mock(UsuarioValoraElemRepository.class);
+        when(repositorio.recorrerValoraciones()).thenAnswer(invocacion -> filas.stream());
+        IndiceSimilares indice = new IndiceSimilares(repositorio, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(indice, "habilitado", true);
+        ReflectionTestUtils.setField(indice, "maximoVecinos", 50);
+        ReflectionTestUtils.setField(indice, "minimoComunes", 2);
+        indice.cargar();
+        assertThat(indice.isListo()).isTrue();
+        return indice;
+    }
+
+    private static final class Fila implements ValoracionUsuario {
+
+        private final Integer idUser;
+        private final Integer idElem;
+        private final Integer valoracion;
+
+        Fila(Integer idUser, Integer idElem, Integer valoracion) {
+            this.idUser = idUser;
+            this.idElem = idElem;
+            this.valoracion = valoracion;
+        }
+
+        @Override
+        public Integer getIdUser() { return idUser; }
+
+        @Override
+        public Integer getIdElem() { return idElem; }
+
+        @Override
+        public Integer getValoracion() { return valoracion; }
+
+        @Override
+        public String getNombre() { return "Elemento " + idElem; }
+    }
+}
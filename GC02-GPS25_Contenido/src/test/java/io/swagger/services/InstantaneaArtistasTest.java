@@ -0,0 +1,109 @@
+package io.swagger.services;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.threetenbp.ThreeTenModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.swagger.model.Contenido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InstantaneaArtistasTest {
+
+    // Como el de Spring Boot: las propiedades desconocidas no fallan
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new ThreeTenModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @TempDir
+    Path directorio;
+
+    private final ArtistaClient artistaClient = mock(ArtistaClient.class);
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void parar() {
+        liberar.countDown();
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void mientrasSeHaceLaPrimeraCargaLasDemasPeticionesNoEsperan() throws Exception {
+        CountDownLatch empezada = new CountDownLatch(1);
+        when(artistaClient.obtenerArtistas()).thenAnswer(invocacion -> {
+            empezada.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return List.of(artista(1), artista(2));
+        });
+        InstantaneaArtistas instantanea = instantanea();
+        assertThat(instantanea.isDesactualizada()).isTrue();
+
+        Future<List<Contenido>> primera = hilos.submit(() -> instantanea.artistas());
+        assertThat(empezada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<List<Contenido>> otra = hilos.submit(() -> instantanea.artistas());
+        assertThat(otra.get(1, TimeUnit.SECONDS)).isEmpty();
+        assertThat(instantanea.isDesactualizada()).isTrue();
+        // El refresco programado tampoco descarga otra vez el listado
+        instantanea.refrescar();
+
+        liberar.countDown();
+        assertThat(primera.get(5, TimeUnit.SECONDS)).extracting(Contenido::getId).containsExactly(1, 2);
+        assertThat(instantanea.artistas()).extracting(Contenido::getId).containsExactly(1, 2);
+        assertThat(instantanea.isDesactualizada()).isFalse();
+        verify(artistaClient, times(1)).obtenerArtistas();
+    }
+
+    @Test
+    void laInstantaneaGuardadaSeSirveAlArrancarSinLlamarAlServicio() {
+        when(artistaClient.obtenerArtistas()).thenReturn(List.of(artista(3)));
+        instantanea().refrescar();
+
+        InstantaneaArtistas otra = instantanea();
+        otra.leerFichero();
+
+        assertThat(otra.artistas()).extracting(Contenido::getId).containsExactly(3);
+        assertThat(otra.isDesactualizada()).isFalse();
+        verify(artistaClient, times(1)).obtenerArtistas();
+    }
+
+    @Test
+    void siElServicioFallaSeSigueSirviendoLaUltima() {
+        when(artistaClient.obtenerArtistas()).thenReturn(List.of(artista(4)))
+                .thenThrow(new UsuariosNoDisponibleException("usuarios"));
+        InstantaneaArtistas instantanea = instantanea();
+        instantanea.refrescar();
+        instantanea.refrescar();
+
+        assertThat(instantanea.artistas()).extracting(Contenido::getId).containsExactly(4);
+    }
+
+    // ------------------------------------------------------------------
+
+    private InstantaneaArtistas instantanea() {
+        return new InstantaneaArtistas(artistaClient, MAPPER, new SimpleMeterRegistry(),
+                directorio.resolve("artistas.json").toString(), 180_000);
+    }
+
+    private static Contenido artista(int id) {
+        Contenido c = new Contenido();
+        c.setId(id);
+        c.setTipo(0);
+        return c;
+    }
+}
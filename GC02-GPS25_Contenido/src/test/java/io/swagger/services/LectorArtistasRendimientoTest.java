@@ -0,0 +1,112 @@
+package io.swagger.services;
+
+import io.swagger.model.Contenido;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tiempos de {@link LectorArtistas#leer} frente a la conversión anterior (enlazar el listado
+ * a {@code List<Map<String, Object>>} y convertir cada mapa) con 1.000, 10.000 y 100.000
+ * artistas. Los listados son los de {@link LectorArtistasTest}, siempre con la misma semilla;
+ * cada medida es la mediana de varias repeticiones tras un calentamiento, junto con los bytes
+ * reservados por el hilo en una lectura. Antes de medir se comprueba que los dos caminos
+ * dan los mismos contenidos.
+ * <p>
+ * No se ejecuta con el resto de pruebas. Para lanzarlo:
+ * <pre>
+ * mvn test -Dtest=LectorArtistasRendimientoTest -Drendimiento=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "rendimiento", matches = "true")
+class LectorArtistasRendimientoTest {
+
+    private static final int[] TAMANIOS = { 1_000, 10_000, 100_000 };
+    private static final int CALENTAMIENTO = 10;
+    private static final int REPETICIONES = 15;
+
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Evita que el JIT descarte los resultados que no se usan
+    private long sumidero;
+
+    @Test
+    void compararConLaConversionDesdeMapas() throws IOException {
+        System.out.printf("%n%-10s %10s %14s %14s %14s %14s%n", "artistas", "JSON (KB)", "mapas (us)",
+                "streaming (us)", "mapas (KB)", "streaming (KB)");
+        for (int tamanio : TAMANIOS) {
+            String json = listado(tamanio, new Random(23));
+            // Los dos caminos parten del documento ya en memoria
+            byte[] cuerpo = json.getBytes(StandardCharsets.UTF_8);
+
+            List<Contenido> leidos = new ArrayList<>();
+            LectorArtistas.leer(new ByteArrayInputStream(cuerpo), leidos::add);
+            assertThat(leidos).isEqualTo(LectorArtistasTest.conversionAnterior(json));
+
+            Medida mapas = medir(() -> LectorArtistasTest.conversionAnterior(json).size());
+            Medida streaming = medir(() -> {
+                int[] total = new int[1];
+                LectorArtistas.leer(new ByteArrayInputStream(cuerpo), c -> total[0]++);
+                return total[0];
+            });
+            System.out.printf("%-10d %10d %14d %14d %14d %14d%n", tamanio, cuerpo.length / 1024,
+                    mapas.nanos / 1000, streaming.nanos / 1000, mapas.bytes / 1024, streaming.bytes / 1024);
+        }
+        assertThat(sumidero).isPositive();
+    }
+
+    // Mediana en nanosegundos y bytes reservados en la última repetición
+    private Medida medir(Lectura lectura) throws IOException {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            sumidero += lectura.leer();
+        }
+        long[] tiempos = new long[REPETICIONES];
+        long bytes = 0;
+        long hilo = Thread.currentThread().getId();
+        for (int i = 0; i < REPETICIONES; i++) {
+            long reservados = HILOS.getThreadAllocatedBytes(hilo);
+            long inicio = System.nanoTime();
+            sumidero += lectura.leer();
+            tiempos[i] = System.nanoTime() - inicio;
+            bytes = HILOS.getThreadAllocatedBytes(hilo) - reservados;
+        }
+        Arrays.sort(tiempos);
+        return new Medida(tiempos[REPETICIONES / 2], bytes);
+    }
+
+    private static String listado(int tamanio, Random aleatorio) throws IOException {
+        List<Map<String, Object>> artistas = new ArrayList<>(tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            artistas.add(LectorArtistasTest.artistaAleatorio(i, aleatorio, true));
+        }
+        return LectorArtistasTest.MAPPER.writeValueAsString(artistas);
+    }
+
+    @FunctionalInterface
+    private interface Lectura {
+        int leer() throws IOException;
+    }
+
+    private static final class Medida {
+
+        private final long nanos;
+        private final long bytes;
+
+        Medida(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package io.swagger.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.threetenbp.ThreeTenModule;
+import io.swagger.configuration.CustomInstantDeserializer;
+import io.swagger.model.Artista;
+import io.swagger.model.Contenido;
+import io.swagger.model.Genero;
+import org.junit.jupiter.api.Test;
+import org.threeten.bp.OffsetDateTime;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El lector en streaming tiene que dar lo mismo que la conversión anterior, que enlazaba
+ * el listado a {@code List<Map<String, Object>>} y convertía cada mapa.
+ */
+class LectorArtistasTest {
+
+    // Como el de la aplicación: fechas con CustomInstantDeserializer (JacksonConfiguration)
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new ThreeTenModule()
+                    .addDeserializer(OffsetDateTime.class, CustomInstantDeserializer.OFFSET_DATE_TIME))
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final String[] TEXTOS = { "Rosalía", "Los \"Planetas\"", "línea\nnueva", "", "C:\\fotos\\a.png" };
+    private static final String[] FECHAS = { "2024-02-29T23:59:59Z", "2025-10-27T17:33:52.662+02:00",
+            "1999-12-31T00:00:00-05:30" };
+
+    @Test
+    void coincideConLaConversionAnteriorDesdeMapas() throws IOException {
+        Random aleatorio = new Random(23);
+        List<Map<String, Object>> artistas = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            artistas.add(artistaAleatorio(i, aleatorio, true));
+        }
+        String json = MAPPER.writeValueAsString(artistas);
+
+        List<Contenido> leidos = new ArrayList<>();
+        LectorArtistas.leer(entrada(json), leidos::add);
+
+        List<Contenido> esperados = conversionAnterior(json);
+        assertThat(esperados).hasSize(artistas.size());
+        assertThat(leidos).hasSameSizeAs(esperados);
+        for (int i = 0; i < esperados.size(); i++) {
+            assertThat(leidos.get(i)).as("artista %d: %s", i, artistas.get(i)).isEqualTo(esperados.get(i));
+        }
+    }
+
+    /*
+     * Diferencia buscada con la conversión anterior: allí un campo con un tipo inesperado o una
+     * fecha mal formada lanzaba una excepción y se perdía el artista entero; ahora sólo se
+     * pierde ese campo.
+     */
+    @Test
+    void unCampoConTipoInesperadoSeIgnoraYElArtistaSeEntrega() throws IOException {
+        String json = "[{\"id\":3,\"nombreusuario\":42,\"descripcion\":\"ok\",\"fecharegistro\":\"ayer\","
+                + "\"oyentes\":\"muchos\",\"valoracion\":[4],\"esnovedad\":\"si\",\"genero\":\"rock\"},"
+                + "{\"id\":4,\"nombreusuario\":\"sigue\"}]";
+
+        List<Contenido> leidos = new ArrayList<>();
+        LectorArtistas.leer(entrada(json), leidos::add);
+
+        assertThat(leidos).extracting(Contenido::getId).containsExactly(3, 4);
+        Contenido primero = leidos.get(0);
+        assertThat(primero.getNombre()).isNull();
+        assertThat(primero.getDescripcion()).isEqualTo("ok");
+        assertThat(primero.getFechacrea()).isNull();
+        assertThat(primero.getNumventas()).isZero();
+        assertThat(primero.getValoracion()).isZero();
+        assertThat(primero.isEsnovedad()).isFalse();
+        assertThat(primero.getGenero()).isEqualTo(new Genero());
+        assertThat(leidos.get(1).getNombre()).isEqualTo("sigue");
+
+        assertThat(conversionAnterior(json)).extracting(Contenido::getId).containsExactly(4);
+    }
+
+    @Test
+    void lasEntradasQueNoSonObjetosSeSaltan() throws IOException {
+        List<Contenido> leidos = new ArrayList<>();
+        LectorArtistas.leer(entrada("[1, \"x\", [{\"id\":9}], null, {\"id\":5}]"), leidos::add);
+        assertThat(leidos).extracting(Contenido::getId).containsExactly(5);
+
+        LectorArtistas.leer(entrada("{\"id\":5}"), leidos::add);
+        assertThat(leidos).hasSize(1);
+    }
+
+    @Test
+    void losArtistasCoincidenConEnlazarElJson() throws IOException {
+        Random aleatorio = new Random(29);
+        List<Map<String, Object>> artistas = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> artista = artistaAleatorio(i, aleatorio, false);
+            if (aleatorio.nextBoolean()) {
+                artista.put("nombrereal", TEXTOS[aleatorio.nextInt(TEXTOS.length)]);
+            }
+            if (aleatorio.nextBoolean()) {
+                artista.put("correo", "artista" + i + "@ejemplo.es");
+            }
+            artistas.add(artista);
+        }
+        String json = MAPPER.writeValueAsString(artistas);
+
+        List<Artista> leidos = new ArrayList<>();
+        LectorArtistas.leerArtistas(entrada(json), leidos::add);
+
+        Artista[] esperados = MAPPER.readValue(json, Artista[].class);
+        assertThat(leidos).hasSize(esperados.length);
+        for (int i = 0; i < esperados.length; i++) {
+            assertThat(leidos.get(i)).as("artista %d: %s", i, artistas.get(i)).isEqualTo(esperados[i]);
+        }
+    }
+
+    @Test
+    void unArtistaAdmiteLaFechaEnMinusculasYElGeneroComoId() throws IOException {
+        String json = "[{\"id\":1,\"fecharegistro\":\"2025-01-08T12:00:00+02:00\",\"genero\":3}]";
+
+        List<Artista> leidos = new ArrayList<>();
+        LectorArtistas.leerArtistas(entrada(json), leidos::add);
+
+        assertThat(leidos).hasSize(1);
+        assertThat(leidos.get(0).getFechaRegistro()).isEqualTo(OffsetDateTime.parse("2025-01-08T10:00:00Z"));
+        assertThat(leidos.get(0).getGenero()).isEqualTo(DiccionarioGeneros.referencia(3));
+    }
+
+    // ------------------------------------------------------------------
+
+    /*
+     * Campos presentes o ausentes al azar, números enteros o decimales y campos desconocidos
+     * con objetos y arrays anidados. Con {@code comoContenido} se usan las variantes que sólo
+     * entiende la conversión a contenido (fecha en minúsculas, género como id, oyentes decimales);
+     * sin él, las que entiende Jackson al enlazar a {@link Artista}.
+     */
+    static Map<String, Object> artistaAleatorio(int i, Random aleatorio, boolean comoContenido) {
+        Map<String, Object> artista = new LinkedHashMap<>();
+        if (aleatorio.nextInt(20) != 0) {
+            artista.put("id", i + 1);
+        }
+        if (aleatorio.nextInt(4) == 0) {
+            artista.put("perfil", Map.of("redes", List.of(Map.of("id", 99), "x"), "genero", 7));
+        }
+        if (aleatorio.nextInt(5) != 0) {
+            artista.put("nombreusuario", TEXTOS[aleatorio.nextInt(TEXTOS.length)] + i);
+        }
+        if (aleatorio.nextBoolean()) {
+            artista.put("descripcion", TEXTOS[aleatorio.nextInt(TEXTOS.length)]);
+        }
+        if (aleatorio.nextBoolean()) {
+            artista.put("rutafoto", "/fotos/" + i + ".jpg");
+        }
+        if (aleatorio.nextBoolean()) {
+            artista.put(comoContenido ? "fecharegistro" : "fechaRegistro", FECHAS[aleatorio.nextInt(FECHAS.length)]);
+        }
+        if (aleatorio.nextBoolean()) {
+            artista.put("oyentes", comoContenido && aleatorio.nextBoolean()
+                    ? (Object) (aleatorio.nextInt(100_000) / 10.0)
+                    : (Object) aleatorio.nextInt(100_000));
+        }
+        if (aleatorio.nextBoolean()) {
+            artista.put("valoracion", aleatorio.nextBoolean()
+                    ? (Object) aleatorio.nextInt(6)
+                    : (Object) (aleatorio.nextInt(50) / 10.0));
+        }
+        if (aleatorio.nextBoolean()) {
+            artista.put("esnovedad", aleatorio.nextBoolean());
+        }
+        if (aleatorio.nextInt(4) == 0) {
+            artista.put("seguidores", Arrays.asList(1, null, List.of(2, 3)));
+        }
+        int genero = aleatorio.nextInt(4);
+        if (genero == 1 || genero == 2 && !comoContenido) {
+            Map<String, Object> g = new LinkedHashMap<>();
+            g.put("id", aleatorio.nextInt(12));
+            if (aleatorio.nextBoolean()) {
+                g.put("nombre", TEXTOS[aleatorio.nextInt(TEXTOS.length)]);
+            }
+            artista.put("genero", g);
+        } else if (genero == 2) {
+            artista.put("genero", aleatorio.nextInt(12));
+        }
+        return artista;
+    }
+
+    static ByteArrayInputStream entrada(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // La conversión que hacía ArtistaClient.obtenerArtistas antes de leer en streaming
+    static List<Contenido> conversionAnterior(String json) throws IOException {
+        List<Map<String, Object>> artistasJson = MAPPER.readValue(json, new TypeReference<List<Map<String, Object>>>() {
+        });
+        List<Contenido> artistas = new ArrayList<>();
+        for (Map<String, Object> art : artistasJson) {
+            try {
+                Contenido c = new Contenido();
+                Object idObj = art.get("id");
+                if (idObj instanceof Number) {
+                    c.setId(((Number) idObj).intValue());
+                }
+                c.setNombre((String) art.get("nombreusuario"));
+                Object fechaObjeto = art.get("fecharegistro");
+                if (fechaObjeto instanceof String) {
+                    c.setFechacrea(OffsetDateTime.parse((String) fechaObjeto));
+                }
+                c.setDescripcion((String) art.get("descripcion"));
+                Object oyentesObj = art.getOrDefault("oyentes", 0);
+                if (oyentesObj instanceof Number) {
+                    c.setNumventas(((Number) oyentesObj).intValue());
+                }
+                Object valObj = art.getOrDefault("valoracion", 0);
+                if (valObj instanceof Number) {
+                    c.setValoracion(((Number) valObj).intValue());
+                }
+                c.setPrecio(0.0f);
+                Object esNovedadObj = art.get("esnovedad");
+                c.setEsnovedad(esNovedadObj instanceof Boolean ? (Boolean) esNovedadObj : false);
+                c.setFotoamazon((String) art.get("rutafoto"));
+                Genero g = new Genero();
+                Object generoObj = art.get("genero");
+                if (generoObj instanceof Map) {
+                    Map<?, ?> generoMap = (Map<?, ?>) generoObj;
+                    Object idGenero = generoMap.get("id");
+                    if (idGenero instanceof Number) {
+                        g.setId(((Number) idGenero).intValue());
+                    }
+                    Object nombreGen = generoMap.get("nombre");
+                    if (nombreGen instanceof String) {
+                        g.setNombre((String) nombreGen);
+                    }
+                } else if (generoObj instanceof Number) {
+                    g.setId(((Number) generoObj).intValue());
+                }
+                c.setGenero(g);
+                c.setTipo(0);
+                artistas.add(c);
+            } catch (RuntimeException e) {
+                // Se perdía el artista entero
+            }
+        }
+        return artistas;
+    }
+}
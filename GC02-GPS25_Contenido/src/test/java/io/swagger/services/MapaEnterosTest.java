@@ -0,0 +1,89 @@
+package io.swagger.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MapaEnterosTest {
+
+    @Test
+    void guardaSustituyeYQuita() {
+        MapaEnteros<String> mapa = new MapaEnteros<>();
+        mapa.put(1, "a");
+        mapa.put(2, "b");
+        mapa.put(1, "c");
+
+        assertThat(mapa.size()).isEqualTo(2);
+        assertThat(mapa.get(1)).isEqualTo("c");
+        assertThat(mapa.remove(1)).isEqualTo("c");
+        assertThat(mapa.remove(1)).isNull();
+        assertThat(mapa.get(1)).isNull();
+        assertThat(mapa.get(2)).isEqualTo("b");
+        assertThat(mapa.size()).isEqualTo(1);
+    }
+
+    @Test
+    void noAdmiteValoresNull() {
+        assertThatThrownBy(() -> new MapaEnteros<String>().put(1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /*
+     * Con una tabla pequeña y muy llena casi todas las claves caen fuera de su posición ideal
+     * y los tramos dan la vuelta al final del array: cada borrado tiene que desplazar hacia
+     * atrás las entradas siguientes sin dejar inalcanzable ninguna.
+     */
+    @Test
+    void quitarDesplazaHaciaAtrasSinPerderClaves() {
+        Random aleatorio = new Random(42);
+        MapaEnteros<Integer> mapa = new MapaEnteros<>(4);
+        Map<Integer, Integer> esperado = new HashMap<>();
+
+        for (int paso = 0; paso < 200_000; paso++) {
+            int clave = aleatorio.nextInt(64) - 32;
+            if (aleatorio.nextInt(3) == 0) {
+                assertThat(mapa.remove(clave)).isEqualTo(esperado.remove(clave));
+            } else {
+                mapa.put(clave, paso);
+                esperado.put(clave, paso);
+            }
+            if (paso % 997 == 0) {
+                comprobar(mapa, esperado);
+            }
+        }
+        comprobar(mapa, esperado);
+    }
+
+    @Test
+    void vaciarPorCompletoDejaLaTablaUtilizable() {
+        MapaEnteros<Integer> mapa = new MapaEnteros<>();
+        for (int i = 0; i < 1000; i++) {
+            mapa.put(i, i);
+        }
+        for (int i = 999; i >= 0; i--) {
+            assertThat(mapa.remove(i)).isEqualTo(i);
+        }
+        assertThat(mapa.size()).isZero();
+        assertThat(mapa.claves()).isEmpty();
+
+        mapa.put(7, 7);
+        assertThat(mapa.get(7)).isEqualTo(7);
+    }
+
+    private static void comprobar(MapaEnteros<Integer> mapa, Map<Integer, Integer> esperado) {
+        assertThat(mapa.size()).isEqualTo(esperado.size());
+        for (int clave = -32; clave < 32; clave++) {
+            assertThat(mapa.get(clave)).as("clave %d", clave).isEqualTo(esperado.get(clave));
+        }
+        assertThat(mapa.claves()).containsExactly(esperado.keySet().stream().sorted().mapToInt(Integer::intValue).toArray());
+
+        Map<Integer, Integer> recorridos = new HashMap<>();
+        mapa.recorrer(recorridos::put);
+        assertThat(recorridos).isEqualTo(esperado);
+    }
+}
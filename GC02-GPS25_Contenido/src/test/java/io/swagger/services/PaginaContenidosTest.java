@@ -0,0 +1,85 @@
+package io.swagger.services;
+
+import io.swagger.model.Contenido;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaginaContenidosTest {
+
+    // Artistas desordenados, como llegan del servicio de usuarios
+    private static final List<Contenido> ARTISTAS = List.of(artista(9), artista(6), artista(8), artista(7), artista(10));
+    // Los internos se identifican con números altos para distinguirlos
+    private static final List<Integer> INTERNOS = IntStream.rangeClosed(101, 108).boxed().collect(Collectors.toList());
+
+    @Test
+    void ningunaPaginaSuperaElLimiteYNoSeRepiteNada() {
+        for (int limite = 1; limite <= 15; limite++) {
+            List<Integer> vistos = new ArrayList<>();
+            String cursor = null;
+            do {
+                Pagina<Integer> pagina = PaginaContenidos.paginar(ARTISTAS, cursor, limite, PaginaContenidosTest::ids,
+                        PaginaContenidosTest::internos);
+                assertThat(pagina.getElementos()).hasSizeLessThanOrEqualTo(limite);
+                vistos.addAll(pagina.getElementos());
+                cursor = pagina.getSiguiente();
+            } while (cursor != null);
+
+            assertThat(vistos).as("páginas de %d", limite)
+                    .containsExactly(6, 7, 8, 9, 10, 101, 102, 103, 104, 105, 106, 107, 108);
+        }
+    }
+
+    @Test
+    void laPaginaEnQueSeAcabanLosArtistasSeCompletaConInternos() {
+        Pagina<Integer> primera = PaginaContenidos.paginar(ARTISTAS, null, 3, PaginaContenidosTest::ids,
+                PaginaContenidosTest::internos);
+        Pagina<Integer> segunda = PaginaContenidos.paginar(ARTISTAS, primera.getSiguiente(), 3,
+                PaginaContenidosTest::ids, PaginaContenidosTest::internos);
+
+        assertThat(primera.getElementos()).containsExactly(6, 7, 8);
+        assertThat(segunda.getElementos()).containsExactly(9, 10, 101);
+        assertThat(CursorPagina.decodificar(segunda.getSiguiente()).getOrden()).isEqualTo("id");
+    }
+
+    @Test
+    void unCursorDeInternosNoVuelveAPasarPorLosArtistas() {
+        String cursor = new CursorPagina("id", null, 104).codificar();
+
+        Pagina<Integer> pagina = PaginaContenidos.paginar(ARTISTAS, cursor, 2, PaginaContenidosTest::ids,
+                PaginaContenidosTest::internos);
+
+        assertThat(pagina.getElementos()).containsExactly(105, 106);
+    }
+
+    @Test
+    void rechazaCursoresInvalidos() {
+        assertThatThrownBy(() -> PaginaContenidos.paginar(ARTISTAS, "???", 2, PaginaContenidosTest::ids,
+                PaginaContenidosTest::internos)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Integer> ids(List<Contenido> artistas) {
+        return artistas.stream().map(Contenido::getId).collect(Collectors.toList());
+    }
+
+    // Paginación por clave de los internos, con cursor de orden "id" como la de ConsultaElementosService
+    private static Pagina<Integer> internos(String cursor, int limite) {
+        int despuesDe = cursor == null ? Integer.MIN_VALUE : CursorPagina.decodificar(cursor).getId();
+        List<Integer> filas = INTERNOS.stream().filter(id -> id > despuesDe).limit(limite + 1L).collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, limite, id -> new CursorPagina("id", null, id).codificar());
+    }
+
+    private static Contenido artista(int id) {
+        Contenido c = new Contenido();
+        c.setId(id);
+        c.setTipo(0);
+        return c;
+    }
+}
@@ -0,0 +1,123 @@
+package io.swagger.services;
+
+import io.swagger.configuration.LimitesPaginacion;
+import io.swagger.entity.ElementoEntity;
+import io.swagger.repository.ContenidoRepository;
+import io.swagger.repository.ElementoRepository;
+import io.swagger.repository.ElementoRepositoryImpl;
+import io.swagger.repository.FiltroElementos;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recorre ELEMENTOS ordenados por precio página a página, con el cursor real contra H2.
+ * Los precios son float y se repiten, así que la condición de keyset tiene que reconocer
+ * como iguales el valor del cursor y el de la columna para desempatar por id.
+ */
+class PaginacionPorPrecioTest {
+
+    private static final float[] PRECIOS = {
+            9.99f, 0.1f, 9.99f, 1.5f, 0.1f, 19.99f, 9.99f, 0.3f, 9.99f, 1.5f,
+            0.1f, 2.05f, 9.99f, 0.3f, 100.01f, 2.05f, 0.7f, 9.99f, 0.2f, 1.1f };
+    private static final int SIN_PRECIO = 4;
+
+    private static LocalContainerEntityManagerFactoryBean fabrica;
+    private static EntityManager entityManager;
+    private static List<ElementoEntity> guardados = new ArrayList<>();
+
+    @BeforeAll
+    static void crearTabla() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        // Como Oracle, NULL al final en orden ascendente
+        dataSource.setURL("jdbc:h2:mem:paginacion;DB_CLOSE_DELAY=-1;DEFAULT_NULL_ORDERING=HIGH");
+        fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setPackagesToScan("io.swagger.entity");
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        fabrica.afterPropertiesSet();
+        entityManager = fabrica.getObject().createEntityManager();
+
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < PRECIOS.length + SIN_PRECIO; i++) {
+            ElementoEntity e = new ElementoEntity();
+            e.setNombre("Elemento " + i);
+            e.setPrecio(i < PRECIOS.length ? PRECIOS[i] : null);
+            entityManager.persist(e);
+            guardados.add(e);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @AfterAll
+    static void cerrar() {
+        entityManager.close();
+        fabrica.destroy();
+    }
+
+    @Test
+    void cadaFilaApareceUnaVezYEnOrden() {
+        List<Integer> esperados = guardados.stream()
+                .sorted(Comparator.comparing(ElementoEntity::getPrecio, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ElementoEntity::getId))
+                .map(ElementoEntity::getId)
+                .collect(Collectors.toList());
+
+        for (int limite = 1; limite <= 7; limite++) {
+            assertThat(recorrer(limite)).as("páginas de %d", limite).containsExactlyElementsOf(esperados);
+        }
+    }
+
+    private static List<Integer> recorrer(int limite) {
+        ConsultaElementosService servicio = servicio();
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<ElementoEntity> pagina = servicio.buscarPagina(FiltroElementos.SIN_FILTRO, "precio", cursor, limite);
+            assertThat(pagina.getElementos()).hasSizeLessThanOrEqualTo(limite);
+            pagina.getElementos().forEach(e -> ids.add(e.getId()));
+            cursor = pagina.getSiguiente();
+        } while (cursor != null && ids.size() <= guardados.size());
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConsultaElementosService servicio() {
+        ElementoRepositoryImpl consultas = new ElementoRepositoryImpl();
+        ReflectionTestUtils.setField(consultas, "entityManager", entityManager);
+        ElementoRepository elementoRepository = mock(ElementoRepository.class);
+        when(elementoRepository.buscarConLimite(any(Specification.class), any(Sort.class), anyInt()))
+                .thenAnswer(inv -> consultas.buscarConLimite(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+
+        LimitesPaginacion limites = new LimitesPaginacion();
+        ReflectionTestUtils.setField(limites, "limiteDefecto", 50);
+        ReflectionTestUtils.setField(limites, "limiteMaximo", 500);
+
+        return new ConsultaElementosService(mock(ContenidoRepository.class), elementoRepository, limites,
+                mock(IndiceCatalogo.class));
+    }
+}
@@ -0,0 +1,262 @@
+package io.swagger.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProteccionLlamadasTest {
+
+    private static final Duration UNA_HORA = Duration.ofHours(1);
+
+    private final List<Thread> hilos = new ArrayList<>();
+
+    @AfterEach
+    void esperarHilos() throws InterruptedException {
+        for (Thread hilo : hilos) {
+            hilo.join(5000);
+        }
+    }
+
+    @Test
+    void seAbreAlSuperarElUmbralYRechazaSinLlamar() {
+        ProteccionLlamadas proteccion = proteccion(5, Duration.ZERO, 4, 2, UNA_HORA);
+
+        exito(proteccion);
+        fallo(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+
+        AtomicBoolean llamada = new AtomicBoolean();
+        assertThatThrownBy(() -> proteccion.ejecutar(() -> llamada.getAndSet(true)))
+                .isInstanceOf(UsuariosNoDisponibleException.class);
+        assertThat(llamada).isFalse();
+    }
+
+    @Test
+    void noSeAbreAntesDelMinimoDeLlamadas() {
+        ProteccionLlamadas proteccion = proteccion(5, Duration.ZERO, 4, 3, UNA_HORA);
+
+        fallo(proteccion);
+        fallo(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+        fallo(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+    }
+
+    @Test
+    void losErrores4xxNoCuentanComoFallos() {
+        ProteccionLlamadas proteccion = proteccion(5, Duration.ZERO, 4, 2, UNA_HORA);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> proteccion.ejecutar(() -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            })).isInstanceOf(HttpClientErrorException.NotFound.class);
+        }
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+    }
+
+    @Test
+    void unaPruebaCorrectaCierraElCircuitoYEmpiezaDeCero() {
+        ProteccionLlamadas proteccion = abierto(5, Duration.ZERO);
+
+        exito(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+
+        // La ventana se ha vaciado: un fallo aislado no llega al mínimo de llamadas
+        fallo(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+    }
+
+    @Test
+    void unaPruebaFallidaLoVuelveAAbrir() {
+        ProteccionLlamadas proteccion = abierto(5, Duration.ZERO);
+
+        fallo(proteccion);
+
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+    }
+
+    @Test
+    void mientrasDuraLaPruebaSeRechazaElResto() throws Exception {
+        ProteccionLlamadas proteccion = abierto(5, Duration.ZERO);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch terminar = new CountDownLatch(1);
+
+        Thread prueba = lanzar(() -> proteccion.ejecutar(() -> {
+            dentro.countDown();
+            esperar(terminar);
+            return "ok";
+        }));
+        assertThat(dentro.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.SEMIABIERTO);
+
+        AtomicBoolean llamada = new AtomicBoolean();
+        assertThatThrownBy(() -> proteccion.ejecutar(() -> llamada.getAndSet(true)))
+                .isInstanceOf(UsuariosNoDisponibleException.class);
+        assertThat(llamada).isFalse();
+
+        terminar.countDown();
+        prueba.join(5000);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+    }
+
+    @Test
+    void unaPruebaSinHuecoLiberaElTurnoDePrueba() throws Exception {
+        ProteccionLlamadas proteccion = proteccion(2, Duration.ofSeconds(1), 1, 1, Duration.ZERO);
+        Runnable liberar = abiertoSinHuecos(proteccion);
+
+        assertThatThrownBy(() -> exito(proteccion))
+                .isInstanceOf(UsuariosNoDisponibleException.class)
+                .hasMessageContaining("simultáneas");
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+
+        liberar.run();
+        exito(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+    }
+
+    @Test
+    void unaPruebaInterrumpidaLiberaElTurnoDePrueba() throws Exception {
+        ProteccionLlamadas proteccion = proteccion(2, Duration.ofSeconds(30), 1, 1, Duration.ZERO);
+        Runnable liberar = abiertoSinHuecos(proteccion);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread prueba = lanzar(() -> {
+            try {
+                exito(proteccion);
+            } catch (RuntimeException ex) {
+                error.set(ex);
+            }
+        });
+        esperarBloqueado(prueba);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.SEMIABIERTO);
+        prueba.interrupt();
+        prueba.join(5000);
+
+        assertThat(error.get()).isInstanceOf(UsuariosNoDisponibleException.class);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+
+        liberar.run();
+        exito(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.CERRADO);
+    }
+
+    // ------------------------------------------------------------------
+
+    private static ProteccionLlamadas proteccion(int maximo, Duration esperaHueco, int ventana, int minimo,
+            Duration esperaAbierto) {
+        return new ProteccionLlamadas("prueba", maximo, esperaHueco, ventana, minimo, 50, esperaAbierto,
+                new SimpleMeterRegistry());
+    }
+
+    // Circuito recién abierto; hacen falta dos llamadas para volver a abrirlo
+    private static ProteccionLlamadas abierto(int maximo, Duration esperaAbierto) {
+        ProteccionLlamadas proteccion = proteccion(maximo, Duration.ZERO, 4, 2, esperaAbierto);
+        fallo(proteccion);
+        fallo(proteccion);
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+        return proteccion;
+    }
+
+    /*
+     * Deja el circuito abierto con los dos huecos ocupados por llamadas que empezaron con él
+     * cerrado, que es la única forma de que la llamada de prueba se encuentre sin hueco:
+     * A ocupa un hueco; M ocupa el otro y falla, lo que abre el circuito; Q, que esperaba
+     * hueco desde antes, se queda con el que deja M. Devuelve cómo terminar A y Q.
+     */
+    private Runnable abiertoSinHuecos(ProteccionLlamadas proteccion) throws InterruptedException {
+        CountDownLatch terminar = new CountDownLatch(1);
+        CountDownLatch fallar = new CountDownLatch(1);
+        CountDownLatch dentroA = new CountDownLatch(1);
+        CountDownLatch dentroM = new CountDownLatch(1);
+        CountDownLatch dentroQ = new CountDownLatch(1);
+
+        Thread a = lanzar(() -> proteccion.ejecutar(() -> {
+            dentroA.countDown();
+            esperar(terminar);
+            return "a";
+        }));
+        Thread m = lanzar(() -> {
+            try {
+                proteccion.ejecutar(() -> {
+                    dentroM.countDown();
+                    esperar(fallar);
+                    throw new IllegalStateException("caído");
+                });
+            } catch (IllegalStateException esperado) {
+                // Es el fallo que abre el circuito
+            }
+        });
+        assertThat(dentroA.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dentroM.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread q = lanzar(() -> proteccion.ejecutar(() -> {
+            dentroQ.countDown();
+            esperar(terminar);
+            return "q";
+        }));
+        esperarBloqueado(q);
+
+        fallar.countDown();
+        m.join(5000);
+        assertThat(dentroQ.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(proteccion.getEstado()).isEqualTo(ProteccionLlamadas.Estado.ABIERTO);
+
+        return () -> {
+            terminar.countDown();
+            try {
+                a.join(5000);
+                q.join(5000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private Thread lanzar(Runnable tarea) {
+        Thread hilo = new Thread(tarea);
+        hilo.setDaemon(true);
+        hilo.start();
+        hilos.add(hilo);
+        return hilo;
+    }
+
+    // Hasta que el hilo está parado esperando hueco en el semáforo
+    private static void esperarBloqueado(Thread hilo) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hilo.getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.nanoTime()).as("el hilo no llegó a bloquearse").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void esperar(CountDownLatch senal) {
+        try {
+            senal.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void exito(ProteccionLlamadas proteccion) {
+        proteccion.ejecutar(() -> "ok");
+    }
+
+    private static void fallo(ProteccionLlamadas proteccion) {
+        assertThatThrownBy(() -> proteccion.ejecutar(() -> {
+            throw new IllegalStateException("caído");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+}